@@ -11,10 +11,17 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableSet;
+import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.protocol.bgp.parser.spi.PathIdUtil;
+import org.opendaylight.protocol.bgp.rib.spi.DirectRIBSupport;
 import org.opendaylight.protocol.bgp.rib.spi.MultiPathAbstractRIBSupport;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.PathId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.destination.DestinationType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpReachNlri;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpUnreachNlri;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.Route;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.tables.Routes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.AddressFamily;
@@ -27,16 +34,21 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdent
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Common {@link org.opendaylight.protocol.bgp.rib.spi.RIBSupport} class for IPv4 and IPv6 addresses.
  */
-abstract class AbstractIPRIBSupport extends MultiPathAbstractRIBSupport {
+abstract class AbstractIPRIBSupport extends MultiPathAbstractRIBSupport implements DirectRIBSupport {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractIPRIBSupport.class);
+    private static final NodeIdentifier ROUTES = new NodeIdentifier(Routes.QNAME);
     private final NodeIdentifier prefixNid;
     private final NodeIdentifier nlriRoutesList;
     private final ImmutableCollection<Class<? extends DataObject>> cacheableNlriObjects;
@@ -93,6 +105,56 @@ abstract class AbstractIPRIBSupport extends MultiPathAbstractRIBSupport {
         }
     }
 
+    @Override
+    public final boolean putRoutes(final DOMDataWriteTransaction tx, final YangInstanceIdentifier tablePath,
+        final MpReachNlri nlri, final ContainerNode attributes) {
+        if (nlri.getAdvertizedRoutes() == null || nlri.getAdvertizedRoutes().getDestinationType() == null) {
+            LOG.debug("Advertized routes are not present in NLRI {}", nlri);
+            return true;
+        }
+        final YangInstanceIdentifier base = tablePath.node(ROUTES).node(routesContainerIdentifier()).node(routeNid());
+        // all routes share the same attributes
+        final ContainerNode routeAttributes = Builders.containerBuilder(attributes)
+            .withNodeIdentifier(routeAttributesIdentifier()).build();
+        return processPrefixes(nlri.getAdvertizedRoutes().getDestinationType(), (prefix, pathId) -> {
+            final NodeIdentifierWithPredicates routeKey = createRouteKey(prefix, pathId);
+            final DataContainerNodeBuilder<NodeIdentifierWithPredicates, MapEntryNode> b = ImmutableNodes.mapEntryBuilder();
+            b.withNodeIdentifier(routeKey);
+            b.withChild(ImmutableNodes.leafNode(routePrefixIdentifier(), prefix));
+            if (pathId != null) {
+                b.withChild(ImmutableNodes.leafNode(routePathIdNid(), pathId.getValue()));
+            }
+            b.withChild(routeAttributes);
+            tx.put(LogicalDatastoreType.OPERATIONAL, base.node(routeKey), b.build());
+        });
+    }
+
+    @Override
+    public final boolean deleteRoutes(final DOMDataWriteTransaction tx, final YangInstanceIdentifier tablePath,
+        final MpUnreachNlri nlri) {
+        if (nlri.getWithdrawnRoutes() == null || nlri.getWithdrawnRoutes().getDestinationType() == null) {
+            LOG.debug("Withdrawn routes are not present in NLRI {}", nlri);
+            return true;
+        }
+        final YangInstanceIdentifier base = tablePath.node(ROUTES).node(routesContainerIdentifier()).node(routeNid());
+        return processPrefixes(nlri.getWithdrawnRoutes().getDestinationType(), (prefix, pathId) ->
+            tx.delete(LogicalDatastoreType.OPERATIONAL, base.node(createRouteKey(prefix, pathId))));
+    }
+
+    /**
+     * Apply the function to each prefix carried by an advertized or withdrawn destination.
+     *
+     * @param destination destination type of the NLRI
+     * @param function function invoked with the prefix value and its Path Id, which may be null
+     * @return False if the destination type does not belong to this RIB support
+     */
+    protected abstract boolean processPrefixes(DestinationType destination, BiConsumer<String, PathId> function);
+
+    private NodeIdentifierWithPredicates createRouteKey(final String prefix, final PathId pathId) {
+        return PathIdUtil.createNodeIdentifierWithPredicates(routeQName(), pathIdQName(),
+            pathId == null ? PathIdUtil.NON_PATH_ID : pathId.getValue(), routeKeyQName(), prefix);
+    }
+
     /**
      * Prefix and Path Id are the route key
      *
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.protocol.bgp.inet;
+
+import static org.junit.Assert.assertEquals;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
+import org.opendaylight.protocol.bgp.inet.codec.Ipv4NlriParser;
+import org.opendaylight.protocol.bgp.rib.spi.AbstractRIBSupportTest;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpReachNlri;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpReachNlriBuilder;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the rate at which IPv4 routes are ingested from their wire format into Adj-RIB-In writes, either
+ * serializing the parsed NLRI through the binding codec or building the routes directly from the parsed NLRI.
+ * Writes go to a transaction which only counts them. The number of routes is set by the
+ * org.opendaylight.protocol.bgp.inet.benchmark.routes property and the results are logged. It is not part of
+ * the default test run, use the benchmark profile to run it.
+ */
+public class IPv4RIBSupportBenchmark extends AbstractRIBSupportTest {
+    private static final Logger LOG = LoggerFactory.getLogger(IPv4RIBSupportBenchmark.class);
+    private static final int ROUTES = Integer.getInteger("org.opendaylight.protocol.bgp.inet.benchmark.routes", 100000);
+    private static final int PREFIXES_PER_UPDATE = 100;
+    private static final IPv4RIBSupport RIB_SUPPORT = IPv4RIBSupport.getInstance();
+    private static final Ipv4NlriParser PARSER = new Ipv4NlriParser();
+
+    private final AtomicLong puts = new AtomicLong();
+    private final DOMDataWriteTransaction countingTx = (DOMDataWriteTransaction) Proxy.newProxyInstance(
+        DOMDataWriteTransaction.class.getClassLoader(), new Class<?>[]{DOMDataWriteTransaction.class},
+        (proxy, method, args) -> {
+            if ("put".equals(method.getName())) {
+                this.puts.incrementAndGet();
+            }
+            return null;
+        });
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        setUpTestCustomizer(RIB_SUPPORT);
+    }
+
+    @Test
+    public void testIngest() {
+        final List<ByteBuf> updates = createUpdates();
+        final YangInstanceIdentifier tablePath = getTablePath();
+        final ContainerNode attributes = createAttributes();
+
+        // first round warms up both paths
+        for (int round = 0; round < 2; round++) {
+            final long codec = run(updates, nlri -> RIB_SUPPORT.putRoutes(this.countingTx, tablePath,
+                createNlriAdvertiseRoute(nlri.getAdvertizedRoutes().getDestinationType()), attributes));
+            final long direct = run(updates, nlri -> RIB_SUPPORT.putRoutes(this.countingTx, tablePath, nlri,
+                attributes));
+            LOG.info("Round {}: codec {} routes/s, direct {} routes/s", round,
+                ROUTES * TimeUnit.SECONDS.toNanos(1) / codec, ROUTES * TimeUnit.SECONDS.toNanos(1) / direct);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Ingest {
+        void write(MpReachNlri nlri);
+    }
+
+    private long run(final List<ByteBuf> updates, final Ingest ingest) {
+        this.puts.set(0);
+        final long start = System.nanoTime();
+        for (final ByteBuf update : updates) {
+            final MpReachNlriBuilder builder = new MpReachNlriBuilder();
+            PARSER.parseNlri(update.duplicate(), builder);
+            ingest.write(builder.build());
+        }
+        final long elapsed = Math.max(1, System.nanoTime() - start);
+        assertEquals(ROUTES, this.puts.get());
+        return elapsed;
+    }
+
+    private static List<ByteBuf> createUpdates() {
+        final List<ByteBuf> updates = new ArrayList<>(ROUTES / PREFIXES_PER_UPDATE + 1);
+        ByteBuf nlri = null;
+        for (int i = 0; i < ROUTES; i++) {
+            if (i % PREFIXES_PER_UPDATE == 0) {
+                nlri = Unpooled.buffer();
+                updates.add(nlri);
+            }
+            nlri.writeByte(Integer.SIZE);
+            nlri.writeInt((10 << 24) + i);
+        }
+        return updates;
+    }
+}
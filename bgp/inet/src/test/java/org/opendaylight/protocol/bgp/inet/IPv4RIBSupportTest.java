@@ -9,7 +9,9 @@
 package org.opendaylight.protocol.bgp.inet;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
@@ -32,11 +34,16 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.inet
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.inet.rev150305.ipv4.routes.ipv4.routes.Ipv4RouteKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.inet.rev150305.update.attributes.mp.reach.nlri.advertized.routes.destination.type.DestinationIpv4Case;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.inet.rev150305.update.attributes.mp.reach.nlri.advertized.routes.destination.type.DestinationIpv4CaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.inet.rev150305.update.attributes.mp.reach.nlri.advertized.routes.destination.type.DestinationIpv6CaseBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.PathId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.Update;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.Attributes1;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.Attributes2;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpReachNlriBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpUnreachNlriBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.mp.reach.nlri.AdvertizedRoutesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.mp.unreach.nlri.WithdrawnRoutesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.tables.Routes;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -88,6 +95,30 @@ public final class IPv4RIBSupportTest extends AbstractRIBSupportTest {
     }
 
 
+    @Test
+    public void testDeleteRoutesDirect() {
+        assertTrue(RIB_SUPPORT.deleteRoutes(this.tx, getTablePath(), new MpUnreachNlriBuilder().setWithdrawnRoutes(
+            new WithdrawnRoutesBuilder().setDestinationType(UNREACH_NLRI).build()).build()));
+        final InstanceIdentifier<Ipv4Route> instanceIdentifier = (InstanceIdentifier<Ipv4Route>) this.deletedRoutes.get(0);
+        assertEquals(ROUTE_KEY, instanceIdentifier.firstKeyOf(Ipv4Route.class));
+    }
+
+    @Test
+    public void testPutRoutesDirect() {
+        assertTrue(RIB_SUPPORT.putRoutes(this.tx, getTablePath(), new MpReachNlriBuilder().setAdvertizedRoutes(
+            new AdvertizedRoutesBuilder().setDestinationType(REACH_NLRI).build()).build(), createAttributes()));
+        final Ipv4Route route = (Ipv4Route) this.insertedRoutes.get(0).getValue();
+        assertEquals(ROUTE, route);
+    }
+
+    @Test
+    public void testPutRoutesDirectUnsupported() {
+        assertFalse(RIB_SUPPORT.putRoutes(this.tx, getTablePath(), new MpReachNlriBuilder().setAdvertizedRoutes(
+            new AdvertizedRoutesBuilder().setDestinationType(new DestinationIpv6CaseBuilder().build()).build()).build(),
+            createAttributes()));
+        assertTrue(this.insertedRoutes.isEmpty());
+    }
+
     @Test
     public void testEmptyRoute() throws Exception {
         final Routes empty = new Ipv4RoutesCaseBuilder().setIpv4Routes(EMPTY_ROUTES).build();
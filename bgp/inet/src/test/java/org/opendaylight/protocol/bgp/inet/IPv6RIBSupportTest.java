@@ -11,6 +11,7 @@ package org.opendaylight.protocol.bgp.inet;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
@@ -38,6 +39,10 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.mess
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.Attributes1;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.Attributes2;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpReachNlriBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpUnreachNlriBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.mp.reach.nlri.AdvertizedRoutesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.mp.unreach.nlri.WithdrawnRoutesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.tables.Routes;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -89,6 +94,22 @@ public final class IPv6RIBSupportTest extends AbstractRIBSupportTest {
     }
 
 
+    @Test
+    public void testDeleteRoutesDirect() {
+        assertTrue(RIB_SUPPORT.deleteRoutes(this.tx, getTablePath(), new MpUnreachNlriBuilder().setWithdrawnRoutes(
+            new WithdrawnRoutesBuilder().setDestinationType(UNREACH_NLRI).build()).build()));
+        final InstanceIdentifier<Ipv6Route> instanceIdentifier = (InstanceIdentifier<Ipv6Route>) this.deletedRoutes.get(0);
+        assertEquals(ROUTE_KEY, instanceIdentifier.firstKeyOf(Ipv6Route.class));
+    }
+
+    @Test
+    public void testPutRoutesDirect() {
+        assertTrue(RIB_SUPPORT.putRoutes(this.tx, getTablePath(), new MpReachNlriBuilder().setAdvertizedRoutes(
+            new AdvertizedRoutesBuilder().setDestinationType(REACH_NLRI).build()).build(), createAttributes()));
+        final Ipv6Route route = (Ipv6Route) this.insertedRoutes.get(0).getValue();
+        assertEquals(ROUTE, route);
+    }
+
     @Test
     public void testEmptyRoute() throws Exception {
         final Routes empty = new Ipv6RoutesCaseBuilder().setIpv6Routes(EMPTY_ROUTES).build();
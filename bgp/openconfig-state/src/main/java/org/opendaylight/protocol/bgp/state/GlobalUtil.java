@@ -24,6 +24,8 @@ import org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.rev151009.bgp.t
 import org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.types.rev151009.AfiSafiType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.GlobalAfiSafiStateAugmentation;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.GlobalAfiSafiStateAugmentationBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.GlobalStateAugmentation;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.GlobalStateAugmentationBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.TablesKey;
 
 public final class GlobalUtil {
@@ -71,6 +73,9 @@ public final class GlobalUtil {
             .setRouterId(ribState.getRouteId())
             .setTotalPaths(ribState.getTotalPathsCount())
             .setTotalPrefixes(ribState.getTotalPrefixesCount())
+            .addAugmentation(GlobalStateAugmentation.class, new GlobalStateAugmentationBuilder()
+                .setUniqueAttributesCount(NeighborUtil.toBigInteger(ribState.getUniqueAttributesCount()))
+                .setAttributesBytesSaved(ribState.getAttributesBytesSaved()).build())
             .build();
     }
 
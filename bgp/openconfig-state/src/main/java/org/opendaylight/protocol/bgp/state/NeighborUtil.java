@@ -11,6 +11,7 @@ package org.opendaylight.protocol.bgp.state;
 import com.google.common.primitives.UnsignedLong;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -73,6 +74,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.open
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.NeighborTimersStateAugmentationBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.NeighborTransportStateAugmentation;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.NeighborTransportStateAugmentationBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.network.instances.network.instance.protocols.protocol.bgp.neighbors.neighbor.state.AdjRibInBatches;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.network.instances.network.instance.protocols.protocol.bgp.neighbors.neighbor.state.AdjRibInBatchesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.network.instances.network.instance.protocols.protocol.bgp.neighbors.neighbor.state.MessagesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.network.instances.network.instance.protocols.protocol.bgp.neighbors.neighbor.state.messages.Received;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.network.instances.network.instance.protocols.protocol.bgp.neighbors.neighbor.state.messages.ReceivedBuilder;
@@ -273,7 +276,16 @@ public final class NeighborUtil {
         return new BgpNeighborStateAugmentationBuilder()
             .setMessages(new MessagesBuilder()
                 .setReceived(buildMessagesReceived(neighbor))
-                .setSent(buildMessagesSent(neighbor)).build()).build();
+                .setSent(buildMessagesSent(neighbor)).build())
+            .setAdjRibInBatches(buildAdjRibInBatches(neighbor)).build();
+    }
+
+    private static AdjRibInBatches buildAdjRibInBatches(@Nonnull final BGPPeerMessagesState neighbor) {
+        return new AdjRibInBatchesBuilder()
+            .setSubmitted(toBigInteger(neighbor.getAdjRibInBatchesSubmittedCount()))
+            .setAverageSize(BigDecimal.valueOf(neighbor.getAdjRibInAverageBatchSize()).setScale(2, RoundingMode.HALF_UP))
+            .setAverageCommitLatency(toBigInteger(neighbor.getAdjRibInAverageCommitLatency()))
+            .build();
     }
 
     private static Received buildMessagesReceived(@Nonnull final BGPPeerMessagesState neighbor) {
@@ -342,7 +354,10 @@ public final class NeighborUtil {
             builder.setPrefixes(new PrefixesBuilder()
                 .setInstalled(neighbor.getPrefixesInstalledCount(tablesKey))
                 .setReceived(neighbor.getPrefixesReceivedCount(tablesKey))
-                .setSent(neighbor.getPrefixesSentCount(tablesKey)).build());
+                .setSent(neighbor.getPrefixesSentCount(tablesKey)).build())
+                .setUpdatesSent(toBigInteger(neighbor.getUpdatesSentCount(tablesKey)))
+                .setRoutesPerUpdate(BigDecimal.valueOf(neighbor.getRoutesPerUpdate(tablesKey))
+                    .setScale(2, RoundingMode.HALF_UP));
         }
         return new org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.multiprotocol.rev151009.bgp.common.afi
             .safi.list.afi.safi.StateBuilder().addAugmentation(NeighborAfiSafiStateAugmentation.class, builder.build()).build();
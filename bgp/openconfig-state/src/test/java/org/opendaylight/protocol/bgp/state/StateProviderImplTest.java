@@ -90,6 +90,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.open
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.BgpNeighborStateAugmentationBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.GlobalAfiSafiStateAugmentation;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.GlobalAfiSafiStateAugmentationBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.GlobalStateAugmentation;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.GlobalStateAugmentationBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.NeighborAfiSafiGracefulRestartStateAugmentation;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.NeighborAfiSafiGracefulRestartStateAugmentationBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.NeighborAfiSafiStateAugmentation;
@@ -106,6 +108,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.open
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.PeerGroupStateAugmentation;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.PeerGroupStateAugmentationBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.Protocol1;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.network.instances.network.instance.protocols.protocol.bgp.neighbors.neighbor.state.AdjRibInBatchesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.network.instances.network.instance.protocols.protocol.bgp.neighbors.neighbor.state.MessagesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.network.instances.network.instance.protocols.protocol.bgp.neighbors.neighbor.state.messages.ReceivedBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.openconfig.extensions.rev160614.network.instances.network.instance.protocols.protocol.bgp.neighbors.neighbor.state.messages.SentBuilder;
@@ -192,6 +195,8 @@ public class StateProviderImplTest extends AbstractConcurrentDataBrokerTest {
         doReturn(iid).when(this.bgpRibState).getInstanceIdentifier();
         doReturn(this.as).when(this.bgpRibState).getAs();
         doReturn(this.bgpId).when(this.bgpRibState).getRouteId();
+        doReturn(2L).when(this.bgpRibState).getUniqueAttributesCount();
+        doReturn(-1024L).when(this.bgpRibState).getAttributesBytesSaved();
 
         Mockito.doAnswer(invocation -> this.totalPathsCounter.longValue()).when(this.bgpRibState).getTotalPathsCount();
         Mockito.doAnswer(invocation -> this.totalPrefixesCounter.longValue()).when(this.bgpRibState).getTotalPrefixesCount();
@@ -215,6 +220,9 @@ public class StateProviderImplTest extends AbstractConcurrentDataBrokerTest {
         doReturn(1L).when(this.bgpPeerMessagesState).getNotificationMessagesSentCount();
         doReturn(1L).when(this.bgpPeerMessagesState).getUpdateMessagesReceivedCount();
         doReturn(1L).when(this.bgpPeerMessagesState).getUpdateMessagesSentCount();
+        doReturn(4L).when(this.bgpPeerMessagesState).getAdjRibInBatchesSubmittedCount();
+        doReturn(2.5).when(this.bgpPeerMessagesState).getAdjRibInAverageBatchSize();
+        doReturn(1000L).when(this.bgpPeerMessagesState).getAdjRibInAverageCommitLatency();
         doReturn(State.UP).when(this.bgpSessionState).getSessionState();
         doReturn(true).when(this.bgpSessionState).isAddPathCapabilitySupported();
         doReturn(true).when(this.bgpSessionState).isAsn32CapabilitySupported();
@@ -247,6 +255,8 @@ public class StateProviderImplTest extends AbstractConcurrentDataBrokerTest {
         doReturn(1L).when(this.bgpAfiSafiState).getPrefixesInstalledCount(any());
         doReturn(2L).when(this.bgpAfiSafiState).getPrefixesReceivedCount(any());
         doReturn(1L).when(this.bgpAfiSafiState).getPrefixesSentCount(any());
+        doReturn(2L).when(this.bgpAfiSafiState).getUpdatesSentCount(any());
+        doReturn(1.5).when(this.bgpAfiSafiState).getRoutesPerUpdate(any());
         doReturn(true).when(this.bgpAfiSafiState).isAfiSafiSupported(any());
         doReturn(true).when(this.bgpAfiSafiState).isGracefulRestartAdvertized(any());
         doReturn(true).when(this.bgpAfiSafiState).isGracefulRestartReceived(any());
@@ -334,6 +344,9 @@ public class StateProviderImplTest extends AbstractConcurrentDataBrokerTest {
                 .setMessages(new MessagesBuilder().setReceived(new ReceivedBuilder()
                         .setNOTIFICATION(BigInteger.ONE).setUPDATE(BigInteger.ONE).build())
                         .setSent(new SentBuilder().setNOTIFICATION(BigInteger.ONE).setUPDATE(BigInteger.ONE).build())
+                        .build())
+                .setAdjRibInBatches(new AdjRibInBatchesBuilder().setSubmitted(BigInteger.valueOf(4))
+                        .setAverageSize(new BigDecimal("2.50")).setAverageCommitLatency(BigInteger.valueOf(1000))
                         .build()).build();
         return augmentation;
     }
@@ -341,7 +354,8 @@ public class StateProviderImplTest extends AbstractConcurrentDataBrokerTest {
     private static AfiSafis buildAfiSafis() {
         final NeighborAfiSafiStateAugmentationBuilder neighborAfiSafiStateAugmentation =
                 new NeighborAfiSafiStateAugmentationBuilder().setActive(true).setPrefixes(
-                        new PrefixesBuilder().setSent(1L).setReceived(2L).setInstalled(1L).build());
+                        new PrefixesBuilder().setSent(1L).setReceived(2L).setInstalled(1L).build())
+                    .setUpdatesSent(BigInteger.valueOf(2)).setRoutesPerUpdate(new BigDecimal("1.50"));
         final AfiSafi afiSafi = new AfiSafiBuilder()
                 .setAfiSafiName(IPV4UNICAST.class)
                 .setGracefulRestart(new GracefulRestartBuilder().setState(new StateBuilder().setEnabled(false)
@@ -414,7 +428,10 @@ public class StateProviderImplTest extends AbstractConcurrentDataBrokerTest {
         return new GlobalBuilder()
             .setState(new org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.rev151009.bgp.global.base.
                 StateBuilder().setRouterId(new Ipv4Address(this.bgpId.getValue())).setTotalPrefixes(PrefixesAndPaths)
-                .setTotalPaths(PrefixesAndPaths).setAs(this.as).build())
+                .setTotalPaths(PrefixesAndPaths).setAs(this.as)
+                .addAugmentation(GlobalStateAugmentation.class, new GlobalStateAugmentationBuilder()
+                    .setUniqueAttributesCount(BigInteger.valueOf(2)).setAttributesBytesSaved(-1024L)
+                    .build()).build())
             .setAfiSafis(new org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.rev151009.bgp.global.base.
                 AfiSafisBuilder().setAfiSafi(Collections.singletonList(new AfiSafiBuilder()
                 .setAfiSafiName(IPV4UNICAST.class).setState(new org.opendaylight.yang.gen.v1.http.openconfig.net.yang
@@ -12,7 +12,6 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import java.util.List;
 import org.opendaylight.protocol.bgp.parser.BGPDocumentedException;
 import org.opendaylight.protocol.bgp.parser.BGPError;
@@ -25,7 +24,6 @@ import org.opendaylight.protocol.bgp.parser.spi.MessageParser;
 import org.opendaylight.protocol.bgp.parser.spi.MessageSerializer;
 import org.opendaylight.protocol.bgp.parser.spi.MessageUtil;
 import org.opendaylight.protocol.bgp.parser.spi.PeerSpecificParserConstraint;
-import org.opendaylight.protocol.util.ByteArray;
 import org.opendaylight.protocol.util.ByteBufWriteUtil;
 import org.opendaylight.protocol.util.Ipv4Util;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Prefix;
@@ -71,33 +69,29 @@ public final class BGPUpdateMessageParser implements MessageParser, MessageSeria
         Preconditions.checkArgument(message instanceof Update, "Message needs to be of type Update");
         final Update update = (Update) message;
 
-        final ByteBuf messageBody = Unpooled.buffer();
+        final int messageStart = MessageUtil.startMessage(TYPE, bytes);
         final WithdrawnRoutes withdrawnRoutes = update.getWithdrawnRoutes();
+        final int withdrawnRoutesStart = bytes.writerIndex();
+        bytes.writeZero(WITHDRAWN_ROUTES_LENGTH_SIZE);
         if (withdrawnRoutes != null) {
-            final ByteBuf withdrawnRoutesBuf = Unpooled.buffer();
             for (final Ipv4Prefix prefix : withdrawnRoutes.getWithdrawnRoutes()) {
-                ByteBufWriteUtil.writeMinimalPrefix(prefix, withdrawnRoutesBuf);
+                ByteBufWriteUtil.writeMinimalPrefix(prefix, bytes);
             }
-            messageBody.writeShort(withdrawnRoutesBuf.writerIndex());
-            messageBody.writeBytes(withdrawnRoutesBuf);
-        } else {
-            messageBody.writeZero(WITHDRAWN_ROUTES_LENGTH_SIZE);
+            bytes.setShort(withdrawnRoutesStart, bytes.writerIndex() - withdrawnRoutesStart - WITHDRAWN_ROUTES_LENGTH_SIZE);
         }
+        final int pathAttributesStart = bytes.writerIndex();
+        bytes.writeZero(TOTAL_PATH_ATTR_LENGTH_SIZE);
         if (update.getAttributes() != null) {
-            final ByteBuf pathAttributesBuf = Unpooled.buffer();
-            this.reg.serializeAttribute(update.getAttributes(), pathAttributesBuf);
-            messageBody.writeShort(pathAttributesBuf.writerIndex());
-            messageBody.writeBytes(pathAttributesBuf);
-        } else {
-            messageBody.writeZero(TOTAL_PATH_ATTR_LENGTH_SIZE);
+            this.reg.serializeAttribute(update.getAttributes(), bytes);
+            bytes.setShort(pathAttributesStart, bytes.writerIndex() - pathAttributesStart - TOTAL_PATH_ATTR_LENGTH_SIZE);
         }
         final Nlri nlri = update.getNlri();
         if (nlri != null && nlri.getNlri() !=null) {
             for (final Ipv4Prefix prefix : nlri.getNlri()) {
-                ByteBufWriteUtil.writeMinimalPrefix(prefix, messageBody);
+                ByteBufWriteUtil.writeMinimalPrefix(prefix, bytes);
             }
         }
-        MessageUtil.formatMessage(TYPE, messageBody, bytes);
+        MessageUtil.finishMessage(messageStart, bytes);
     }
 
     /**
@@ -120,7 +114,7 @@ public final class BGPUpdateMessageParser implements MessageParser, MessageSeria
         final int withdrawnRoutesLength = buffer.readUnsignedShort();
         if (withdrawnRoutesLength > 0) {
             // TODO handle NLRI with multiple paths - requires modified yang data model
-            final List<Ipv4Prefix> withdrawnRoutes = Ipv4Util.prefixListForBytes(ByteArray.readBytes(buffer, withdrawnRoutesLength));
+            final List<Ipv4Prefix> withdrawnRoutes = Ipv4Util.prefixListForByteBuf(buffer.readSlice(withdrawnRoutesLength));
             builder.setWithdrawnRoutes(new WithdrawnRoutesBuilder().setWithdrawnRoutes(withdrawnRoutes).build());
         }
         final int totalPathAttrLength = buffer.readUnsignedShort();
@@ -137,7 +131,7 @@ public final class BGPUpdateMessageParser implements MessageParser, MessageSeria
                 throw new BGPDocumentedException("Could not parse BGP attributes.", BGPError.MALFORMED_ATTR_LIST, e);
             }
         }
-        final List<Ipv4Prefix> nlri = Ipv4Util.prefixListForBytes(ByteArray.readAllBytes(buffer));
+        final List<Ipv4Prefix> nlri = Ipv4Util.prefixListForByteBuf(buffer);
         if (!nlri.isEmpty()) {
             // TODO handle NLRI with multiple paths - requires modified yang data model
             builder.setNlri(new NlriBuilder().setNlri(nlri).build());
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.parser.impl;
+
+import static org.junit.Assert.assertNotNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.opendaylight.protocol.bgp.parser.impl.message.BGPUpdateMessageParser;
+import org.opendaylight.protocol.bgp.parser.spi.MessageUtil;
+import org.opendaylight.protocol.bgp.parser.spi.pojo.ServiceLoaderBGPExtensionProviderContext;
+import org.opendaylight.protocol.util.ByteArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses the captured UPDATE messages repeatedly and measures the parsing rate. The number of parsed messages
+ * is set by the org.opendaylight.protocol.bgp.parser.benchmark.updates property and the results are logged.
+ * It is not part of the default test run, use the benchmark profile to run it.
+ */
+public class UpdateParsingBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(UpdateParsingBenchmark.class);
+    private static final int UPDATES = Integer.getInteger("org.opendaylight.protocol.bgp.parser.benchmark.updates", 100000);
+    private static final List<String> CAPTURED_UPDATES = Arrays.asList("/up1.bin", "/up3.bin", "/up4.bin",
+        "/up5.bin", "/up6.bin", "/up7.bin");
+
+    @Test
+    public void testParseUpdates() throws Exception {
+        final BGPUpdateMessageParser parser = new BGPUpdateMessageParser(
+            ServiceLoaderBGPExtensionProviderContext.getSingletonInstance().getAttributeRegistry());
+        final List<ByteBuf> bodies = loadUpdates();
+
+        // first round warms up the parsers
+        for (int round = 0; round < 2; round++) {
+            final long start = System.nanoTime();
+            for (int i = 0; i < UPDATES; i++) {
+                final ByteBuf body = bodies.get(i % bodies.size());
+                assertNotNull(parser.parseMessageBody(body.duplicate(), body.readableBytes()
+                    + MessageUtil.COMMON_HEADER_LENGTH));
+            }
+            final long elapsed = Math.max(1, System.nanoTime() - start);
+            LOG.info("Round {}: {} updates in {}ms, {} updates/s", round, UPDATES,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), UPDATES * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        }
+    }
+
+    private static List<ByteBuf> loadUpdates() throws IOException {
+        final List<ByteBuf> bodies = new ArrayList<>(CAPTURED_UPDATES.size());
+        for (final String name : CAPTURED_UPDATES) {
+            try (InputStream is = UpdateParsingBenchmark.class.getResourceAsStream(name)) {
+                if (is == null) {
+                    throw new IOException("Failed to get resource " + name);
+                }
+                final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                final byte[] data = new byte[256];
+                int read;
+                while ((read = is.read(data)) != -1) {
+                    bos.write(data, 0, read);
+                }
+                bodies.add(Unpooled.wrappedBuffer(ByteArray.cutBytes(bos.toByteArray(),
+                    MessageUtil.COMMON_HEADER_LENGTH)));
+            }
+        }
+        return bodies;
+    }
+}
@@ -36,4 +36,21 @@ public interface AttributeRegistry {
      * @param byteAggregator Output buffer.
      */
     void serializeAttribute(@Nonnull DataObject attribute, @Nonnull ByteBuf byteAggregator);
+
+    /**
+     * Number of serialized path attributes whose encoding was found in the encoded attributes cache.
+     * @return hit count, 0 if the registry does not cache encodings
+     */
+    default long getEncodedAttributesHitCount() {
+        return 0;
+    }
+
+    /**
+     * Number of serialized path attributes which had to be encoded, as they were not in the encoded attributes
+     * cache.
+     * @return miss count, 0 if the registry does not cache encodings
+     */
+    default long getEncodedAttributesMissCount() {
+        return 0;
+    }
 }
@@ -25,6 +25,7 @@ public final class MessageUtil {
     public static final int MARKER_LENGTH = 16;
     @VisibleForTesting
     public static final int COMMON_HEADER_LENGTH = 19;
+    private static final int LENGTH_SIZE = 2;
     private static final byte[] MARKER = new byte[MARKER_LENGTH];
 
     static {
@@ -49,6 +50,32 @@ public final class MessageUtil {
         buffer.writeBytes(body);
     }
 
+    /**
+     * Writes message header with a length placeholder, so the message body can be serialized directly into
+     * the output buffer. The message needs to be completed by {@link #finishMessage(int, ByteBuf)}.
+     *
+     * @param type of the message
+     * @param buffer ByteBuf where the message will be written
+     * @return index of the message start, to be passed to {@link #finishMessage(int, ByteBuf)}
+     */
+    public static int startMessage(final int type, final ByteBuf buffer) {
+        final int messageStart = buffer.writerIndex();
+        buffer.writeBytes(MARKER);
+        buffer.writeZero(LENGTH_SIZE);
+        buffer.writeByte(type);
+        return messageStart;
+    }
+
+    /**
+     * Back-patches length of a message started by {@link #startMessage(int, ByteBuf)}, once its body was written.
+     *
+     * @param messageStart index of the message start
+     * @param buffer ByteBuf where the message was written
+     */
+    public static void finishMessage(final int messageStart, final ByteBuf buffer) {
+        buffer.setShort(messageStart + MARKER_LENGTH, buffer.writerIndex() - messageStart);
+    }
+
     /**
      * Check for NLRI attribute in Update message
      *
@@ -10,13 +10,17 @@ package org.opendaylight.protocol.bgp.parser.spi.pojo;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import org.opendaylight.protocol.bgp.parser.BGPDocumentedException;
 import org.opendaylight.protocol.bgp.parser.BGPError;
@@ -27,7 +31,6 @@ import org.opendaylight.protocol.bgp.parser.spi.AttributeSerializer;
 import org.opendaylight.protocol.bgp.parser.spi.PeerSpecificParserConstraint;
 import org.opendaylight.protocol.concepts.AbstractRegistration;
 import org.opendaylight.protocol.concepts.HandlerRegistry;
-import org.opendaylight.protocol.util.BitArray;
 import org.opendaylight.protocol.util.ByteArray;
 import org.opendaylight.protocol.util.Values;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes;
@@ -35,6 +38,10 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.mess
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.attributes.UnrecognizedAttributes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.attributes.UnrecognizedAttributesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.attributes.UnrecognizedAttributesKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.Attributes1;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.Attributes2;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpReachNlri;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpUnreachNlri;
 import org.opendaylight.yangtools.yang.binding.DataContainer;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.slf4j.Logger;
@@ -42,106 +49,244 @@ import org.slf4j.LoggerFactory;
 
 final class SimpleAttributeRegistry implements AttributeRegistry {
 
-    private static final class RawAttribute {
-        private final AttributeParser parser;
-        private final ByteBuf buffer;
+    /**
+     * Attributes of the message being parsed, indexed by their type. Types present in the message are tracked in
+     * a bitmap, so they can be dispatched in the order of increasing type and cleared afterwards. Instances are
+     * kept per thread, hence are effectively per channel, as each channel is bound to a single event loop thread.
+     */
+    private static final class ParsedAttributes {
+        private final ByteBuf[] slices = new ByteBuf[Values.UNSIGNED_BYTE_MAX_VALUE + 1];
+        private final long[] present = new long[this.slices.length / Long.SIZE];
+        private boolean inUse;
 
-        public RawAttribute(final AttributeParser parser, final ByteBuf buffer) {
-            this.parser = requireNonNull(parser);
-            this.buffer = requireNonNull(buffer);
+        boolean contains(final int type) {
+            return this.slices[type] != null;
+        }
+
+        void add(final int type, final ByteBuf slice) {
+            this.slices[type] = slice;
+            this.present[type / Long.SIZE] |= 1L << (type % Long.SIZE);
+        }
+
+        void clear() {
+            for (int i = 0; i < this.present.length; i++) {
+                long bits = this.present[i];
+                while (bits != 0) {
+                    this.slices[i * Long.SIZE + Long.numberOfTrailingZeros(bits)] = null;
+                    bits &= bits - 1;
+                }
+                this.present[i] = 0;
+            }
+        }
+    }
+
+    private static final class EncodedAttributes {
+        private final byte[] bytes;
+        private final int nlriOffset;
+
+        EncodedAttributes(final byte[] bytes, final int nlriOffset) {
+            this.bytes = requireNonNull(bytes);
+            this.nlriOffset = nlriOffset;
         }
     }
 
     private static final Logger LOG = LoggerFactory.getLogger(SimpleAttributeRegistry.class);
-    private static final int OPTIONAL_BIT = 0;
-    private static final int TRANSITIVE_BIT = 1;
-    private static final int PARTIAL_BIT = 2;
-    private static final int EXTENDED_LENGTH_BIT = 3;
+    private static final int OPTIONAL_FLAG = 0x80;
+    private static final int TRANSITIVE_FLAG = 0x40;
+    private static final int PARTIAL_FLAG = 0x20;
+    private static final int EXTENDED_LENGTH_FLAG = 0x10;
+    private static final int MAXIMUM_CACHED_ENCODINGS = 10000;
+    private static final ThreadLocal<ParsedAttributes> PARSED_ATTRIBUTES = ThreadLocal.withInitial(ParsedAttributes::new);
     private final HandlerRegistry<DataContainer, AttributeParser, AttributeSerializer> handlers = new HandlerRegistry<>();
+    /**
+     * Parsers indexed by attribute type, replaced as a whole each time a parser is registered or unregistered.
+     */
+    private volatile AttributeParser[] parsers = new AttributeParser[Values.UNSIGNED_BYTE_MAX_VALUE + 1];
     private final Map<AbstractRegistration, AttributeSerializer> serializers = new LinkedHashMap<>();
     private final AtomicReference<Iterable<AttributeSerializer>> roSerializers =
         new AtomicReference<>(this.serializers.values());
-    private final List<UnrecognizedAttributes> unrecognizedAttributes = new ArrayList<>();
+    private final Set<AttributeSerializer> nlriSerializers = ConcurrentHashMap.newKeySet();
+    /**
+     * Encoded path attributes, excluding MP_REACH_NLRI and MP_UNREACH_NLRI, which carry the NLRI and differ
+     * from message to message. Attribute encoding does not depend on the peer, hence the cache is shared.
+     */
+    private final Cache<Attributes, EncodedAttributes> encodedAttributes = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_CACHED_ENCODINGS).recordStats().build();
 
 
-    AutoCloseable registerAttributeParser(final int attributeType, final AttributeParser parser) {
+    synchronized AutoCloseable registerAttributeParser(final int attributeType, final AttributeParser parser) {
         Preconditions.checkArgument(attributeType >= 0 && attributeType <= Values.UNSIGNED_BYTE_MAX_VALUE);
-        return this.handlers.registerParser(attributeType, parser);
+        final AbstractRegistration reg = this.handlers.registerParser(attributeType, parser);
+        updateParser(attributeType);
+        return new AbstractRegistration() {
+            @Override
+            protected void removeRegistration() {
+                synchronized (SimpleAttributeRegistry.this) {
+                    reg.close();
+                    updateParser(attributeType);
+                }
+            }
+        };
+    }
+
+    private void updateParser(final int attributeType) {
+        final AttributeParser[] updated = this.parsers.clone();
+        updated[attributeType] = this.handlers.getParser(attributeType);
+        this.parsers = updated;
     }
 
     synchronized AutoCloseable registerAttributeSerializer(final Class<? extends DataObject> paramClass, final AttributeSerializer serializer) {
         final AbstractRegistration reg = this.handlers.registerSerializer(paramClass, serializer);
 
         this.serializers.put(reg, serializer);
+        if (MpReachNlri.class.equals(paramClass) || MpUnreachNlri.class.equals(paramClass)) {
+            this.nlriSerializers.add(serializer);
+        }
+        this.encodedAttributes.invalidateAll();
         return new AbstractRegistration() {
             @Override
             protected void removeRegistration() {
                 synchronized (SimpleAttributeRegistry.this) {
                     SimpleAttributeRegistry.this.serializers.remove(reg);
+                    SimpleAttributeRegistry.this.nlriSerializers.remove(serializer);
                     SimpleAttributeRegistry.this.roSerializers.set(SimpleAttributeRegistry.this.serializers.values());
+                    SimpleAttributeRegistry.this.encodedAttributes.invalidateAll();
                 }
                 reg.close();
             }
         };
     }
 
-    private void addAttribute(final ByteBuf buffer, final Map<Integer, RawAttribute> attributes)
+    private static List<UnrecognizedAttributes> addAttribute(final ByteBuf buffer, final AttributeParser[] parsers,
+            final ParsedAttributes attributes, final List<UnrecognizedAttributes> unrecognized)
             throws BGPDocumentedException {
-        final BitArray flags = BitArray.valueOf(buffer.readByte());
+        final int flags = buffer.readUnsignedByte();
         final int type = buffer.readUnsignedByte();
-        final int len = (flags.get(EXTENDED_LENGTH_BIT)) ? buffer.readUnsignedShort() : buffer.readUnsignedByte();
-        if (!attributes.containsKey(type)) {
-            final AttributeParser parser = this.handlers.getParser(type);
-            if (parser == null) {
-                processUnrecognized(flags, type, buffer, len);
-            } else {
-                attributes.put(type, new RawAttribute(parser, buffer.readSlice(len)));
+        final int len = (flags & EXTENDED_LENGTH_FLAG) != 0 ? buffer.readUnsignedShort() : buffer.readUnsignedByte();
+        if (!attributes.contains(type)) {
+            if (parsers[type] == null) {
+                return processUnrecognized(flags, type, buffer, len, unrecognized);
             }
+            attributes.add(type, buffer.readSlice(len));
         } else {
             LOG.debug("Ignoring duplicate attribute type {}", type);
+            buffer.skipBytes(len);
         }
+        return unrecognized;
     }
 
-    private void processUnrecognized(final BitArray flags, final int type, final ByteBuf buffer, final int len) throws BGPDocumentedException {
-        if (!flags.get(OPTIONAL_BIT)) {
+    private static List<UnrecognizedAttributes> processUnrecognized(final int flags, final int type,
+            final ByteBuf buffer, final int len, final List<UnrecognizedAttributes> unrecognized)
+            throws BGPDocumentedException {
+        if ((flags & OPTIONAL_FLAG) == 0) {
             throw new BGPDocumentedException("Well known attribute not recognized.", BGPError.WELL_KNOWN_ATTR_NOT_RECOGNIZED);
         }
         final UnrecognizedAttributes unrecognizedAttribute = new UnrecognizedAttributesBuilder()
             .setKey(new UnrecognizedAttributesKey((short) type))
-            .setPartial(flags.get(PARTIAL_BIT))
-            .setTransitive(flags.get(TRANSITIVE_BIT))
+            .setPartial((flags & PARTIAL_FLAG) != 0)
+            .setTransitive((flags & TRANSITIVE_FLAG) != 0)
             .setType((short) type)
             .setValue(ByteArray.readBytes(buffer, len)).build();
-        this.unrecognizedAttributes.add(unrecognizedAttribute);
         LOG.debug("Unrecognized attribute were parsed: {}", unrecognizedAttribute);
+        final List<UnrecognizedAttributes> ret = unrecognized.isEmpty() ? new ArrayList<>() : unrecognized;
+        ret.add(unrecognizedAttribute);
+        return ret;
     }
 
     @Override
     public Attributes parseAttributes(final ByteBuf buffer, final PeerSpecificParserConstraint constraint)
             throws BGPDocumentedException, BGPParsingException {
-        final Map<Integer, RawAttribute> attributes = new TreeMap<>();
+        ParsedAttributes attributes = PARSED_ATTRIBUTES.get();
+        if (attributes.inUse) {
+            // nested invocation from within a parser
+            attributes = new ParsedAttributes();
+        }
+        attributes.inUse = true;
+        try {
+            return parseAttributes(buffer, constraint, attributes);
+        } finally {
+            attributes.clear();
+            attributes.inUse = false;
+        }
+    }
+
+    private Attributes parseAttributes(final ByteBuf buffer, final PeerSpecificParserConstraint constraint,
+            final ParsedAttributes attributes) throws BGPDocumentedException, BGPParsingException {
+        final AttributeParser[] currentParsers = this.parsers;
+        List<UnrecognizedAttributes> unrecognized = Collections.emptyList();
         while (buffer.isReadable()) {
-            addAttribute(buffer, attributes);
+            unrecognized = addAttribute(buffer, currentParsers, attributes, unrecognized);
         }
-        /*
-         * TreeMap guarantees that we will be invoking the parser in the order
-         * of increasing attribute type.
-         */
-        final AttributesBuilder builder = new AttributesBuilder();
-        for (final Entry<Integer, RawAttribute> e : attributes.entrySet()) {
-            LOG.debug("Parsing attribute type {}", e.getKey());
 
-            final RawAttribute a = e.getValue();
-            a.parser.parseAttribute(a.buffer, builder, constraint);
+        // invoke the parsers in the order of increasing attribute type
+        final AttributesBuilder builder = new AttributesBuilder();
+        for (int i = 0; i < attributes.present.length; i++) {
+            long bits = attributes.present[i];
+            while (bits != 0) {
+                final int type = i * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                LOG.debug("Parsing attribute type {}", type);
+                currentParsers[type].parseAttribute(attributes.slices[type], builder, constraint);
+            }
         }
-        builder.setUnrecognizedAttributes(this.unrecognizedAttributes);
+        builder.setUnrecognizedAttributes(unrecognized);
         return builder.build();
     }
 
     @Override
     public void serializeAttribute(final DataObject attribute,final ByteBuf byteAggregator) {
+        if (!(attribute instanceof Attributes)) {
+            for (final AttributeSerializer serializer : this.roSerializers.get()) {
+                serializer.serializeAttribute(attribute, byteAggregator);
+            }
+            return;
+        }
+        final Attributes attributes = (Attributes) attribute;
+        final boolean hasNlri = attributes.getAugmentation(Attributes1.class) != null
+            || attributes.getAugmentation(Attributes2.class) != null;
+        final Attributes common = !hasNlri ? attributes : new AttributesBuilder(attributes)
+            .addAugmentation(Attributes1.class, null).addAugmentation(Attributes2.class, null).build();
+
+        EncodedAttributes encoded = this.encodedAttributes.getIfPresent(common);
+        if (encoded == null) {
+            encoded = encode(common);
+            this.encodedAttributes.put(common, encoded);
+        }
+
+        byteAggregator.writeBytes(encoded.bytes, 0, encoded.nlriOffset);
+        if (hasNlri) {
+            for (final AttributeSerializer serializer : this.roSerializers.get()) {
+                if (this.nlriSerializers.contains(serializer)) {
+                    serializer.serializeAttribute(attributes, byteAggregator);
+                }
+            }
+        }
+        byteAggregator.writeBytes(encoded.bytes, encoded.nlriOffset, encoded.bytes.length - encoded.nlriOffset);
+    }
+
+    /**
+     * Encodes attributes not carrying NLRI, remembering the position at which MP_REACH_NLRI and MP_UNREACH_NLRI
+     * would be serialized, so the attribute order does not depend on whether the encoding was cached.
+     */
+    private EncodedAttributes encode(final Attributes attributes) {
+        final ByteBuf buffer = Unpooled.buffer();
+        int nlriOffset = -1;
         for (final AttributeSerializer serializer : this.roSerializers.get()) {
-            serializer.serializeAttribute(attribute, byteAggregator);
+            if (nlriOffset < 0 && this.nlriSerializers.contains(serializer)) {
+                nlriOffset = buffer.writerIndex();
+            }
+            serializer.serializeAttribute(attributes, buffer);
         }
+        return new EncodedAttributes(ByteArray.getAllBytes(buffer), nlriOffset < 0 ? buffer.writerIndex() : nlriOffset);
+    }
+
+    @Override
+    public long getEncodedAttributesHitCount() {
+        return this.encodedAttributes.stats().hitCount();
+    }
+
+    @Override
+    public long getEncodedAttributesMissCount() {
+        return this.encodedAttributes.stats().missCount();
     }
 }
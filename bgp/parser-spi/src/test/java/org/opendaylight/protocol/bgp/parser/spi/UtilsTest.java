@@ -65,6 +65,20 @@ public class UtilsTest {
         assertArrayEquals(result, ByteArray.getAllBytes(formattedMessage));
     }
 
+    @Test
+    public void testMessageUtilInPlace() {
+        final byte[] result = new byte[] { 1, UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE,
+            UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE,
+            UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE,
+            UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE, UnsignedBytes.MAX_VALUE, 0, 23, 3, 32, 5, 14, 21 };
+        final ByteBuf formattedMessage = Unpooled.buffer();
+        formattedMessage.writeByte(1);
+        final int messageStart = MessageUtil.startMessage(3, formattedMessage);
+        formattedMessage.writeBytes(new byte[] { 32, 5, 14, 21 });
+        MessageUtil.finishMessage(messageStart, formattedMessage);
+        assertArrayEquals(result, ByteArray.getAllBytes(formattedMessage));
+    }
+
     @Test
     public void testParameterUtil() {
         final byte[] result = new byte[] { 1, 2, 4, 8 };
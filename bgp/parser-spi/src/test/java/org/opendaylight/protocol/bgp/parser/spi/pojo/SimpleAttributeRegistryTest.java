@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.protocol.bgp.parser.spi.pojo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.protocol.bgp.parser.BGPParsingException;
+import org.opendaylight.protocol.util.ByteArray;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.AttributesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.attributes.LocalPref;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.attributes.LocalPrefBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.attributes.Origin;
+
+public class SimpleAttributeRegistryTest {
+
+    private static final byte[] ENCODED = { 0x01, 0x02 };
+
+    private final SimpleAttributeRegistry registry = new SimpleAttributeRegistry();
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        this.registry.registerAttributeSerializer(Origin.class, (attribute, byteAggregator) -> {
+            this.invocations.incrementAndGet();
+            byteAggregator.writeBytes(ENCODED);
+        });
+    }
+
+    @Test
+    public void testCachedEncoding() {
+        final Attributes attributes = new AttributesBuilder().setLocalPref(new LocalPrefBuilder().setPref(100L).build()).build();
+
+        final ByteBuf first = Unpooled.buffer();
+        this.registry.serializeAttribute(attributes, first);
+        final ByteBuf second = Unpooled.buffer();
+        this.registry.serializeAttribute(new AttributesBuilder(attributes).build(), second);
+
+        assertArrayEquals(ENCODED, ByteArray.getAllBytes(first));
+        assertArrayEquals(ENCODED, ByteArray.getAllBytes(second));
+        // the second, equal attributes are served from the cache
+        assertEquals(1, this.invocations.get());
+        assertEquals(1, this.registry.getEncodedAttributesHitCount());
+        assertEquals(1, this.registry.getEncodedAttributesMissCount());
+    }
+
+    @Test
+    public void testCacheInvalidatedOnRegistration() throws Exception {
+        final Attributes attributes = new AttributesBuilder().build();
+        this.registry.serializeAttribute(attributes, Unpooled.buffer());
+
+        final AutoCloseable reg = this.registry.registerAttributeSerializer(LocalPref.class,
+            (attribute, byteAggregator) -> byteAggregator.writeByte(0x03));
+        final ByteBuf buffer = Unpooled.buffer();
+        this.registry.serializeAttribute(attributes, buffer);
+        assertArrayEquals(new byte[] { 0x01, 0x02, 0x03 }, ByteArray.getAllBytes(buffer));
+        assertEquals(2, this.invocations.get());
+
+        reg.close();
+        final ByteBuf afterClose = Unpooled.buffer();
+        this.registry.serializeAttribute(attributes, afterClose);
+        assertArrayEquals(ENCODED, ByteArray.getAllBytes(afterClose));
+    }
+
+    @Test
+    public void testParseInTypeOrder() throws Exception {
+        final List<Integer> parsed = new ArrayList<>();
+        this.registry.registerAttributeParser(5, (buffer, builder) -> parsed.add(5));
+        this.registry.registerAttributeParser(1, (buffer, builder) -> {
+            assertEquals(0x07, buffer.readUnsignedByte());
+            parsed.add(1);
+        });
+
+        // type 5, then type 1, then a duplicate type 1 and an optional unrecognized type 9
+        final Attributes attributes = this.registry.parseAttributes(Unpooled.wrappedBuffer(new byte[] {
+            0x40, 0x05, 0x00, 0x40, 0x01, 0x01, 0x07, 0x40, 0x01, 0x01, 0x08, (byte) 0x80, 0x09, 0x01, 0x0a }), null);
+        assertEquals(Arrays.asList(1, 5), parsed);
+        assertEquals(1, attributes.getUnrecognizedAttributes().size());
+
+        parsed.clear();
+        final Attributes next = this.registry.parseAttributes(Unpooled.wrappedBuffer(new byte[] { 0x40, 0x05, 0x00 }),
+            null);
+        assertEquals(Collections.singletonList(5), parsed);
+        assertTrue(next.getUnrecognizedAttributes().isEmpty());
+    }
+
+    @Test
+    public void testParserUnregistered() throws Exception {
+        final AutoCloseable reg = this.registry.registerAttributeParser(9, (buffer, builder) -> {
+            throw new BGPParsingException("unexpected");
+        });
+        reg.close();
+        final Attributes attributes = this.registry.parseAttributes(Unpooled.wrappedBuffer(new byte[] {
+            (byte) 0x90, 0x09, 0x00, 0x01, 0x0a }), null);
+        assertEquals(9, attributes.getUnrecognizedAttributes().get(0).getType().intValue());
+    }
+}
@@ -14,4 +14,13 @@ public interface PathSelectionMode extends AutoCloseable {
      * @return ComplexRouteEntry if is complex otherwise a SimpleRouteEntry
      */
     RouteEntry createRouteEntry(boolean isComplex);
+
+    /**
+     * Indicates whether route entries created by this mode advertise routes to members of update groups.
+     *
+     * @return true if peers may share an update group
+     */
+    default boolean supportsUpdateGroups() {
+        return false;
+    }
 }
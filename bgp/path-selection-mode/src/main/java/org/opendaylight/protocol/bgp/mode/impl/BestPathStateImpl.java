@@ -102,15 +102,21 @@ public final class BestPathStateImpl implements BestPathState {
     private static final Logger LOG = LoggerFactory.getLogger(BestPathStateImpl.class);
     private static final Cache<QNameModule, NamespaceSpecificIds> PATH_CACHE = CacheBuilder.newBuilder().weakKeys().weakValues().build();
 
-    private long peerAs = 0L;
+    private static final Long NO_PEER_AS = 0L;
+
+    /*
+     * Snapshot of the attributes relevant to path selection, resolved once when the state is created, so that
+     * repeated selections do not need to walk the attributes again.
+     */
+    private Long peerAs = NO_PEER_AS;
     private int asPathLength = 0;
+    private int asPathHash = 0;
 
     private final ContainerNode attributes;
     private final NamespaceSpecificIds ids;
     private Long localPref;
     private Long multiExitDisc;
     private BgpOrigin origin;
-    private boolean resolved;
 
     public BestPathStateImpl(final ContainerNode attributes) {
         final NamespaceSpecificIds col;
@@ -140,10 +146,6 @@ public final class BestPathStateImpl implements BestPathState {
     }
 
     private void resolveValues() {
-        if (this.resolved) {
-            return;
-        }
-
         final Optional<NormalizedNode<?, ?>> maybeLocalPref = NormalizedNodes.findNode(this.attributes, this.ids.getLocPref());
         if (maybeLocalPref.isPresent()) {
             this.localPref = (Long) maybeLocalPref.get().getValue();
@@ -167,73 +169,76 @@ public final class BestPathStateImpl implements BestPathState {
 
         final Optional<NormalizedNode<?, ?>> maybeSegments = NormalizedNodes.findNode(this.attributes, this.ids.getAsPath());
         if (maybeSegments.isPresent()) {
-            final UnkeyedListNode segments = (UnkeyedListNode) maybeSegments.get();
-            final List<Segments> segs = extractSegments(segments);
-            if (!segs.isEmpty()) {
-                this.peerAs = getPeerAs(segs).getValue();
-                this.asPathLength = countAsPath(segs);
+            resolveAsPath((UnkeyedListNode) maybeSegments.get());
+        }
+    }
+
+    /**
+     * Resolves peer AS, AS path length and AS path hash in a single pass over the segments, without
+     * materializing them.
+     */
+    private void resolveAsPath(final UnkeyedListNode segments) {
+        // an AS_SET counts as 1, no matter how many ASs are in the set.
+        boolean first = true;
+        boolean setPresent = false;
+        int count = 0;
+        int hash = 1;
+        for (final UnkeyedListEntryNode segment : segments.getValue()) {
+            final Optional<NormalizedNode<?, ?>> maybeSet = NormalizedNodes.findNode(segment, this.ids.getAsSet());
+            final Optional<NormalizedNode<?, ?>> maybeSeq = NormalizedNodes.findNode(segment, this.ids.getAsSeq());
+            if (maybeSet.isPresent()) {
+                final LeafSetNode<?> set = (LeafSetNode<?>) maybeSet.get();
+                if (!setPresent) {
+                    setPresent = true;
+                    count++;
+                }
+                int setHash = 0;
+                for (final LeafSetEntryNode<?> as : set.getValue()) {
+                    setHash += as.getValue().hashCode();
+                }
+                hash = 31 * hash + setHash;
+            } else if (maybeSeq.isPresent()) {
+                final LeafSetNode<?> seq = (LeafSetNode<?>) maybeSeq.get();
+                for (final LeafSetEntryNode<?> as : seq.getValue()) {
+                    if (first) {
+                        this.peerAs = (Long) as.getValue();
+                    }
+                    first = false;
+                    count++;
+                    hash = 31 * hash + as.getValue().hashCode();
+                }
             }
+            first = false;
         }
-        this.resolved = true;
+        this.asPathLength = count;
+        this.asPathHash = hash;
     }
 
     @Override
     public Long getLocalPref() {
-        resolveValues();
         return this.localPref;
     }
 
     @Override
     public Long getMultiExitDisc() {
-        resolveValues();
         return this.multiExitDisc;
     }
 
     @Override
     public BgpOrigin getOrigin() {
-        resolveValues();
         return this.origin;
     }
 
     @Override
     public Long getPeerAs() {
-        resolveValues();
         return this.peerAs;
     }
 
     @Override
     public int getAsPathLength() {
-        resolveValues();
         return this.asPathLength;
     }
 
-    private static int countAsPath(final List<Segments> segments) {
-        // an AS_SET counts as 1, no matter how many ASs are in the set.
-        int count = 0;
-        boolean setPresent = false;
-        for (final Segments s : segments) {
-            if (s.getAsSet() != null && !setPresent) {
-                setPresent = true;
-                count++;
-            } else if (s.getAsSequence() != null) {
-                count += s.getAsSequence().size();
-            }
-        }
-        return count;
-    }
-
-    private static AsNumber getPeerAs(final List<Segments> segments) {
-        if (segments.isEmpty()) {
-            return new AsNumber(0L);
-        }
-        for (final Segments seg : segments) {
-            if (seg.getAsSequence() != null && !seg.getAsSequence().isEmpty()) {
-                return segments.get(0).getAsSequence().get(0);
-            }
-        }
-        return new AsNumber(0L);
-    }
-
     public List<Segments> extractSegments(final UnkeyedListNode segments) {
         // list segments
         final List<Segments> extracted = new ArrayList<>();
@@ -269,7 +274,8 @@ public final class BestPathStateImpl implements BestPathState {
         toStringHelper.add("localPref", this.localPref);
         toStringHelper.add("multiExitDisc", this.multiExitDisc);
         toStringHelper.add("origin", this.origin);
-        toStringHelper.add("resolved", this.resolved);
+        toStringHelper.add("peerAs", this.peerAs);
+        toStringHelper.add("asPathLength", this.asPathLength);
         return toStringHelper;
     }
 
@@ -282,6 +288,7 @@ public final class BestPathStateImpl implements BestPathState {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
+        result = prime * result + this.asPathHash;
         result = prime * result + this.attributes.hashCode();
         result = prime * result + (this.localPref == null ? 0 : this.localPref.hashCode());
         result = prime * result + (this.multiExitDisc == null ? 0 : this.multiExitDisc.hashCode());
@@ -298,6 +305,9 @@ public final class BestPathStateImpl implements BestPathState {
             return false;
         }
         final BestPathStateImpl other = (BestPathStateImpl) obj;
+        if (this.asPathHash != other.asPathHash || this.asPathLength != other.asPathLength) {
+            return false;
+        }
         if (!this.attributes.equals(other.attributes)) {
             return false;
         }
@@ -15,6 +15,8 @@ import java.util.Optional;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.protocol.bgp.mode.api.BestPath;
+import org.opendaylight.protocol.bgp.mode.api.BestPathState;
+import org.opendaylight.protocol.bgp.mode.impl.BestPathStateImpl;
 import org.opendaylight.protocol.bgp.mode.spi.AbstractRouteEntry;
 import org.opendaylight.protocol.bgp.rib.spi.ExportPolicyPeerTracker;
 import org.opendaylight.protocol.bgp.rib.spi.PeerExportGroup;
@@ -49,6 +51,7 @@ public abstract class AddPathAbstractRouteEntry extends AbstractRouteEntry {
     protected OffsetMap offsets = OffsetMap.EMPTY;
     protected ContainerNode[] values = new ContainerNode[0];
     protected Long[] pathsId = new Long[0];
+    protected BestPathState[] states = new BestPathState[0];
     private long pathIdCounter = 0L;
     private boolean oldNonAddPathBestPathTheSame;
     private List<AddPathBestPath> newBestPathToBeAdvertised;
@@ -79,12 +82,14 @@ public abstract class AddPathAbstractRouteEntry extends AbstractRouteEntry {
             offset = newOffsets.offsetOf(key);
             final ContainerNode[] newAttributes = newOffsets.expand(this.offsets, this.values, offset);
             final Long[] newPathsId = newOffsets.expand(this.offsets, this.pathsId, offset);
+            this.states = newOffsets.expand(this.offsets, this.states, offset);
             this.values = newAttributes;
             this.offsets = newOffsets;
             this.pathsId = newPathsId;
             this.offsets.setValue(this.pathsId, offset, ++this.pathIdCounter);
         }
         this.offsets.setValue(this.values, offset, attributes);
+        this.offsets.setValue(this.states, offset, attributes == null ? null : new BestPathStateImpl(attributes));
         LOG.trace("Added route from {} attributes {}", key.getRouteId(), attributes);
         return offset;
     }
@@ -106,6 +111,7 @@ public abstract class AddPathAbstractRouteEntry extends AbstractRouteEntry {
         final Long pathId = this.offsets.getValue(this.pathsId, offset);
         this.values = this.offsets.removeValue(this.values, offset);
         this.pathsId = this.offsets.removeValue(this.pathsId, offset);
+        this.states = this.offsets.removeValue(this.states, offset);
         this.offsets = this.offsets.without(key);
         if(this.removedPaths == null) {
             this.removedPaths = new ArrayList<>();
@@ -223,7 +229,7 @@ public abstract class AddPathAbstractRouteEntry extends AbstractRouteEntry {
         final ContainerNode attributes = this.offsets.getValue(this.values, offset);
         final Long pathId = this.offsets.getValue(this.pathsId, offset);
         LOG.trace("Processing router key {} attributes {}", key, attributes);
-        selector.processPath(attributes, key, offset, pathId);
+        selector.processPath(attributes, this.offsets.getValue(this.states, offset), key, offset, pathId);
     }
 
     /**
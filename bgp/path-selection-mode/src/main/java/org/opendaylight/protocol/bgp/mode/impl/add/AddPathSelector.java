@@ -11,7 +11,6 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.primitives.UnsignedInteger;
 import org.opendaylight.protocol.bgp.mode.api.BestPathState;
-import org.opendaylight.protocol.bgp.mode.impl.BestPathStateImpl;
 import org.opendaylight.protocol.bgp.mode.spi.AbstractBestPathSelector;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.slf4j.Logger;
@@ -28,7 +27,8 @@ public final class AddPathSelector extends AbstractBestPathSelector {
         super(ourAs);
     }
 
-    void processPath(final ContainerNode attrs, final RouteKey key, final int offsetPosition, final Long pathId) {
+    void processPath(final ContainerNode attrs, final BestPathState state, final RouteKey key, final int offsetPosition,
+        final Long pathId) {
         requireNonNull(key.getRouteId(), "Router ID may not be null");
 
         // Consider only non-null attributes
@@ -39,7 +39,6 @@ public final class AddPathSelector extends AbstractBestPathSelector {
              * Store the new details if we have nothing stored or when the selection algorithm indicates new details
              * are better.
              */
-            final BestPathState state = new BestPathStateImpl(attrs);
             if (this.bestOriginatorId == null || !isExistingPathBetter(state)) {
                 LOG.trace("Selecting path from router {}", key);
                 this.bestOriginatorId = originatorId;
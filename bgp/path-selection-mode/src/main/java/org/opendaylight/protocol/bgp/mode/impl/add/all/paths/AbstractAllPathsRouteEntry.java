@@ -14,7 +14,6 @@ import com.google.common.collect.ImmutableList;
 import java.util.ArrayList;
 import java.util.List;
 import org.opendaylight.protocol.bgp.mode.api.BestPathState;
-import org.opendaylight.protocol.bgp.mode.impl.BestPathStateImpl;
 import org.opendaylight.protocol.bgp.mode.impl.add.AddPathAbstractRouteEntry;
 import org.opendaylight.protocol.bgp.mode.impl.add.AddPathBestPath;
 import org.opendaylight.protocol.bgp.mode.impl.add.RouteKey;
@@ -37,7 +36,7 @@ abstract class AbstractAllPathsRouteEntry extends AddPathAbstractRouteEntry {
                 final ContainerNode attributes = this.offsets.getValue(this.values, offset);
                 requireNonNull(key.getRouteId(), "Router ID may not be null");
                 if (attributes != null) {
-                    final BestPathState state = new BestPathStateImpl(attributes);
+                    final BestPathState state = this.offsets.getValue(this.states, offset);
                     final AddPathBestPath bestPath = new AddPathBestPath(state, key, offset, this.offsets.getValue(this.pathsId, offset));
                     newBestPathList.add(bestPath);
                 }
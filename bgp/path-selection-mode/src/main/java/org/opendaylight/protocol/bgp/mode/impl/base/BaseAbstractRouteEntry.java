@@ -12,10 +12,13 @@ import com.google.common.primitives.UnsignedInteger;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.protocol.bgp.mode.api.BestPath;
+import org.opendaylight.protocol.bgp.mode.api.BestPathState;
+import org.opendaylight.protocol.bgp.mode.impl.BestPathStateImpl;
 import org.opendaylight.protocol.bgp.mode.spi.AbstractRouteEntry;
 import org.opendaylight.protocol.bgp.rib.spi.ExportPolicyPeerTracker;
 import org.opendaylight.protocol.bgp.rib.spi.PeerExportGroup;
 import org.opendaylight.protocol.bgp.rib.spi.RIBSupport;
+import org.opendaylight.protocol.bgp.rib.spi.UpdateGroup;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.PeerId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.PeerRole;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.TablesKey;
@@ -32,10 +35,31 @@ import org.slf4j.LoggerFactory;
 abstract class BaseAbstractRouteEntry extends AbstractRouteEntry {
     private static final Logger LOG = LoggerFactory.getLogger(BaseAbstractRouteEntry.class);
     private static final ContainerNode[] EMPTY_ATTRIBUTES = new ContainerNode[0];
+    private static final BestPathState[] EMPTY_STATES = new BestPathState[0];
     private OffsetMap offsets = OffsetMap.EMPTY;
     private ContainerNode[] values = EMPTY_ATTRIBUTES;
+    /**
+     * Resolved best path state of each value, computed once when the value is added.
+     */
+    private BestPathState[] states = EMPTY_STATES;
     private BaseBestPath bestPath;
     private BaseBestPath removedBestPath;
+    /**
+     * Router ID of the last path changed since previous selection and the number of such changes.
+     */
+    private UnsignedInteger changedRouterId;
+    private int pendingChanges;
+    private final boolean incremental;
+
+    /**
+     * Create a route entry.
+     *
+     * @param incremental true if a single changed path should be evaluated against the current best path instead
+     *        of running a full pass over all paths, when that is known to yield the same result
+     */
+    BaseAbstractRouteEntry(final boolean incremental) {
+        this.incremental = incremental;
+    }
 
     private int addRoute(final UnsignedInteger routerId, final ContainerNode attributes) {
         int offset = this.offsets.offsetOf(routerId);
@@ -44,14 +68,22 @@ abstract class BaseAbstractRouteEntry extends AbstractRouteEntry {
             offset = newOffsets.offsetOf(routerId);
 
             this.values = newOffsets.expand(this.offsets, this.values, offset);
+            this.states = newOffsets.expand(this.offsets, this.states, offset);
             this.offsets = newOffsets;
         }
 
         this.offsets.setValue(this.values, offset, attributes);
+        this.offsets.setValue(this.states, offset, attributes == null ? null : new BestPathStateImpl(attributes));
+        recordChange(routerId);
         LOG.trace("Added route from {} attributes {}", routerId, attributes);
         return offset;
     }
 
+    private void recordChange(final UnsignedInteger routerId) {
+        this.changedRouterId = routerId;
+        this.pendingChanges++;
+    }
+
     /**
      * Remove route
      *
@@ -61,27 +93,18 @@ abstract class BaseAbstractRouteEntry extends AbstractRouteEntry {
      */
     protected final boolean removeRoute(final UnsignedInteger routerId, final int offset) {
         this.values = this.offsets.removeValue(this.values, offset);
+        this.states = this.offsets.removeValue(this.states, offset);
         this.offsets = this.offsets.without(routerId);
+        recordChange(routerId);
         return this.offsets.isEmpty();
     }
 
     @Override
     public final boolean selectBest(final long localAs) {
-        /*
-         * FIXME: optimize flaps by making sure we consider stability of currently-selected route.
-         */
-        final BasePathSelector selector = new BasePathSelector(localAs);
-
-        // Select the best route.
-        for (int i = 0; i < this.offsets.size(); ++i) {
-            final UnsignedInteger routerId = this.offsets.getRouterKey(i);
-            final ContainerNode attributes = this.offsets.getValue(this.values, i);
-            LOG.trace("Processing router id {} attributes {}", routerId, attributes);
-            selector.processPath(routerId, attributes);
-        }
+        final BaseBestPath newBestPath = canSelectIncrementally() ? selectIncrementally(localAs) : selectFull(localAs);
+        this.changedRouterId = null;
+        this.pendingChanges = 0;
 
-        // Get the newly-selected best path.
-        final BaseBestPath newBestPath = selector.result();
         final boolean modified = newBestPath == null || !newBestPath.equals(this.bestPath);
         if (modified) {
             if(this.offsets.isEmpty()) {
@@ -93,6 +116,54 @@ abstract class BaseAbstractRouteEntry extends AbstractRouteEntry {
         return modified;
     }
 
+    /**
+     * Incremental selection is possible when exactly one path other than the current best one has changed since
+     * the previous selection. Any change to the best path itself, including its withdrawal, requires a full pass.
+     */
+    private boolean canSelectIncrementally() {
+        return this.incremental && this.pendingChanges == 1 && this.bestPath != null && !this.offsets.isEmpty()
+            && !this.changedRouterId.equals(this.bestPath.getRouterId());
+    }
+
+    private BaseBestPath selectIncrementally(final long localAs) {
+        final int offset = this.offsets.offsetOf(this.changedRouterId);
+        if (offset < 0) {
+            LOG.trace("Non-best path from {} withdrawn, keeping {}", this.changedRouterId, this.bestPath);
+            return this.bestPath;
+        }
+        if (this.changedRouterId.compareTo(this.bestPath.getRouterId()) < 0) {
+            /*
+             * A full pass visits paths in order of increasing router ID and a path replaces the current best one
+             * unless the best one is found better, hence the later-visited path wins ties such as equal MEDs.
+             * The seeded selector treats the current best path as the earlier-visited one, which only holds when
+             * the changed path follows it. Here the changed path precedes it and loses the tie, which the seeded
+             * selector would award to it: run a full pass over the cached states instead.
+             */
+            return selectFull(localAs);
+        }
+
+        final BasePathSelector selector = new BasePathSelector(localAs, this.bestPath);
+        LOG.trace("Processing changed router id {} against best {}", this.changedRouterId, this.bestPath);
+        selector.processPath(this.changedRouterId, this.offsets.getValue(this.values, offset),
+            this.offsets.getValue(this.states, offset));
+        return selector.result();
+    }
+
+    private BaseBestPath selectFull(final long localAs) {
+        final BasePathSelector selector = new BasePathSelector(localAs);
+
+        // Select the best route.
+        for (int i = 0; i < this.offsets.size(); ++i) {
+            final UnsignedInteger routerId = this.offsets.getRouterKey(i);
+            final ContainerNode attributes = this.offsets.getValue(this.values, i);
+            LOG.trace("Processing router id {} attributes {}", routerId, attributes);
+            selector.processPath(routerId, attributes, this.offsets.getValue(this.states, i));
+        }
+
+        // Get the newly-selected best path.
+        return selector.result();
+    }
+
     @Override
     public int addRoute(final UnsignedInteger routerId, final Long remotePathId, final NodeIdentifier attributesIdentifier, final NormalizedNode<?, ?> data) {
         LOG.trace("Find {} in {}", attributesIdentifier, data);
@@ -117,6 +188,13 @@ abstract class BaseAbstractRouteEntry extends AbstractRouteEntry {
         final TablesKey localTK, final ExportPolicyPeerTracker peerPT, final RIBSupport ribSupport, final DOMDataWriteTransaction tx) {
         if (this.bestPath != null) {
             final BaseBestPath path = this.bestPath;
+            final UpdateGroup updateGroup = peerPT.getUpdateGroup(destPeer);
+            if (updateGroup != null) {
+                // Members already holding the route ignore it, split horizon is applied by the group
+                updateGroup.updateRoute(routeId, path.getPeerId(), peerGroup.effectiveAttributes(
+                    getRoutePeerIdRole(peerPT, path.getPeerId()), path.getAttributes()), createValue(routeId, path));
+                return;
+            }
             final PeerRole destPeerRole = getRoutePeerIdRole(peerPT, destPeer);
             if (filterRoutes(path.getPeerId(), destPeer, peerPT, localTK, destPeerRole)) {
                 final ContainerNode effAttrib = peerGroup.effectiveAttributes(getRoutePeerIdRole(peerPT,path.getPeerId()), path.getAttributes());
@@ -161,6 +239,11 @@ abstract class BaseAbstractRouteEntry extends AbstractRouteEntry {
         return this.offsets;
     }
 
+    @VisibleForTesting
+    final BaseBestPath getBestPath() {
+        return this.bestPath;
+    }
+
     @VisibleForTesting
     private void fillAdjRibsOut(final ContainerNode attributes, final NormalizedNode<?, ?> value,
         final PathArgument routeId, final PeerId routePeerId, final ExportPolicyPeerTracker peerPT,
@@ -180,11 +263,16 @@ abstract class BaseAbstractRouteEntry extends AbstractRouteEntry {
                 final ContainerNode effAttrib = peerGroup.effectiveAttributes(getRoutePeerIdRole(peerPT, routePeerId),
                     attributes);
                 peerGroup.forEach((destPeer, rootPath) -> {
-                    if (!filterRoutes(routePeerId, destPeer, peerPT, localTK, getRoutePeerIdRole(peerPT, destPeer))) {
+                    // members of update groups are served by their group
+                    if (peerPT.getUpdateGroup(destPeer) != null
+                        || !filterRoutes(routePeerId, destPeer, peerPT, localTK, getRoutePeerIdRole(peerPT, destPeer))) {
                         return;
                     }
                     update(destPeer, getAdjRibOutYII(ribSup, rootPath, routeId, localTK), effAttrib, value, ribSup, tx);
                 });
+                for (final UpdateGroup updateGroup : peerPT.getUpdateGroups(role)) {
+                    updateGroup.updateRoute(routeId, routePeerId, effAttrib, value);
+                }
             }
         }
     }
@@ -19,6 +19,10 @@ final class BaseComplexRouteEntry extends BaseAbstractRouteEntry {
     private static final MapEntryNode[] EMPTY_VALUES = new MapEntryNode[0];
     private MapEntryNode[] values = EMPTY_VALUES;
 
+    BaseComplexRouteEntry(final boolean incremental) {
+        super(incremental);
+    }
+
     @Override
     public int addRoute(final UnsignedInteger routerId, final Long remotePathId, final NodeIdentifier attrII, final NormalizedNode<?, ?> data) {
         final OffsetMap oldMap = getOffsets();
@@ -12,9 +12,20 @@ import org.opendaylight.protocol.bgp.mode.api.PathSelectionMode;
 import org.opendaylight.protocol.bgp.mode.api.RouteEntry;
 
 final class BasePathSelection implements PathSelectionMode {
+    private final boolean incremental;
+
+    BasePathSelection(final boolean incremental) {
+        this.incremental = incremental;
+    }
+
     @Override
     public RouteEntry createRouteEntry(final boolean isComplex) {
-        return isComplex ? new BaseComplexRouteEntry() : new BaseSimpleRouteEntry();
+        return isComplex ? new BaseComplexRouteEntry(this.incremental) : new BaseSimpleRouteEntry(this.incremental);
+    }
+
+    @Override
+    public boolean supportsUpdateGroups() {
+        return true;
     }
 
     @Override
@@ -16,6 +16,17 @@ public final class BasePathSelectionModeFactory {
     }
 
     public static PathSelectionMode createBestPathSelectionStrategy() {
-        return new BasePathSelection();
+        return createBestPathSelectionStrategy(false);
+    }
+
+    /**
+     * Create the base best path selection strategy.
+     *
+     * @param incremental true if a change of a single path which is not the best one should be evaluated against
+     *        the current best path only, instead of running selection over all paths of the route
+     * @return path selection strategy
+     */
+    public static PathSelectionMode createBestPathSelectionStrategy(final boolean incremental) {
+        return new BasePathSelection(incremental);
     }
 }
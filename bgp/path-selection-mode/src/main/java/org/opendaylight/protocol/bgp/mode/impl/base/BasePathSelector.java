@@ -10,6 +10,7 @@ package org.opendaylight.protocol.bgp.mode.impl.base;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.primitives.UnsignedInteger;
+import javax.annotation.Nonnull;
 import org.opendaylight.protocol.bgp.mode.api.BestPathState;
 import org.opendaylight.protocol.bgp.mode.impl.BestPathStateImpl;
 import org.opendaylight.protocol.bgp.mode.spi.AbstractBestPathSelector;
@@ -26,7 +27,32 @@ final class BasePathSelector extends AbstractBestPathSelector {
         super(ourAs);
     }
 
+    /**
+     * Create a selector seeded with a previously-selected best path, so that a single candidate can be
+     * evaluated against it without rescanning all paths.
+     *
+     * @param ourAs local AS number
+     * @param currentBest currently-selected best path
+     */
+    BasePathSelector(final Long ourAs, @Nonnull final BaseBestPath currentBest) {
+        super(ourAs);
+        this.bestRouterId = currentBest.getRouterId();
+        this.bestOriginatorId = replaceOriginator(this.bestRouterId, currentBest.getAttributes());
+        this.bestState = currentBest.getState();
+    }
+
     void processPath(final UnsignedInteger routerId, final ContainerNode attrs) {
+        processPath(routerId, attrs, attrs == null ? null : new BestPathStateImpl(attrs));
+    }
+
+    /**
+     * Process a path whose attributes have already been resolved into a {@link BestPathState}.
+     *
+     * @param routerId router ID
+     * @param attrs path attributes, may be null
+     * @param state resolved state of attrs, must not be null if attrs is not null
+     */
+    void processPath(final UnsignedInteger routerId, final ContainerNode attrs, final BestPathState state) {
         requireNonNull(routerId, "Router ID may not be null");
 
         // Consider only non-null attributes
@@ -36,7 +62,6 @@ final class BasePathSelector extends AbstractBestPathSelector {
              * Store the new details if we have nothing stored or when the selection algorithm indicates new details
              * are better.
              */
-            final BestPathState state = new BestPathStateImpl(attrs);
             if (this.bestOriginatorId == null || !isExistingPathBetter(state)) {
                 LOG.trace("Selecting path from router {}", routerId);
                 this.bestOriginatorId = originatorId;
@@ -14,6 +14,10 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgum
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 
 final class BaseSimpleRouteEntry extends BaseAbstractRouteEntry {
+    BaseSimpleRouteEntry(final boolean incremental) {
+        super(incremental);
+    }
+
     @Override
     public boolean removeRoute(UnsignedInteger routerId, final Long remotePathId) {
         return removeRoute(routerId, getOffsets().offsetOf(routerId));
@@ -18,6 +18,7 @@ import static org.opendaylight.protocol.bgp.mode.impl.base.BasePathSelectorTest.
 import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.UnsignedInteger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -197,6 +198,8 @@ public abstract class AbstractRouteEntryTest {
 
         doReturn(Boolean.TRUE).when(this.peerPT).isAddPathSupportedByPeer(PEER_ID);
         doReturn(Boolean.FALSE).when(this.peerPT).isAddPathSupportedByPeer(PEER_ID2);
+        doReturn(null).when(this.peerPT).getUpdateGroup(any(PeerId.class));
+        doReturn(Collections.emptyList()).when(this.peerPT).getUpdateGroups(any(PeerRole.class));
     }
 
     private void mockRibSupport() {
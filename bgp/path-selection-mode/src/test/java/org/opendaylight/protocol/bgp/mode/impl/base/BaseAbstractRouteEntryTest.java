@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.mode.impl.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.opendaylight.protocol.bgp.mode.impl.base.BasePathSelectorTest.ATTRS_EXTENSION_Q;
+import static org.opendaylight.protocol.bgp.mode.impl.base.BasePathSelectorTest.createStateFromPrefMedOrigin;
+import static org.opendaylight.protocol.bgp.mode.impl.base.BasePathSelectorTest.createStateFromPrefMedOriginASPath;
+
+import com.google.common.primitives.UnsignedInteger;
+import java.util.function.Consumer;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+
+/**
+ * Checks that incremental selection of {@link BaseAbstractRouteEntry} yields the same best path as a full pass.
+ */
+public class BaseAbstractRouteEntryTest {
+    private static final long AS = 64444;
+    private static final Long REMOTE_PATH_ID = 0L;
+    private static final NodeIdentifier ATTRIBUTES_NID = new NodeIdentifier(ATTRS_EXTENSION_Q);
+    private static final NodeIdentifier ROUTE_NID = new NodeIdentifier(QName.create(ATTRS_EXTENSION_Q, "route"));
+    // lower local preference, equal MED
+    private static final ContainerNode WORSE = createRoute(createStateFromPrefMedOrigin());
+    private static final ContainerNode BETTER = createRoute(createStateFromPrefMedOriginASPath().build());
+    private static final UnsignedInteger ROUTER_ID1 = UnsignedInteger.valueOf(1);
+    private static final UnsignedInteger ROUTER_ID2 = UnsignedInteger.valueOf(2);
+    private static final UnsignedInteger ROUTER_ID3 = UnsignedInteger.valueOf(3);
+    private static final UnsignedInteger ROUTER_ID4 = UnsignedInteger.valueOf(4);
+
+    private final BaseSimpleRouteEntry incremental = new BaseSimpleRouteEntry(true);
+    private final BaseSimpleRouteEntry full = new BaseSimpleRouteEntry(false);
+
+    private static ContainerNode createRoute(final ContainerNode attributes) {
+        return Builders.containerBuilder().withNodeIdentifier(ROUTE_NID).withChild(attributes).build();
+    }
+
+    private UnsignedInteger change(final Consumer<BaseSimpleRouteEntry> change) {
+        change.accept(this.incremental);
+        change.accept(this.full);
+        this.incremental.selectBest(AS);
+        this.full.selectBest(AS);
+        assertEquals(this.full.getBestPath(), this.incremental.getBestPath());
+        return this.full.getBestPath() == null ? null : this.full.getBestPath().getRouterId();
+    }
+
+    private UnsignedInteger add(final UnsignedInteger routerId, final ContainerNode route) {
+        return change(entry -> entry.addRoute(routerId, REMOTE_PATH_ID, ATTRIBUTES_NID, route));
+    }
+
+    private UnsignedInteger remove(final UnsignedInteger routerId) {
+        return change(entry -> entry.removeRoute(routerId, REMOTE_PATH_ID));
+    }
+
+    @Test
+    public void testEqualCostTies() {
+        assertEquals(ROUTER_ID1, add(ROUTER_ID1, WORSE));
+        // equal paths visited later win ties
+        assertEquals(ROUTER_ID3, add(ROUTER_ID3, WORSE));
+        // the changed path precedes the best one, so it loses the tie
+        assertEquals(ROUTER_ID3, add(ROUTER_ID2, WORSE));
+        assertEquals(ROUTER_ID4, add(ROUTER_ID4, WORSE));
+    }
+
+    @Test
+    public void testBestPathWithdrawal() {
+        assertEquals(ROUTER_ID1, add(ROUTER_ID1, WORSE));
+        assertEquals(ROUTER_ID2, add(ROUTER_ID2, BETTER));
+        assertEquals(ROUTER_ID2, add(ROUTER_ID3, WORSE));
+
+        // withdrawal of the best path recomputes the best one over remaining paths
+        assertEquals(ROUTER_ID3, remove(ROUTER_ID2));
+        // withdrawal of other paths keeps it
+        assertEquals(ROUTER_ID3, remove(ROUTER_ID1));
+        assertEquals(ROUTER_ID1, add(ROUTER_ID1, BETTER));
+        assertEquals(ROUTER_ID1, remove(ROUTER_ID3));
+        assertNull(remove(ROUTER_ID1));
+    }
+
+    @Test
+    public void testSeveralChanges() {
+        assertEquals(ROUTER_ID2, change(entry -> {
+            entry.addRoute(ROUTER_ID1, REMOTE_PATH_ID, ATTRIBUTES_NID, WORSE);
+            entry.addRoute(ROUTER_ID2, REMOTE_PATH_ID, ATTRIBUTES_NID, BETTER);
+        }));
+        assertEquals(ROUTER_ID3, change(entry -> {
+            entry.addRoute(ROUTER_ID2, REMOTE_PATH_ID, ATTRIBUTES_NID, WORSE);
+            entry.addRoute(ROUTER_ID3, REMOTE_PATH_ID, ATTRIBUTES_NID, WORSE);
+        }));
+    }
+}
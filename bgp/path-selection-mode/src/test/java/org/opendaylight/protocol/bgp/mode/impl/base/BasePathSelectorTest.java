@@ -154,7 +154,37 @@ public class BasePathSelectorTest {
         assertNotEquals(this.originBestPath.getState().getAsPathLength(), processedPath.getState().getAsPathLength());
     }
 
-    private static ContainerNode createStateFromPrefMedOrigin() {
+    @Test
+    public void testAsPathSnapshot() {
+        final DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> dataContBuilder = createContBuilder(ATTRS_EXTENSION_Q);
+        addAsPath(dataContBuilder, SET_SEGMENT);
+        final BestPathStateImpl setState = new BestPathStateImpl(dataContBuilder.build());
+        assertEquals(1, setState.getAsPathLength());
+        assertEquals(0L, (long) setState.getPeerAs());
+        assertNotEquals(setState, this.state);
+
+        final BestPathStateImpl sameState = new BestPathStateImpl(createStateFromPrefMedOriginASPath().build());
+        assertEquals(this.state, sameState);
+        assertEquals(this.state.hashCode(), sameState.hashCode());
+        assertEquals(1L, (long) sameState.getPeerAs());
+        assertEquals(3, sameState.getAsPathLength());
+    }
+
+    @Test
+    public void testSeededSelector() {
+        final BasePathSelector seeded = new BasePathSelector(20L, this.originBestPath);
+        final ContainerNode worse = createStateFromPrefMedOrigin();
+        seeded.processPath(this.ROUTER_ID3, worse, new BestPathStateImpl(worse));
+        assertEquals(this.originBestPath, seeded.result());
+
+        final DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> dataContBuilder = createStateFromPrefMedOriginASPath();
+        addIgpOrigin(dataContBuilder);
+        final ContainerNode better = dataContBuilder.build();
+        seeded.processPath(this.ROUTER_ID3, better, new BestPathStateImpl(better));
+        assertEquals(this.ROUTER_ID3, seeded.result().getRouterId());
+    }
+
+    static ContainerNode createStateFromPrefMedOrigin() {
         DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> dataContBuilder = createContBuilder(ATTRS_EXTENSION_Q);
         addLowerLocalRef(dataContBuilder);
         addLowerMultiExitDisc(dataContBuilder);
@@ -31,7 +31,7 @@ public class BaseRouteEntryTest extends AbstractRouteEntryTest {
 
     @Test
     public void testBaseSimpleRouteEntry() throws Exception {
-        this.testBARE = new BaseSimpleRouteEntry();
+        this.testBARE = new BaseSimpleRouteEntry(false);
         testWriteEmptyBestPath();
         testAddRouteSelectBestAndWriteOnDS();
         testRewriteSameRoute();
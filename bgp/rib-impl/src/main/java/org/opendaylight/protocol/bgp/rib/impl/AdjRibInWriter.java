@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -84,6 +85,12 @@ final class AdjRibInWriter {
     private static final NodeIdentifier TABLES = new NodeIdentifier(Tables.QNAME);
     private static final QName SEND_RECEIVE = QName.create(SupportedTables.QNAME, "send-receive").intern();
     private static final NodeIdentifier SIMPLE_ROUTING_POLICY_NID = new NodeIdentifier(QName.create(Peer.QNAME, "simple-routing-policy").intern());
+    /**
+     * Default maximum number of UPDATE messages coalesced into a single transaction and the maximum time
+     * a transaction is kept open. The default batch size of one submits each UPDATE in its own transaction.
+     */
+    static final int DEFAULT_BATCH_SIZE = 1;
+    static final long DEFAULT_BATCH_MILLIS = 10;
 
     // FIXME: is there a utility method to construct this?
     private static final ContainerNode EMPTY_ADJRIBIN = Builders.containerBuilder().withNodeIdentifier(ADJRIBIN).addChild(ImmutableNodes.mapNodeBuilder(Tables.QNAME).build()).build();
@@ -94,13 +101,16 @@ final class AdjRibInWriter {
     private final YangInstanceIdentifier peerPath;
     private final YangInstanceIdentifier ribPath;
     private final DOMTransactionChain chain;
+    private final TransactionBatcher batcher;
     private final PeerRole role;
     private final Optional<SimpleRoutingPolicy> simpleRoutingPolicy;
 
-    private AdjRibInWriter(final YangInstanceIdentifier ribPath, final DOMTransactionChain chain, final PeerRole role,
-        final Optional<SimpleRoutingPolicy> simpleRoutingPolicy, final YangInstanceIdentifier peerPath, final Map<TablesKey, TableContext> tables) {
+    private AdjRibInWriter(final YangInstanceIdentifier ribPath, final DOMTransactionChain chain,
+        final TransactionBatcher batcher, final PeerRole role, final Optional<SimpleRoutingPolicy> simpleRoutingPolicy,
+        final YangInstanceIdentifier peerPath, final Map<TablesKey, TableContext> tables) {
         this.ribPath = requireNonNull(ribPath);
         this.chain = requireNonNull(chain);
+        this.batcher = requireNonNull(batcher);
         this.tables = requireNonNull(tables);
         this.role = requireNonNull(role);
         this.simpleRoutingPolicy = simpleRoutingPolicy;
@@ -116,7 +126,24 @@ final class AdjRibInWriter {
      */
     static AdjRibInWriter create(@Nonnull final YangInstanceIdentifier ribId, @Nonnull final PeerRole role,
         final Optional<SimpleRoutingPolicy> simpleRoutingPolicy, @Nonnull final DOMTransactionChain chain) {
-        return new AdjRibInWriter(ribId, chain, role, simpleRoutingPolicy, null, Collections.emptyMap());
+        return create(ribId, role, simpleRoutingPolicy, chain, DEFAULT_BATCH_SIZE, DEFAULT_BATCH_MILLIS);
+    }
+
+    /**
+     * Create a new writer using a transaction chain, coalescing writes of consecutive UPDATE messages.
+     *
+     * @param role peer's role
+     * @param simpleRoutingPolicy simple Routing Policy {@link SimpleRoutingPolicy}
+     * @param chain transaction chain
+     * @param batchSize maximum number of UPDATE messages written in a single transaction
+     * @param batchMillis maximum time in milliseconds a transaction is kept open
+     * @return A fresh writer instance
+     */
+    static AdjRibInWriter create(@Nonnull final YangInstanceIdentifier ribId, @Nonnull final PeerRole role,
+        final Optional<SimpleRoutingPolicy> simpleRoutingPolicy, @Nonnull final DOMTransactionChain chain,
+        final int batchSize, final long batchMillis) {
+        return new AdjRibInWriter(ribId, chain, new TransactionBatcher(chain, batchSize, batchMillis, TimeUnit.MILLISECONDS),
+            role, simpleRoutingPolicy, null, Collections.emptyMap());
     }
 
     /**
@@ -137,6 +164,7 @@ final class AdjRibInWriter {
 
     AdjRibInWriter transform(final PeerId newPeerId, final RIBSupportContextRegistry registry, final Set<TablesKey> tableTypes,
         final Map<TablesKey, SendReceive> addPathTablesType, @Nullable final RegisterAppPeerListener registerAppPeerListener) {
+        this.batcher.flush();
         final DOMDataWriteTransaction tx = this.chain.newWriteOnlyTransaction();
 
         final YangInstanceIdentifier newPeerPath;
@@ -163,7 +191,8 @@ final class AdjRibInWriter {
                 }
             }
         }, MoreExecutors.directExecutor());
-        return new AdjRibInWriter(this.ribPath, this.chain, this.role, this.simpleRoutingPolicy, newPeerPath, tb);
+        return new AdjRibInWriter(this.ribPath, this.chain, this.batcher, this.role, this.simpleRoutingPolicy, newPeerPath,
+            tb);
     }
 
     /**
@@ -255,8 +284,32 @@ final class AdjRibInWriter {
         return pb.build();
     }
 
+    /**
+     * Discard Adj-RIB-In writes not submitted yet. Used when the transaction chain of this writer has failed, the
+     * writer must not be used afterwards.
+     */
+    void close() {
+        this.batcher.close();
+    }
+
+    long getSubmittedBatches() {
+        return this.batcher.getSubmittedBatches();
+    }
+
+    double getAverageBatchSize() {
+        return this.batcher.getAverageBatchSize();
+    }
+
+    long getAverageCommitLatencyNanos() {
+        return this.batcher.getAverageCommitLatencyNanos();
+    }
+
     ListenableFuture<Void> removePeer() {
         if(this.peerPath != null) {
+            this.batcher.flush();
+            LOG.debug("Peer {} submitted {} batches, average size {}, average commit latency {}ns", this.peerPath,
+                this.batcher.getSubmittedBatches(), this.batcher.getAverageBatchSize(),
+                this.batcher.getAverageCommitLatencyNanos());
             final DOMDataWriteTransaction tx = this.chain.newWriteOnlyTransaction();
             tx.delete(LogicalDatastoreType.OPERATIONAL, this.peerPath);
             final ListenableFuture<Void> future = tx.submit();
@@ -276,11 +329,17 @@ final class AdjRibInWriter {
         return Futures.immediateFuture(null);
     }
 
+    /**
+     * Mark a table as up-to-date. This happens at End-of-RIB, hence any pending routes are submitted together
+     * with the marker.
+     *
+     * @param tableTypes table key
+     */
     void markTableUptodate(final TablesKey tableTypes) {
-        final DOMDataWriteTransaction tx = this.chain.newWriteOnlyTransaction();
         final TableContext ctx = this.tables.get(tableTypes);
-        tx.merge(LogicalDatastoreType.OPERATIONAL, ctx.getTableId().node(Attributes.QNAME).node(ATTRIBUTES_UPTODATE_TRUE.getNodeType()), ATTRIBUTES_UPTODATE_TRUE);
-        tx.submit();
+        this.batcher.write(tx -> tx.merge(LogicalDatastoreType.OPERATIONAL,
+            ctx.getTableId().node(Attributes.QNAME).node(ATTRIBUTES_UPTODATE_TRUE.getNodeType()), ATTRIBUTES_UPTODATE_TRUE));
+        this.batcher.flush();
     }
 
     void updateRoutes(final MpReachNlri nlri, final org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes attributes) {
@@ -291,10 +350,8 @@ final class AdjRibInWriter {
             return;
         }
 
-        final DOMDataWriteTransaction tx = this.chain.newWriteOnlyTransaction();
-        ctx.writeRoutes(tx, nlri, attributes);
+        this.batcher.write(tx -> ctx.writeRoutes(tx, nlri, attributes));
         LOG.trace("Write routes {}", nlri);
-        tx.submit();
     }
 
     void removeRoutes(final MpUnreachNlri nlri) {
@@ -305,9 +362,7 @@ final class AdjRibInWriter {
             return;
         }
         LOG.trace("Removing routes {}", nlri);
-        final DOMDataWriteTransaction tx = this.chain.newWriteOnlyTransaction();
-        ctx.removeRoutes(tx, nlri);
-        tx.submit();
+        this.batcher.write(tx -> ctx.removeRoutes(tx, nlri));
     }
 
     static boolean isAnnounceNone(final java.util.Optional<SimpleRoutingPolicy> peerStatus) {
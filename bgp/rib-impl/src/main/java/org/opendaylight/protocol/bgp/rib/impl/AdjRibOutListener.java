@@ -9,17 +9,22 @@ package org.opendaylight.protocol.bgp.rib.impl;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nonnull;
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.api.ClusteredDOMDataTreeChangeListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.protocol.bgp.parser.spi.MessageUtil;
 import org.opendaylight.protocol.bgp.rib.impl.spi.Codecs;
 import org.opendaylight.protocol.bgp.rib.impl.spi.CodecsRegistry;
 import org.opendaylight.protocol.bgp.rib.impl.state.peer.PrefixesSentCounters;
@@ -31,6 +36,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.inet
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.Update;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.UpdateBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.AttributesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.update.message.NlriBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.update.message.WithdrawnRoutesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.PeerId;
@@ -39,8 +45,10 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.Tables;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.TablesKey;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.concepts.Registration;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
@@ -51,31 +59,66 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Instantiated for each peer and table, listens on a particular peer's adj-rib-out,
- * performs transcoding to BA form (message) and sends it down the channel.
+ * performs transcoding to BA form (message) and sends it down the channel. While the channel is not writable,
+ * route changes are parked, keeping only the latest change of each route, and sent once the channel drains.
  */
-@NotThreadSafe
+@ThreadSafe
 final class AdjRibOutListener implements ClusteredDOMDataTreeChangeListener, PrefixesSentCounters {
 
     private static final Logger LOG = LoggerFactory.getLogger(AdjRibOutListener.class);
 
+    private static final int MAX_MESSAGE_LENGTH = 4096;
+    private static final int MAX_EXTENDED_MESSAGE_LENGTH = 65535;
+    /**
+     * Space left for withdrawn/attribute length fields and path attributes, when the length of an Update
+     * cannot be measured.
+     */
+    private static final int ATTRIBUTES_RESERVE = 2048;
+    /**
+     * Maximum encoded length of an IPv4 prefix in Update NLRI / withdrawn routes field.
+     */
+    private static final int MAX_IPV4_ROUTE_LENGTH = 5;
+    /**
+     * Maximum encoded length of a simple route in MP_(UN)REACH_NLRI, IPv6 prefix.
+     */
+    private static final int MAX_MP_SIMPLE_ROUTE_LENGTH = 17;
+    /**
+     * Length of the path identifier preceding each route when Add Path is negotiated for the table.
+     */
+    private static final int PATH_ID_LENGTH = 4;
+    /**
+     * Withdrawals do not carry path attributes, all of them are packed together regardless of the attributes
+     * of the withdrawn routes.
+     */
+    static final Attributes WITHDRAWN_ATTRIBUTES = new AttributesBuilder().build();
+
     static final QName PREFIX_QNAME = QName.create(Ipv4Route.QNAME, "prefix").intern();
-    private final YangInstanceIdentifier.NodeIdentifier routeKeyLeaf = new YangInstanceIdentifier.NodeIdentifier(PREFIX_QNAME);
+    private static final YangInstanceIdentifier.NodeIdentifier ROUTE_KEY_LEAF = new YangInstanceIdentifier.NodeIdentifier(PREFIX_QNAME);
 
     private final ChannelOutputLimiter session;
     private final Codecs codecs;
     private final RIBSupport support;
     private final boolean mpSupport;
+    private final boolean addPath;
     private final ListenerRegistration<AdjRibOutListener> registerDataTreeChangeListener;
+    private final Registration drainRegistration;
     private final LongAdder routeCounter;
     private final LongAdder prefixesSentCounter = new LongAdder();
+    private final LongAdder updatesSentCounter = new LongAdder();
+    private final LongAdder packedRoutesCounter = new LongAdder();
+    @GuardedBy("this")
+    private final Map<PathArgument, RouteChange> parked = new LinkedHashMap<>();
 
     private AdjRibOutListener(final PeerId peerId, final TablesKey tablesKey, final YangInstanceIdentifier ribId,
         final CodecsRegistry registry, final RIBSupport support, final DOMDataTreeChangeService service,
-        final ChannelOutputLimiter session, final boolean mpSupport, final LongAdder routeCounter) {
+        final ChannelOutputLimiter session, final boolean mpSupport, final boolean addPath,
+        final LongAdder routeCounter) {
         this.session = requireNonNull(session);
         this.support = requireNonNull(support);
         this.codecs = registry.getCodecs(this.support);
         this.mpSupport = mpSupport;
+        this.addPath = addPath;
+        this.drainRegistration = session.registerDrainListener(this::drainParked);
         final YangInstanceIdentifier adjRibOutId =  ribId.node(Peer.QNAME).node(IdentifierUtils.domPeerId(peerId)).node(AdjRibOut.QNAME).node(Tables.QNAME).node(RibSupportUtils.toYangTablesKey(tablesKey));
         this.registerDataTreeChangeListener = service.registerDataTreeChangeListener(new DOMDataTreeIdentifier(LogicalDatastoreType.OPERATIONAL, adjRibOutId), this);
         this.routeCounter = routeCounter;
@@ -83,54 +126,182 @@ final class AdjRibOutListener implements ClusteredDOMDataTreeChangeListener, Pre
 
     static AdjRibOutListener create(@Nonnull final PeerId peerId, @Nonnull final TablesKey tablesKey, @Nonnull final YangInstanceIdentifier ribId,
         @Nonnull final CodecsRegistry registry, @Nonnull final RIBSupport support, @Nonnull final DOMDataTreeChangeService service,
-        @Nonnull final ChannelOutputLimiter session, final boolean mpSupport, @Nonnull final LongAdder routeCounter
+        @Nonnull final ChannelOutputLimiter session, final boolean mpSupport, final boolean addPath,
+        @Nonnull final LongAdder routeCounter
     ) {
-        return new AdjRibOutListener(peerId, tablesKey, ribId, registry, support, service, session, mpSupport, routeCounter);
+        return new AdjRibOutListener(peerId, tablesKey, ribId, registry, support, service, session, mpSupport, addPath,
+            routeCounter);
     }
 
     @Override
-    public void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
+    public synchronized void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
         LOG.debug("Data change received for AdjRibOut {}", changes);
         for (final DataTreeCandidate tc : changes) {
             LOG.trace("Change {} type {}", tc.getRootNode(), tc.getRootNode().getModificationType());
             for (final DataTreeCandidateNode child : tc.getRootNode().getChildNodes()) {
-                processSupportedFamilyRoutes(child);
+                processSupportedFamilyRoutes(child, this.parked);
             }
         }
+        drainParked();
+    }
+
+    /**
+     * Sends parked route changes while the channel stays writable. Changes which could not be sent remain
+     * parked until the channel drains below its low watermark.
+     */
+    private synchronized void drainParked() {
+        if (this.parked.isEmpty()) {
+            return;
+        }
+        if (!this.session.isWritable()) {
+            LOG.debug("Session not writable, {} route changes parked", this.parked.size());
+            return;
+        }
+        final List<RouteChange> pending = new ArrayList<>(this.parked.values());
+        this.parked.clear();
+        final List<RouteChange> unsent = sendPackedUpdates(pending);
+        for (final RouteChange change : unsent) {
+            this.parked.put(change.route.getIdentifier(), change);
+        }
         this.session.flush();
     }
 
-    private void processSupportedFamilyRoutes(final DataTreeCandidateNode child) {
+    private void processSupportedFamilyRoutes(final DataTreeCandidateNode child, final Map<PathArgument, RouteChange> pending) {
         for (final DataTreeCandidateNode route : this.support.changedRoutes(child)) {
-            processRouteChange(route);
+            processRouteChange(route, pending);
         }
     }
 
-    private void processRouteChange(final DataTreeCandidateNode route) {
-        final Update update;
+    /**
+     * Records the latest state of a changed route. Subsequent changes of the same route replace the previous
+     * one until it is sent, so each route is sent at most once. A route which is deleted before its advertisement
+     * is sent is dropped, as the peer has never received it. Counters are updated once the change is sent.
+     */
+    private void processRouteChange(final DataTreeCandidateNode route, final Map<PathArgument, RouteChange> pending) {
+        final PathArgument routeId = route.getIdentifier();
+        final RouteChange previous = pending.get(routeId);
+        // The peer has received all changes which are not parked, i.e. the route as it was before this change
+        final boolean sent = previous != null ? previous.sent : route.getDataBefore().isPresent();
         switch (route.getModificationType()) {
         case UNMODIFIED:
-            LOG.debug("Skipping unmodified route {}", route.getIdentifier());
+            LOG.debug("Skipping unmodified route {}", routeId);
             return;
         case DELETE:
         case DISAPPEARED:
-            // FIXME: we can batch deletions into a single batch
-            update = withdraw((MapEntryNode) route.getDataBefore().get());
-            LOG.debug("Withdrawing routes {}", update);
+            if (sent) {
+                pending.put(routeId, new RouteChange((MapEntryNode) route.getDataBefore().get(), false, true));
+            } else {
+                LOG.debug("Dropping route {} deleted before being advertised", routeId);
+                pending.remove(routeId);
+            }
             break;
         case APPEARED:
         case SUBTREE_MODIFIED:
         case WRITE:
-            update = advertise((MapEntryNode) route.getDataAfter().get());
-            LOG.debug("Advertising routes {}", update);
+            pending.put(routeId, new RouteChange((MapEntryNode) route.getDataAfter().get(), true, sent));
             break;
         default:
             LOG.warn("Ignoring unhandled modification type {}", route.getModificationType());
             return;
         }
+    }
+
+    /**
+     * Groups pending advertisements by their effective attributes and sends each group in as few
+     * Update messages as possible. Withdrawals are sent first, packed together. The number of routes
+     * packed into an Update is derived from the encoded length of an Update carrying a single route
+     * of the group. Stops as soon as the channel is not writable.
+     *
+     * @return route changes which were not sent
+     */
+    private List<RouteChange> sendPackedUpdates(final Collection<RouteChange> pending) {
+        final List<RouteChange> withdrawn = new ArrayList<>();
+        final Map<Attributes, List<RouteChange>> advertised = new LinkedHashMap<>();
+        for (final RouteChange change : pending) {
+            if (change.advertised) {
+                advertised.computeIfAbsent(change.attributes(this), k -> new ArrayList<>()).add(change);
+            } else {
+                withdrawn.add(change);
+            }
+        }
+
+        final List<List<RouteChange>> batches = new ArrayList<>();
+        if (!withdrawn.isEmpty()) {
+            batches.addAll(Lists.partition(withdrawn, maxRoutesPerUpdate(withdrawn)));
+        }
+        advertised.values().forEach(group -> batches.addAll(Lists.partition(group, maxRoutesPerUpdate(group))));
+        for (int i = 0; i < batches.size(); i++) {
+            if (!this.session.isWritable()) {
+                final List<RouteChange> unsent = new ArrayList<>();
+                batches.subList(i, batches.size()).forEach(unsent::addAll);
+                return unsent;
+            }
+            writeUpdate(batches.get(i));
+        }
+        return Collections.emptyList();
+    }
+
+    private void writeUpdate(final List<RouteChange> batch) {
+        final List<MapEntryNode> routes = Lists.transform(batch, change -> change.route);
+        final Update update = buildUpdate(batch.get(0), routes);
+        if (batch.get(0).advertised) {
+            LOG.debug("Advertising routes {}", update);
+            this.routeCounter.add(routes.size());
+            this.prefixesSentCounter.add(routes.size());
+        } else {
+            LOG.debug("Withdrawing routes {}", update);
+            this.routeCounter.add(-routes.size());
+        }
+        this.updatesSentCounter.increment();
+        this.packedRoutesCounter.add(routes.size());
         this.session.write(update);
     }
 
+    private Update buildUpdate(final RouteChange first, final List<MapEntryNode> routes) {
+        if (first.advertised) {
+            return buildUpdate(this.support, this.mpSupport, routes, Collections.emptyList(), first.attributes(this));
+        }
+        return buildUpdate(this.support, this.mpSupport, Collections.emptyList(), routes, WITHDRAWN_ATTRIBUTES);
+    }
+
+    /*
+     * Routes of a group share their attributes, so an Update carrying the first route tells how much space
+     * the attributes take.
+     */
+    private int maxRoutesPerUpdate(final List<RouteChange> group) {
+        if (group.size() == 1 || this.support.isComplexRoute()) {
+            return 1;
+        }
+        final int singleRouteLength = this.session.serializedLength(buildUpdate(group.get(0),
+            Collections.singletonList(group.get(0).route)));
+        return maxRoutesPerUpdate(this.support, this.mpSupport, this.addPath,
+            this.session.isExtendedMessageSupported(), singleRouteLength);
+    }
+
+    /**
+     * Computes how many routes can be safely packed into a single Update message. Complex routes
+     * have unbounded NLRI length, hence they are never packed. With Add Path each route is preceded
+     * by its path identifier.
+     *
+     * @param singleRouteLength encoded length of an Update carrying a single route with the same attributes,
+     *                          -1 if not known
+     */
+    static int maxRoutesPerUpdate(final RIBSupport support, final boolean mpSupport, final boolean addPath,
+        final boolean extendedMessage, final int singleRouteLength) {
+        if (support.isComplexRoute()) {
+            return 1;
+        }
+        final int maxLength = extendedMessage ? MAX_EXTENDED_MESSAGE_LENGTH : MAX_MESSAGE_LENGTH;
+        int routeLength = mpSupport ? MAX_MP_SIMPLE_ROUTE_LENGTH : MAX_IPV4_ROUTE_LENGTH;
+        if (addPath) {
+            routeLength += PATH_ID_LENGTH;
+        }
+        if (singleRouteLength < 0) {
+            return Math.max(1, (maxLength - MessageUtil.COMMON_HEADER_LENGTH - ATTRIBUTES_RESERVE) / routeLength);
+        }
+        return Math.max(1, 1 + (maxLength - singleRouteLength) / routeLength);
+    }
+
     private Attributes routeAttributes(final MapEntryNode route) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("AdjRibOut parsing route {}", NormalizedNodes.toStringTree(route));
@@ -139,24 +310,15 @@ final class AdjRibOutListener implements ClusteredDOMDataTreeChangeListener, Pre
         return this.codecs.deserializeAttributes(advertisedAttrs);
     }
 
-    private Update withdraw(final MapEntryNode route) {
-        this.routeCounter.decrement();
-        if (!this.mpSupport) {
-            return buildUpdate(Collections.emptyList(), Collections.singleton(route), routeAttributes(route));
-        }
-        return this.support.buildUpdate(Collections.emptyList(), Collections.singleton(route), routeAttributes(route));
-    }
-
-    private Update advertise(final MapEntryNode route) {
-        this.routeCounter.increment();
-        this.prefixesSentCounter.increment();
-        if (!this.mpSupport) {
-            return buildUpdate(Collections.singleton(route), Collections.emptyList(), routeAttributes(route));
+    static Update buildUpdate(final RIBSupport support, final boolean mpSupport, final List<MapEntryNode> advertised,
+        final List<MapEntryNode> withdrawn, final Attributes attr) {
+        if (!mpSupport) {
+            return buildIpv4Update(advertised, withdrawn, attr);
         }
-        return this.support.buildUpdate(Collections.singleton(route), Collections.emptyList(), routeAttributes(route));
+        return support.buildUpdate(advertised, withdrawn, attr);
     }
 
-    private Update buildUpdate(@Nonnull final Collection<MapEntryNode> advertised, @Nonnull final Collection<MapEntryNode> withdrawn, @Nonnull final Attributes attr) {
+    private static Update buildIpv4Update(@Nonnull final Collection<MapEntryNode> advertised, @Nonnull final Collection<MapEntryNode> withdrawn, @Nonnull final Attributes attr) {
         final UpdateBuilder ub = new UpdateBuilder()
             .setWithdrawnRoutes(new WithdrawnRoutesBuilder().setWithdrawnRoutes(extractPrefixes(withdrawn)).build())
             .setNlri(new NlriBuilder().setNlri(extractPrefixes(advertised)).build());
@@ -164,10 +326,10 @@ final class AdjRibOutListener implements ClusteredDOMDataTreeChangeListener, Pre
         return ub.build();
     }
 
-    private List<Ipv4Prefix> extractPrefixes(final Collection<MapEntryNode> routes) {
+    private static List<Ipv4Prefix> extractPrefixes(final Collection<MapEntryNode> routes) {
         final List<Ipv4Prefix> prefs = new ArrayList<>(routes.size());
         for (final MapEntryNode ipv4Route : routes) {
-            final String prefix = (String) ipv4Route.getChild(this.routeKeyLeaf).get().getValue();
+            final String prefix = (String) ipv4Route.getChild(ROUTE_KEY_LEAF).get().getValue();
             prefs.add(new Ipv4Prefix(prefix));
         }
         return prefs;
@@ -175,6 +337,7 @@ final class AdjRibOutListener implements ClusteredDOMDataTreeChangeListener, Pre
 
     public void close() {
         this.registerDataTreeChangeListener.close();
+        this.drainRegistration.close();
     }
 
     boolean isMpSupported() {
@@ -185,4 +348,41 @@ final class AdjRibOutListener implements ClusteredDOMDataTreeChangeListener, Pre
     public long getPrefixesSentCount() {
         return this.prefixesSentCounter.longValue();
     }
+
+    @Override
+    public long getUpdatesSentCount() {
+        return this.updatesSentCounter.longValue();
+    }
+
+    @Override
+    public double getRoutesPerUpdate() {
+        final long updates = this.updatesSentCounter.longValue();
+        return updates == 0 ? 0 : (double) this.packedRoutesCounter.longValue() / updates;
+    }
+
+    private static final class RouteChange {
+        private final MapEntryNode route;
+        private final boolean advertised;
+        /**
+         * Whether the peer has received a previous version of the route.
+         */
+        private final boolean sent;
+        private Attributes attributes;
+
+        RouteChange(final MapEntryNode route, final boolean advertised, final boolean sent) {
+            this.route = route;
+            this.advertised = advertised;
+            this.sent = sent;
+        }
+
+        /*
+         * Attributes are deserialized at most once, even if the change stays parked across several drains.
+         */
+        Attributes attributes(final AdjRibOutListener listener) {
+            if (this.attributes == null) {
+                this.attributes = listener.routeAttributes(this.route);
+            }
+            return this.attributes;
+        }
+    }
 }
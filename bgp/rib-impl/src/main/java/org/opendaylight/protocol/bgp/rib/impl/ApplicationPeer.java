@@ -146,7 +146,7 @@ public class ApplicationPeer extends BGPPeerStateImpl implements org.opendayligh
             registerAppPeerListener);
         final BGPPeerStats peerStats = new BGPPeerStatsImpl(this.name, localTables, this);
         this.effectiveRibInWriter = EffectiveRibInWriter.create(this.rib.getService(), this.rib.createPeerChain(this), this.peerIId,
-            this.rib.getImportPolicyPeerTracker(), context, PeerRole.Internal,
+            this.rib.getImportPolicyPeerTracker(), this.rib.getAttributeStore(), context, PeerRole.Internal,
             peerStats.getAdjRibInRouteCounters(), localTables);
         this.bgpSessionState.registerMessagesCounter(this);
     }
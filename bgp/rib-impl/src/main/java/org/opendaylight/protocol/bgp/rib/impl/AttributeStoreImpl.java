@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.protocol.bgp.rib.impl.spi.AttributeStore;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+
+/**
+ * Reference counting {@link AttributeStore}, shared by all peers and tables of a RIB. The number of stored
+ * attributes is bounded, attributes presented once the store is full are not shared.
+ */
+@ThreadSafe
+final class AttributeStoreImpl implements AttributeStore {
+    // Rough heap footprint of a node, its identifier and its place in the parent's children
+    private static final long NODE_SIZE = 64;
+    private static final long VALUE_SIZE = 16;
+    // Rough heap footprint of the map entry a holder keeps for each reference
+    static final long REFERENCE_SIZE = 48;
+
+    private static final class Entry {
+        private final ContainerNode attributes;
+        private final long size;
+        // modified only within ConcurrentMap compute methods, under the map's lock for the key
+        private long references = 1;
+
+        Entry(final ContainerNode attributes) {
+            this.attributes = attributes;
+            this.size = estimateSize(attributes);
+        }
+    }
+
+    private final ConcurrentMap<ContainerNode, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final int maximumSize;
+
+    AttributeStoreImpl(final int maximumSize) {
+        Preconditions.checkArgument(maximumSize >= 0, "Invalid maximum size %s", maximumSize);
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public ContainerNode canonical(@Nonnull final ContainerNode attributes) {
+        final Entry entry = this.entries.get(requireNonNull(attributes));
+        return entry == null ? attributes : entry.attributes;
+    }
+
+    @Override
+    public ContainerNode acquire(@Nonnull final ContainerNode attributes) {
+        if (this.maximumSize == 0) {
+            return null;
+        }
+        final Entry entry = this.entries.compute(requireNonNull(attributes), (key, existing) -> {
+            if (existing != null) {
+                existing.references++;
+                this.bytesSaved.add(existing.size - REFERENCE_SIZE);
+                return existing;
+            }
+            if (this.entries.size() >= this.maximumSize) {
+                return null;
+            }
+            this.bytesSaved.add(-REFERENCE_SIZE);
+            return new Entry(attributes);
+        });
+        return entry == null ? null : entry.attributes;
+    }
+
+    @Override
+    public void release(@Nonnull final ContainerNode attributes) {
+        this.entries.computeIfPresent(requireNonNull(attributes), (key, existing) -> {
+            if (existing.references == 1) {
+                this.bytesSaved.add(REFERENCE_SIZE);
+                return null;
+            }
+            existing.references--;
+            this.bytesSaved.add(REFERENCE_SIZE - existing.size);
+            return existing;
+        });
+    }
+
+    @Override
+    public long getUniqueAttributesCount() {
+        return this.entries.size();
+    }
+
+    @Override
+    public long getAttributesBytesSaved() {
+        // negative while few attributes are referenced more than once, sharing then costs more than it saves
+        return this.bytesSaved.longValue();
+    }
+
+    private static long estimateSize(final NormalizedNode<?, ?> node) {
+        if (node instanceof NormalizedNodeContainer) {
+            long size = NODE_SIZE;
+            for (final NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                size += estimateSize(child);
+            }
+            return size;
+        }
+
+        final Object value = node.getValue();
+        if (value instanceof String) {
+            return NODE_SIZE + VALUE_SIZE + 2 * ((String) value).length();
+        }
+        if (value instanceof byte[]) {
+            return NODE_SIZE + VALUE_SIZE + ((byte[]) value).length;
+        }
+        return NODE_SIZE + VALUE_SIZE;
+    }
+}
@@ -17,6 +17,7 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.Epoll;
@@ -29,16 +30,20 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.DefaultPromise;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import io.netty.util.concurrent.Promise;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.protocol.bgp.parser.spi.MessageRegistry;
 import org.opendaylight.protocol.bgp.rib.impl.protocol.BGPProtocolSessionPromise;
 import org.opendaylight.protocol.bgp.rib.impl.protocol.BGPReconnectPromise;
 import org.opendaylight.protocol.bgp.rib.impl.spi.BGPDispatcher;
 import org.opendaylight.protocol.bgp.rib.impl.spi.BGPPeerRegistry;
+import org.opendaylight.protocol.bgp.rib.impl.spi.BGPTransportSettings;
 import org.opendaylight.protocol.bgp.rib.impl.spi.ChannelPipelineInitializer;
 import org.opendaylight.protocol.bgp.rib.spi.BGPSession;
 import org.opendaylight.protocol.bgp.rib.spi.BGPSessionNegotiatorFactory;
@@ -54,29 +59,52 @@ public class BGPDispatcherImpl implements BGPDispatcher, AutoCloseable {
     private static final int SOCKET_BACKLOG_SIZE = 128;
     private static final long TIMEOUT = 10;
 
-    private static final WriteBufferWaterMark WATER_MARK = new WriteBufferWaterMark(128 * 1024, 256 * 1024);
-
     private final BGPHandlerFactory handlerFactory;
     private final EventLoopGroup bossGroup;
     private final EventLoopGroup workerGroup;
     private final BGPPeerRegistry bgpPeerRegistry;
+    private final BGPTransportSettings transportSettings;
 
     public BGPDispatcherImpl(final MessageRegistry messageRegistry, final EventLoopGroup bossGroup,
         final EventLoopGroup workerGroup, final BGPPeerRegistry bgpPeerRegistry) {
+        this(messageRegistry, bossGroup, workerGroup, bgpPeerRegistry, 0);
+    }
+
+    /**
+     * Creates a dispatcher with the default transport settings.
+     *
+     * @param workerThreads number of worker event loop threads used with epoll transport, 0 for the Netty default
+     */
+    public BGPDispatcherImpl(final MessageRegistry messageRegistry, final EventLoopGroup bossGroup,
+        final EventLoopGroup workerGroup, final BGPPeerRegistry bgpPeerRegistry, final int workerThreads) {
+        this(messageRegistry, bossGroup, workerGroup, bgpPeerRegistry, workerThreads, BGPTransportSettings.DEFAULT);
+    }
+
+    /**
+     * Creates a dispatcher with the specified transport settings.
+     *
+     * @param workerThreads number of worker event loop threads used with epoll transport, 0 for the Netty default
+     * @param transportSettings settings of accepted channels and of clients created without explicit settings
+     */
+    public BGPDispatcherImpl(final MessageRegistry messageRegistry, final EventLoopGroup bossGroup,
+        final EventLoopGroup workerGroup, final BGPPeerRegistry bgpPeerRegistry, final int workerThreads,
+        final BGPTransportSettings transportSettings) {
         if (Epoll.isAvailable()) {
             this.bossGroup = new EpollEventLoopGroup();
-            this.workerGroup = new EpollEventLoopGroup();
+            this.workerGroup = new EpollEventLoopGroup(workerThreads);
         } else {
             this.bossGroup = requireNonNull(bossGroup);
             this.workerGroup = requireNonNull(workerGroup);
         }
         this.bgpPeerRegistry = requireNonNull(bgpPeerRegistry);
+        this.transportSettings = requireNonNull(transportSettings);
         this.handlerFactory = new BGPHandlerFactory(messageRegistry);
     }
 
     @Override
     public synchronized Future<BGPSessionImpl> createClient(final InetSocketAddress remoteAddress, final int retryTimer) {
-        return createClient(remoteAddress, retryTimer, createClientBootStrap(KeyMapping.getKeyMapping(), false));
+        return createClient(remoteAddress, retryTimer, createClientBootStrap(KeyMapping.getKeyMapping(), false,
+            this.transportSettings));
     }
 
     private synchronized Future<BGPSessionImpl> createClient(final InetSocketAddress remoteAddress,
@@ -96,16 +124,18 @@ public class BGPDispatcherImpl implements BGPDispatcher, AutoCloseable {
     @VisibleForTesting
     public synchronized Future<BGPSessionImpl> createClient(final InetSocketAddress localAddress,
         final InetSocketAddress remoteAddress, final int retryTimer, final boolean reuseAddress) {
-        final Bootstrap clientBootStrap = createClientBootStrap(KeyMapping.getKeyMapping(), reuseAddress);
+        final Bootstrap clientBootStrap = createClientBootStrap(KeyMapping.getKeyMapping(), reuseAddress,
+            this.transportSettings);
         clientBootStrap.localAddress(localAddress);
         return createClient(remoteAddress, retryTimer, clientBootStrap);
     }
 
-    private synchronized Bootstrap createClientBootStrap(final KeyMapping keys, final boolean reuseAddress) {
+    private synchronized Bootstrap createClientBootStrap(final KeyMapping keys, final boolean reuseAddress,
+        final BGPTransportSettings settings) {
         final Bootstrap bootstrap = new Bootstrap();
         if (Epoll.isAvailable()) {
             bootstrap.channel(EpollSocketChannel.class);
-            bootstrap.option(EpollChannelOption.EPOLL_MODE, EpollMode.LEVEL_TRIGGERED);
+            bootstrap.option(EpollChannelOption.EPOLL_MODE, epollMode(settings));
         } else {
             bootstrap.channel(NioSocketChannel.class);
         }
@@ -117,14 +147,23 @@ public class BGPDispatcherImpl implements BGPDispatcher, AutoCloseable {
             }
         }
 
-        // Make sure we are doing round-robin processing
-        bootstrap.option(ChannelOption.MAX_MESSAGES_PER_READ, 1);
+        // Make sure we are doing round-robin processing, unless configured otherwise
+        bootstrap.option(ChannelOption.MAX_MESSAGES_PER_READ,
+            settings.getMaxMessagesPerRead() > 0 ? settings.getMaxMessagesPerRead() : 1);
         bootstrap.option(ChannelOption.SO_KEEPALIVE, Boolean.TRUE);
-        bootstrap.option(ChannelOption.WRITE_BUFFER_WATER_MARK, WATER_MARK);
+        bootstrap.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+        bootstrap.option(ChannelOption.WRITE_BUFFER_WATER_MARK, waterMark(settings));
         bootstrap.option(ChannelOption.SO_REUSEADDR, reuseAddress);
+        if (settings.getReceiveBufferSize() > 0) {
+            bootstrap.option(ChannelOption.SO_RCVBUF, settings.getReceiveBufferSize());
+        }
+        if (settings.getSendBufferSize() > 0) {
+            bootstrap.option(ChannelOption.SO_SNDBUF, settings.getSendBufferSize());
+        }
 
         if (bootstrap.group() == null) {
-            bootstrap.group(this.workerGroup);
+            // A pinned session is registered with, and reconnects on, the same worker event loop
+            bootstrap.group(workerGroup(settings));
         }
 
         return bootstrap;
@@ -142,15 +181,28 @@ public class BGPDispatcherImpl implements BGPDispatcher, AutoCloseable {
     @Override
     public synchronized Future<Void> createReconnectingClient(final InetSocketAddress remoteAddress,
             final int retryTimer, final KeyMapping keys) {
-        return createReconnectingClient(remoteAddress, retryTimer, keys, null, false);
+        return createReconnectingClient(remoteAddress, retryTimer, keys, this.transportSettings);
+    }
+
+    @Override
+    public synchronized Future<Void> createReconnectingClient(final InetSocketAddress remoteAddress,
+            final int retryTimer, final KeyMapping keys, final BGPTransportSettings settings) {
+        return createReconnectingClient(remoteAddress, retryTimer, keys, null, false, settings);
     }
 
     @VisibleForTesting
     protected synchronized Future<Void> createReconnectingClient(final InetSocketAddress remoteAddress,
         final int retryTimer, final KeyMapping keys, final InetSocketAddress localAddress,
         final boolean reuseAddress) {
+        return createReconnectingClient(remoteAddress, retryTimer, keys, localAddress, reuseAddress,
+            this.transportSettings);
+    }
+
+    private synchronized Future<Void> createReconnectingClient(final InetSocketAddress remoteAddress,
+        final int retryTimer, final KeyMapping keys, final InetSocketAddress localAddress,
+        final boolean reuseAddress, final BGPTransportSettings settings) {
         final BGPClientSessionNegotiatorFactory snf = new BGPClientSessionNegotiatorFactory(this.bgpPeerRegistry);
-        final Bootstrap bootstrap = createClientBootStrap(keys, reuseAddress);
+        final Bootstrap bootstrap = createClientBootStrap(keys, reuseAddress, requireNonNull(settings));
         bootstrap.localAddress(localAddress);
         final BGPReconnectPromise<?> reconnectPromise = new BGPReconnectPromise<>(GlobalEventExecutor.INSTANCE,
             remoteAddress, retryTimer, bootstrap, this.bgpPeerRegistry,
@@ -178,7 +230,7 @@ public class BGPDispatcherImpl implements BGPDispatcher, AutoCloseable {
         final ServerBootstrap serverBootstrap = new ServerBootstrap();
         if (Epoll.isAvailable()) {
             serverBootstrap.channel(EpollServerSocketChannel.class);
-            serverBootstrap.childOption(EpollChannelOption.EPOLL_MODE, EpollMode.LEVEL_TRIGGERED);
+            serverBootstrap.childOption(EpollChannelOption.EPOLL_MODE, epollMode(this.transportSettings));
         } else {
             serverBootstrap.channel(NioServerSocketChannel.class);
         }
@@ -187,10 +239,23 @@ public class BGPDispatcherImpl implements BGPDispatcher, AutoCloseable {
 
         serverBootstrap.option(ChannelOption.SO_BACKLOG, SOCKET_BACKLOG_SIZE);
         serverBootstrap.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
-        serverBootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, WATER_MARK);
+        serverBootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, waterMark(this.transportSettings));
 
         // Make sure we are doing round-robin processing
         serverBootstrap.option(ChannelOption.MAX_MESSAGES_PER_READ, 1);
+        if (this.transportSettings.getMaxMessagesPerRead() > 0) {
+            serverBootstrap.childOption(ChannelOption.MAX_MESSAGES_PER_READ,
+                this.transportSettings.getMaxMessagesPerRead());
+        }
+        final int receiveBufferSize = this.transportSettings.getReceiveBufferSize();
+        if (receiveBufferSize > 0) {
+            // Accepted sockets inherit the receive buffer of the listening socket, which is needed for large windows
+            serverBootstrap.option(ChannelOption.SO_RCVBUF, receiveBufferSize);
+            serverBootstrap.childOption(ChannelOption.SO_RCVBUF, receiveBufferSize);
+        }
+        if (this.transportSettings.getSendBufferSize() > 0) {
+            serverBootstrap.childOption(ChannelOption.SO_SNDBUF, this.transportSettings.getSendBufferSize());
+        }
 
         if (serverBootstrap.group() == null) {
             serverBootstrap.group(this.bossGroup, this.workerGroup);
@@ -198,6 +263,31 @@ public class BGPDispatcherImpl implements BGPDispatcher, AutoCloseable {
         return serverBootstrap;
     }
 
+    private EventLoopGroup workerGroup(final BGPTransportSettings settings) {
+        if (settings.getEventLoop() == BGPTransportSettings.NO_EVENT_LOOP) {
+            return this.workerGroup;
+        }
+        final List<EventLoop> eventLoops = new ArrayList<>();
+        for (final EventExecutor executor : this.workerGroup) {
+            if (executor instanceof EventLoop) {
+                eventLoops.add((EventLoop) executor);
+            }
+        }
+        if (eventLoops.isEmpty()) {
+            LOG.warn("Worker group {} does not provide event loops, session will not be pinned", this.workerGroup);
+            return this.workerGroup;
+        }
+        return eventLoops.get(settings.getEventLoop() % eventLoops.size());
+    }
+
+    private static EpollMode epollMode(final BGPTransportSettings settings) {
+        return settings.isEdgeTriggered() ? EpollMode.EDGE_TRIGGERED : EpollMode.LEVEL_TRIGGERED;
+    }
+
+    private static WriteBufferWaterMark waterMark(final BGPTransportSettings settings) {
+        return new WriteBufferWaterMark(settings.getWriteBufferLowWaterMark(), settings.getWriteBufferHighWaterMark());
+    }
+
     private static final class BGPChannel {
         private static final String NEGOTIATOR = "negotiator";
 
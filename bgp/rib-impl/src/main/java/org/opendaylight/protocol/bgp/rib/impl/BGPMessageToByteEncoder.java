@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
@@ -40,4 +41,20 @@ final class BGPMessageToByteEncoder extends MessageToByteEncoder<Notification> {
         }
         LOG.debug("Message sent to output: {}", msg);
     }
+
+    /**
+     * Serialize a message without sending it, in order to find out its encoded length.
+     *
+     * @param msg message
+     * @return message length in bytes, including the common header
+     */
+    int serializedLength(final Notification msg) {
+        final ByteBuf buffer = Unpooled.buffer();
+        try {
+            this.registry.serializeMessage(msg, buffer);
+            return buffer.readableBytes();
+        } finally {
+            buffer.release();
+        }
+    }
 }
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.GuardedBy;
@@ -57,6 +58,7 @@ import org.opendaylight.protocol.bgp.rib.spi.ExportPolicyPeerTracker;
 import org.opendaylight.protocol.bgp.rib.spi.IdentifierUtils;
 import org.opendaylight.protocol.bgp.rib.spi.Peer;
 import org.opendaylight.protocol.bgp.rib.spi.RouterIds;
+import org.opendaylight.protocol.bgp.rib.spi.UpdateGroup;
 import org.opendaylight.protocol.bgp.rib.spi.state.BGPAfiSafiState;
 import org.opendaylight.protocol.bgp.rib.spi.state.BGPErrorHandlingState;
 import org.opendaylight.protocol.bgp.rib.spi.state.BGPSessionState;
@@ -127,10 +129,13 @@ public class BGPPeer extends BGPPeerStateImpl implements BGPSessionListener, Pee
     private BGPPeerRuntimeRegistrator registrator;
     private BGPPeerRuntimeRegistration runtimeReg;
     private final Map<TablesKey, AdjRibOutListener> adjRibOutListenerSet = new HashMap<>();
+    private final Map<TablesKey, AbstractRegistration> updateGroupMemberships = new HashMap<>();
     private final RpcProviderRegistry rpcRegistry;
     private RoutedRpcRegistration<BgpPeerRpcService> rpcRegistration;
     private final PeerRole peerRole;
     private final Optional<SimpleRoutingPolicy> simpleRoutingPolicy;
+    private final int adjRibInBatchSize;
+    private final long adjRibInBatchMillis;
     private final BGPPeerStats peerStats;
     private YangInstanceIdentifier peerIId;
     private final Set<AbstractRegistration> tableRegistration = new HashSet<>();
@@ -138,12 +143,15 @@ public class BGPPeer extends BGPPeerStateImpl implements BGPSessionListener, Pee
     public BGPPeer(final String name, final RIB rib, final PeerRole role, final SimpleRoutingPolicy peerStatus,
         final RpcProviderRegistry rpcRegistry,
         @Nonnull final Set<TablesKey> afiSafisAdvertized,
-        @Nonnull final Set<TablesKey> afiSafisGracefulAdvertized) {
+        @Nonnull final Set<TablesKey> afiSafisGracefulAdvertized,
+        final int adjRibInBatchSize, final long adjRibInBatchMillis) {
         //FIXME BUG-6971 Once Peer Group is implemented, pass it
         super(rib.getInstanceIdentifier(), null, new IpAddress(new Ipv4Address(name)), afiSafisAdvertized,
             afiSafisGracefulAdvertized);
         this.peerRole = role;
         this.simpleRoutingPolicy = Optional.ofNullable(peerStatus);
+        this.adjRibInBatchSize = adjRibInBatchSize;
+        this.adjRibInBatchMillis = adjRibInBatchMillis;
         this.rib = requireNonNull(rib);
         this.name = name;
         this.rpcRegistry = rpcRegistry;
@@ -154,13 +162,15 @@ public class BGPPeer extends BGPPeerStateImpl implements BGPSessionListener, Pee
     public BGPPeer(final String name, final RIB rib, final PeerRole role,
         final RpcProviderRegistry rpcRegistry, @Nonnull final Set<TablesKey> afiSafisAdvertized,
         @Nonnull final Set<TablesKey> afiSafisGracefulAdvertized) {
-        this(name, rib, role, null, rpcRegistry, afiSafisAdvertized, afiSafisGracefulAdvertized);
+        this(name, rib, role, null, rpcRegistry, afiSafisAdvertized, afiSafisGracefulAdvertized,
+            AdjRibInWriter.DEFAULT_BATCH_SIZE, AdjRibInWriter.DEFAULT_BATCH_MILLIS);
     }
 
     public void instantiateServiceInstance() {
         // add current peer to "configured BGP peer" stats
         this.rib.getRenderStats().getConfiguredPeerCounter().increment();
-        this.ribWriter = AdjRibInWriter.create(this.rib.getYangRibId(), this.peerRole, this.simpleRoutingPolicy, this.chain);
+        this.ribWriter = AdjRibInWriter.create(this.rib.getYangRibId(), this.peerRole, this.simpleRoutingPolicy, this.chain,
+            this.adjRibInBatchSize, this.adjRibInBatchMillis);
     }
 
     // FIXME ListenableFuture<?> should be used once closeServiceInstance uses wildcard too
@@ -194,6 +204,12 @@ public class BGPPeer extends BGPPeerStateImpl implements BGPSessionListener, Pee
             listener.close();
             this.adjRibOutListenerSet.remove(key);
             createAdjRibOutListener(RouterIds.createPeerId(session.getBgpId()), key, listener.isMpSupported());
+        } else if (this.updateGroupMemberships.containsKey(key)) {
+            final UpdateGroup group = this.rib.getExportPolicyPeerTracker(key)
+                .getUpdateGroup(RouterIds.createPeerId(session.getBgpId()));
+            if (group instanceof UpdateGroupImpl) {
+                ((UpdateGroupImpl) group).refresh(RouterIds.createPeerId(session.getBgpId()));
+            }
         } else {
             LOG.info("Ignoring RouteRefresh message. Afi/Safi is not supported: {}, {}.", rrAfi, rrSafi);
         }
@@ -328,9 +344,6 @@ public class BGPPeer extends BGPPeerStateImpl implements BGPSessionListener, Pee
         this.peerIId = this.rib.getYangRibId().node(org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.bgp.rib.rib.Peer.QNAME)
             .node(IdentifierUtils.domPeerId(peerId));
 
-        if(!announceNone) {
-            createAdjRibOutListener(peerId);
-        }
         this.tables.forEach(tablesKey -> {
             final ExportPolicyPeerTracker exportTracker = this.rib.getExportPolicyPeerTracker(tablesKey);
             if (exportTracker != null) {
@@ -338,11 +351,16 @@ public class BGPPeer extends BGPPeerStateImpl implements BGPSessionListener, Pee
                     this.simpleRoutingPolicy));
             }
         });
+        // peers need to be registered first, update group membership depends on their Add Path configuration
+        if(!announceNone) {
+            createAdjRibOutListener(peerId);
+        }
         addBgp4Support(peerId, announceNone);
 
         if(!isLearnNone(this.simpleRoutingPolicy)) {
             this.effRibInWriter = EffectiveRibInWriter.create(this.rib.getService(), this.rib.createPeerChain(this),
-                this.peerIId, this.rib.getImportPolicyPeerTracker(), this.rib.getRibSupportContext(), this.peerRole,
+                this.peerIId, this.rib.getImportPolicyPeerTracker(), this.rib.getAttributeStore(),
+                this.rib.getRibSupportContext(), this.peerRole,
                 this.peerStats.getAdjRibInRouteCounters(), this.tables);
             registerPrefixesCounters(this.effRibInWriter, this.effRibInWriter);
         }
@@ -382,9 +400,24 @@ public class BGPPeer extends BGPPeerStateImpl implements BGPSessionListener, Pee
         // not particularly nice
         if (context != null && this.session instanceof BGPSessionImpl) {
             final ChannelOutputLimiter limiter = ((BGPSessionImpl) this.session).getLimiter();
+            final ExportPolicyPeerTracker exportTracker = this.rib.getExportPolicyPeerTracker(key);
+            final LongAdder routeCounter = this.peerStats.getAdjRibOutRouteCounters().init(key);
+            if (exportTracker instanceof ExportPolicyPeerTrackerImpl) {
+                final LongAdder prefixesSentCounter = new LongAdder();
+                final AbstractRegistration membership = ((ExportPolicyPeerTrackerImpl) exportTracker).joinUpdateGroup(
+                    peerId, this.peerRole, mpSupport, limiter, limiter.isExtendedMessageSupported(),
+                    context.getRibSupport(), this.rib.getCodecsRegistry().getCodecs(context.getRibSupport()),
+                    routeCounter, prefixesSentCounter);
+                if (membership != null) {
+                    this.updateGroupMemberships.put(key, membership);
+                    registerPrefixesSentCounter(key, prefixesSentCounter::longValue);
+                    return;
+                }
+            }
             final AdjRibOutListener adjRibOut = AdjRibOutListener.create(peerId, key,
                 this.rib.getYangRibId(), this.rib.getCodecsRegistry(), context.getRibSupport(),
-                this.rib.getService(), limiter, mpSupport, this.peerStats.getAdjRibOutRouteCounters().init(key));
+                this.rib.getService(), limiter, mpSupport,
+                exportTracker != null && exportTracker.isAddPathSupportedByPeer(peerId), routeCounter);
             this.adjRibOutListenerSet.put(key, adjRibOut);
             registerPrefixesSentCounter(key, adjRibOut);
         }
@@ -394,6 +427,8 @@ public class BGPPeer extends BGPPeerStateImpl implements BGPSessionListener, Pee
         // FIXME: BUG-196: support graceful
         this.adjRibOutListenerSet.values().forEach(AdjRibOutListener::close);
         this.adjRibOutListenerSet.clear();
+        this.updateGroupMemberships.values().forEach(AbstractRegistration::close);
+        this.updateGroupMemberships.clear();
         if (this.effRibInWriter != null) {
             this.effRibInWriter.close();
         }
@@ -503,11 +538,14 @@ public class BGPPeer extends BGPPeerStateImpl implements BGPSessionListener, Pee
     }
 
     @Override
-    public void onTransactionChainFailed(final TransactionChain<?, ?> chain, final AsyncTransaction<?, ?> transaction, final Throwable cause) {
+    public synchronized void onTransactionChainFailed(final TransactionChain<?, ?> chain,
+        final AsyncTransaction<?, ?> transaction, final Throwable cause) {
         LOG.error("Transaction chain failed.", cause);
+        this.ribWriter.close();
         this.chain.close();
         this.chain = this.rib.createPeerChain(this);
-        this.ribWriter = AdjRibInWriter.create(this.rib.getYangRibId(), this.peerRole, this.simpleRoutingPolicy, this.chain);
+        this.ribWriter = AdjRibInWriter.create(this.rib.getYangRibId(), this.peerRole, this.simpleRoutingPolicy, this.chain,
+            this.adjRibInBatchSize, this.adjRibInBatchMillis);
         releaseConnection();
     }
 
@@ -536,6 +574,21 @@ public class BGPPeer extends BGPPeerStateImpl implements BGPSessionListener, Pee
         return this;
     }
 
+    @Override
+    public synchronized long getAdjRibInBatchesSubmittedCount() {
+        return this.ribWriter.getSubmittedBatches();
+    }
+
+    @Override
+    public synchronized double getAdjRibInAverageBatchSize() {
+        return this.ribWriter.getAverageBatchSize();
+    }
+
+    @Override
+    public synchronized long getAdjRibInAverageCommitLatency() {
+        return this.ribWriter.getAverageCommitLatencyNanos();
+    }
+
     @Override
     public BGPSessionState getBGPSessionState() {
         if (this.session instanceof BGPSessionStateProvider) {
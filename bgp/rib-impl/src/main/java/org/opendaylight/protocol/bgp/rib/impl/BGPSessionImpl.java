@@ -123,6 +123,7 @@ public class BGPSessionImpl extends SimpleChannelInboundHandler<Notification> im
 
     private BGPSessionStatsImpl sessionStats;
     private boolean terminationReasonNotified;
+    private boolean extendedMessageSupported;
 
     public BGPSessionImpl(final BGPSessionListener listener, final Channel channel, final Open remoteOpen,
         final BGPSessionPreferences localPreferences, final BGPPeerRegistry peerRegistry) {
@@ -204,6 +205,7 @@ public class BGPSessionImpl extends SimpleChannelInboundHandler<Notification> im
      */
     public synchronized void setChannelExtMsgCoder(final Open remoteOpen) {
         final boolean enableExMess = BgpExtendedMessageUtil.advertizedBgpExtendedMessageCapability(remoteOpen);
+        this.extendedMessageSupported = enableExMess;
         if (enableExMess) {
             this.channel.pipeline().replace(BGPMessageHeaderDecoder.class, EXTENDED_MSG_DECODER, BGPMessageHeaderDecoder.getExtendedBGPMessageHeaderDecoder());
         }
@@ -436,10 +438,32 @@ public class BGPSessionImpl extends SimpleChannelInboundHandler<Notification> im
         return this.asNumber;
     }
 
+    /**
+     * Indicates whether both sides advertised BGP Extended Message capability, hence UPDATE messages up to
+     * 65535 bytes may be sent on this session.
+     *
+     * @return True if extended messages are enabled, false otherwise.
+     */
+    synchronized boolean isExtendedMessageSupported() {
+        return this.extendedMessageSupported;
+    }
+
     synchronized boolean isWritable() {
         return this.channel != null && this.channel.isWritable();
     }
 
+    /**
+     * Length of a message once encoded for this session's channel.
+     *
+     * @param msg message
+     * @return length in bytes, or -1 if the channel has no BGP encoder
+     */
+    synchronized int serializedLength(final Notification msg) {
+        final BGPMessageToByteEncoder encoder = this.channel == null ? null
+            : this.channel.pipeline().get(BGPMessageToByteEncoder.class);
+        return encoder == null ? -1 : encoder.serializedLength(msg);
+    }
+
     @Override
     public synchronized BgpSessionState getBgpSessionState() {
         return this.sessionStats.getBgpSessionState();
@@ -17,6 +17,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.protocol.bgp.rib.impl.spi.AbstractImportPolicy;
+import org.opendaylight.protocol.bgp.rib.impl.spi.AttributeStore;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.tables.Attributes;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
@@ -24,7 +25,8 @@ import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 /**
  * A caching decorator for {@link AbstractImportPolicy}. Performs caching of effective
  * attributes using an identity-and-hashCode-based map for fast lookup and reuse of resulting
- * objects.
+ * objects. Resulting attributes are canonicalized through the RIB's {@link AttributeStore}, so
+ * the cache retains the instances shared with other peers.
  */
 @NotThreadSafe
 final class CachingImportPolicy extends AbstractImportPolicy {
@@ -34,8 +36,8 @@ final class CachingImportPolicy extends AbstractImportPolicy {
 
     // We maintain a weak cache of returned effective attributes, so we end up reusing
     // the same instance when asked. We set concurrency level to 1, as we do not expect
-    // the cache to be accessed from multiple threads. That may need to be changed
-    // if we end up sharing the cache across peers.
+    // the cache to be accessed from multiple threads. Sharing across peers is done
+    // by the attribute store.
     private final ConcurrentMap<ContainerNode, ContainerNode> cache =
             new MapMaker().concurrencyLevel(1).weakKeys().weakValues().makeMap();
 
@@ -48,9 +50,11 @@ final class CachingImportPolicy extends AbstractImportPolicy {
     private final Interner<ContainerNode> interner = Interners.newWeakInterner();
 
     private final AbstractImportPolicy delegate;
+    private final AttributeStore attributeStore;
 
-    CachingImportPolicy(final AbstractImportPolicy delegate) {
+    CachingImportPolicy(final AbstractImportPolicy delegate, final AttributeStore attributeStore) {
         this.delegate = requireNonNull(delegate);
+        this.attributeStore = requireNonNull(attributeStore);
     }
 
     @Nonnull private static ContainerNode maskNull(@Nullable final ContainerNode unmasked) {
@@ -85,7 +89,8 @@ final class CachingImportPolicy extends AbstractImportPolicy {
             }
         }
 
-        final ContainerNode effective = this.delegate.effectiveAttributes(interned);
+        final ContainerNode computed = this.delegate.effectiveAttributes(interned);
+        final ContainerNode effective = computed == null ? null : this.attributeStore.canonical(computed);
 
         /*
          * Populate the cache. Note that this may have raced with another thread,
@@ -12,51 +12,36 @@ import static java.util.Objects.requireNonNull;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.concepts.AbstractRegistration;
+import org.opendaylight.yangtools.concepts.Registration;
 import org.opendaylight.yangtools.yang.binding.Notification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A best-effort output limiter. It does not provide any fairness, and acts as a blocking gate-keeper
- * for a sessions' channel.
+ * A non-blocking output limiter for a sessions' channel. Writers never wait for the channel, instead they are
+ * expected to check {@link #isWritable()}, park their pending output while the channel is above its high
+ * watermark and resume once notified through a registered drain listener. Drain listeners are invoked on
+ * the channel's event loop when the outbound buffer falls below its low watermark.
  */
 @ThreadSafe
 public final class ChannelOutputLimiter extends ChannelInboundHandlerAdapter {
     private static final Logger LOG = LoggerFactory.getLogger(ChannelOutputLimiter.class);
     private final BGPSessionImpl session;
-    private volatile boolean blocked;
+    private final List<Runnable> drainListeners = new CopyOnWriteArrayList<>();
 
     ChannelOutputLimiter(final BGPSessionImpl session) {
         this.session = requireNonNull(session);
     }
 
-    private void ensureWritable() {
-        if (this.blocked) {
-            LOG.trace("Blocked slow path tripped on session {}", this.session);
-            synchronized (this) {
-                while (this.blocked) {
-                    try {
-                        LOG.debug("Waiting for session {} to become writable", this.session);
-                        flush();
-                        this.wait();
-                    } catch (final InterruptedException e) {
-                        throw new IllegalStateException("Interrupted while waiting for channel to come back", e);
-                    }
-                }
-
-                LOG.debug("Resuming write on session {}", this.session);
-            }
-        }
-    }
-
     public void write(final Notification msg) {
-        ensureWritable();
         this.session.write(msg);
     }
 
     ChannelFuture writeAndFlush(final Notification msg) {
-        ensureWritable();
         return this.session.writeAndFlush(msg);
     }
 
@@ -64,29 +49,62 @@ public final class ChannelOutputLimiter extends ChannelInboundHandlerAdapter {
         this.session.flush();
     }
 
-    @Override
-    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
-        final boolean w = ctx.channel().isWritable();
+    boolean isExtendedMessageSupported() {
+        return this.session.isExtendedMessageSupported();
+    }
+
+    /**
+     * Length of a message once encoded, without writing it.
+     *
+     * @param msg message
+     * @return length in bytes, or -1 if it cannot be determined
+     */
+    int serializedLength(final Notification msg) {
+        return this.session.serializedLength(msg);
+    }
 
-        synchronized (this) {
-            this.blocked = !w;
-            LOG.debug("Writes on session {} {}", this.session, w ? "unblocked" : "blocked");
+    /**
+     * Indicates whether the channel's outbound buffer is below its high watermark, hence more messages can be
+     * written without growing it further.
+     *
+     * @return True if the channel is writable
+     */
+    public boolean isWritable() {
+        return this.session.isWritable();
+    }
 
-            if (w) {
-                notifyAll();
+    /**
+     * Register a listener invoked each time the channel becomes writable again.
+     *
+     * @param listener listener draining parked output
+     * @return registration, closing it removes the listener
+     */
+    Registration registerDrainListener(final Runnable listener) {
+        requireNonNull(listener);
+        this.drainListeners.add(listener);
+        return new AbstractRegistration() {
+            @Override
+            protected void removeRegistration() {
+                ChannelOutputLimiter.this.drainListeners.remove(listener);
             }
-        }
-
-        super.channelWritabilityChanged(ctx);
+        };
     }
 
     @Override
-    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
-        synchronized (this) {
-            this.blocked = false;
-            notifyAll();
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        final boolean w = ctx.channel().isWritable();
+        LOG.debug("Writes on session {} {}", this.session, w ? "unblocked" : "blocked");
+
+        if (w) {
+            for (final Runnable listener : this.drainListeners) {
+                try {
+                    listener.run();
+                } catch (final RuntimeException e) {
+                    LOG.warn("Drain listener {} failed on session {}", listener, this.session, e);
+                }
+            }
         }
 
-        super.channelInactive(ctx);
+        super.channelWritabilityChanged(ctx);
     }
 }
@@ -29,6 +29,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
 import org.opendaylight.protocol.bgp.rib.impl.spi.AbstractImportPolicy;
+import org.opendaylight.protocol.bgp.rib.impl.spi.AttributeStore;
 import org.opendaylight.protocol.bgp.rib.impl.spi.ImportPolicyPeerTracker;
 import org.opendaylight.protocol.bgp.rib.impl.spi.RIBSupportContext;
 import org.opendaylight.protocol.bgp.rib.impl.spi.RIBSupportContextRegistry;
@@ -68,6 +69,9 @@ import org.slf4j.LoggerFactory;
  *    advertising peer's role
  * 3) output admitting routes with edited attributes into /bgp-rib/rib/peer/effective-rib-in/tables/routes
  *
+ * Edited attributes are shared with the routes of other peers through the RIB's {@link AttributeStore}. Each
+ * admitted route holds a reference to its attributes, which is dropped once the route is withdrawn or filtered.
+ *
  */
 @NotThreadSafe
 final class EffectiveRibInWriter implements PrefixesReceivedCounters, PrefixesInstalledCounters, AutoCloseable {
@@ -87,11 +91,16 @@ final class EffectiveRibInWriter implements PrefixesReceivedCounters, PrefixesIn
         private final Map<TablesKey, Set<YangInstanceIdentifier>> adjRibInRouteMap = new ConcurrentHashMap<>();
         private final Map<TablesKey, LongAdder> prefixesReceived;
         private final Map<TablesKey, LongAdder> prefixesInstalled;
+        private final AttributeStore attributeStore;
+        // references this peer holds in the attribute store, per shared attributes. Which route holds which
+        // reference is not tracked, replaced and withdrawn routes release the effective attributes they had before.
+        private final Map<ContainerNode, Long> heldAttributes = new ConcurrentHashMap<>();
 
         AdjInTracker(final DOMDataTreeChangeService service, final RIBSupportContextRegistry registry,
-            final DOMTransactionChain chain, final YangInstanceIdentifier peerIId,
+            final DOMTransactionChain chain, final YangInstanceIdentifier peerIId, final AttributeStore attributeStore,
             @Nonnull final PerTableTypeRouteCounter adjRibInRouteCounters, @Nonnull Set<TablesKey> tables) {
             this.registry = requireNonNull(registry);
+            this.attributeStore = requireNonNull(attributeStore);
             this.chain = requireNonNull(chain);
             this.peerIId = requireNonNull(peerIId);
             this.effRibTables = this.peerIId.node(EffectiveRibIn.QNAME).node(Tables.QNAME);
@@ -141,6 +150,44 @@ final class EffectiveRibInWriter implements PrefixesReceivedCounters, PrefixesIn
             counter.setValueToCounterOrSetDefault(tablesKey, size);
         }
 
+        private ContainerNode acquireAttributes(@Nonnull final ContainerNode attributes) {
+            final ContainerNode shared = this.attributeStore.acquire(attributes);
+            if (shared == null) {
+                return attributes;
+            }
+            this.heldAttributes.merge(shared, 1L, Long::sum);
+            return shared;
+        }
+
+        private void releaseAttributes(final RIBSupport ribSupport, final AbstractImportPolicy policy,
+                final Optional<NormalizedNode<?, ?>> routeBefore) {
+            // nothing is shared, do not evaluate the policy in vain
+            if (this.heldAttributes.isEmpty()) {
+                return;
+            }
+            final ContainerNode advertisedAttrs = (ContainerNode) NormalizedNodes.findNode(routeBefore,
+                ribSupport.routeAttributesIdentifier()).orNull();
+            if (advertisedAttrs == null) {
+                return;
+            }
+            final ContainerNode effectiveAttrs = policy.effectiveAttributes(advertisedAttrs);
+            if (effectiveAttrs != null) {
+                this.heldAttributes.computeIfPresent(effectiveAttrs, (attributes, held) -> {
+                    this.attributeStore.release(attributes);
+                    return held == 1 ? null : held - 1;
+                });
+            }
+        }
+
+        private void releaseAllAttributes(final RIBSupport ribSupport, final AbstractImportPolicy policy,
+                final DataTreeCandidateNode routes) {
+            if (!this.heldAttributes.isEmpty()) {
+                for (final DataTreeCandidateNode route : ribSupport.changedRoutes(routes)) {
+                    releaseAttributes(ribSupport, policy, route.getDataBefore());
+                }
+            }
+        }
+
         private void processRoute(final DOMDataWriteTransaction tx, final RIBSupport ribSupport, final AbstractImportPolicy policy,
             final YangInstanceIdentifier routesPath, final DataTreeCandidateNode route) {
             LOG.debug("Process route {}", route.getIdentifier());
@@ -151,6 +198,7 @@ final class EffectiveRibInWriter implements PrefixesReceivedCounters, PrefixesIn
             case DISAPPEARED:
                 tx.delete(LogicalDatastoreType.OPERATIONAL, routeId);
                 LOG.debug("Route deleted. routeId={}", routeId);
+                releaseAttributes(ribSupport, policy, route.getDataBefore());
 
                 deleteRoute(this.adjRibInRouteCounters, this.adjRibInRouteMap, tablesKey, routeId);
                 CountersUtil.decrement(this.prefixesInstalled.get(tablesKey), tablesKey);
@@ -178,13 +226,17 @@ final class EffectiveRibInWriter implements PrefixesReceivedCounters, PrefixesIn
                 LOG.debug("Route {} effective attributes {} towards {}", route.getIdentifier(), effectiveAttrs, routeId);
 
                 if (effectiveAttrs != null) {
-                    tx.put(LogicalDatastoreType.OPERATIONAL, routeId.node(ribSupport.routeAttributesIdentifier()), effectiveAttrs);
+                    // acquire first, so that the attributes are not dropped from the store when the route keeps them
+                    tx.put(LogicalDatastoreType.OPERATIONAL, routeId.node(ribSupport.routeAttributesIdentifier()),
+                        acquireAttributes(effectiveAttrs));
+                    releaseAttributes(ribSupport, policy, route.getDataBefore());
                     if(route.getModificationType() == ModificationType.WRITE) {
                         CountersUtil.increment(this.prefixesInstalled.get(tablesKey), tablesKey);
                     }
                 } else {
                     LOG.warn("Route {} advertised empty attributes", routeId);
                     tx.delete(LogicalDatastoreType.OPERATIONAL,  routeId);
+                    releaseAttributes(ribSupport, policy, route.getDataBefore());
                 }
                 break;
             default:
@@ -206,6 +258,9 @@ final class EffectiveRibInWriter implements PrefixesReceivedCounters, PrefixesIn
                 case DISAPPEARED:
                     tx.delete(LogicalDatastoreType.OPERATIONAL, childPath);
                     LOG.debug("Route deleted. routeId={}", childPath);
+                    if (TABLE_ROUTES.equals(childIdentifier)) {
+                        releaseAllAttributes(ribSupport, EffectiveRibInWriter.this.importPolicy, child);
+                    }
 
                     deleteRoute(this.adjRibInRouteCounters, this.adjRibInRouteMap, tablesKey, childPath);
                     CountersUtil.decrement(this.prefixesInstalled.get(tablesKey), tablesKey);
@@ -317,6 +372,10 @@ final class EffectiveRibInWriter implements PrefixesReceivedCounters, PrefixesIn
 
                 // delete the corresponding effective table
                 tx.delete(LogicalDatastoreType.OPERATIONAL, effectiveTablePath);
+                final DataTreeCandidateNode routes = table.getModifiedChild(TABLE_ROUTES);
+                if (routes != null) {
+                    releaseAllAttributes(ribSupport, EffectiveRibInWriter.this.importPolicy, routes);
+                }
                 final TablesKey tk = new TablesKey(ribSupport.getAfi(), ribSupport.getSafi());
                 deleteRoute(this.adjRibInRouteCounters, this.adjRibInRouteMap, tk);
                 CountersUtil.decrement(this.prefixesInstalled.get(tk), tk);
@@ -340,6 +399,12 @@ final class EffectiveRibInWriter implements PrefixesReceivedCounters, PrefixesIn
         @Override
         public void close() {
             this.reg.close();
+            this.heldAttributes.forEach((attributes, held) -> {
+                for (long i = 0; i < held; i++) {
+                    this.attributeStore.release(attributes);
+                }
+            });
+            this.heldAttributes.clear();
             this.prefixesReceived.values().forEach(LongAdder::reset);
             this.prefixesInstalled.values().forEach(LongAdder::reset);
         }
@@ -383,18 +448,21 @@ final class EffectiveRibInWriter implements PrefixesReceivedCounters, PrefixesIn
 
     static EffectiveRibInWriter create(@Nonnull final DOMDataTreeChangeService service, @Nonnull final DOMTransactionChain chain,
         @Nonnull final YangInstanceIdentifier peerIId, @Nonnull final ImportPolicyPeerTracker importPolicyPeerTracker,
-        @Nonnull final RIBSupportContextRegistry registry, final PeerRole peerRole,
-        @Nonnull final PerTableTypeRouteCounter adjRibInRouteCounters, @Nonnull Set<TablesKey> tables) {
-        return new EffectiveRibInWriter(service, chain, peerIId, importPolicyPeerTracker, registry, peerRole,
-            adjRibInRouteCounters, tables);
+        @Nonnull final AttributeStore attributeStore, @Nonnull final RIBSupportContextRegistry registry,
+        final PeerRole peerRole, @Nonnull final PerTableTypeRouteCounter adjRibInRouteCounters,
+        @Nonnull Set<TablesKey> tables) {
+        return new EffectiveRibInWriter(service, chain, peerIId, importPolicyPeerTracker, attributeStore, registry,
+            peerRole, adjRibInRouteCounters, tables);
     }
 
     private EffectiveRibInWriter(final DOMDataTreeChangeService service, final DOMTransactionChain chain, final YangInstanceIdentifier peerIId,
-        final ImportPolicyPeerTracker importPolicyPeerTracker, final RIBSupportContextRegistry registry, final PeerRole peerRole,
+        final ImportPolicyPeerTracker importPolicyPeerTracker, final AttributeStore attributeStore,
+        final RIBSupportContextRegistry registry, final PeerRole peerRole,
         @Nonnull final PerTableTypeRouteCounter adjRibInRouteCounters, @Nonnull Set<TablesKey> tables) {
         importPolicyPeerTracker.peerRoleChanged(peerIId, peerRole);
         this.importPolicy = importPolicyPeerTracker.policyFor(IdentifierUtils.peerId((NodeIdentifierWithPredicates) peerIId.getLastPathArgument()));
-        this.adjInTracker = new AdjInTracker(service, registry, chain, peerIId, adjRibInRouteCounters, tables);
+        this.adjInTracker = new AdjInTracker(service, registry, chain, peerIId, attributeStore,
+            adjRibInRouteCounters, tables);
     }
 
     @Override
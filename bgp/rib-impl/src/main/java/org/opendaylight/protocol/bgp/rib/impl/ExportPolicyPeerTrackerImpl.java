@@ -9,16 +9,27 @@ package org.opendaylight.protocol.bgp.rib.impl;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.protocol.bgp.rib.impl.spi.Codecs;
 import org.opendaylight.protocol.bgp.rib.impl.spi.PeerExportGroupRegistry;
 import org.opendaylight.protocol.bgp.rib.spi.ExportPolicyPeerTracker;
 import org.opendaylight.protocol.bgp.rib.spi.PeerExportGroup;
 import org.opendaylight.protocol.bgp.rib.spi.PeerExportGroup.PeerExporTuple;
+import org.opendaylight.protocol.bgp.rib.spi.RIBSupport;
+import org.opendaylight.protocol.bgp.rib.spi.UpdateGroup;
 import org.opendaylight.protocol.concepts.AbstractRegistration;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.SendReceive;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.PeerId;
@@ -37,6 +48,11 @@ import org.slf4j.LoggerFactory;
  *  - peerAddPathTables: keeps track of peer which supports Additional Path for this table and which Add Path
  *  configuration they are using.
  *  - groups: Contains peers grouped by peerRole and therefore sharing the same export policy.
+ *  - updateGroups: when enabled, peers without Additional Path sharing role and NLRI encoding share a single
+ *  adj-rib-out, which is replicated to their channels instead of being written into the datastore per peer.
+ *  A member is sent routes once its table structure has been initialized, same as a peer with its own adj-rib-out.
+ * Registrations are serialized and publish an immutable {@link Snapshot} of this state, which is used by all
+ * lookups performed while routes are exported, so these never contend on a lock.
  */
 @ThreadSafe
 final class ExportPolicyPeerTrackerImpl implements ExportPolicyPeerTracker {
@@ -51,10 +67,22 @@ final class ExportPolicyPeerTrackerImpl implements ExportPolicyPeerTracker {
     private final TablesKey localTableKey;
     @GuardedBy("this")
     private final Map<PeerRole, PeerExportGroupRegistry> groups = new EnumMap<>(PeerRole.class);
+    private final boolean updateGroupsEnabled;
+    @GuardedBy("this")
+    private final Map<UpdateGroupKey, UpdateGroupImpl> updateGroups = new HashMap<>();
+    @GuardedBy("this")
+    private final Map<PeerId, UpdateGroupImpl> peerUpdateGroups = new HashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(this);
 
     ExportPolicyPeerTrackerImpl(final PolicyDatabase policyDatabase, final TablesKey localTablesKey) {
+        this(policyDatabase, localTablesKey, false);
+    }
+
+    ExportPolicyPeerTrackerImpl(final PolicyDatabase policyDatabase, final TablesKey localTablesKey,
+        final boolean updateGroupsEnabled) {
         this.policyDatabase = requireNonNull(policyDatabase);
         this.localTableKey = localTablesKey;
+        this.updateGroupsEnabled = updateGroupsEnabled;
     }
 
     private synchronized AbstractRegistration addToExportGroups(final PeerId peerId,
@@ -71,6 +99,7 @@ final class ExportPolicyPeerTrackerImpl implements ExportPolicyPeerTracker {
                 if (ExportPolicyPeerTrackerImpl.this.groups.get(peerRole).isEmpty()) {
                     ExportPolicyPeerTrackerImpl.this.groups.remove(peerRole);
                 }
+                publish();
             }
         };
     }
@@ -90,6 +119,7 @@ final class ExportPolicyPeerTrackerImpl implements ExportPolicyPeerTracker {
         this.peerRoles.put(peerPath, peerRole);
         LOG.debug("Supported table {} added to peer {} role {}", this.localTableKey, peerId, peerRole);
         final AbstractRegistration registration = addToExportGroups(peerId, peerPath, peerRole);
+        publish();
 
         final Object lock = this;
         return new AbstractRegistration() {
@@ -109,34 +139,190 @@ final class ExportPolicyPeerTrackerImpl implements ExportPolicyPeerTracker {
         };
     }
 
+    @GuardedBy("this")
+    private void publish() {
+        this.snapshot = new Snapshot(this);
+    }
+
     @Override
-    public synchronized PeerExportGroup getPeerGroup(final PeerRole role) {
-        return this.groups.get(requireNonNull(role));
+    public PeerExportGroup getPeerGroup(final PeerRole role) {
+        return this.snapshot.groups[requireNonNull(role).ordinal()];
     }
 
     @Override
-    public synchronized boolean isTableSupported(final PeerId peerId) {
-        return this.peerTables.containsKey(peerId);
+    public boolean isTableSupported(final PeerId peerId) {
+        return this.snapshot.peerTables.containsKey(peerId);
     }
 
     @Override
-    public synchronized PeerRole getRole(final YangInstanceIdentifier peerId) {
-        return this.peerRoles.get(peerId);
+    public PeerRole getRole(final YangInstanceIdentifier peerId) {
+        return this.snapshot.peerRoles.get(peerId);
     }
 
     @Override
-    public synchronized boolean isAddPathSupportedByPeer(final PeerId peerId) {
-        final SendReceive sendReceive = this.peerAddPathTables.get(peerId);
+    public boolean isAddPathSupportedByPeer(final PeerId peerId) {
+        final SendReceive sendReceive = this.snapshot.peerAddPathTables.get(peerId);
         return sendReceive != null && (sendReceive.equals(SendReceive.Both) || sendReceive.equals(SendReceive.Receive));
     }
 
     @Override
-    public synchronized void registerPeerAsInitialized(final PeerId peerId) {
-        this.peerTables.computeIfPresent(peerId, (k, v) -> true);
+    public void registerPeerAsInitialized(final PeerId peerId) {
+        final UpdateGroupImpl group;
+        synchronized (this) {
+            if (this.peerTables.computeIfPresent(peerId, (k, v) -> true) == null) {
+                return;
+            }
+            group = this.peerUpdateGroups.get(peerId);
+            if (group != null) {
+                group.activate(peerId);
+            }
+            publish();
+        }
+        if (group != null) {
+            group.drain();
+        }
+    }
+
+    @Override
+    public boolean isTableStructureInitialized(final PeerId peerId) {
+        return this.snapshot.peerTables.get(peerId);
     }
 
     @Override
-    public synchronized boolean isTableStructureInitialized(final PeerId peerId) {
-        return this.peerTables.get(peerId);
+    public UpdateGroup getUpdateGroup(final PeerId peerId) {
+        return this.snapshot.peerUpdateGroups.get(peerId);
+    }
+
+    @Override
+    public List<UpdateGroup> getUpdateGroups(final PeerRole role) {
+        return this.snapshot.readyUpdateGroups[requireNonNull(role).ordinal()];
+    }
+
+    @Override
+    public void flushUpdateGroups() {
+        this.snapshot.updateGroups.forEach(UpdateGroupImpl::flush);
+    }
+
+    /**
+     * Add a registered peer to the update group of peers sharing its role and NLRI encoding. Peers using
+     * Additional Path are not grouped. Only peers with a session join update groups, application peers
+     * (internal role) do not have an adj-rib-out.
+     *
+     * @param peerId of peer
+     * @param peerRole Role of the peer
+     * @param mpSupport true if routes are encoded in MP_REACH/MP_UNREACH attributes
+     * @param session channel of the peer
+     * @param extendedMessage true if the peer supports extended messages
+     * @param support RIB support of this table
+     * @param codecs codecs of this table
+     * @param routeCounter counter of routes advertised to the peer
+     * @param prefixesSentCounter counter of prefixes sent to the peer
+     * @return registration removing the peer from its update group, null if the peer is not grouped and needs
+     *         its own adj-rib-out
+     */
+    AbstractRegistration joinUpdateGroup(final PeerId peerId, final PeerRole peerRole, final boolean mpSupport,
+        final ChannelOutputLimiter session, final boolean extendedMessage, final RIBSupport support,
+        final Codecs codecs, final LongAdder routeCounter, final LongAdder prefixesSentCounter) {
+        final UpdateGroupKey key = new UpdateGroupKey(peerRole, mpSupport);
+        final UpdateGroupImpl group;
+        final AbstractRegistration membership;
+        synchronized (this) {
+            if (!this.updateGroupsEnabled || isAddPathSupportedByPeer(peerId)) {
+                return null;
+            }
+            group = this.updateGroups.computeIfAbsent(key, k -> new UpdateGroupImpl(support, codecs, mpSupport));
+            membership = group.join(peerId, session, extendedMessage, routeCounter, prefixesSentCounter);
+            this.peerUpdateGroups.put(peerId, group);
+            if (Boolean.TRUE.equals(this.peerTables.get(peerId))) {
+                group.activate(peerId);
+            }
+            publish();
+        }
+        group.drain();
+
+        final Object lock = this;
+        return new AbstractRegistration() {
+            @Override
+            protected void removeRegistration() {
+                synchronized (lock) {
+                    membership.close();
+                    ExportPolicyPeerTrackerImpl.this.peerUpdateGroups.remove(peerId, group);
+                    if (group.isEmpty()) {
+                        ExportPolicyPeerTrackerImpl.this.updateGroups.remove(key, group);
+                    }
+                    publish();
+                }
+            }
+        };
+    }
+
+    /**
+     * Immutable view of the tracker state, replaced on each registration change.
+     */
+    private static final class Snapshot {
+        private final ImmutableMap<YangInstanceIdentifier, PeerRole> peerRoles;
+        private final ImmutableMap<PeerId, SendReceive> peerAddPathTables;
+        private final ImmutableMap<PeerId, Boolean> peerTables;
+        private final PeerExportGroup[] groups = new PeerExportGroup[PeerRole.values().length];
+        private final ImmutableMap<PeerId, UpdateGroupImpl> peerUpdateGroups;
+        private final ImmutableSet<UpdateGroupImpl> updateGroups;
+        /**
+         * Update groups per role, which have at least one member with initialized table structure.
+         */
+        @SuppressWarnings("unchecked")
+        private final List<UpdateGroup>[] readyUpdateGroups = new List[PeerRole.values().length];
+
+        Snapshot(final ExportPolicyPeerTrackerImpl tracker) {
+            this.peerRoles = ImmutableMap.copyOf(tracker.peerRoles);
+            this.peerAddPathTables = ImmutableMap.copyOf(tracker.peerAddPathTables);
+            this.peerTables = ImmutableMap.copyOf(tracker.peerTables);
+            tracker.groups.forEach((role, group) -> this.groups[role.ordinal()] = group);
+            this.peerUpdateGroups = ImmutableMap.copyOf(tracker.peerUpdateGroups);
+            this.updateGroups = ImmutableSet.copyOf(tracker.updateGroups.values());
+
+            final Set<UpdateGroupImpl> ready = new HashSet<>();
+            tracker.peerUpdateGroups.forEach((peerId, group) -> {
+                if (Boolean.TRUE.equals(tracker.peerTables.get(peerId))) {
+                    ready.add(group);
+                }
+            });
+            final Map<PeerRole, ImmutableList.Builder<UpdateGroup>> builders = new EnumMap<>(PeerRole.class);
+            tracker.updateGroups.forEach((key, group) -> {
+                if (ready.contains(group)) {
+                    builders.computeIfAbsent(key.role, k -> ImmutableList.builder()).add(group);
+                }
+            });
+            for (final PeerRole role : PeerRole.values()) {
+                final ImmutableList.Builder<UpdateGroup> builder = builders.get(role);
+                this.readyUpdateGroups[role.ordinal()] = builder == null ? ImmutableList.of() : builder.build();
+            }
+        }
+    }
+
+    private static final class UpdateGroupKey {
+        private final PeerRole role;
+        private final boolean mpSupport;
+
+        UpdateGroupKey(final PeerRole role, final boolean mpSupport) {
+            this.role = requireNonNull(role);
+            this.mpSupport = mpSupport;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.role, this.mpSupport);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof UpdateGroupKey)) {
+                return false;
+            }
+            final UpdateGroupKey other = (UpdateGroupKey) obj;
+            return this.role == other.role && this.mpSupport == other.mpSupport;
+        }
     }
-}
\ No newline at end of file
+}
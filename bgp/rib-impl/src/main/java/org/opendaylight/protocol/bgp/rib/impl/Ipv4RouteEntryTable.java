@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.protocol.bgp.mode.api.RouteEntry;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * Route entry table for IPv4 unicast routes. Route keys carrying a single canonical IPv4 prefix are packed
+ * into a long and kept in an open-addressing hash table, which avoids per-prefix key objects and map entries.
+ * Keys which cannot be packed losslessly are kept in a fallback map.
+ */
+@NotThreadSafe
+final class Ipv4RouteEntryTable implements RouteEntryTable {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long EMPTY = 0;
+    /**
+     * Marker bit distinguishing a packed 0.0.0.0/0 from an empty slot.
+     */
+    private static final long PRESENT = 1L << 40;
+    private static final int PREFIX_LENGTH_BITS = 8;
+    private static final int MAX_PREFIX_LENGTH = 32;
+    private static final int OCTETS = 4;
+    private static final int MAX_OCTET = 255;
+
+    private final Map<PathArgument, RouteEntry> fallback = new HashMap<>();
+    private QName routeQName;
+    private QName prefixQName;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private RouteEntry[] values = new RouteEntry[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public RouteEntry get(final PathArgument routeId) {
+        final long key = packedKey(routeId);
+        if (key == EMPTY) {
+            return this.fallback.get(routeId);
+        }
+        final int index = indexOf(key);
+        return index < 0 ? null : this.values[index];
+    }
+
+    @Override
+    public void put(final PathArgument routeId, final RouteEntry entry) {
+        if (this.routeQName == null) {
+            learnQNames(routeId);
+        }
+        final long key = packedKey(routeId);
+        if (key == EMPTY) {
+            this.fallback.put(routeId, entry);
+            return;
+        }
+        final int mask = this.keys.length - 1;
+        int index = slot(key, mask);
+        while (this.keys[index] != EMPTY) {
+            if (this.keys[index] == key) {
+                this.values[index] = entry;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        this.keys[index] = key;
+        this.values[index] = entry;
+        this.size++;
+        if (this.size * 2 > this.keys.length) {
+            resize(this.keys.length * 2);
+        }
+    }
+
+    @Override
+    public void remove(final PathArgument routeId) {
+        final long key = packedKey(routeId);
+        if (key == EMPTY) {
+            this.fallback.remove(routeId);
+            return;
+        }
+        final int index = indexOf(key);
+        if (index >= 0) {
+            removeAt(index);
+        }
+    }
+
+    @Override
+    public void forEach(final BiConsumer<PathArgument, RouteEntry> action) {
+        for (int i = 0; i < this.keys.length; i++) {
+            final long key = this.keys[i];
+            if (key != EMPTY) {
+                action.accept(new NodeIdentifierWithPredicates(this.routeQName, this.prefixQName, formatPrefix(key)),
+                    this.values[i]);
+            }
+        }
+        this.fallback.forEach(action);
+    }
+
+    @VisibleForTesting
+    int packedSize() {
+        return this.size;
+    }
+
+    private void learnQNames(final PathArgument routeId) {
+        if (routeId instanceof NodeIdentifierWithPredicates) {
+            final Map<QName, Object> keyValues = ((NodeIdentifierWithPredicates) routeId).getKeyValues();
+            if (keyValues.size() == 1) {
+                this.routeQName = routeId.getNodeType();
+                this.prefixQName = keyValues.keySet().iterator().next();
+            }
+        }
+    }
+
+    private long packedKey(final PathArgument routeId) {
+        if (this.routeQName == null || !(routeId instanceof NodeIdentifierWithPredicates)
+            || !this.routeQName.equals(routeId.getNodeType())) {
+            return EMPTY;
+        }
+        final Map<QName, Object> keyValues = ((NodeIdentifierWithPredicates) routeId).getKeyValues();
+        if (keyValues.size() != 1) {
+            return EMPTY;
+        }
+        final Object value = keyValues.get(this.prefixQName);
+        return value instanceof String ? parsePrefix((String) value) : EMPTY;
+    }
+
+    private int indexOf(final long key) {
+        final int mask = this.keys.length - 1;
+        int index = slot(key, mask);
+        while (this.keys[index] != EMPTY) {
+            if (this.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the entry at index, shifting back following entries of the same probe sequence, so no tombstones
+     * are needed.
+     */
+    private void removeAt(final int index) {
+        final int mask = this.keys.length - 1;
+        int hole = index;
+        int i = index;
+        while (true) {
+            i = (i + 1) & mask;
+            final long key = this.keys[i];
+            if (key == EMPTY) {
+                break;
+            }
+            final int home = slot(key, mask);
+            final boolean movable = i > hole ? home <= hole || home > i : home <= hole && home > i;
+            if (movable) {
+                this.keys[hole] = key;
+                this.values[hole] = this.values[i];
+                hole = i;
+            }
+        }
+        this.keys[hole] = EMPTY;
+        this.values[hole] = null;
+        this.size--;
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldKeys = this.keys;
+        final RouteEntry[] oldValues = this.values;
+        this.keys = new long[capacity];
+        this.values = new RouteEntry[capacity];
+        final int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = slot(oldKeys[i], mask);
+                while (this.keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(final long key, final int mask) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+
+    /**
+     * Parses a prefix in its canonical string form, as produced by IetfInetUtil, into a packed key. Any other
+     * representation yields {@link #EMPTY}, so that two distinct strings never map to the same packed key.
+     */
+    @VisibleForTesting
+    static long parsePrefix(final String prefix) {
+        final int length = prefix.length();
+        long address = 0;
+        int i = 0;
+        for (int octet = 0; octet < OCTETS; octet++) {
+            final int start = i;
+            int value = 0;
+            while (i < length && Character.isDigit(prefix.charAt(i)) && i - start < 3) {
+                value = value * 10 + prefix.charAt(i) - '0';
+                i++;
+            }
+            if (i == start || value > MAX_OCTET || i - start > 1 && prefix.charAt(start) == '0') {
+                return EMPTY;
+            }
+            address = address << Byte.SIZE | value;
+            if (i >= length || prefix.charAt(i) != (octet == OCTETS - 1 ? '/' : '.')) {
+                return EMPTY;
+            }
+            i++;
+        }
+        final int start = i;
+        int prefixLength = 0;
+        while (i < length && Character.isDigit(prefix.charAt(i)) && i - start < 2) {
+            prefixLength = prefixLength * 10 + prefix.charAt(i) - '0';
+            i++;
+        }
+        if (i != length || i == start || prefixLength > MAX_PREFIX_LENGTH
+            || i - start > 1 && prefix.charAt(start) == '0') {
+            return EMPTY;
+        }
+        return PRESENT | address << PREFIX_LENGTH_BITS | prefixLength;
+    }
+
+    @VisibleForTesting
+    static String formatPrefix(final long key) {
+        final StringBuilder sb = new StringBuilder(18);
+        final long address = key >>> PREFIX_LENGTH_BITS;
+        for (int octet = OCTETS - 1; octet >= 0; octet--) {
+            sb.append(address >>> octet * Byte.SIZE & MAX_OCTET);
+            sb.append(octet == 0 ? '/' : '.');
+        }
+        return sb.append(key & MAX_OCTET).toString();
+    }
+}
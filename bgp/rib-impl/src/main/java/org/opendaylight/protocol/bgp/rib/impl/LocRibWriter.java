@@ -11,12 +11,21 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Optional;
 import com.google.common.primitives.UnsignedInteger;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.api.ClusteredDOMDataTreeChangeListener;
@@ -67,7 +76,8 @@ final class LocRibWriter implements AutoCloseable, TotalPrefixesCounter, TotalPa
 
     private static final LeafNode<Boolean> ATTRIBUTES_UPTODATE_TRUE = ImmutableNodes.leafNode(QName.create(Attributes.QNAME, "uptodate"), Boolean.TRUE);
 
-    private final Map<PathArgument, RouteEntry> routeEntries = new HashMap<>();
+    private final Shard[] shards;
+    private final ExecutorService shardExecutor;
     private final YangInstanceIdentifier locRibTarget;
     private final NodeIdentifierWithPredicates tableKey;
     private DOMTransactionChain chain;
@@ -86,7 +96,7 @@ final class LocRibWriter implements AutoCloseable, TotalPrefixesCounter, TotalPa
     private LocRibWriter(final RIBSupportContextRegistry registry, final DOMTransactionChain chain,
         final YangInstanceIdentifier target, final Long ourAs, final DOMDataTreeChangeService service,
         final ExportPolicyPeerTracker exportPolicyPeerTracker, final TablesKey tablesKey,
-        final PathSelectionMode pathSelectionMode) {
+        final PathSelectionMode pathSelectionMode, final ExecutorService shardExecutor, final int shards) {
         this.chain = requireNonNull(chain);
         this.target = requireNonNull(target);
         this.tableKey  = RibSupportUtils.toYangTablesKey(tablesKey);
@@ -97,6 +107,11 @@ final class LocRibWriter implements AutoCloseable, TotalPrefixesCounter, TotalPa
         this.service = requireNonNull(service);
         this.ribSupport = registry.getRIBSupportContext(tablesKey).getRibSupport();
         this.attributesIdentifier = this.ribSupport.routeAttributesIdentifier();
+        this.shardExecutor = shardExecutor;
+        this.shards = new Shard[shardExecutor == null ? 1 : shards];
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = new Shard(RouteEntryTable.create(tablesKey, this.ribSupport));
+        }
         this.exportPolicyPeerTracker = exportPolicyPeerTracker;
         this.pathSelectionMode = pathSelectionMode;
 
@@ -119,9 +134,10 @@ final class LocRibWriter implements AutoCloseable, TotalPrefixesCounter, TotalPa
     public static LocRibWriter create(@Nonnull final RIBSupportContextRegistry registry, @Nonnull final TablesKey tablesKey,
         @Nonnull final DOMTransactionChain chain,
         @Nonnull final YangInstanceIdentifier target, @Nonnull final AsNumber ourAs, @Nonnull final DOMDataTreeChangeService service,
-        @Nonnull final ExportPolicyPeerTracker ep, @Nonnull final PathSelectionMode pathSelectionStrategy) {
+        @Nonnull final ExportPolicyPeerTracker ep, @Nonnull final PathSelectionMode pathSelectionStrategy,
+        @Nullable final ExecutorService shardExecutor, final int shards) {
         return new LocRibWriter(registry, chain, target, ourAs.getValue(), service, ep, tablesKey,
-            pathSelectionStrategy);
+            pathSelectionStrategy, shardExecutor, shards);
     }
 
     /**
@@ -143,15 +159,6 @@ final class LocRibWriter implements AutoCloseable, TotalPrefixesCounter, TotalPa
         this.chain.close();
     }
 
-    @Nonnull
-    private RouteEntry createEntry(final PathArgument routeId) {
-        final RouteEntry ret = this.pathSelectionMode.createRouteEntry(this.ribSupport.isComplexRoute());
-        this.routeEntries.put(routeId, ret);
-        this.totalPrefixesCounter.increment();
-        LOG.trace("Created new entry for {}", routeId);
-        return ret;
-    }
-
     /**
      * We use two-stage processing here in hopes that we avoid duplicate
      * calculations when multiple peers have changed a particular entry.
@@ -164,11 +171,11 @@ final class LocRibWriter implements AutoCloseable, TotalPrefixesCounter, TotalPa
 
         final DOMDataWriteTransaction tx = this.chain.newWriteOnlyTransaction();
         try {
-            final Map<RouteUpdateKey, RouteEntry> toUpdate = update(tx, changes);
-
-            if (!toUpdate.isEmpty()) {
-                walkThrough(tx, toUpdate.entrySet());
+            final List<List<RouteChange>> shardChanges = update(tx, changes);
+            for (final Map<PathArgument, RouteEntry> selected : selectBest(shardChanges)) {
+                walkThrough(tx, selected.entrySet());
             }
+            this.exportPolicyPeerTracker.flushUpdateGroups();
         } catch (final Exception e) {
             LOG.error("Failed to completely propagate updates {}, state is undefined", changes, e);
         } finally {
@@ -176,8 +183,11 @@ final class LocRibWriter implements AutoCloseable, TotalPrefixesCounter, TotalPa
         }
     }
 
-    private Map<RouteUpdateKey, RouteEntry> update(final DOMDataWriteTransaction tx, final Collection<DataTreeCandidate> changes) {
-        final Map<RouteUpdateKey, RouteEntry> ret = new HashMap<>();
+    private List<List<RouteChange>> update(final DOMDataWriteTransaction tx, final Collection<DataTreeCandidate> changes) {
+        final List<List<RouteChange>> ret = new ArrayList<>(this.shards.length);
+        for (int i = 0; i < this.shards.length; i++) {
+            ret.add(new ArrayList<>());
+        }
         changes.forEach(tc -> {
             final DataTreeCandidateNode table = tc.getRootNode();
             final YangInstanceIdentifier rootPath = tc.getRootPath();
@@ -195,14 +205,16 @@ final class LocRibWriter implements AutoCloseable, TotalPrefixesCounter, TotalPa
             LOG.debug("Peer {} table has been created, inserting existent routes", peerIdOfNewPeer);
             final PeerRole newPeerRole = this.exportPolicyPeerTracker.getRole(IdentifierUtils.peerPath(rootPath));
             final PeerExportGroup peerGroup = this.exportPolicyPeerTracker.getPeerGroup(newPeerRole);
-            this.routeEntries.forEach((key, value) -> value.writeRoute(peerIdOfNewPeer, key,
-                rootPath.getParent().getParent().getParent(), peerGroup, this.localTablesKey,
-                this.exportPolicyPeerTracker, this.ribSupport, tx));
+            for (final Shard shard : this.shards) {
+                shard.routeEntries.forEach((key, value) -> value.writeRoute(peerIdOfNewPeer, key,
+                    rootPath.getParent().getParent().getParent(), peerGroup, this.localTablesKey,
+                    this.exportPolicyPeerTracker, this.ribSupport, tx));
+            }
         }
     }
 
     private void updateNodes(final DataTreeCandidateNode table, final PeerId peerId, final DOMDataWriteTransaction tx,
-        final Map<RouteUpdateKey, RouteEntry> routes) {
+        final List<List<RouteChange>> routes) {
         for (final DataTreeCandidateNode child : table.getChildNodes()) {
             LOG.debug("Modification type {}", child.getModificationType());
             if ((Attributes.QNAME).equals(child.getIdentifier().getNodeType())) {
@@ -213,48 +225,53 @@ final class LocRibWriter implements AutoCloseable, TotalPrefixesCounter, TotalPa
                 }
                 continue;
             }
-            updateRoutesEntries(child, peerId, routes);
+            partitionRoutes(child, peerId, routes);
         }
     }
 
-    private void updateRoutesEntries(final DataTreeCandidateNode child, final PeerId peerId, final Map<RouteUpdateKey, RouteEntry> routes) {
+    private void partitionRoutes(final DataTreeCandidateNode child, final PeerId peerId, final List<List<RouteChange>> routes) {
         final UnsignedInteger routerId = RouterIds.routerIdForPeerId(peerId);
         final Collection<DataTreeCandidateNode> modifiedRoutes = this.ribSupport.changedRoutes(child);
         for (final DataTreeCandidateNode route : modifiedRoutes) {
             final PathArgument routeId = this.ribSupport.createRouteKeyPathArgument(route.getIdentifier());
-            RouteEntry entry = this.routeEntries.get(routeId);
-            final Optional<NormalizedNode<?, ?>> maybeData = route.getDataAfter();
-            final Optional<NormalizedNode<?, ?>> maybeDataBefore = route.getDataBefore();
-            if (maybeData.isPresent()) {
-                if (entry == null) {
-                    entry = createEntry(routeId);
-                }
-                entry.addRoute(routerId, this.ribSupport.extractPathId(maybeData.get()), this.attributesIdentifier, maybeData.get());
-                this.totalPathsCounter.increment();
-            } else if (entry != null) {
-                this.totalPathsCounter.decrement();
-                if(entry.removeRoute(routerId, this.ribSupport.extractPathId(maybeDataBefore.get()))) {
-                    this.routeEntries.remove(routeId);
-                    this.totalPrefixesCounter.decrement();
-                    LOG.trace("Removed route from {}", routerId);
-                }
-            }
-            final RouteUpdateKey routeUpdateKey = new RouteUpdateKey(peerId, routeId);
-            LOG.debug("Updated route {} entry {}", routeId, entry);
-            routes.put(routeUpdateKey, entry);
+            routes.get(shardOf(routeId)).add(new RouteChange(routerId, routeId, route));
         }
     }
 
-    private void walkThrough(final DOMDataWriteTransaction tx, final Set<Map.Entry<RouteUpdateKey, RouteEntry>> toUpdate) {
-        for (final Map.Entry<RouteUpdateKey, RouteEntry> e : toUpdate) {
-            LOG.trace("Walking through {}", e);
-            final RouteEntry entry = e.getValue();
+    private int shardOf(final PathArgument routeId) {
+        return this.shards.length == 1 ? 0 : (routeId.hashCode() & Integer.MAX_VALUE) % this.shards.length;
+    }
 
-            if (!entry.selectBest(this.ourAs)) {
-                LOG.trace("Best path has not changed, continuing");
-                continue;
+    /**
+     * Run best path selection of all shards. Shards own disjoint sets of route entries, hence they can be processed
+     * concurrently. Their results are written into the transaction on the calling thread.
+     */
+    private List<Map<PathArgument, RouteEntry>> selectBest(final List<List<RouteChange>> shardChanges)
+        throws InterruptedException, ExecutionException {
+        if (this.shards.length == 1) {
+            return Collections.singletonList(this.shards[0].process(shardChanges.get(0)));
+        }
+
+        final List<Callable<Map<PathArgument, RouteEntry>>> tasks = new ArrayList<>(this.shards.length);
+        for (int i = 0; i < this.shards.length; i++) {
+            final List<RouteChange> routes = shardChanges.get(i);
+            if (!routes.isEmpty()) {
+                final Shard shard = this.shards[i];
+                tasks.add(() -> shard.process(routes));
             }
-            entry.updateRoute(this.localTablesKey, this.exportPolicyPeerTracker, this.locRibTarget, this.ribSupport, tx, e.getKey().getRouteId());
+        }
+        final List<Map<PathArgument, RouteEntry>> ret = new ArrayList<>(tasks.size());
+        for (final Future<Map<PathArgument, RouteEntry>> future : this.shardExecutor.invokeAll(tasks)) {
+            ret.add(future.get());
+        }
+        return ret;
+    }
+
+    private void walkThrough(final DOMDataWriteTransaction tx, final Set<Map.Entry<PathArgument, RouteEntry>> toUpdate) {
+        for (final Map.Entry<PathArgument, RouteEntry> e : toUpdate) {
+            LOG.trace("Updating {}", e);
+            e.getValue().updateRoute(this.localTablesKey, this.exportPolicyPeerTracker, this.locRibTarget,
+                this.ribSupport, tx, e.getKey());
         }
     }
 
@@ -267,4 +284,87 @@ final class LocRibWriter implements AutoCloseable, TotalPrefixesCounter, TotalPa
     public long getPathsCount() {
         return this.totalPathsCounter.longValue();
     }
+
+    private static final class RouteChange {
+        private final UnsignedInteger routerId;
+        private final PathArgument routeId;
+        private final DataTreeCandidateNode route;
+
+        RouteChange(final UnsignedInteger routerId, final PathArgument routeId, final DataTreeCandidateNode route) {
+            this.routerId = routerId;
+            this.routeId = routeId;
+            this.route = route;
+        }
+    }
+
+    /**
+     * A partition of the table's route entries. A shard is only ever accessed by a single thread at a time.
+     */
+    @NotThreadSafe
+    private final class Shard {
+        private final RouteEntryTable routeEntries;
+
+        Shard(final RouteEntryTable routeEntries) {
+            this.routeEntries = requireNonNull(routeEntries);
+        }
+
+        @Nonnull
+        private RouteEntry createEntry(final PathArgument routeId) {
+            final RouteEntry ret = LocRibWriter.this.pathSelectionMode.createRouteEntry(
+                LocRibWriter.this.ribSupport.isComplexRoute());
+            this.routeEntries.put(routeId, ret);
+            LocRibWriter.this.totalPrefixesCounter.increment();
+            LOG.trace("Created new entry for {}", routeId);
+            return ret;
+        }
+
+        /**
+         * Apply route changes to this shard's entries and select their best paths.
+         *
+         * @param changes route changes, in order of arrival
+         * @return entries whose best path has changed, keyed by route identifier
+         */
+        Map<PathArgument, RouteEntry> process(final List<RouteChange> changes) {
+            final Map<PathArgument, RouteEntry> touched = new LinkedHashMap<>();
+            for (final RouteChange change : changes) {
+                final RouteEntry entry = updateRoutesEntry(change);
+                if (entry != null) {
+                    touched.put(change.routeId, entry);
+                }
+            }
+
+            final Iterator<RouteEntry> it = touched.values().iterator();
+            while (it.hasNext()) {
+                if (!it.next().selectBest(LocRibWriter.this.ourAs)) {
+                    LOG.trace("Best path has not changed, continuing");
+                    it.remove();
+                }
+            }
+            return touched;
+        }
+
+        private RouteEntry updateRoutesEntry(final RouteChange change) {
+            final RIBSupport ribSupport = LocRibWriter.this.ribSupport;
+            RouteEntry entry = this.routeEntries.get(change.routeId);
+            final Optional<NormalizedNode<?, ?>> maybeData = change.route.getDataAfter();
+            final Optional<NormalizedNode<?, ?>> maybeDataBefore = change.route.getDataBefore();
+            if (maybeData.isPresent()) {
+                if (entry == null) {
+                    entry = createEntry(change.routeId);
+                }
+                entry.addRoute(change.routerId, ribSupport.extractPathId(maybeData.get()),
+                    LocRibWriter.this.attributesIdentifier, maybeData.get());
+                LocRibWriter.this.totalPathsCounter.increment();
+            } else if (entry != null) {
+                LocRibWriter.this.totalPathsCounter.decrement();
+                if (entry.removeRoute(change.routerId, ribSupport.extractPathId(maybeDataBefore.get()))) {
+                    this.routeEntries.remove(change.routeId);
+                    LocRibWriter.this.totalPrefixesCounter.decrement();
+                    LOG.trace("Removed route from {}", change.routerId);
+                }
+            }
+            LOG.debug("Updated route {} entry {}", change.routeId, entry);
+            return entry;
+        }
+    }
 }
@@ -9,10 +9,11 @@ package org.opendaylight.protocol.bgp.rib.impl;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.HashMap;
+import com.google.common.collect.ImmutableMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
-import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
 import org.opendaylight.protocol.bgp.rib.impl.spi.PeerExportGroupRegistry;
 import org.opendaylight.protocol.concepts.AbstractRegistration;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.PeerId;
@@ -20,10 +21,16 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 
+/**
+ * Peers sharing an export policy. Registered peers are kept in an immutable snapshot, which is replaced on each
+ * registration change, so that lookups and iteration performed for each exported route do not lock.
+ */
+@ThreadSafe
 final class PeerExportGroupImpl implements PeerExportGroupRegistry {
-    @GuardedBy("this")
-    private final Map<PeerId, PeerExporTuple> peers = new HashMap<>();
+    private static final Members EMPTY = new Members(ImmutableMap.of());
+
     private final AbstractExportPolicy policy;
+    private volatile Members members = EMPTY;
 
     public PeerExportGroupImpl(final AbstractExportPolicy policy) {
         this.policy = requireNonNull(policy);
@@ -36,31 +43,33 @@ final class PeerExportGroupImpl implements PeerExportGroupRegistry {
 
     @Override
     public boolean containsPeer(final PeerId routePeerId) {
-        synchronized (this.peers) {
-            return this.peers.containsKey(routePeerId);
-        }
+        return this.members.peers.containsKey(routePeerId);
     }
 
     @Override
     public void forEach(final BiConsumer<PeerId, YangInstanceIdentifier> action) {
-        synchronized (this.peers) {
-            for (final Map.Entry<PeerId, PeerExporTuple> pid : this.peers.entrySet()) {
-                action.accept(pid.getKey(), pid.getValue().getYii());
-            }
+        final Members current = this.members;
+        for (int i = 0; i < current.peerIds.length; i++) {
+            action.accept(current.peerIds[i], current.peerPaths[i]);
         }
     }
 
     @Override
     public AbstractRegistration registerPeer(final PeerId peerId, final PeerExporTuple peerExporTuple) {
-        synchronized (this.peers) {
-            this.peers.put(peerId, peerExporTuple);
+        synchronized (this) {
+            final Map<PeerId, PeerExporTuple> peers = new LinkedHashMap<>(this.members.peers);
+            peers.put(peerId, peerExporTuple);
+            this.members = new Members(peers);
         }
 
         return new AbstractRegistration() {
             @Override
             protected void removeRegistration() {
-                synchronized (PeerExportGroupImpl.this.peers) {
-                    PeerExportGroupImpl.this.peers.remove(peerId);
+                synchronized (PeerExportGroupImpl.this) {
+                    final Members current = PeerExportGroupImpl.this.members;
+                    final Map<PeerId, PeerExporTuple> peers = new LinkedHashMap<>(current.peers);
+                    peers.remove(peerId);
+                    PeerExportGroupImpl.this.members = new Members(peers);
                 }
             }
         };
@@ -68,8 +77,24 @@ final class PeerExportGroupImpl implements PeerExportGroupRegistry {
 
     @Override
     public boolean isEmpty() {
-        synchronized (this.peers) {
-            return this.peers.isEmpty();
+        return this.members.peers.isEmpty();
+    }
+
+    private static final class Members {
+        private final ImmutableMap<PeerId, PeerExporTuple> peers;
+        private final PeerId[] peerIds;
+        private final YangInstanceIdentifier[] peerPaths;
+
+        Members(final Map<PeerId, PeerExporTuple> peers) {
+            this.peers = ImmutableMap.copyOf(peers);
+            this.peerIds = new PeerId[peers.size()];
+            this.peerPaths = new YangInstanceIdentifier[peers.size()];
+            int i = 0;
+            for (final Map.Entry<PeerId, PeerExporTuple> entry : this.peers.entrySet()) {
+                this.peerIds[i] = entry.getKey();
+                this.peerPaths[i] = entry.getValue().getYii();
+                i++;
+            }
         }
     }
-}
\ No newline at end of file
+}
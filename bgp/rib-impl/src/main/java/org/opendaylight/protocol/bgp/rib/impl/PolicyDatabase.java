@@ -7,9 +7,12 @@
  */
 package org.opendaylight.protocol.bgp.rib.impl;
 
+import static java.util.Objects.requireNonNull;
+
 import java.util.EnumMap;
 import java.util.Map;
 import org.opendaylight.protocol.bgp.rib.impl.spi.AbstractImportPolicy;
+import org.opendaylight.protocol.bgp.rib.impl.spi.AttributeStore;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.PeerRole;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.ClusterIdentifier;
@@ -21,8 +24,11 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.type
 final class PolicyDatabase {
     private final Map<PeerRole, AbstractExportPolicy> exportPolicies = new EnumMap<>(PeerRole.class);
     private final Map<PeerRole, AbstractImportPolicy> importPolicies = new EnumMap<>(PeerRole.class);
+    private final AttributeStore attributeStore;
 
-    PolicyDatabase(final Long localAs, final Ipv4Address bgpId, final ClusterIdentifier clusterId) {
+    PolicyDatabase(final Long localAs, final Ipv4Address bgpId, final ClusterIdentifier clusterId,
+        final AttributeStore attributeStore) {
+        this.attributeStore = requireNonNull(attributeStore);
         this.exportPolicies.put(PeerRole.Ebgp, new ToExternalExportPolicy(localAs));
         this.exportPolicies.put(PeerRole.Ibgp, new ToInternalExportPolicy(bgpId, clusterId));
         this.exportPolicies.put(PeerRole.RrClient, new ToReflectorClientExportPolicy(bgpId, clusterId));
@@ -40,13 +46,9 @@ final class PolicyDatabase {
 
     AbstractImportPolicy importPolicyForRole(final PeerRole peerRole) {
         /*
-         * TODO: this solution does not share equivalent attributes across
-         *       multiple peers. If we need to do that, consider carefully:
-         *       - whether the interner should be shared with RIBSupportContextImpl.writeRoutes()
-         *       - lookup/update contention of both the cache and the interner
-         *       - ability to share resulting attributes across import policies
-         *       - ability to share resulting attributes with export policies
+         * Each peer caches its own effective attributes, the results are shared
+         * across peers through the RIB's attribute store.
          */
-        return new CachingImportPolicy(this.importPolicies.get(peerRole));
+        return new CachingImportPolicy(this.importPolicies.get(peerRole), this.attributeStore);
     }
 }
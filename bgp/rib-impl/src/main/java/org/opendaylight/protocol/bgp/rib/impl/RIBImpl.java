@@ -16,12 +16,15 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
@@ -43,6 +46,7 @@ import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceRegist
 import org.opendaylight.mdsal.singleton.common.api.ServiceGroupIdentifier;
 import org.opendaylight.protocol.bgp.mode.api.PathSelectionMode;
 import org.opendaylight.protocol.bgp.mode.impl.base.BasePathSelectionModeFactory;
+import org.opendaylight.protocol.bgp.rib.impl.spi.AttributeStore;
 import org.opendaylight.protocol.bgp.rib.impl.spi.BGPDispatcher;
 import org.opendaylight.protocol.bgp.rib.impl.spi.BgpDeployer;
 import org.opendaylight.protocol.bgp.rib.impl.spi.CodecsRegistry;
@@ -103,9 +107,15 @@ public final class RIBImpl extends BGPRIBStateImpl implements ClusterSingletonSe
     private final YangInstanceIdentifier yangRibId;
     private final RIBSupportContextRegistryImpl ribContextRegistry;
     private final CodecsRegistryImpl codecsRegistry;
+    private final AttributeStore attributeStore;
     private final ServiceGroupIdentifier serviceGroupIdentifier;
     private final ClusterSingletonServiceProvider provider;
     private final BgpDeployer.WriteConfiguration configurationWriter;
+    private final RIBSettings settings;
+    /**
+     * Runs best path selection of LocRib shards, null if tables are not sharded.
+     */
+    private final ExecutorService shardExecutor;
     private ClusterSingletonServiceRegistration registration;
     private final DOMDataBrokerExtension service;
     private final Map<TransactionChain<?, ?>, LocRibWriter> txChainToLocRibWriter = new HashMap<>();
@@ -123,7 +133,7 @@ public final class RIBImpl extends BGPRIBStateImpl implements ClusterSingletonSe
         final ClusterIdentifier clusterId, final RIBExtensionConsumerContext extensions, final BGPDispatcher dispatcher,
         final BindingCodecTreeFactory codecFactory, final DOMDataBroker domDataBroker, final List<BgpTableType> localTables,
         @Nonnull final Map<TablesKey, PathSelectionMode> bestPathSelectionStrategies, final GeneratedClassLoadingStrategy classStrategy,
-        final BgpDeployer.WriteConfiguration configurationWriter) {
+        final BgpDeployer.WriteConfiguration configurationWriter, final RIBSettings settings) {
         super(InstanceIdentifier.create(BgpRib.class).child(Rib.class, new RibKey(requireNonNull(ribId))),
             localBgpId, localAs);
         this.localAs = requireNonNull(localAs);
@@ -135,26 +145,38 @@ public final class RIBImpl extends BGPRIBStateImpl implements ClusterSingletonSe
         this.service = this.domDataBroker.getSupportedExtensions().get(DOMDataTreeChangeService.class);
         this.extensions = requireNonNull(extensions);
         this.codecsRegistry = CodecsRegistryImpl.create(codecFactory, classStrategy);
-        this.ribContextRegistry = RIBSupportContextRegistryImpl.create(extensions, this.codecsRegistry);
+        this.attributeStore = new AttributeStoreImpl(settings.getAttributeStoreSize());
+        this.ribContextRegistry = RIBSupportContextRegistryImpl.create(extensions, this.codecsRegistry,
+            this.attributeStore, settings.isDirectIngest());
         final InstanceIdentifierBuilder yangRibIdBuilder = YangInstanceIdentifier.builder().node(BgpRib.QNAME).node(Rib.QNAME);
         this.yangRibId = yangRibIdBuilder.nodeWithKey(Rib.QNAME, RIB_ID_QNAME, ribId.getValue()).build();
         this.bestPathSelectionStrategies = requireNonNull(bestPathSelectionStrategies);
         final ClusterIdentifier cId = clusterId == null ? new ClusterIdentifier(localBgpId) : clusterId;
         this.ribId = ribId;
-        final PolicyDatabase policyDatabase = new PolicyDatabase(this.localAs.getValue(), localBgpId, cId);
+        final PolicyDatabase policyDatabase = new PolicyDatabase(this.localAs.getValue(), localBgpId, cId,
+            this.attributeStore);
         this.importPolicyPeerTracker = new ImportPolicyPeerTrackerImpl(policyDatabase);
         this.serviceGroupIdentifier = ServiceGroupIdentifier.create(this.ribId.getValue() + "-service-group");
         requireNonNull(provider, "ClusterSingletonServiceProvider is null");
         this.provider = provider;
         this.configurationWriter = configurationWriter;
+        this.settings = requireNonNull(settings);
+        this.shardExecutor = settings.getLocRibShards() > 1 ? Executors.newFixedThreadPool(
+            Math.min(settings.getLocRibShards(), Runtime.getRuntime().availableProcessors()),
+            new ThreadFactoryBuilder().setNameFormat("bgp-locrib-" + ribId.getValue() + "-shard-%d").setDaemon(true)
+                .build()) : null;
 
         final ImmutableMap.Builder<TablesKey, ExportPolicyPeerTracker> exportPolicies = new ImmutableMap.Builder<>();
         for (final BgpTableType t : this.localTables) {
             final TablesKey key = new TablesKey(t.getAfi(), t.getSafi());
             this.localTablesKeys.add(key);
-            exportPolicies.put(key, new ExportPolicyPeerTrackerImpl(policyDatabase, key));
+            final PathSelectionMode pathSelectionStrategy = this.bestPathSelectionStrategies.get(key);
+            final boolean updateGroups = settings.isUpdateGroups() && (pathSelectionStrategy == null
+                || pathSelectionStrategy.supportsUpdateGroups());
+            exportPolicies.put(key, new ExportPolicyPeerTrackerImpl(policyDatabase, key, updateGroups));
         }
         this.exportPolicyPeerTrackerMap = exportPolicies.build();
+        registerAttributeStore(this.attributeStore);
 
         this.renderStats = new RIBImplRuntimeMXBeanImpl(localBgpId, ribId, localAs, cId, this, this.localTablesKeys);
         LOG.info("RIB Singleton Service {} registered, RIB {}", getIdentifier().getValue(), this.ribId.getValue());
@@ -200,11 +222,13 @@ public final class RIBImpl extends BGPRIBStateImpl implements ClusterSingletonSe
         final DOMTransactionChain txChain = createPeerChain(this);
         PathSelectionMode pathSelectionStrategy = this.bestPathSelectionStrategies.get(key);
         if (pathSelectionStrategy == null) {
-            pathSelectionStrategy = BasePathSelectionModeFactory.createBestPathSelectionStrategy();
+            pathSelectionStrategy = BasePathSelectionModeFactory.createBestPathSelectionStrategy(
+                this.settings.isIncrementalPathSelection());
         }
 
         final LocRibWriter locRibWriter = LocRibWriter.create(this.ribContextRegistry, key, txChain,
-            getYangRibId(), this.localAs, getService(), this.exportPolicyPeerTrackerMap.get(key), pathSelectionStrategy);
+            getYangRibId(), this.localAs, getService(), this.exportPolicyPeerTrackerMap.get(key), pathSelectionStrategy,
+            this.shardExecutor, this.settings.getLocRibShards());
         registerTotalPathCounter(key, locRibWriter);
         registerTotalPrefixesCounter(key, locRibWriter);
         this.txChainToLocRibWriter.put(txChain, locRibWriter);
@@ -225,6 +249,9 @@ public final class RIBImpl extends BGPRIBStateImpl implements ClusterSingletonSe
             this.registration.close();
             this.registration = null;
         }
+        if (this.shardExecutor != null) {
+            this.shardExecutor.shutdown();
+        }
     }
 
     @Override
@@ -309,6 +336,11 @@ public final class RIBImpl extends BGPRIBStateImpl implements ClusterSingletonSe
         return this.codecsRegistry;
     }
 
+    @Override
+    public AttributeStore getAttributeStore() {
+        return this.attributeStore;
+    }
+
     @Override
     public ImportPolicyPeerTracker getImportPolicyPeerTracker() {
         return this.importPolicyPeerTracker;
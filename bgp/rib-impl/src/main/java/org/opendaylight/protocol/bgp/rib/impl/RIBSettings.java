@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Performance related settings of a single RIB instance, configured through the RIB's global configuration.
+ */
+@Immutable
+public final class RIBSettings {
+    public static final RIBSettings DEFAULT = new RIBSettings(1, false, false, 0, false);
+
+    private final int locRibShards;
+    private final boolean updateGroups;
+    private final boolean directIngest;
+    private final int attributeStoreSize;
+    private final boolean incrementalPathSelection;
+
+    public RIBSettings(final int locRibShards, final boolean updateGroups, final boolean directIngest,
+        final int attributeStoreSize, final boolean incrementalPathSelection) {
+        Preconditions.checkArgument(locRibShards > 0, "Invalid number of LocRib shards %s", locRibShards);
+        Preconditions.checkArgument(attributeStoreSize >= 0, "Invalid attribute store size %s", attributeStoreSize);
+        this.locRibShards = locRibShards;
+        this.updateGroups = updateGroups;
+        this.directIngest = directIngest;
+        this.attributeStoreSize = attributeStoreSize;
+        this.incrementalPathSelection = incrementalPathSelection;
+    }
+
+    /**
+     * Number of shards each LocRib table's routes are partitioned into. Shards are processed in parallel,
+     * a single shard keeps all processing on the listener thread.
+     *
+     * @return number of shards, at least 1
+     */
+    public int getLocRibShards() {
+        return this.locRibShards;
+    }
+
+    /**
+     * Whether peers with the same role and NLRI encoding share a single adj-rib-out in tables using base path
+     * selection, instead of each peer having its own adj-rib-out in the datastore.
+     *
+     * @return true if update groups are enabled
+     */
+    public boolean isUpdateGroups() {
+        return this.updateGroups;
+    }
+
+    /**
+     * Whether routes of RIB supports implementing DirectRIBSupport are built straight from the received NLRI,
+     * instead of serializing the NLRI through the binding codec.
+     *
+     * @return true if direct ingest is enabled
+     */
+    public boolean isDirectIngest() {
+        return this.directIngest;
+    }
+
+    /**
+     * Maximum number of distinct route attributes shared by routes across the RIB's peers and tables. Attributes
+     * received once the limit is reached are kept by their routes without being shared.
+     *
+     * @return number of attributes, 0 if attributes are not shared
+     */
+    public int getAttributeStoreSize() {
+        return this.attributeStoreSize;
+    }
+
+    /**
+     * Whether tables using base path selection evaluate a single changed path against the current best path,
+     * instead of running selection over all paths of the route, when both yield the same result.
+     *
+     * @return true if incremental path selection is enabled
+     */
+    public boolean isIncrementalPathSelection() {
+        return this.incrementalPathSelection;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.locRibShards, this.updateGroups, this.directIngest, this.attributeStoreSize,
+            this.incrementalPathSelection);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RIBSettings)) {
+            return false;
+        }
+        final RIBSettings other = (RIBSettings) obj;
+        return this.locRibShards == other.locRibShards && this.updateGroups == other.updateGroups
+            && this.directIngest == other.directIngest && this.attributeStoreSize == other.attributeStoreSize
+            && this.incrementalPathSelection == other.incrementalPathSelection;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("locRibShards", this.locRibShards)
+            .add("updateGroups", this.updateGroups).add("directIngest", this.directIngest)
+            .add("attributeStoreSize", this.attributeStoreSize)
+            .add("incrementalPathSelection", this.incrementalPathSelection).toString();
+    }
+}
@@ -13,9 +13,11 @@ import com.google.common.base.Verify;
 import java.util.Map.Entry;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
+import org.opendaylight.protocol.bgp.rib.impl.spi.AttributeStore;
 import org.opendaylight.protocol.bgp.rib.impl.spi.Codecs;
 import org.opendaylight.protocol.bgp.rib.impl.spi.CodecsRegistry;
 import org.opendaylight.protocol.bgp.rib.impl.spi.RIBSupportContext;
+import org.opendaylight.protocol.bgp.rib.spi.DirectRIBSupport;
 import org.opendaylight.protocol.bgp.rib.spi.RIBSupport;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpReachNlri;
@@ -35,18 +37,31 @@ class RIBSupportContextImpl extends RIBSupportContext {
     private static final ContainerNode EMPTY_TABLE_ATTRIBUTES = ImmutableNodes.containerNode(org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.tables.Attributes.QNAME);
 
     private final RIBSupport ribSupport;
+    private final DirectRIBSupport directSupport;
     private final Codecs codecs;
+    private final AttributeStore attributeStore;
 
-    public RIBSupportContextImpl(final RIBSupport ribSupport, final CodecsRegistry codecs) {
+    /**
+     * @param directIngest build routes of RIB supports implementing {@link DirectRIBSupport} straight from
+     *        the received NLRI, instead of serializing the NLRI through the binding codec
+     */
+    public RIBSupportContextImpl(final RIBSupport ribSupport, final CodecsRegistry codecs,
+            final AttributeStore attributeStore, final boolean directIngest) {
         this.ribSupport = requireNonNull(ribSupport);
+        this.directSupport = directIngest && ribSupport instanceof DirectRIBSupport ? (DirectRIBSupport) ribSupport : null;
         this.codecs = codecs.getCodecs(this.ribSupport);
+        this.attributeStore = requireNonNull(attributeStore);
     }
 
     @Override
     public void writeRoutes(final DOMDataWriteTransaction tx, final YangInstanceIdentifier tableId, final MpReachNlri nlri,
             final Attributes attributes) {
+        // Reuse the attributes already shared by other routes, if they pass import policy unchanged
+        final ContainerNode routeAttributes = this.attributeStore.canonical(this.codecs.serializeAttributes(attributes));
+        if (this.directSupport != null && this.directSupport.putRoutes(tx, tableId, nlri, routeAttributes)) {
+            return;
+        }
         final ContainerNode domNlri = this.codecs.serializeReachNlri(nlri);
-        final ContainerNode routeAttributes = this.codecs.serializeAttributes(attributes);
         this.ribSupport.putRoutes(tx, tableId, domNlri, routeAttributes);
     }
 
@@ -71,6 +86,9 @@ class RIBSupportContextImpl extends RIBSupportContext {
 
     @Override
     public void deleteRoutes(final DOMDataWriteTransaction tx, final YangInstanceIdentifier tableId, final MpUnreachNlri nlri) {
+        if (this.directSupport != null && this.directSupport.deleteRoutes(tx, tableId, nlri)) {
+            return;
+        }
         this.ribSupport.deleteRoutes(tx, tableId, this.codecs.serializeUnreachNlri(nlri));
     }
 
@@ -12,6 +12,7 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import org.opendaylight.protocol.bgp.rib.impl.spi.AttributeStore;
 import org.opendaylight.protocol.bgp.rib.impl.spi.CodecsRegistry;
 import org.opendaylight.protocol.bgp.rib.impl.spi.RIBSupportContext;
 import org.opendaylight.protocol.bgp.rib.impl.spi.RIBSupportContextRegistry;
@@ -32,18 +33,24 @@ final class RIBSupportContextRegistryImpl implements RIBSupportContextRegistry {
 
     private final RIBExtensionConsumerContext extensionContext;
     private final CodecsRegistry codecs;
+    private final AttributeStore attributeStore;
+    private final boolean directIngest;
 
-    private RIBSupportContextRegistryImpl(final RIBExtensionConsumerContext extensions, final CodecsRegistry codecs) {
+    private RIBSupportContextRegistryImpl(final RIBExtensionConsumerContext extensions, final CodecsRegistry codecs,
+        final AttributeStore attributeStore, final boolean directIngest) {
         this.extensionContext = requireNonNull(extensions);
         this.codecs = requireNonNull(codecs);
+        this.attributeStore = requireNonNull(attributeStore);
+        this.directIngest = directIngest;
     }
 
-    static RIBSupportContextRegistryImpl create(final RIBExtensionConsumerContext extensions, final CodecsRegistry codecs) {
-        return new RIBSupportContextRegistryImpl(extensions, codecs);
+    static RIBSupportContextRegistryImpl create(final RIBExtensionConsumerContext extensions, final CodecsRegistry codecs,
+        final AttributeStore attributeStore, final boolean directIngest) {
+        return new RIBSupportContextRegistryImpl(extensions, codecs, attributeStore, directIngest);
     }
 
     private RIBSupportContextImpl createRIBSupportContext(final RIBSupport support) {
-        return new RIBSupportContextImpl(support, this.codecs);
+        return new RIBSupportContextImpl(support, this.codecs, this.attributeStore, this.directIngest);
     }
 
     @Override
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.protocol.bgp.mode.api.RouteEntry;
+import org.opendaylight.protocol.bgp.rib.spi.RIBSupport;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.TablesKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.Ipv4AddressFamily;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.UnicastSubsequentAddressFamily;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * Storage of {@link RouteEntry} instances of a single LocRib table, indexed by route key.
+ */
+interface RouteEntryTable {
+    /**
+     * Returns a table suitable for a particular AFI/SAFI. IPv4 unicast routes are stored in a table keyed by
+     * packed binary prefixes, all other families are stored in a map keyed by their {@link PathArgument}.
+     *
+     * @param tablesKey AFI/SAFI of the table
+     * @param ribSupport RIB support of the table
+     * @return new empty table
+     */
+    static RouteEntryTable create(@Nonnull final TablesKey tablesKey, @Nonnull final RIBSupport ribSupport) {
+        if (!ribSupport.isComplexRoute() && Ipv4AddressFamily.class.equals(tablesKey.getAfi())
+            && UnicastSubsequentAddressFamily.class.equals(tablesKey.getSafi())) {
+            return new Ipv4RouteEntryTable();
+        }
+        return new MapRouteEntryTable();
+    }
+
+    @Nullable RouteEntry get(@Nonnull PathArgument routeId);
+
+    void put(@Nonnull PathArgument routeId, @Nonnull RouteEntry entry);
+
+    void remove(@Nonnull PathArgument routeId);
+
+    void forEach(@Nonnull BiConsumer<PathArgument, RouteEntry> action);
+
+    final class MapRouteEntryTable implements RouteEntryTable {
+        private final Map<PathArgument, RouteEntry> entries = new HashMap<>();
+
+        @Override
+        public RouteEntry get(final PathArgument routeId) {
+            return this.entries.get(routeId);
+        }
+
+        @Override
+        public void put(final PathArgument routeId, final RouteEntry entry) {
+            this.entries.put(routeId, entry);
+        }
+
+        @Override
+        public void remove(final PathArgument routeId) {
+            this.entries.remove(routeId);
+        }
+
+        @Override
+        public void forEach(final BiConsumer<PathArgument, RouteEntry> action) {
+            this.entries.forEach(action);
+        }
+    }
+}
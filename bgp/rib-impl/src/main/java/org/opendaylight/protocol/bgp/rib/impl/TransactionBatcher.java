@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces writes into a transaction chain, so that consecutive operations share a single transaction. A batch is
+ * submitted when it reaches the maximum number of operations, when its time budget expires or when flushed
+ * explicitly. With a maximum batch size of one, every operation is submitted immediately.
+ */
+@ThreadSafe
+final class TransactionBatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionBatcher.class);
+    private static final ScheduledExecutorService FLUSH_TIMER = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("bgp-tx-batcher-%d").setDaemon(true).build());
+
+    private final DOMTransactionChain chain;
+    private final int maxBatchSize;
+    private final long maxBatchNanos;
+    private final LongAdder submittedBatches = new LongAdder();
+    private final LongAdder batchedOperations = new LongAdder();
+    private final LongAdder committedBatches = new LongAdder();
+    private final LongAdder commitLatencyNanos = new LongAdder();
+    @GuardedBy("this")
+    private DOMDataWriteTransaction tx;
+    @GuardedBy("this")
+    private int batchSize;
+    @GuardedBy("this")
+    private ScheduledFuture<?> flushTask;
+
+    TransactionBatcher(final DOMTransactionChain chain, final int maxBatchSize, final long maxBatchTime,
+        final TimeUnit unit) {
+        this.chain = requireNonNull(chain);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxBatchNanos = unit.toNanos(maxBatchTime);
+    }
+
+    /**
+     * Perform an operation on the current batch, opening a new one if needed.
+     *
+     * @param operation operation writing into the batch transaction
+     */
+    synchronized void write(final Consumer<DOMDataWriteTransaction> operation) {
+        if (this.tx == null) {
+            this.tx = this.chain.newWriteOnlyTransaction();
+            if (this.maxBatchSize > 1 && this.maxBatchNanos > 0) {
+                this.flushTask = FLUSH_TIMER.schedule(this::flushExpired, this.maxBatchNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        operation.accept(this.tx);
+        this.batchSize++;
+        if (this.batchSize >= this.maxBatchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Submit the current batch, if there is one. Must be invoked before the underlying transaction chain is used
+     * directly.
+     */
+    synchronized void flush() {
+        if (this.tx == null) {
+            return;
+        }
+        if (this.flushTask != null) {
+            this.flushTask.cancel(false);
+            this.flushTask = null;
+        }
+
+        final DOMDataWriteTransaction batch = this.tx;
+        final int size = this.batchSize;
+        this.tx = null;
+        this.batchSize = 0;
+
+        LOG.trace("Submitting batch {} of {} operations", batch.getIdentifier(), size);
+        this.submittedBatches.increment();
+        this.batchedOperations.add(size);
+        final long start = System.nanoTime();
+        Futures.addCallback(batch.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                TransactionBatcher.this.committedBatches.increment();
+                TransactionBatcher.this.commitLatencyNanos.add(System.nanoTime() - start);
+            }
+
+            @Override
+            public void onFailure(final Throwable cause) {
+                LOG.debug("Batch {} of {} operations failed", batch.getIdentifier(), size, cause);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Discard the current batch without submitting it and cancel its expiration. Used when the underlying
+     * transaction chain has failed and is being replaced.
+     */
+    synchronized void close() {
+        if (this.flushTask != null) {
+            this.flushTask.cancel(false);
+            this.flushTask = null;
+        }
+        if (this.tx != null) {
+            LOG.debug("Discarding batch {} of {} operations", this.tx.getIdentifier(), this.batchSize);
+            this.tx.cancel();
+            this.tx = null;
+            this.batchSize = 0;
+        }
+    }
+
+    private void flushExpired() {
+        try {
+            flush();
+        } catch (final RuntimeException e) {
+            LOG.warn("Failed to submit expired batch", e);
+        }
+    }
+
+    long getSubmittedBatches() {
+        return this.submittedBatches.longValue();
+    }
+
+    /**
+     * Return the average number of operations in a submitted batch.
+     *
+     * @return average batch size, zero if no batch was submitted yet
+     */
+    double getAverageBatchSize() {
+        final long batches = this.submittedBatches.longValue();
+        return batches == 0 ? 0 : (double) this.batchedOperations.longValue() / batches;
+    }
+
+    /**
+     * Return the average time between submitting a batch and its successful commit.
+     *
+     * @return average commit latency in nanoseconds, zero if no batch was committed yet
+     */
+    long getAverageCommitLatencyNanos() {
+        final long commits = this.committedBatches.longValue();
+        return commits == 0 ? 0 : this.commitLatencyNanos.longValue() / commits;
+    }
+}
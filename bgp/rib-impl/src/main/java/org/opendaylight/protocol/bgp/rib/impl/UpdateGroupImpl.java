@@ -0,0 +1,484 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.protocol.bgp.rib.impl.spi.Codecs;
+import org.opendaylight.protocol.bgp.rib.spi.RIBSupport;
+import org.opendaylight.protocol.bgp.rib.spi.UpdateGroup;
+import org.opendaylight.protocol.concepts.AbstractRegistration;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.Update;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.PeerId;
+import org.opendaylight.yangtools.concepts.Registration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adj-RIB-Out shared by the members of an update group. Route changes are accumulated until flushed, then each
+ * distinct Update message is built once and replicated to every member channel. A route is never sent to the
+ * member it was learned from, such member receives its own Update messages for that route instead. While
+ * a member channel is not writable, route changes for it are parked, keeping only the latest change of each route,
+ * and sent once the channel drains.
+ */
+@ThreadSafe
+final class UpdateGroupImpl implements UpdateGroup {
+    private static final Logger LOG = LoggerFactory.getLogger(UpdateGroupImpl.class);
+
+    private final RIBSupport support;
+    private final Codecs codecs;
+    private final boolean mpSupport;
+    private final ConcurrentMap<PeerId, Member> members = new ConcurrentHashMap<>();
+    /**
+     * Routes as last sent to the members.
+     */
+    @GuardedBy("this")
+    private final Map<PathArgument, GroupRoute> routes = new HashMap<>();
+    @GuardedBy("this")
+    private final Map<PathArgument, GroupRoute> pending = new LinkedHashMap<>();
+
+    UpdateGroupImpl(final RIBSupport support, final Codecs codecs, final boolean mpSupport) {
+        this.support = requireNonNull(support);
+        this.codecs = requireNonNull(codecs);
+        this.mpSupport = mpSupport;
+    }
+
+    @Override
+    public synchronized void updateRoute(final PathArgument routeId, final PeerId routePeerId,
+        final ContainerNode effAttrib, final NormalizedNode<?, ?> value) {
+        final GroupRoute route = effAttrib == null || value == null ? new GroupRoute(routePeerId, null, null)
+            : new GroupRoute(routePeerId, (MapEntryNode) value, effAttrib);
+        final GroupRoute current = this.pending.containsKey(routeId) ? this.pending.get(routeId)
+            : this.routes.get(routeId);
+        if (current == null ? !route.isAdvertised() : route.equals(current)) {
+            LOG.trace("Route {} is already up to date", routeId);
+            return;
+        }
+        this.pending.put(routeId, route);
+    }
+
+    @Override
+    public void flush() {
+        synchronized (this) {
+            if (this.pending.isEmpty()) {
+                return;
+            }
+            final Map<BatchKey, List<RouteChange>> batches = new LinkedHashMap<>();
+            for (final Entry<PathArgument, GroupRoute> entry : this.pending.entrySet()) {
+                final GroupRoute next = entry.getValue();
+                final GroupRoute prev = next.isAdvertised() ? this.routes.put(entry.getKey(), next)
+                    : this.routes.remove(entry.getKey());
+                addChange(batches, entry.getKey(), prev, next);
+            }
+            LOG.debug("Flushing {} route changes to {} members", this.pending.size(), this.members.size());
+            this.pending.clear();
+            send(batches);
+        }
+        drain();
+    }
+
+    /**
+     * Add a member. The member is not sent any messages until it is {@link #activate(PeerId) activated}.
+     *
+     * @param peerId member peer
+     * @param session member channel
+     * @param extendedMessage true if the member supports extended messages
+     * @param routeCounter counter of routes advertised to the member, updated as messages are sent
+     * @param prefixesSentCounter counter of prefixes sent to the member, updated as messages are sent
+     * @return registration, closing it removes the member
+     */
+    synchronized AbstractRegistration join(final PeerId peerId, final ChannelOutputLimiter session,
+        final boolean extendedMessage, final LongAdder routeCounter, final LongAdder prefixesSentCounter) {
+        final Member member = new Member(session, extendedMessage, routeCounter, prefixesSentCounter);
+        this.members.put(peerId, member);
+        LOG.debug("Peer {} joined update group {}", peerId, this);
+
+        return new AbstractRegistration() {
+            @Override
+            protected void removeRegistration() {
+                UpdateGroupImpl.this.members.remove(peerId, member);
+                member.close();
+                LOG.debug("Peer {} left update group {}", peerId, UpdateGroupImpl.this);
+            }
+        };
+    }
+
+    /**
+     * Start sending messages to a member, once its table structure has been initialized. All routes currently
+     * advertised by the group are parked for it, the member is sent them on the next {@link #drain()}.
+     *
+     * @param peerId member peer
+     */
+    synchronized void activate(final PeerId peerId) {
+        final Member member = this.members.get(peerId);
+        if (member != null && !member.active) {
+            member.active = true;
+            parkRoutes(peerId, member, false);
+        }
+    }
+
+    /**
+     * Park all routes currently advertised by the group for a member again, as requested by route refresh.
+     *
+     * @param peerId member peer
+     */
+    void refresh(final PeerId peerId) {
+        synchronized (this) {
+            final Member member = this.members.get(peerId);
+            if (member != null && member.active) {
+                parkRoutes(peerId, member, true);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Send parked route changes to members, as long as their channels are writable.
+     */
+    void drain() {
+        this.members.values().forEach(Member::drain);
+    }
+
+    boolean isEmpty() {
+        return this.members.isEmpty();
+    }
+
+    @GuardedBy("this")
+    private void parkRoutes(final PeerId peerId, final Member member, final boolean sent) {
+        for (final Entry<PathArgument, GroupRoute> entry : this.routes.entrySet()) {
+            final GroupRoute route = entry.getValue();
+            if (!peerId.equals(route.routePeerId)) {
+                member.park(new RouteChange(entry.getKey(), route.route, route.attributes, sent));
+            }
+        }
+    }
+
+    /**
+     * Record a route change. Members the route was or is learned from are excluded from the common message and
+     * receive only what they are entitled to.
+     */
+    @GuardedBy("this")
+    private void addChange(final Map<BatchKey, List<RouteChange>> batches, final PathArgument routeId,
+        final GroupRoute prev, final GroupRoute next) {
+        final ImmutableSet.Builder<PeerId> builder = ImmutableSet.builder();
+        if (prev != null && this.members.containsKey(prev.routePeerId)) {
+            builder.add(prev.routePeerId);
+        }
+        if (next.isAdvertised() && this.members.containsKey(next.routePeerId)) {
+            builder.add(next.routePeerId);
+        }
+        final Set<PeerId> excluded = builder.build();
+
+        if (next.isAdvertised()) {
+            addBatch(batches, new BatchKey(next.attributes, excluded, null),
+                new RouteChange(routeId, next.route, next.attributes, prev != null));
+        } else if (prev != null) {
+            addBatch(batches, new BatchKey(null, excluded, null), new RouteChange(routeId, prev.route, null, true));
+        }
+        for (final PeerId peer : excluded) {
+            if (next.isAdvertised() && !peer.equals(next.routePeerId)) {
+                // the previous route was learned from the member, it has not been sent it
+                addBatch(batches, new BatchKey(next.attributes, ImmutableSet.of(), peer),
+                    new RouteChange(routeId, next.route, next.attributes, false));
+            } else if (prev != null && !peer.equals(prev.routePeerId)) {
+                addBatch(batches, new BatchKey(null, ImmutableSet.of(), peer),
+                    new RouteChange(routeId, prev.route, null, true));
+            }
+        }
+    }
+
+    private static void addBatch(final Map<BatchKey, List<RouteChange>> batches, final BatchKey key,
+        final RouteChange change) {
+        batches.computeIfAbsent(key, k -> new ArrayList<>()).add(change);
+    }
+
+    /**
+     * Build Update messages for each batch once and send them to all recipients.
+     */
+    @GuardedBy("this")
+    private void send(final Map<BatchKey, List<RouteChange>> batches) {
+        final boolean extendedMessage = this.members.values().stream().allMatch(member -> member.extendedMessage);
+        // Add Path peers never join an update group
+        final int maxRoutes = AdjRibOutListener.maxRoutesPerUpdate(this.support, this.mpSupport, false, extendedMessage,
+            -1);
+        final Map<ContainerNode, Attributes> attributes = new HashMap<>();
+        for (final Entry<BatchKey, List<RouteChange>> batch : batches.entrySet()) {
+            final List<Member> recipients = recipients(batch.getKey());
+            if (recipients.isEmpty()) {
+                continue;
+            }
+            for (final List<RouteChange> changes : Lists.partition(batch.getValue(), maxRoutes)) {
+                final Update update = buildUpdate(changes, attributes);
+                recipients.forEach(member -> member.send(update, changes));
+            }
+        }
+    }
+
+    /**
+     * Build an Update message carrying routes sharing their attributes. Withdrawals do not carry path attributes,
+     * their attributes are not deserialized.
+     */
+    private Update buildUpdate(final List<RouteChange> changes, final Map<ContainerNode, Attributes> attributes) {
+        final List<MapEntryNode> routes = Lists.transform(changes, change -> change.route);
+        final RouteChange first = changes.get(0);
+        if (first.isAdvertised()) {
+            return AdjRibOutListener.buildUpdate(this.support, this.mpSupport, routes, Collections.emptyList(),
+                attributes.computeIfAbsent(first.attributes, this.codecs::deserializeAttributes));
+        }
+        return AdjRibOutListener.buildUpdate(this.support, this.mpSupport, Collections.emptyList(), routes,
+            AdjRibOutListener.WITHDRAWN_ATTRIBUTES);
+    }
+
+    private List<Member> recipients(final BatchKey key) {
+        if (key.target != null) {
+            final Member member = this.members.get(key.target);
+            return member == null || !member.active ? Collections.emptyList() : Collections.singletonList(member);
+        }
+        final List<Member> recipients = new ArrayList<>(this.members.size());
+        this.members.forEach((peerId, member) -> {
+            if (member.active && !key.excluded.contains(peerId)) {
+                recipients.add(member);
+            }
+        });
+        return recipients;
+    }
+
+    private final class Member {
+        private final ChannelOutputLimiter session;
+        private final boolean extendedMessage;
+        private final LongAdder routeCounter;
+        private final LongAdder prefixesSentCounter;
+        private final Registration drainRegistration;
+        @GuardedBy("this")
+        private final Map<PathArgument, RouteChange> parked = new LinkedHashMap<>();
+        @GuardedBy("this")
+        private boolean unflushed;
+        @GuardedBy("UpdateGroupImpl.this")
+        private boolean active;
+
+        Member(final ChannelOutputLimiter session, final boolean extendedMessage, final LongAdder routeCounter,
+            final LongAdder prefixesSentCounter) {
+            this.session = requireNonNull(session);
+            this.extendedMessage = extendedMessage;
+            this.routeCounter = requireNonNull(routeCounter);
+            this.prefixesSentCounter = requireNonNull(prefixesSentCounter);
+            this.drainRegistration = session.registerDrainListener(this::drain);
+        }
+
+        /**
+         * Send an Update message shared with other members, unless the channel is not writable or earlier changes
+         * are parked, in which case its routes are parked.
+         */
+        synchronized void send(final Update update, final List<RouteChange> changes) {
+            if (this.parked.isEmpty() && this.session.isWritable()) {
+                write(update, changes);
+            } else {
+                changes.forEach(this::park);
+            }
+        }
+
+        /**
+         * Record the latest change of a route. A route which is withdrawn before its advertisement is sent
+         * is dropped, as the member has never received it.
+         */
+        synchronized void park(final RouteChange change) {
+            final RouteChange previous = this.parked.get(change.routeId);
+            final boolean sent = previous != null ? previous.sent : change.sent;
+            if (change.isAdvertised()) {
+                this.parked.put(change.routeId, sent == change.sent ? change
+                    : new RouteChange(change.routeId, change.route, change.attributes, sent));
+            } else if (sent) {
+                this.parked.put(change.routeId, change);
+            } else {
+                this.parked.remove(change.routeId);
+            }
+        }
+
+        synchronized void drain() {
+            if (!this.parked.isEmpty() && this.session.isWritable()) {
+                final List<RouteChange> pending = new ArrayList<>(this.parked.values());
+                this.parked.clear();
+                for (final RouteChange change : sendParked(pending)) {
+                    this.parked.put(change.routeId, change);
+                }
+            }
+            if (this.unflushed) {
+                this.unflushed = false;
+                this.session.flush();
+            }
+        }
+
+        /**
+         * Send parked changes packed by their attributes, withdrawals first, while the channel stays writable.
+         *
+         * @return route changes which were not sent
+         */
+        @GuardedBy("this")
+        private List<RouteChange> sendParked(final List<RouteChange> pending) {
+            final List<RouteChange> withdrawn = new ArrayList<>();
+            final Map<ContainerNode, List<RouteChange>> advertised = new LinkedHashMap<>();
+            for (final RouteChange change : pending) {
+                if (change.isAdvertised()) {
+                    advertised.computeIfAbsent(change.attributes, k -> new ArrayList<>()).add(change);
+                } else {
+                    withdrawn.add(change);
+                }
+            }
+
+            final int maxRoutes = AdjRibOutListener.maxRoutesPerUpdate(UpdateGroupImpl.this.support,
+                UpdateGroupImpl.this.mpSupport, false, this.extendedMessage, -1);
+            final List<List<RouteChange>> batches = new ArrayList<>(Lists.partition(withdrawn, maxRoutes));
+            advertised.values().forEach(group -> batches.addAll(Lists.partition(group, maxRoutes)));
+            final Map<ContainerNode, Attributes> attributes = new HashMap<>();
+            for (int i = 0; i < batches.size(); i++) {
+                if (!this.session.isWritable()) {
+                    final List<RouteChange> unsent = new ArrayList<>();
+                    batches.subList(i, batches.size()).forEach(unsent::addAll);
+                    return unsent;
+                }
+                write(buildUpdate(batches.get(i), attributes), batches.get(i));
+            }
+            return Collections.emptyList();
+        }
+
+        @GuardedBy("this")
+        private void write(final Update update, final List<RouteChange> changes) {
+            this.session.write(update);
+            if (changes.get(0).isAdvertised()) {
+                this.routeCounter.add(changes.size());
+                this.prefixesSentCounter.add(changes.size());
+            } else {
+                this.routeCounter.add(-changes.size());
+            }
+            this.unflushed = true;
+        }
+
+        void close() {
+            this.drainRegistration.close();
+            synchronized (this) {
+                this.parked.clear();
+            }
+        }
+    }
+
+    /**
+     * Change of a single route sent to members. Advertisements carry the route's attributes, withdrawals do not.
+     */
+    private static final class RouteChange {
+        private final PathArgument routeId;
+        private final MapEntryNode route;
+        private final ContainerNode attributes;
+        /**
+         * Whether the member has been sent a previous version of the route.
+         */
+        private final boolean sent;
+
+        RouteChange(final PathArgument routeId, final MapEntryNode route, @Nullable final ContainerNode attributes,
+            final boolean sent) {
+            this.routeId = requireNonNull(routeId);
+            this.route = requireNonNull(route);
+            this.attributes = attributes;
+            this.sent = sent;
+        }
+
+        boolean isAdvertised() {
+            return this.attributes != null;
+        }
+    }
+
+    private static final class GroupRoute {
+        private final PeerId routePeerId;
+        private final MapEntryNode route;
+        private final ContainerNode attributes;
+
+        GroupRoute(final PeerId routePeerId, final MapEntryNode route, final ContainerNode attributes) {
+            this.routePeerId = requireNonNull(routePeerId);
+            this.route = route;
+            this.attributes = attributes;
+        }
+
+        boolean isAdvertised() {
+            return this.route != null;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.routePeerId, this.route, this.attributes);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof GroupRoute)) {
+                return false;
+            }
+            final GroupRoute other = (GroupRoute) obj;
+            return this.routePeerId.equals(other.routePeerId) && Objects.equals(this.route, other.route)
+                && Objects.equals(this.attributes, other.attributes);
+        }
+    }
+
+    /**
+     * Routes sharing a key are packed into the same Update messages. Advertisements are keyed by their attributes,
+     * withdrawals are packed together. A key either targets a single member, or all members except the excluded
+     * ones.
+     */
+    private static final class BatchKey {
+        private final ContainerNode attributes;
+        private final Set<PeerId> excluded;
+        private final PeerId target;
+
+        BatchKey(@Nullable final ContainerNode attributes, final Set<PeerId> excluded, final PeerId target) {
+            this.attributes = attributes;
+            this.excluded = requireNonNull(excluded);
+            this.target = target;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.attributes, this.excluded, this.target);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof BatchKey)) {
+                return false;
+            }
+            final BatchKey other = (BatchKey) obj;
+            return Objects.equals(this.attributes, other.attributes) && this.excluded.equals(other.excluded)
+                && Objects.equals(this.target, other.target);
+        }
+    }
+}
@@ -27,6 +27,8 @@ import org.opendaylight.protocol.bgp.mode.impl.add.all.paths.AllPathSelection;
 import org.opendaylight.protocol.bgp.mode.impl.add.n.paths.AddPathBestNPathSelection;
 import org.opendaylight.protocol.bgp.openconfig.spi.BGPTableTypeRegistryConsumer;
 import org.opendaylight.protocol.bgp.parser.BgpTableTypeImpl;
+import org.opendaylight.protocol.bgp.rib.impl.RIBSettings;
+import org.opendaylight.protocol.bgp.rib.impl.spi.BGPTransportSettings;
 import org.opendaylight.protocol.bgp.rib.impl.spi.RIB;
 import org.opendaylight.protocol.concepts.KeyMapping;
 import org.opendaylight.protocol.util.Ipv4Util;
@@ -92,6 +94,8 @@ public final class OpenConfigMappingUtil {
     private static final PortNumber PORT = new PortNumber(179);
     private static final BigDecimal DEFAULT_KEEP_ALIVE = BigDecimal.valueOf(30);
     private static final BigDecimal DEFAULT_MINIMUM_ADV_INTERVAL = BigDecimal.valueOf(30);
+    private static final int ADJ_RIB_IN_BATCH_SIZE = 1;
+    private static final long ADJ_RIB_IN_BATCH_MILLIS = 10;
 
     private OpenConfigMappingUtil() {
         throw new UnsupportedOperationException();
@@ -159,16 +163,44 @@ public final class OpenConfigMappingUtil {
     }
 
     public static PortNumber getPort(final Neighbor neighbor) {
+        final Config1 transportConfig = getTransportConfigAugmentation(neighbor);
+        if (transportConfig != null && transportConfig.getRemotePort() != null) {
+            return transportConfig.getRemotePort();
+        }
+        return PORT;
+    }
+
+    public static BGPTransportSettings getTransportSettings(final Neighbor neighbor) {
+        final Config1 transportConfig = getTransportConfigAugmentation(neighbor);
+        if (transportConfig == null) {
+            return BGPTransportSettings.DEFAULT;
+        }
+        final BGPTransportSettings defaults = BGPTransportSettings.DEFAULT;
+        final Integer maxMessagesPerRead = transportConfig.getMaxMessagesPerRead();
+        final Boolean edgeTriggered = transportConfig.isEdgeTriggered();
+        final Long receiveBufferSize = transportConfig.getReceiveBufferSize();
+        final Long sendBufferSize = transportConfig.getSendBufferSize();
+        final Long lowWaterMark = transportConfig.getWriteBufferLowWaterMark();
+        final Long highWaterMark = transportConfig.getWriteBufferHighWaterMark();
+        final Integer eventLoop = transportConfig.getEventLoop();
+        return new BGPTransportSettings(
+            maxMessagesPerRead != null ? maxMessagesPerRead : defaults.getMaxMessagesPerRead(),
+            edgeTriggered != null ? edgeTriggered : defaults.isEdgeTriggered(),
+            receiveBufferSize != null ? receiveBufferSize.intValue() : defaults.getReceiveBufferSize(),
+            sendBufferSize != null ? sendBufferSize.intValue() : defaults.getSendBufferSize(),
+            lowWaterMark != null ? lowWaterMark.intValue() : defaults.getWriteBufferLowWaterMark(),
+            highWaterMark != null ? highWaterMark.intValue() : defaults.getWriteBufferHighWaterMark(),
+            eventLoop != null ? eventLoop : defaults.getEventLoop());
+    }
+
+    private static Config1 getTransportConfigAugmentation(final Neighbor neighbor) {
         if (neighbor.getTransport() != null) {
             final Config config = neighbor.getTransport().getConfig();
-            if (config != null && config.getAugmentation(Config1.class) != null) {
-                final PortNumber remotePort = config.getAugmentation(Config1.class).getRemotePort();
-                if (remotePort != null) {
-                    return remotePort;
-                }
+            if (config != null) {
+                return config.getAugmentation(Config1.class);
             }
         }
-        return PORT;
+        return null;
     }
 
     //make sure IPv4 Unicast (RFC 4271) when required
@@ -194,6 +226,24 @@ public final class OpenConfigMappingUtil {
         return new ClusterIdentifier(globalConfig.getRouterId());
     }
 
+    public static RIBSettings getRibSettings(final org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.rev151009.bgp.global.base.Config globalConfig) {
+        final GlobalConfigAugmentation globalConfigAugmentation = globalConfig.getAugmentation(GlobalConfigAugmentation.class);
+        if (globalConfigAugmentation == null) {
+            return RIBSettings.DEFAULT;
+        }
+        final Integer locRibShards = globalConfigAugmentation.getLocRibShards();
+        final Boolean updateGroups = globalConfigAugmentation.isUpdateGroups();
+        final Boolean directIngest = globalConfigAugmentation.isDirectIngest();
+        final Long attributeStoreSize = globalConfigAugmentation.getAttributeStoreSize();
+        final Boolean incrementalPathSelection = globalConfigAugmentation.isIncrementalPathSelection();
+        return new RIBSettings(locRibShards != null ? locRibShards : RIBSettings.DEFAULT.getLocRibShards(),
+            updateGroups != null ? updateGroups : RIBSettings.DEFAULT.isUpdateGroups(),
+            directIngest != null ? directIngest : RIBSettings.DEFAULT.isDirectIngest(),
+            attributeStoreSize != null ? attributeStoreSize.intValue() : RIBSettings.DEFAULT.getAttributeStoreSize(),
+            incrementalPathSelection != null ? incrementalPathSelection
+                : RIBSettings.DEFAULT.isIncrementalPathSelection());
+    }
+
     public static SimpleRoutingPolicy getSimpleRoutingPolicy(final Neighbor neighbor) {
         if (neighbor.getConfig() != null) {
             final NeighborConfigAugmentation augmentation = neighbor.getConfig().getAugmentation(NeighborConfigAugmentation.class);
@@ -204,6 +254,27 @@ public final class OpenConfigMappingUtil {
         return null;
     }
 
+    public static int getAdjRibInBatchSize(final Neighbor neighbor) {
+        final NeighborConfigAugmentation augmentation = getNeighborConfigAugmentation(neighbor);
+        if (augmentation != null && augmentation.getAdjRibInBatchSize() != null) {
+            return augmentation.getAdjRibInBatchSize();
+        }
+        return ADJ_RIB_IN_BATCH_SIZE;
+    }
+
+    public static long getAdjRibInBatchMillis(final Neighbor neighbor) {
+        final NeighborConfigAugmentation augmentation = getNeighborConfigAugmentation(neighbor);
+        if (augmentation != null && augmentation.getAdjRibInBatchMillis() != null) {
+            return augmentation.getAdjRibInBatchMillis();
+        }
+        return ADJ_RIB_IN_BATCH_MILLIS;
+    }
+
+    private static NeighborConfigAugmentation getNeighborConfigAugmentation(final Neighbor neighbor) {
+        return neighbor.getConfig() != null ? neighbor.getConfig().getAugmentation(NeighborConfigAugmentation.class)
+            : null;
+    }
+
     private static org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.rev151009.bgp.neighbor.group.timers.Config getTimersConfig(final Neighbor neighbor) {
         final Timers timers = neighbor.getTimers();
         return timers != null ? timers.getConfig() : null;
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.impl.spi;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+
+/**
+ * RIB-wide store of route attributes. Routes carrying equal attributes, whichever peer and table they belong to,
+ * share a single canonical attributes container, which is retained for as long as a route references it.
+ */
+public interface AttributeStore {
+    /**
+     * Return the canonical instance of the attributes, without referencing it.
+     *
+     * @param attributes route attributes
+     * @return Stored instance equal to attributes, or attributes themselves if there is none
+     */
+    @Nonnull
+    ContainerNode canonical(@Nonnull ContainerNode attributes);
+
+    /**
+     * Reference the attributes on behalf of a route. Once the store is full, attributes which are not stored yet
+     * are not referenced.
+     *
+     * @param attributes route attributes
+     * @return Canonical instance of the attributes, to be held by the route, or null if they were not referenced
+     */
+    @Nullable
+    ContainerNode acquire(@Nonnull ContainerNode attributes);
+
+    /**
+     * Drop a reference obtained by {@link #acquire(ContainerNode)}. Attributes are removed from the store once
+     * they are no longer referenced. Callers must release only the references they acquired.
+     *
+     * @param attributes route attributes, equal to those referenced by {@link #acquire(ContainerNode)}
+     */
+    void release(@Nonnull ContainerNode attributes);
+
+    /**
+     * Distinct attributes stored
+     *
+     * @return count
+     */
+    long getUniqueAttributesCount();
+
+    /**
+     * Estimated heap bytes saved by routes sharing canonical attributes, net of the cost of keeping track
+     * of the references
+     *
+     * @return bytes, negative if sharing costs more than it saves
+     */
+    long getAttributesBytesSaved();
+}
@@ -52,7 +52,21 @@ public interface BGPDispatcher{
      * @param keys for TCPMD5
      * @return Future promising a client session
      */
-    Future<Void> createReconnectingClient(InetSocketAddress remoteAddress, int retryTimer, KeyMapping keys);
+    default Future<Void> createReconnectingClient(InetSocketAddress remoteAddress, int retryTimer, KeyMapping keys) {
+        return createReconnectingClient(remoteAddress, retryTimer, keys, BGPTransportSettings.DEFAULT);
+    }
+
+    /**
+     * Creates Reconnecting client, whose channel uses the specified transport settings.
+     *
+     * @param remoteAddress remote Peer Address
+     * @param retryTimer Retry timer
+     * @param keys for TCPMD5
+     * @param transportSettings settings of the client channel
+     * @return Future promising a client session
+     */
+    Future<Void> createReconnectingClient(InetSocketAddress remoteAddress, int retryTimer, KeyMapping keys,
+        BGPTransportSettings transportSettings);
 
     /**
      * Create new BGP server to accept incoming bgp connections (bound to provided socket localAddress).
@@ -75,6 +75,13 @@ public interface RIB  extends RibReference, ClusterSingletonServiceProvider {
 
     CodecsRegistry getCodecsRegistry();
 
+    /**
+     * Return the store of route attributes shared by all peers and tables of the RIB.
+     *
+     * @return AttributeStore
+     */
+    AttributeStore getAttributeStore();
+
     /**
      * Return instance of DOMDataTreeChangeService, where consumer can register to
      * listen on DOM data changes.
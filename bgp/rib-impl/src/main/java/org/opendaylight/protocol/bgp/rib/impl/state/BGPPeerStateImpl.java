@@ -133,6 +133,24 @@ public abstract class BGPPeerStateImpl extends DefaultRibReference implements BG
         return counter.getPrefixesSentCount();
     }
 
+    @Override
+    public final synchronized long getUpdatesSentCount(@Nonnull final TablesKey tablesKey) {
+        final PrefixesSentCounters counter = this.prefixesSent.get(tablesKey);
+        if (counter == null) {
+            return NONE;
+        }
+        return counter.getUpdatesSentCount();
+    }
+
+    @Override
+    public final synchronized double getRoutesPerUpdate(@Nonnull final TablesKey tablesKey) {
+        final PrefixesSentCounters counter = this.prefixesSent.get(tablesKey);
+        if (counter == null) {
+            return NONE;
+        }
+        return counter.getRoutesPerUpdate();
+    }
+
     @Override
     public final synchronized long getPrefixesReceivedCount(final TablesKey tablesKey) {
         if (this.prefixesReceived == null) {
@@ -17,6 +17,7 @@ import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.protocol.bgp.rib.DefaultRibReference;
+import org.opendaylight.protocol.bgp.rib.impl.spi.AttributeStore;
 import org.opendaylight.protocol.bgp.rib.impl.state.rib.TotalPathsCounter;
 import org.opendaylight.protocol.bgp.rib.impl.state.rib.TotalPrefixesCounter;
 import org.opendaylight.protocol.bgp.rib.spi.state.BGPRIBState;
@@ -35,6 +36,8 @@ public class BGPRIBStateImpl extends DefaultRibReference implements BGPRIBState,
     private final Map<TablesKey, TotalPathsCounter> totalPaths = new HashMap<>();
     @GuardedBy("this")
     private final Map<TablesKey, TotalPrefixesCounter> totalPrefixes = new HashMap<>();
+    @GuardedBy("this")
+    private AttributeStore attributeStore;
 
     protected BGPRIBStateImpl(final KeyedInstanceIdentifier<Rib, RibKey> instanceIdentifier,
         @Nonnull final BgpId routeId, @Nonnull final AsNumber localAs) {
@@ -75,6 +78,16 @@ public class BGPRIBStateImpl extends DefaultRibReference implements BGPRIBState,
         return this.totalPrefixes.get(tablesKey).getPrefixesCount();
     }
 
+    @Override
+    public final synchronized long getUniqueAttributesCount() {
+        return this.attributeStore == null ? 0 : this.attributeStore.getUniqueAttributesCount();
+    }
+
+    @Override
+    public final synchronized long getAttributesBytesSaved() {
+        return this.attributeStore == null ? 0 : this.attributeStore.getAttributesBytesSaved();
+    }
+
     @Override
     public final AsNumber getAs() {
         return this.localAs;
@@ -95,6 +108,10 @@ public class BGPRIBStateImpl extends DefaultRibReference implements BGPRIBState,
         this.totalPrefixes.put(key, totalPrefixesCounter);
     }
 
+    protected final synchronized void registerAttributeStore(@Nonnull final AttributeStore attributeStore) {
+        this.attributeStore = requireNonNull(attributeStore);
+    }
+
     @Override
     public final BGPRIBState getRIBState() {
         return this;
@@ -17,4 +17,20 @@ public interface PrefixesSentCounters {
      * @return count
      */
     long getPrefixesSentCount();
+
+    /**
+     * Update messages sent to peer
+     * @return count
+     */
+    default long getUpdatesSentCount() {
+        return 0;
+    }
+
+    /**
+     * Average number of routes advertised or withdrawn by a single Update message sent to peer
+     * @return average
+     */
+    default double getRoutesPerUpdate() {
+        return 0;
+    }
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Optional;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.protocol.bgp.rib.impl.spi.Codecs;
+import org.opendaylight.protocol.bgp.rib.impl.spi.CodecsRegistry;
+import org.opendaylight.protocol.bgp.rib.spi.RIBSupport;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.inet.rev150305.Ipv4AddressFamily;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.Update;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.AttributesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.PeerId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.TablesKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.UnicastSubsequentAddressFamily;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.binding.Notification;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+public class AdjRibOutListenerTest {
+    private static final PeerId PEER_ID = new PeerId("bgp://1.1.1.1");
+    private static final TablesKey TABLES_KEY = new TablesKey(Ipv4AddressFamily.class,
+        UnicastSubsequentAddressFamily.class);
+    private static final YangInstanceIdentifier RIB_ID = YangInstanceIdentifier.of(Update.QNAME);
+    private static final NodeIdentifier ATTRIBUTES_NID = new NodeIdentifier(Attributes.QNAME);
+
+    @Mock
+    private RIBSupport support;
+    @Mock
+    private CodecsRegistry registry;
+    @Mock
+    private Codecs codecs;
+    @Mock
+    private DOMDataTreeChangeService service;
+    @Mock
+    private ListenerRegistration<AdjRibOutListener> registration;
+    @Mock
+    private BGPSessionImpl session;
+    @Mock
+    private DataTreeCandidate candidate;
+    @Mock
+    private DataTreeCandidateNode rootNode;
+    @Mock
+    private DataTreeCandidateNode tableNode;
+    @Mock
+    private Attributes attributesA;
+    @Mock
+    private Attributes attributesB;
+    @Mock
+    private Update update;
+    @Mock
+    private ChannelHandlerContext ctx;
+    @Mock
+    private Channel channel;
+    private final LongAdder routeCounter = new LongAdder();
+    private ChannelOutputLimiter limiter;
+    private AdjRibOutListener listener;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        Mockito.doReturn(this.codecs).when(this.registry).getCodecs(this.support);
+        Mockito.doReturn(this.registration).when(this.service).registerDataTreeChangeListener(
+            any(DOMDataTreeIdentifier.class), any(AdjRibOutListener.class));
+        Mockito.doReturn(false).when(this.support).isComplexRoute();
+        Mockito.doReturn(ATTRIBUTES_NID).when(this.support).routeAttributesIdentifier();
+        Mockito.doReturn(this.update).when(this.support).buildUpdate(any(), any(), any(Attributes.class));
+        Mockito.doReturn(true).when(this.session).isWritable();
+        Mockito.doReturn(false).when(this.session).isExtendedMessageSupported();
+        Mockito.doReturn(-1).when(this.session).serializedLength(any(Notification.class));
+        Mockito.doNothing().when(this.session).write(any(Notification.class));
+        Mockito.doNothing().when(this.session).flush();
+        Mockito.doReturn(this.rootNode).when(this.candidate).getRootNode();
+        Mockito.doReturn(Collections.singletonList(this.tableNode)).when(this.rootNode).getChildNodes();
+        Mockito.doReturn(this.channel).when(this.ctx).channel();
+        Mockito.doReturn(true).when(this.channel).isWritable();
+
+        this.limiter = new ChannelOutputLimiter(this.session);
+        this.listener = AdjRibOutListener.create(PEER_ID, TABLES_KEY, RIB_ID, this.registry, this.support,
+            this.service, this.limiter, true, false, this.routeCounter);
+    }
+
+    private MapEntryNode mockRoute(final Attributes attributes) {
+        final MapEntryNode route = Mockito.mock(MapEntryNode.class);
+        final ContainerNode routeAttributes = Mockito.mock(ContainerNode.class);
+        Mockito.doReturn(Optional.of(routeAttributes)).when(route).getChild(ATTRIBUTES_NID);
+        Mockito.doReturn(attributes).when(this.codecs).deserializeAttributes(routeAttributes);
+        return route;
+    }
+
+    private static DataTreeCandidateNode mockChange(final int id, final ModificationType type,
+        final MapEntryNode route) {
+        return type == ModificationType.DELETE ? mockChange(id, type, route, null)
+            : mockChange(id, type, null, route);
+    }
+
+    private static DataTreeCandidateNode mockChange(final int id, final ModificationType type,
+        final MapEntryNode before, final MapEntryNode after) {
+        final DataTreeCandidateNode change = Mockito.mock(DataTreeCandidateNode.class);
+        Mockito.doReturn(new NodeIdentifier(QName.create(Update.QNAME, "route-" + id))).when(change).getIdentifier();
+        Mockito.doReturn(type).when(change).getModificationType();
+        Mockito.doReturn(Optional.fromNullable(before)).when(change).getDataBefore();
+        Mockito.doReturn(Optional.fromNullable(after)).when(change).getDataAfter();
+        return change;
+    }
+
+    private void onChanges(final DataTreeCandidateNode... changes) {
+        final Collection<DataTreeCandidateNode> routes = Arrays.asList(changes);
+        Mockito.doReturn(routes).when(this.support).changedRoutes(this.tableNode);
+        this.listener.onDataTreeChanged(Collections.singletonList(this.candidate));
+    }
+
+    @Test
+    public void testPackAdvertisements() {
+        final MapEntryNode route1 = mockRoute(this.attributesA);
+        final MapEntryNode route2 = mockRoute(this.attributesA);
+        final MapEntryNode route3 = mockRoute(this.attributesB);
+        onChanges(mockChange(1, ModificationType.WRITE, route1), mockChange(2, ModificationType.WRITE, route2),
+            mockChange(3, ModificationType.WRITE, route3));
+
+        // routes sharing attributes are packed into a single Update
+        verify(this.support).buildUpdate(Arrays.asList(route1, route2), Collections.emptyList(), this.attributesA);
+        verify(this.support).buildUpdate(Collections.singletonList(route3), Collections.emptyList(),
+            this.attributesB);
+        verify(this.session, times(2)).write(any(Update.class));
+        verify(this.session, times(1)).flush();
+        assertEquals(3, this.routeCounter.longValue());
+        assertEquals(3, this.listener.getPrefixesSentCount());
+        assertEquals(2, this.listener.getUpdatesSentCount());
+        assertEquals(1.5, this.listener.getRoutesPerUpdate(), 0);
+    }
+
+    @Test
+    public void testParkCoalesceAndDrain() throws Exception {
+        Mockito.doReturn(false).when(this.session).isWritable();
+        final MapEntryNode route1 = mockRoute(this.attributesA);
+        final MapEntryNode route1Updated = mockRoute(this.attributesA);
+        final MapEntryNode route2 = mockRoute(this.attributesA);
+        onChanges(mockChange(1, ModificationType.WRITE, route1), mockChange(2, ModificationType.WRITE, route2));
+        onChanges(mockChange(1, ModificationType.WRITE, route1Updated));
+
+        // nothing is sent nor counted while the changes are parked
+        verify(this.session, never()).write(any(Update.class));
+        assertEquals(0, this.routeCounter.longValue());
+        assertEquals(0, this.listener.getPrefixesSentCount());
+
+        // only the latest change of the first route is sent, packed with the second one
+        Mockito.doReturn(true).when(this.session).isWritable();
+        this.limiter.channelWritabilityChanged(this.ctx);
+        verify(this.support).buildUpdate(Arrays.asList(route1Updated, route2), Collections.emptyList(),
+            this.attributesA);
+        verify(this.session, times(1)).write(any(Update.class));
+        assertEquals(2, this.routeCounter.longValue());
+        assertEquals(2, this.listener.getPrefixesSentCount());
+
+        // withdrawal is counted once sent
+        onChanges(mockChange(2, ModificationType.DELETE, route2));
+        assertEquals(1, this.routeCounter.longValue());
+        assertEquals(2, this.listener.getPrefixesSentCount());
+    }
+
+    @Test
+    public void testDeleteParkedAdvertisement() throws Exception {
+        Mockito.doReturn(false).when(this.session).isWritable();
+        final MapEntryNode route1 = mockRoute(this.attributesA);
+        final MapEntryNode route2 = mockRoute(this.attributesA);
+        onChanges(mockChange(1, ModificationType.WRITE, route1));
+        onChanges(mockChange(1, ModificationType.DELETE, route1));
+        onChanges(mockChange(2, ModificationType.WRITE, route2));
+        onChanges(mockChange(2, ModificationType.WRITE, route2, route2));
+        onChanges(mockChange(2, ModificationType.DELETE, route2));
+
+        // the peer has never received the routes, there is nothing to withdraw
+        Mockito.doReturn(true).when(this.session).isWritable();
+        this.limiter.channelWritabilityChanged(this.ctx);
+        verify(this.session, never()).write(any(Update.class));
+        assertEquals(0, this.routeCounter.longValue());
+    }
+
+    @Test
+    public void testDeleteParkedReplacement() throws Exception {
+        final MapEntryNode route1 = mockRoute(this.attributesA);
+        final MapEntryNode route1Updated = mockRoute(this.attributesA);
+        onChanges(mockChange(1, ModificationType.WRITE, route1));
+        assertEquals(1, this.routeCounter.longValue());
+
+        Mockito.doReturn(false).when(this.session).isWritable();
+        onChanges(mockChange(1, ModificationType.WRITE, route1, route1Updated));
+        onChanges(mockChange(1, ModificationType.DELETE, route1Updated));
+
+        // the peer holds the route sent first, it is withdrawn
+        Mockito.doReturn(true).when(this.session).isWritable();
+        this.limiter.channelWritabilityChanged(this.ctx);
+        verify(this.support).buildUpdate(Collections.emptyList(), Collections.singletonList(route1Updated),
+            new AttributesBuilder().build());
+        verify(this.session, times(2)).write(any(Update.class));
+        assertEquals(0, this.routeCounter.longValue());
+    }
+
+    @Test
+    public void testPackWithdrawals() {
+        final MapEntryNode route1 = mockRoute(this.attributesA);
+        final MapEntryNode route2 = mockRoute(this.attributesB);
+        onChanges(mockChange(1, ModificationType.DELETE, route1), mockChange(2, ModificationType.DELETE, route2));
+
+        // withdrawals are packed together, their attributes are not needed
+        final ArgumentCaptor<Attributes> attributes = ArgumentCaptor.forClass(Attributes.class);
+        verify(this.support).buildUpdate(eq(Collections.emptyList()), eq(Arrays.asList(route1, route2)),
+            attributes.capture());
+        assertEquals(new AttributesBuilder().build(), attributes.getValue());
+        verify(this.codecs, never()).deserializeAttributes(any(NormalizedNode.class));
+        verify(this.session, times(1)).write(any(Update.class));
+    }
+
+    @Test
+    public void testMaxRoutesPerUpdate() {
+        // unknown length: (4096 - 19 - 2048) / prefix length
+        assertEquals(405, AdjRibOutListener.maxRoutesPerUpdate(this.support, false, false, false, -1));
+        assertEquals(225, AdjRibOutListener.maxRoutesPerUpdate(this.support, false, true, false, -1));
+        assertEquals(119, AdjRibOutListener.maxRoutesPerUpdate(this.support, true, false, false, -1));
+        assertEquals(96, AdjRibOutListener.maxRoutesPerUpdate(this.support, true, true, false, -1));
+        assertEquals(3734, AdjRibOutListener.maxRoutesPerUpdate(this.support, true, false, true, -1));
+
+        // measured length: 1 + (4096 - single route Update length) / prefix length
+        assertEquals(811, AdjRibOutListener.maxRoutesPerUpdate(this.support, false, false, false, 19 + 20 + 5));
+        assertEquals(11, AdjRibOutListener.maxRoutesPerUpdate(this.support, true, false, false, 3920));
+        assertEquals(1, AdjRibOutListener.maxRoutesPerUpdate(this.support, true, false, false, 4090));
+        assertEquals(1, AdjRibOutListener.maxRoutesPerUpdate(this.support, true, false, false, 5000));
+
+        Mockito.doReturn(true).when(this.support).isComplexRoute();
+        assertEquals(1, AdjRibOutListener.maxRoutesPerUpdate(this.support, true, false, true, -1));
+    }
+
+    @Test
+    public void testSplitIntoMultipleUpdates() {
+        final int maxRoutes = AdjRibOutListener.maxRoutesPerUpdate(this.support, true, false, false, -1);
+        final DataTreeCandidateNode[] changes = new DataTreeCandidateNode[maxRoutes + 1];
+        for (int i = 0; i < changes.length; i++) {
+            changes[i] = mockChange(i, ModificationType.WRITE, mockRoute(this.attributesA));
+        }
+        onChanges(changes);
+
+        // the first Update carrying a single route is only measured
+        final ArgumentCaptor<List> advertised = ArgumentCaptor.forClass(List.class);
+        verify(this.support, times(3)).buildUpdate(advertised.capture(), eq(Collections.emptyList()),
+            eq(this.attributesA));
+        assertEquals(1, advertised.getAllValues().get(0).size());
+        assertEquals(maxRoutes, advertised.getAllValues().get(1).size());
+        assertEquals(1, advertised.getAllValues().get(2).size());
+        verify(this.session, times(2)).write(any(Update.class));
+        assertEquals(2, this.listener.getUpdatesSentCount());
+    }
+
+    @Test
+    public void testSplitByMeasuredLength() {
+        // large attributes leave space for 11 routes only
+        Mockito.doReturn(3920).when(this.session).serializedLength(any(Notification.class));
+        final DataTreeCandidateNode[] changes = new DataTreeCandidateNode[12];
+        for (int i = 0; i < changes.length; i++) {
+            changes[i] = mockChange(i, ModificationType.WRITE, mockRoute(this.attributesA));
+        }
+        onChanges(changes);
+
+        verify(this.session).serializedLength(this.update);
+        verify(this.session, times(2)).write(any(Update.class));
+        assertEquals(2, this.listener.getUpdatesSentCount());
+        assertEquals(6, this.listener.getRoutesPerUpdate(), 0);
+    }
+}
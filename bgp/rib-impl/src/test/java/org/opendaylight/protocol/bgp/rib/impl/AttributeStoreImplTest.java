@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class AttributeStoreImplTest {
+    private static final QName DATA_QNAME = QName.create("urn:opendaylight:params:xml:ns:yang:bgp-inet", "2013-09-19", "attributes").intern();
+    private static final QName LOCALPREF = QName.create("urn:opendaylight:params:xml:ns:yang:bgp-inet", "2013-09-19", "local-pref").intern();
+    private static final QName PREF = QName.create(LOCALPREF, "pref").intern();
+
+    private static ContainerNode createAttributes(final long localPref) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(DATA_QNAME))
+            .addChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(LOCALPREF))
+                .addChild(ImmutableNodes.leafNode(PREF, localPref)).build()).build();
+    }
+
+    @Test
+    public void testAcquireRelease() {
+        final AttributeStoreImpl store = new AttributeStoreImpl(1000);
+        final ContainerNode first = createAttributes(100L);
+        final ContainerNode second = createAttributes(100L);
+        assertNotSame(first, second);
+
+        assertSame(second, store.canonical(second));
+        assertSame(first, store.acquire(first));
+        assertSame(first, store.canonical(second));
+        assertSame(first, store.acquire(second));
+        assertEquals(1, store.getUniqueAttributesCount());
+        assertTrue(store.getAttributesBytesSaved() > 0);
+
+        final ContainerNode other = createAttributes(200L);
+        assertSame(other, store.acquire(other));
+        assertEquals(2, store.getUniqueAttributesCount());
+
+        store.release(first);
+        assertEquals(2, store.getUniqueAttributesCount());
+        // attributes referenced once cost their references and save nothing
+        assertEquals(-2 * AttributeStoreImpl.REFERENCE_SIZE, store.getAttributesBytesSaved());
+        store.release(first);
+        assertEquals(1, store.getUniqueAttributesCount());
+        assertSame(second, store.canonical(second));
+    }
+
+    @Test
+    public void testBoundedSize() {
+        final AttributeStoreImpl store = new AttributeStoreImpl(1);
+        final ContainerNode first = store.acquire(createAttributes(100L));
+        assertNull(store.acquire(createAttributes(200L)));
+        assertEquals(1, store.getUniqueAttributesCount());
+
+        // attributes are released by value, whichever instance the holder keeps
+        assertSame(first, store.acquire(createAttributes(100L)));
+        store.release(createAttributes(100L));
+        assertEquals(1, store.getUniqueAttributesCount());
+        store.release(first);
+        assertEquals(0, store.getUniqueAttributesCount());
+        final ContainerNode shared = createAttributes(200L);
+        assertSame(shared, store.acquire(shared));
+        assertEquals(1, store.getUniqueAttributesCount());
+    }
+}
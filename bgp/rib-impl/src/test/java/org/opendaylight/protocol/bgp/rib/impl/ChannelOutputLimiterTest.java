@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.yangtools.concepts.Registration;
+
+public class ChannelOutputLimiterTest {
+    @Mock
+    private BGPSessionImpl session;
+    @Mock
+    private ChannelHandlerContext ctx;
+    @Mock
+    private Channel channel;
+    @Mock
+    private Runnable drain;
+    private ChannelOutputLimiter limiter;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        Mockito.doReturn(this.channel).when(this.ctx).channel();
+        this.limiter = new ChannelOutputLimiter(this.session);
+    }
+
+    @Test
+    public void testDrainOnWritable() throws Exception {
+        final Registration reg = this.limiter.registerDrainListener(this.drain);
+        Mockito.doReturn(false).when(this.channel).isWritable();
+        this.limiter.channelWritabilityChanged(this.ctx);
+        verify(this.drain, never()).run();
+
+        Mockito.doReturn(true).when(this.channel).isWritable();
+        this.limiter.channelWritabilityChanged(this.ctx);
+        verify(this.drain, times(1)).run();
+
+        reg.close();
+        this.limiter.channelWritabilityChanged(this.ctx);
+        verify(this.drain, times(1)).run();
+    }
+
+    @Test
+    public void testFailingDrainListener() throws Exception {
+        this.limiter.registerDrainListener(() -> {
+            throw new IllegalStateException("drain failed");
+        });
+        this.limiter.registerDrainListener(this.drain);
+        Mockito.doReturn(true).when(this.channel).isWritable();
+        this.limiter.channelWritabilityChanged(this.ctx);
+        verify(this.drain, times(1)).run();
+        verify(this.ctx).fireChannelWritabilityChanged();
+    }
+}
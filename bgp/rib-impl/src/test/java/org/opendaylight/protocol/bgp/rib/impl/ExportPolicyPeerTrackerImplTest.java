@@ -10,6 +10,7 @@ package org.opendaylight.protocol.bgp.rib.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.opendaylight.controller.md.sal.binding.impl.BindingDOMMountPointServiceAdapter.LOG;
@@ -18,7 +19,16 @@ import static org.opendaylight.protocol.bgp.rib.impl.AdjRibInWriter.PEER_ID_QNAM
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.protocol.bgp.rib.impl.spi.Codecs;
+import org.opendaylight.protocol.bgp.rib.spi.RIBSupport;
+import org.opendaylight.protocol.concepts.AbstractRegistration;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.SendReceive;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.BgpRib;
@@ -35,7 +45,8 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 public class ExportPolicyPeerTrackerImplTest {
     private static final TablesKey TABLE_KEY = new TablesKey(Ipv4AddressFamily.class, UnicastSubsequentAddressFamily.class);
     private static final Ipv4Address BGP_ID = new Ipv4Address("127.0.0.1");
-    private static final PolicyDatabase PD = new PolicyDatabase(72L, BGP_ID, new ClusterIdentifier(BGP_ID));
+    private static final PolicyDatabase PD = new PolicyDatabase(72L, BGP_ID, new ClusterIdentifier(BGP_ID),
+        new AttributeStoreImpl(1000));
     private static final PeerId PEER_ID1 = new PeerId("bgp://42.42.42.42");
     private static final YangInstanceIdentifier YII_PEER1 = YangInstanceIdentifier.builder().node(BgpRib.QNAME).node(Peer.QNAME)
         .nodeWithKey(Peer.QNAME, PEER_ID_QNAME, PEER_ID1.getValue()).build();
@@ -105,4 +116,72 @@ public class ExportPolicyPeerTrackerImplTest {
         TABLE_REGISTRATION.clear();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        final ExportPolicyPeerTrackerImpl exportPpt = new ExportPolicyPeerTrackerImpl(PD, TABLE_KEY);
+        final AutoCloseable stable = exportPpt.registerPeer(PEER_ID1, null, YII_PEER1, PeerRole.Ebgp,
+            Optional.empty());
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch readers = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        assertEquals(PeerRole.Ebgp, exportPpt.getRole(YII_PEER1));
+                        assertTrue(exportPpt.isTableSupported(PEER_ID1));
+                        assertTrue(exportPpt.getPeerGroup(PeerRole.Ebgp).containsPeer(PEER_ID1));
+                        exportPpt.getPeerGroup(PeerRole.Ebgp).forEach((peerId, peerPath) -> assertEquals(
+                            peerId.equals(PEER_ID1) ? YII_PEER1 : YII_PEER2, peerPath));
+                        exportPpt.isAddPathSupportedByPeer(PEER_ID2);
+                    }
+                } catch (final Throwable e) {
+                    failure.set(e);
+                } finally {
+                    readers.countDown();
+                }
+            }).start();
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            exportPpt.registerPeer(PEER_ID2, SendReceive.Both, YII_PEER2, PeerRole.Ebgp, Optional.empty()).close();
+        }
+        done.set(true);
+        assertTrue(readers.await(10, TimeUnit.SECONDS));
+        assertNull(failure.get());
+        assertFalse(exportPpt.isTableSupported(PEER_ID2));
+        stable.close();
+        assertNull(exportPpt.getPeerGroup(PeerRole.Ebgp));
+    }
+
+    @Test
+    public void testUpdateGroups() throws Exception {
+        final ExportPolicyPeerTrackerImpl exportPpt = new ExportPolicyPeerTrackerImpl(PD, TABLE_KEY, true);
+        final AutoCloseable addPathPeer = exportPpt.registerPeer(PEER_ID1, SendReceive.Both, YII_PEER1, PeerRole.Ibgp,
+            Optional.empty());
+        final AutoCloseable peer = exportPpt.registerPeer(PEER_ID4, null, YII_PEER4, PeerRole.Ibgp, Optional.empty());
+        final ChannelOutputLimiter session = new ChannelOutputLimiter(Mockito.mock(BGPSessionImpl.class));
+        final RIBSupport support = Mockito.mock(RIBSupport.class);
+        final Codecs codecs = Mockito.mock(Codecs.class);
+
+        assertNull(exportPpt.joinUpdateGroup(PEER_ID1, PeerRole.Ibgp, true, session, false, support, codecs,
+            new LongAdder(), new LongAdder()));
+        final AbstractRegistration membership = exportPpt.joinUpdateGroup(PEER_ID4, PeerRole.Ibgp, true, session,
+            false, support, codecs, new LongAdder(), new LongAdder());
+        assertNotNull(membership);
+        assertNotNull(exportPpt.getUpdateGroup(PEER_ID4));
+        assertNull(exportPpt.getUpdateGroup(PEER_ID1));
+
+        // the group is not advertised routes until its member's table structure is initialized
+        assertTrue(exportPpt.getUpdateGroups(PeerRole.Ibgp).isEmpty());
+        exportPpt.registerPeerAsInitialized(PEER_ID4);
+        assertEquals(1, exportPpt.getUpdateGroups(PeerRole.Ibgp).size());
+        assertTrue(exportPpt.getUpdateGroups(PeerRole.Ebgp).isEmpty());
+
+        membership.close();
+        assertNull(exportPpt.getUpdateGroup(PEER_ID4));
+        assertTrue(exportPpt.getUpdateGroups(PeerRole.Ibgp).isEmpty());
+        peer.close();
+        addPathPeer.close();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.protocol.bgp.mode.api.RouteEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.inet.rev150305.ipv4.routes.ipv4.routes.Ipv4Route;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+public class Ipv4RouteEntryTableTest {
+    private static final QName PREFIX_QNAME = QName.create(Ipv4Route.QNAME, "prefix").intern();
+    private static final int COUNT = 5000;
+
+    private static NodeIdentifierWithPredicates routeKey(final String prefix) {
+        return new NodeIdentifierWithPredicates(Ipv4Route.QNAME, PREFIX_QNAME, prefix);
+    }
+
+    private static String prefix(final int i) {
+        return "10." + (i >> 8 & 0xff) + "." + (i & 0xff) + ".0/24";
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        final Ipv4RouteEntryTable table = new Ipv4RouteEntryTable();
+        final RouteEntry[] entries = new RouteEntry[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            entries[i] = Mockito.mock(RouteEntry.class);
+            table.put(routeKey(prefix(i)), entries[i]);
+        }
+        assertEquals(COUNT, table.packedSize());
+        for (int i = 0; i < COUNT; i++) {
+            assertSame(entries[i], table.get(routeKey(prefix(i))));
+        }
+
+        for (int i = 0; i < COUNT; i += 2) {
+            table.remove(routeKey(prefix(i)));
+        }
+        assertEquals(COUNT / 2, table.packedSize());
+        for (int i = 0; i < COUNT; i++) {
+            if (i % 2 == 0) {
+                assertNull(table.get(routeKey(prefix(i))));
+            } else {
+                assertSame(entries[i], table.get(routeKey(prefix(i))));
+            }
+        }
+    }
+
+    @Test
+    public void testForEach() {
+        final Ipv4RouteEntryTable table = new Ipv4RouteEntryTable();
+        final RouteEntry defaultRoute = Mockito.mock(RouteEntry.class);
+        final RouteEntry hostRoute = Mockito.mock(RouteEntry.class);
+        final RouteEntry nonCanonical = Mockito.mock(RouteEntry.class);
+        table.put(routeKey("0.0.0.0/0"), defaultRoute);
+        table.put(routeKey("255.255.255.255/32"), hostRoute);
+        table.put(routeKey("010.0.0.0/8"), nonCanonical);
+        assertEquals(2, table.packedSize());
+
+        final Map<PathArgument, RouteEntry> visited = new HashMap<>();
+        table.forEach(visited::put);
+        assertEquals(3, visited.size());
+        assertSame(defaultRoute, visited.get(routeKey("0.0.0.0/0")));
+        assertSame(hostRoute, visited.get(routeKey("255.255.255.255/32")));
+        assertSame(nonCanonical, visited.get(routeKey("010.0.0.0/8")));
+
+        table.remove(routeKey("010.0.0.0/8"));
+        assertNull(table.get(routeKey("010.0.0.0/8")));
+        assertNull(table.get(routeKey("10.0.0.0/8")));
+    }
+
+    @Test
+    public void testParsePrefix() {
+        assertEquals("1.2.3.4/32", Ipv4RouteEntryTable.formatPrefix(Ipv4RouteEntryTable.parsePrefix("1.2.3.4/32")));
+        assertEquals("0.0.0.0/0", Ipv4RouteEntryTable.formatPrefix(Ipv4RouteEntryTable.parsePrefix("0.0.0.0/0")));
+        assertEquals(0, Ipv4RouteEntryTable.parsePrefix("256.0.0.0/8"));
+        assertEquals(0, Ipv4RouteEntryTable.parsePrefix("1.2.3.4/33"));
+        assertEquals(0, Ipv4RouteEntryTable.parsePrefix("1.2.3.4/08"));
+        assertEquals(0, Ipv4RouteEntryTable.parsePrefix("1.2.3/24"));
+        assertEquals(0, Ipv4RouteEntryTable.parsePrefix("1.2.3.4"));
+        assertEquals(0, Ipv4RouteEntryTable.parsePrefix("1.2.3.4/24 "));
+    }
+}
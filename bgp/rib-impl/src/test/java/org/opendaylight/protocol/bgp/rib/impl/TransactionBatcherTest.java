@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.Futures;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+public class TransactionBatcherTest {
+    @Mock
+    private DOMTransactionChain chain;
+    @Mock
+    private DOMDataWriteTransaction tx;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        Mockito.doReturn(this.tx).when(this.chain).newWriteOnlyTransaction();
+        Mockito.doReturn(Futures.immediateCheckedFuture(null)).when(this.tx).submit();
+    }
+
+    private static void delete(final DOMDataWriteTransaction tx) {
+        tx.delete(LogicalDatastoreType.OPERATIONAL, YangInstanceIdentifier.EMPTY);
+    }
+
+    @Test
+    public void testBatchSizeReached() {
+        final TransactionBatcher batcher = new TransactionBatcher(this.chain, 3, 1, TimeUnit.MINUTES);
+        batcher.write(TransactionBatcherTest::delete);
+        batcher.write(TransactionBatcherTest::delete);
+        verify(this.tx, never()).submit();
+
+        batcher.write(TransactionBatcherTest::delete);
+        verify(this.chain, times(1)).newWriteOnlyTransaction();
+        verify(this.tx, times(3)).delete(LogicalDatastoreType.OPERATIONAL, YangInstanceIdentifier.EMPTY);
+        verify(this.tx, times(1)).submit();
+        assertEquals(1, batcher.getSubmittedBatches());
+        assertEquals(3, batcher.getAverageBatchSize(), 0);
+    }
+
+    @Test
+    public void testExplicitFlush() {
+        final TransactionBatcher batcher = new TransactionBatcher(this.chain, 100, 1, TimeUnit.MINUTES);
+        batcher.flush();
+        verify(this.chain, never()).newWriteOnlyTransaction();
+
+        batcher.write(TransactionBatcherTest::delete);
+        batcher.flush();
+        batcher.flush();
+        verify(this.tx, times(1)).submit();
+        assertEquals(1, batcher.getAverageBatchSize(), 0);
+    }
+
+    @Test
+    public void testUnbatched() {
+        final TransactionBatcher batcher = new TransactionBatcher(this.chain, 1, 0, TimeUnit.MILLISECONDS);
+        batcher.write(TransactionBatcherTest::delete);
+        batcher.write(TransactionBatcherTest::delete);
+        verify(this.chain, times(2)).newWriteOnlyTransaction();
+        verify(this.tx, times(2)).submit();
+    }
+
+    @Test
+    public void testTimeBudgetExpired() {
+        final TransactionBatcher batcher = new TransactionBatcher(this.chain, 100, 10, TimeUnit.MILLISECONDS);
+        batcher.write(TransactionBatcherTest::delete);
+        verify(this.tx, Mockito.timeout(5000)).submit();
+        assertEquals(1, batcher.getSubmittedBatches());
+    }
+
+    @Test
+    public void testClose() throws InterruptedException {
+        final TransactionBatcher batcher = new TransactionBatcher(this.chain, 100, 10, TimeUnit.MILLISECONDS);
+        batcher.write(TransactionBatcherTest::delete);
+        batcher.close();
+        verify(this.tx).cancel();
+
+        // the expiration of the discarded batch has been cancelled
+        Thread.sleep(50);
+        verify(this.tx, never()).submit();
+        assertEquals(0, batcher.getSubmittedBatches());
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.protocol.bgp.rib.impl.spi.Codecs;
+import org.opendaylight.protocol.bgp.rib.spi.RIBSupport;
+import org.opendaylight.protocol.concepts.AbstractRegistration;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.Update;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.PeerId;
+import org.opendaylight.yangtools.yang.binding.Notification;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+public class UpdateGroupImplTest {
+    private static final PeerId PEER_A = new PeerId("bgp://1.1.1.1");
+    private static final PeerId PEER_B = new PeerId("bgp://2.2.2.2");
+    private static final PeerId PEER_C = new PeerId("bgp://3.3.3.3");
+    private static final PeerId EXTERNAL = new PeerId("bgp://4.4.4.4");
+    private static final PathArgument ROUTE_ID = new NodeIdentifier(Update.QNAME);
+
+    @Mock
+    private RIBSupport support;
+    @Mock
+    private Codecs codecs;
+    @Mock
+    private BGPSessionImpl sessionA;
+    @Mock
+    private BGPSessionImpl sessionB;
+    @Mock
+    private BGPSessionImpl sessionC;
+    @Mock
+    private ContainerNode attributes;
+    @Mock
+    private Attributes decoded;
+    @Mock
+    private Update update;
+    @Mock
+    private MapEntryNode routeFromA;
+    @Mock
+    private MapEntryNode routeFromB;
+    @Mock
+    private MapEntryNode externalRoute;
+    @Mock
+    private ContainerNode otherAttributes;
+    @Mock
+    private MapEntryNode otherRoute;
+    private final LongAdder routeCounterA = new LongAdder();
+    private final LongAdder prefixesSentA = new LongAdder();
+    private final LongAdder routeCounterB = new LongAdder();
+    private final LongAdder prefixesSentB = new LongAdder();
+    private UpdateGroupImpl group;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        Mockito.doReturn(this.decoded).when(this.codecs).deserializeAttributes(any(NormalizedNode.class));
+        Mockito.doReturn(false).when(this.support).isComplexRoute();
+        Mockito.doReturn(this.update).when(this.support).buildUpdate(any(), any(), any(Attributes.class));
+        for (final BGPSessionImpl session : new BGPSessionImpl[]{this.sessionA, this.sessionB, this.sessionC}) {
+            Mockito.doReturn(true).when(session).isWritable();
+            Mockito.doNothing().when(session).write(any(Notification.class));
+            Mockito.doNothing().when(session).flush();
+        }
+        this.group = new UpdateGroupImpl(this.support, this.codecs, true);
+        this.group.join(PEER_A, new ChannelOutputLimiter(this.sessionA), false, this.routeCounterA, this.prefixesSentA);
+        this.group.join(PEER_B, new ChannelOutputLimiter(this.sessionB), false, this.routeCounterB, this.prefixesSentB);
+        this.group.activate(PEER_A);
+        this.group.activate(PEER_B);
+    }
+
+    @Test
+    public void testReplicateUpdate() {
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, this.attributes, this.externalRoute);
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, this.attributes, this.externalRoute);
+        this.group.flush();
+
+        verify(this.support, times(1)).buildUpdate(Collections.singletonList(this.externalRoute),
+            Collections.emptyList(), this.decoded);
+        verify(this.sessionA, times(1)).write(any(Update.class));
+        verify(this.sessionB, times(1)).write(any(Update.class));
+        assertEquals(1, this.routeCounterA.longValue());
+        assertEquals(1, this.prefixesSentA.longValue());
+        assertEquals(1, this.routeCounterB.longValue());
+        assertEquals(1, this.prefixesSentB.longValue());
+
+        // unchanged route is not sent again
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, this.attributes, this.externalRoute);
+        this.group.flush();
+        verify(this.support, times(1)).buildUpdate(any(), any(), any(Attributes.class));
+
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, null, null);
+        this.group.flush();
+        assertEquals(0, this.routeCounterA.longValue());
+        assertEquals(1, this.prefixesSentA.longValue());
+    }
+
+    @Test
+    public void testSplitHorizon() {
+        this.group.updateRoute(ROUTE_ID, PEER_A, this.attributes, this.routeFromA);
+        this.group.flush();
+        verify(this.sessionA, never()).write(any(Update.class));
+        verify(this.sessionB, times(1)).write(any(Update.class));
+
+        // best path moves to B: A is advertised B's route, B withdraws A's route
+        this.group.updateRoute(ROUTE_ID, PEER_B, this.attributes, this.routeFromB);
+        this.group.flush();
+        verify(this.support).buildUpdate(Collections.singletonList(this.routeFromB), Collections.emptyList(),
+            this.decoded);
+        verify(this.support).buildUpdate(Collections.emptyList(), Collections.singletonList(this.routeFromA),
+            AdjRibOutListener.WITHDRAWN_ATTRIBUTES);
+        verify(this.sessionA, times(1)).write(any(Update.class));
+        verify(this.sessionB, times(2)).write(any(Update.class));
+    }
+
+    @Test
+    public void testJoinAndLeave() {
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, this.attributes, this.externalRoute);
+        this.group.flush();
+
+        final LongAdder routeCounterC = new LongAdder();
+        final AbstractRegistration reg = this.group.join(PEER_C, new ChannelOutputLimiter(this.sessionC), false,
+            routeCounterC, new LongAdder());
+        this.group.drain();
+        // not sent anything until its table structure is initialized
+        verify(this.sessionC, never()).write(any(Update.class));
+
+        this.group.activate(PEER_C);
+        this.group.drain();
+        verify(this.sessionC, times(1)).write(any(Update.class));
+        assertEquals(1, routeCounterC.longValue());
+
+        reg.close();
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, null, null);
+        this.group.flush();
+        verify(this.sessionC, times(1)).write(any(Update.class));
+        verify(this.sessionA, times(2)).write(any(Update.class));
+    }
+
+    @Test
+    public void testBlockedMember() {
+        Mockito.doReturn(false).when(this.sessionB).isWritable();
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, this.attributes, this.externalRoute);
+        this.group.flush();
+        verify(this.sessionA, times(1)).write(any(Update.class));
+        verify(this.sessionB, never()).write(any(Update.class));
+        // routes are counted once sent
+        assertEquals(0, this.routeCounterB.longValue());
+
+        Mockito.doReturn(true).when(this.sessionB).isWritable();
+        this.group.drain();
+        verify(this.sessionB, times(1)).write(any(Update.class));
+        assertEquals(1, this.routeCounterB.longValue());
+    }
+
+    @Test
+    public void testBlockedMemberCoalesce() {
+        Mockito.doReturn(false).when(this.sessionB).isWritable();
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, this.attributes, this.externalRoute);
+        this.group.flush();
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, null, null);
+        this.group.flush();
+        verify(this.sessionA, times(2)).write(any(Update.class));
+
+        // B has never been sent the route, there is nothing to withdraw
+        Mockito.doReturn(true).when(this.sessionB).isWritable();
+        this.group.drain();
+        verify(this.sessionB, never()).write(any(Update.class));
+        assertEquals(0, this.routeCounterB.longValue());
+        assertEquals(0, this.routeCounterA.longValue());
+    }
+
+    @Test
+    public void testPackWithdrawals() {
+        final PathArgument otherRouteId = new NodeIdentifier(Attributes.QNAME);
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, this.attributes, this.externalRoute);
+        this.group.updateRoute(otherRouteId, EXTERNAL, this.otherAttributes, this.otherRoute);
+        this.group.flush();
+        verify(this.sessionA, times(2)).write(any(Update.class));
+
+        // withdrawals are packed together, their attributes are not needed
+        this.group.updateRoute(ROUTE_ID, EXTERNAL, null, null);
+        this.group.updateRoute(otherRouteId, EXTERNAL, null, null);
+        this.group.flush();
+        verify(this.support).buildUpdate(Collections.emptyList(), Arrays.asList(this.externalRoute, this.otherRoute),
+            AdjRibOutListener.WITHDRAWN_ATTRIBUTES);
+        verify(this.codecs, times(2)).deserializeAttributes(any(NormalizedNode.class));
+        verify(this.sessionA, times(3)).write(any(Update.class));
+        assertEquals(0, this.routeCounterA.longValue());
+    }
+}
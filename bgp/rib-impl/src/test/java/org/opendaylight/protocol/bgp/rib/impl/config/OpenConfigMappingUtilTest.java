@@ -46,6 +46,8 @@ import org.opendaylight.protocol.bgp.mode.impl.add.all.paths.AllPathSelection;
 import org.opendaylight.protocol.bgp.mode.impl.add.n.paths.AddPathBestNPathSelection;
 import org.opendaylight.protocol.bgp.openconfig.spi.BGPTableTypeRegistryConsumer;
 import org.opendaylight.protocol.bgp.parser.BgpTableTypeImpl;
+import org.opendaylight.protocol.bgp.rib.impl.RIBSettings;
+import org.opendaylight.protocol.bgp.rib.impl.spi.BGPTransportSettings;
 import org.opendaylight.protocol.bgp.rib.impl.spi.RIB;
 import org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.multiprotocol.rev151009.bgp.common.afi.safi.list.AfiSafi;
 import org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.multiprotocol.rev151009.bgp.common.afi.safi.list.AfiSafiBuilder;
@@ -238,6 +240,20 @@ public class OpenConfigMappingUtilTest {
                 ConfigBuilder().addAugmentation(Config1.class, new Config1Builder().build()).build()).build()).build()));
     }
 
+    @Test
+    public void testGetTransportSettings() {
+        assertEquals(BGPTransportSettings.DEFAULT, OpenConfigMappingUtil.getTransportSettings(NEIGHBOR));
+        assertEquals(BGPTransportSettings.DEFAULT, OpenConfigMappingUtil.getTransportSettings(new NeighborBuilder()
+            .setTransport(new TransportBuilder().build()).build()));
+        final Neighbor neighbor = new NeighborBuilder().setTransport(new TransportBuilder().setConfig(
+            new org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.rev151009.bgp.neighbor.group.transport.
+                ConfigBuilder().addAugmentation(Config1.class, new Config1Builder().setMaxMessagesPerRead(16)
+                .setEdgeTriggered(true).setReceiveBufferSize(1048576L).setWriteBufferHighWaterMark(524288L)
+                .setEventLoop(2).build()).build()).build()).build();
+        assertEquals(new BGPTransportSettings(16, true, 1048576, 0, 128 * 1024, 524288, 2),
+            OpenConfigMappingUtil.getTransportSettings(neighbor));
+    }
+
     @Test
     public void testGetAfiSafiWithDefault() throws Exception {
         final ImmutableList<AfiSafi> defaultValue = ImmutableList.of(new AfiSafiBuilder().setAfiSafiName(IPV4UNICAST.class).build());
@@ -276,6 +292,17 @@ public class OpenConfigMappingUtilTest {
         assertEquals(CLUSTER_ID.getValue(), OpenConfigMappingUtil.getClusterIdentifier(configBuilder.build()).getValue());
     }
 
+    @Test
+    public void testGetRibSettings() {
+        final org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.rev151009.bgp.global.base.ConfigBuilder configBuilder = new org.opendaylight.yang.gen.v1.http.openconfig.net.yang.bgp.rev151009.bgp.global.base.ConfigBuilder();
+        assertEquals(RIBSettings.DEFAULT, OpenConfigMappingUtil.getRibSettings(configBuilder.build()));
+
+        configBuilder.addAugmentation(GlobalConfigAugmentation.class,
+                new GlobalConfigAugmentationBuilder().setLocRibShards(4).setUpdateGroups(true).setDirectIngest(true)
+                    .setAttributeStoreSize(1000L).setIncrementalPathSelection(true).build());
+        assertEquals(new RIBSettings(4, true, true, 1000, true), OpenConfigMappingUtil.getRibSettings(configBuilder.build()));
+    }
+
     @Test
     public void testGetSimpleRoutingPolicy() {
         final NeighborBuilder neighborBuilder = new NeighborBuilder();
@@ -286,6 +313,18 @@ public class OpenConfigMappingUtilTest {
         assertEquals(SimpleRoutingPolicy.LearnNone, getSimpleRoutingPolicy(neighborBuilder.build()));
     }
 
+    @Test
+    public void testGetAdjRibInBatch() {
+        final NeighborBuilder neighborBuilder = new NeighborBuilder();
+        assertEquals(1, OpenConfigMappingUtil.getAdjRibInBatchSize(neighborBuilder.build()));
+        assertEquals(10, OpenConfigMappingUtil.getAdjRibInBatchMillis(neighborBuilder.build()));
+        neighborBuilder.setConfig(new ConfigBuilder()
+                .addAugmentation(NeighborConfigAugmentation.class,
+                        new NeighborConfigAugmentationBuilder().setAdjRibInBatchSize(100).setAdjRibInBatchMillis(50L).build()).build());
+        assertEquals(100, OpenConfigMappingUtil.getAdjRibInBatchSize(neighborBuilder.build()));
+        assertEquals(50, OpenConfigMappingUtil.getAdjRibInBatchMillis(neighborBuilder.build()));
+    }
+
     @Test
     public void isAppNeighbor() {
         assertFalse(OpenConfigMappingUtil.isApplicationPeer(new NeighborBuilder().setConfig(new ConfigBuilder().build()).build()));
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.bgp.rib.spi;
+
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpReachNlri;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpUnreachNlri;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+
+/**
+ * Optional extension of {@link RIBSupport}, implemented by AFI/SAFIs which are able to build the DOM representation
+ * of their routes straight from the parsed NLRI. This spares serializing the whole NLRI through the binding codec
+ * only to take it apart again into individual routes.
+ */
+public interface DirectRIBSupport extends RIBSupport {
+    /**
+     * Put the routes advertised by the NLRI into RIBs, building them directly from the NLRI.
+     *
+     * @param tx DOMDataWriteTransaction
+     * @param tablePath YangInstanceIdentifier
+     * @param nlri MpReachNlri from the Update message
+     * @param attributes ContainerNode DOM representation of route attributes
+     * @return True if the routes were written, false if the NLRI destination is not supported, in which case
+     *         the NLRI needs to be serialized and written by {@link #putRoutes}
+     */
+    boolean putRoutes(@Nonnull DOMDataWriteTransaction tx, @Nonnull YangInstanceIdentifier tablePath,
+        @Nonnull MpReachNlri nlri, @Nonnull ContainerNode attributes);
+
+    /**
+     * Delete the routes withdrawn by the NLRI from RIBs, building their keys directly from the NLRI.
+     *
+     * @param tx DOMDataWriteTransaction
+     * @param tablePath YangInstanceIdentifier
+     * @param nlri MpUnreachNlri from the Update message
+     * @return True if the routes were deleted, false if the NLRI destination is not supported, in which case
+     *         the NLRI needs to be serialized and deleted by {@link #deleteRoutes}
+     */
+    boolean deleteRoutes(@Nonnull DOMDataWriteTransaction tx, @Nonnull YangInstanceIdentifier tablePath,
+        @Nonnull MpUnreachNlri nlri);
+}
@@ -8,6 +8,7 @@
 
 package org.opendaylight.protocol.bgp.rib.spi;
 
+import java.util.List;
 import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -75,4 +76,28 @@ public interface ExportPolicyPeerTracker {
      * @return true if peer supports table
      */
     boolean isTableStructureInitialized(@Nonnull PeerId peerId);
+
+    /**
+     * Returns the update group the peer is a member of.
+     *
+     * @param peerId of peer
+     * @return update group, null if routes are written into the peer's own adj-rib-out
+     */
+    @Nullable
+    UpdateGroup getUpdateGroup(@Nonnull PeerId peerId);
+
+    /**
+     * Returns the update groups of peers with given role, which have at least one member ready to be sent
+     * routes.
+     *
+     * @param role of peers
+     * @return update groups, empty if there are none
+     */
+    @Nonnull
+    List<UpdateGroup> getUpdateGroups(@Nonnull PeerRole role);
+
+    /**
+     * Send route changes accumulated by all update groups of this table.
+     */
+    void flushUpdateGroups();
 }
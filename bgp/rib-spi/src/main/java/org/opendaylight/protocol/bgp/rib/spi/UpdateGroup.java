@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.protocol.bgp.rib.spi;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.PeerId;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A set of peers sharing role, table, add-path configuration and export policy, hence receiving the same
+ * adj-rib-out. Routes are tracked once per group and replicated to each member, instead of being written
+ * into the adj-rib-out of every member.
+ */
+public interface UpdateGroup {
+    /**
+     * Advertise or withdraw a route to all members of the group, except the peer it was learned from.
+     *
+     * @param routeId route identifier
+     * @param routePeerId peer the route was learned from
+     * @param effAttrib effective attributes, null to withdraw the route
+     * @param value route, null to withdraw the route
+     */
+    void updateRoute(@Nonnull PathArgument routeId, @Nonnull PeerId routePeerId, @Nullable ContainerNode effAttrib,
+        @Nullable NormalizedNode<?, ?> value);
+
+    /**
+     * Send route changes accumulated since the last flush to the members.
+     */
+    void flush();
+}
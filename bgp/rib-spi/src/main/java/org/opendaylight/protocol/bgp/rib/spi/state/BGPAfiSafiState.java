@@ -40,6 +40,22 @@ public interface BGPAfiSafiState extends BGPGracelfulRestartState {
      */
     long getPrefixesSentCount(@Nonnull TablesKey tablesKey);
 
+    /**
+     * Update messages sent to the Peer count
+     *
+     * @param tablesKey tablesKey Type
+     * @return Updates sent count
+     */
+    long getUpdatesSentCount(@Nonnull TablesKey tablesKey);
+
+    /**
+     * Average number of routes carried by an Update message sent to the Peer
+     *
+     * @param tablesKey tablesKey Type
+     * @return Routes per Update
+     */
+    double getRoutesPerUpdate(@Nonnull TablesKey tablesKey);
+
     /**
      * Prefixed received from the peer count
      *
@@ -39,4 +39,31 @@ public interface BGPPeerMessagesState {
      * @return count
      */
     long getNotificationMessagesReceivedCount();
+
+    /**
+     * Adj-RIB-In transactions submitted count
+     *
+     * @return count
+     */
+    default long getAdjRibInBatchesSubmittedCount() {
+        return 0;
+    }
+
+    /**
+     * Average number of Update Messages written by an Adj-RIB-In transaction
+     *
+     * @return average batch size
+     */
+    default double getAdjRibInAverageBatchSize() {
+        return 0;
+    }
+
+    /**
+     * Average commit latency of an Adj-RIB-In transaction
+     *
+     * @return latency in nanoseconds
+     */
+    default long getAdjRibInAverageCommitLatency() {
+        return 0;
+    }
 }
@@ -20,6 +20,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.type
  * Representing RIB Operational State information
  * -PeerGroup States.
  * Total Paths / Total Prefixes counters, representing the paths / prefixes installed on Loc-rib
+ * Shared route attributes counters
  */
 public interface BGPRIBState extends RibReference {
     /**
@@ -68,6 +69,20 @@ public interface BGPRIBState extends RibReference {
      */
     long getPrefixesCount(TablesKey tablesKey);
 
+    /**
+     * Distinct route attributes shared by routes across peers and tables
+     *
+     * @return count
+     */
+    long getUniqueAttributesCount();
+
+    /**
+     * Estimated bytes saved by routes sharing route attributes
+     *
+     * @return bytes, negative if sharing costs more than it saves
+     */
+    long getAttributesBytesSaved();
+
     /**
      * AS
      *
@@ -22,6 +22,7 @@ import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
 import net.sourceforge.argparse4j.inf.ArgumentType;
 import net.sourceforge.argparse4j.inf.Namespace;
+import org.opendaylight.protocol.bgp.rib.impl.spi.BGPTransportSettings;
 import org.opendaylight.protocol.util.ArgumentsInput;
 import org.opendaylight.protocol.util.InetSocketAddressUtil;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.AsNumber;
@@ -58,6 +59,39 @@ final class Arguments implements ArgumentsInput {
     private static final String SPEAKERS_COUNT = "speakersCount";
     private static final String SPEAKERS_COUNT_HELP = "Number of simulated BGP speakers, when creating each speaker, use incremented " +
         "local-address for binding";
+    private static final String THREADS_PARAMETER = "threads";
+    private static final String THREADS_PARAMETER_HELP = "Number of event loop threads shared by the simulated speakers, and of " +
+        "threads sending their updates. By default the number of available processors is used";
+    private static final String RATE_PARAMETER = "rate";
+    private static final String RATE_PARAMETER_HELP = "Target number of update messages sent per second by each speaker, by default " +
+        "updates are sent as fast as the session accepts them";
+    private static final String ATTRIBUTES_PARAMETER = "attributeSets";
+    private static final String ATTRIBUTES_PARAMETER_HELP = "Number of distinct sets of path attributes the prefixes are spread over";
+    private static final String CHURN_PARAMETER = "churn";
+    private static final String CHURN_PARAMETER_HELP = "Number of withdraw and re-announce cycles performed after the initial " +
+        "announcement";
+    private static final String PATHS_PARAMETER = "pathsPerPrefix";
+    private static final String PATHS_PARAMETER_HELP = "Number of paths announced for each prefix, requires multiPathSupport";
+    private static final String REPORT_INTERVAL_PARAMETER = "reportInterval";
+    private static final String REPORT_INTERVAL_PARAMETER_HELP = "In seconds, interval of sent and received update rate reports. " +
+        "Rates are not reported by default";
+    private static final String MAX_MESSAGES_PER_READ_PARAMETER = "maxMessagesPerRead";
+    private static final String MAX_MESSAGES_PER_READ_PARAMETER_HELP = "Maximum number of messages read from a session before " +
+        "other sessions of the same event loop are served, by default 1";
+    private static final String EDGE_TRIGGERED_PARAMETER = "edgeTriggered";
+    private static final String EDGE_TRIGGERED_PARAMETER_HELP = "Use edge-triggered instead of level-triggered epoll, by default false";
+    private static final String RECEIVE_BUFFER_PARAMETER = "receiveBuffer";
+    private static final String RECEIVE_BUFFER_PARAMETER_HELP = "In bytes, socket receive buffer size. By default the operating " +
+        "system default is used";
+    private static final String SEND_BUFFER_PARAMETER = "sendBuffer";
+    private static final String SEND_BUFFER_PARAMETER_HELP = "In bytes, socket send buffer size. By default the operating system " +
+        "default is used";
+    private static final String WRITE_BUFFER_LOW_PARAMETER = "writeBufferLow";
+    private static final String WRITE_BUFFER_LOW_PARAMETER_HELP = "In bytes, amount of pending outbound data under which a session " +
+        "resumes sending updates";
+    private static final String WRITE_BUFFER_HIGH_PARAMETER = "writeBufferHigh";
+    private static final String WRITE_BUFFER_HIGH_PARAMETER_HELP = "In bytes, amount of pending outbound data over which a session " +
+        "stops sending updates";
     private static final ArgumentParser ARGUMENT_PARSER = initializeArgumentParser();
     private final Namespace parseArgs;
 
@@ -94,6 +128,25 @@ final class Arguments implements ArgumentsInput {
             .setDefault(new AsNumber(64496L)).help(AS_PARAMETER_HELP);
         parser.addArgument("-ec", toArgName(EXTENDED_COMMUNITIES_PARAMETER)).type((ArgumentTypeTool<List<String>>) extComInput ->
             Arrays.asList(extComInput.split(","))).setDefault(Collections.emptyList()).help(EXTENDED_COMMUNITIES_PARAMETER_HELP);
+        parser.addArgument("-th", toArgName(THREADS_PARAMETER)).type(Integer.class).setDefault(0).help(THREADS_PARAMETER_HELP);
+        parser.addArgument("-r", toArgName(RATE_PARAMETER)).type(Integer.class).setDefault(0).help(RATE_PARAMETER_HELP);
+        parser.addArgument("-at", toArgName(ATTRIBUTES_PARAMETER)).type(Integer.class).setDefault(1).help(ATTRIBUTES_PARAMETER_HELP);
+        parser.addArgument("-ch", toArgName(CHURN_PARAMETER)).type(Integer.class).setDefault(0).help(CHURN_PARAMETER_HELP);
+        parser.addArgument("-pp", toArgName(PATHS_PARAMETER)).type(Integer.class).setDefault(1).help(PATHS_PARAMETER_HELP);
+        parser.addArgument("-ri", toArgName(REPORT_INTERVAL_PARAMETER)).type(Integer.class).setDefault(0)
+            .help(REPORT_INTERVAL_PARAMETER_HELP);
+        parser.addArgument("-mr", toArgName(MAX_MESSAGES_PER_READ_PARAMETER)).type(Integer.class)
+            .setDefault(BGPTransportSettings.DEFAULT.getMaxMessagesPerRead()).help(MAX_MESSAGES_PER_READ_PARAMETER_HELP);
+        parser.addArgument("-et", toArgName(EDGE_TRIGGERED_PARAMETER)).type(Boolean.class)
+            .setDefault(BGPTransportSettings.DEFAULT.isEdgeTriggered()).help(EDGE_TRIGGERED_PARAMETER_HELP);
+        parser.addArgument("-rb", toArgName(RECEIVE_BUFFER_PARAMETER)).type(Integer.class)
+            .setDefault(BGPTransportSettings.DEFAULT.getReceiveBufferSize()).help(RECEIVE_BUFFER_PARAMETER_HELP);
+        parser.addArgument("-sb", toArgName(SEND_BUFFER_PARAMETER)).type(Integer.class)
+            .setDefault(BGPTransportSettings.DEFAULT.getSendBufferSize()).help(SEND_BUFFER_PARAMETER_HELP);
+        parser.addArgument("-wl", toArgName(WRITE_BUFFER_LOW_PARAMETER)).type(Integer.class)
+            .setDefault(BGPTransportSettings.DEFAULT.getWriteBufferLowWaterMark()).help(WRITE_BUFFER_LOW_PARAMETER_HELP);
+        parser.addArgument("-wh", toArgName(WRITE_BUFFER_HIGH_PARAMETER)).type(Integer.class)
+            .setDefault(BGPTransportSettings.DEFAULT.getWriteBufferHighWaterMark()).help(WRITE_BUFFER_HIGH_PARAMETER_HELP);
         parser.addArgument("-ll", toArgName(LOG_LEVEL)).type((ArgumentTypeTool<Level>) Level::toLevel).setDefault(Level.INFO).help("log levels");
         parser.addArgument("-ra", toArgName(REMOTE_ADDRESS_PARAMETER)).type((ArgumentTypeTool<List<InetSocketAddress>>) input ->
             InetSocketAddressUtil.parseAddresses(input, DEFAULT_REMOTE_PORT)).setDefault(Collections.singletonList(REMOTE_ADDRESS))
@@ -148,4 +201,37 @@ final class Arguments implements ArgumentsInput {
     int getSpeakerCount() {
         return this.parseArgs.get(SPEAKERS_COUNT);
     }
+
+    int getThreads() {
+        return this.parseArgs.get(THREADS_PARAMETER);
+    }
+
+    int getRate() {
+        return this.parseArgs.get(RATE_PARAMETER);
+    }
+
+    int getAttributeSets() {
+        final int attributeSets = this.parseArgs.get(ATTRIBUTES_PARAMETER);
+        return Math.max(1, attributeSets);
+    }
+
+    int getChurn() {
+        return this.parseArgs.get(CHURN_PARAMETER);
+    }
+
+    int getPathsPerPrefix() {
+        final int paths = this.parseArgs.get(PATHS_PARAMETER);
+        return getMultiPathSupport() ? Math.max(1, paths) : 1;
+    }
+
+    int getReportInterval() {
+        return this.parseArgs.get(REPORT_INTERVAL_PARAMETER);
+    }
+
+    BGPTransportSettings getTransportSettings() {
+        return new BGPTransportSettings(this.parseArgs.get(MAX_MESSAGES_PER_READ_PARAMETER),
+            this.parseArgs.get(EDGE_TRIGGERED_PARAMETER), this.parseArgs.get(RECEIVE_BUFFER_PARAMETER),
+            this.parseArgs.get(SEND_BUFFER_PARAMETER), this.parseArgs.get(WRITE_BUFFER_LOW_PARAMETER),
+            this.parseArgs.get(WRITE_BUFFER_HIGH_PARAMETER), BGPTransportSettings.NO_EVENT_LOOP);
+    }
 }
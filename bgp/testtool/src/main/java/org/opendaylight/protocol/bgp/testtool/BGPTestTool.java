@@ -16,9 +16,13 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.protocol.bgp.flowspec.FlowspecActivator;
 import org.opendaylight.protocol.bgp.flowspec.SimpleFlowspecExtensionProviderContext;
 import org.opendaylight.protocol.bgp.parser.impl.BGPActivator;
@@ -27,10 +31,11 @@ import org.opendaylight.protocol.bgp.parser.spi.pojo.ServiceLoaderBGPExtensionPr
 import org.opendaylight.protocol.bgp.rib.impl.BGPDispatcherImpl;
 import org.opendaylight.protocol.bgp.rib.impl.StrictBGPPeerRegistry;
 import org.opendaylight.protocol.bgp.rib.impl.spi.BGPDispatcher;
-import org.opendaylight.protocol.bgp.rib.spi.BGPSessionListener;
+import org.opendaylight.protocol.bgp.rib.impl.spi.BGPTransportSettings;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.AsNumber;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.LinkstateAddressFamily;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.LinkstateSubsequentAddressFamily;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.Update;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.open.message.BgpParameters;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.open.message.BgpParametersBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.open.message.bgp.parameters.OptionalCapabilities;
@@ -47,12 +52,17 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.type
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.Ipv4AddressFamily;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.SubsequentAddressFamily;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.UnicastSubsequentAddressFamily;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 final class BGPTestTool {
-    private final Map<String, BGPSessionListener> listeners = new HashMap<>();
+    private static final Logger LOG = LoggerFactory.getLogger(BGPTestTool.class);
+    private final Map<String, TestingListener> listeners = new HashMap<>();
 
     void start(final Arguments arguments) {
-        final BGPDispatcher dispatcher = initializeActivator();
+        final int threads = arguments.getThreads() > 0 ? arguments.getThreads() : Runtime.getRuntime().availableProcessors();
+        final BGPDispatcher dispatcher = initializeActivator(threads, arguments.getTransportSettings());
+        final ScheduledExecutorService executor = Executors.newScheduledThreadPool(threads);
 
         final ArrayList<OptionalCapabilities> optCap = Lists.newArrayList(createMPCapability(Ipv4AddressFamily.class, UnicastSubsequentAddressFamily.class),
             createMPCapability(LinkstateAddressFamily.class, LinkstateSubsequentAddressFamily.class), createAs4BytesMPCapability(arguments.getAs()));
@@ -61,21 +71,47 @@ final class BGPTestTool {
         }
         final BgpParameters bgpParameters = createBgpParameters(optCap);
 
+        // all speakers announce the same prefixes, build them once
+        final int nPrefixes = arguments.getNumberOfPrefixes();
+        final List<Update> advertisements = PrefixesBuilder.createAdvertisements(nPrefixes, arguments.getPathsPerPrefix(),
+            arguments.getAttributeSets(), arguments.getExtendedCommunities(), arguments.getMultiPathSupport());
+        final List<Update> withdrawals = arguments.getChurn() > 0 ? PrefixesBuilder.createWithdrawals(nPrefixes,
+            arguments.getPathsPerPrefix(), arguments.getMultiPathSupport()) : Collections.emptyList();
+
         final InetSocketAddress localAddress = arguments.getLocalAddresses();
         final int port = localAddress.getPort();
         InetAddress address = localAddress.getAddress();
         int numberOfSpeakers = arguments.getSpeakerCount();
         do {
-            final BGPSessionListener sessionListener = new TestingListener(arguments.getNumberOfPrefixes(), arguments.getExtendedCommunities(),
-                arguments.getMultiPathSupport());
+            final TestingListener sessionListener = new TestingListener(advertisements, withdrawals, executor,
+                arguments.getRate(), arguments.getChurn());
             this.listeners.put(address.getHostAddress(), sessionListener);
             createPeer(dispatcher, arguments, new InetSocketAddress(address, port), sessionListener, bgpParameters);
             numberOfSpeakers--;
             address = InetAddresses.increment(address);
         } while (numberOfSpeakers > 0);
+
+        if (arguments.getReportInterval() > 0) {
+            executor.scheduleAtFixedRate(new Runnable() {
+                private long sent;
+                private long received;
+
+                @Override
+                public void run() {
+                    final long nowSent = BGPTestTool.this.listeners.values().stream().mapToLong(TestingListener::getSentCount).sum();
+                    final long nowReceived = BGPTestTool.this.listeners.values().stream()
+                        .mapToLong(TestingListener::getReceivedCount).sum();
+                    LOG.info("Sent {} updates/s, received {} updates/s, {} sent and {} received in total.",
+                        (nowSent - this.sent) / arguments.getReportInterval(),
+                        (nowReceived - this.received) / arguments.getReportInterval(), nowSent, nowReceived);
+                    this.sent = nowSent;
+                    this.received = nowReceived;
+                }
+            }, arguments.getReportInterval(), arguments.getReportInterval(), TimeUnit.SECONDS);
+        }
     }
 
-    private static BGPDispatcher initializeActivator() {
+    private static BGPDispatcher initializeActivator(final int threads, final BGPTransportSettings transportSettings) {
         final BGPActivator activator = new BGPActivator();
         final BGPExtensionProviderContext ctx = ServiceLoaderBGPExtensionProviderContext.getSingletonInstance();
         activator.start(ctx);
@@ -100,8 +136,9 @@ final class BGPTestTool {
         final org.opendaylight.protocol.bgp.l3vpn.ipv6.BgpIpv6Activator bgpIpv6Activator = new org.opendaylight.protocol.bgp.l3vpn.ipv6.BgpIpv6Activator();
         bgpIpv6Activator.start(ctx);
 
-        return new BGPDispatcherImpl(ctx.getMessageRegistry(), new NioEventLoopGroup(), new NioEventLoopGroup(),
-            new StrictBGPPeerRegistry());
+        // speakers share the dispatcher's worker threads
+        return new BGPDispatcherImpl(ctx.getMessageRegistry(), new NioEventLoopGroup(), new NioEventLoopGroup(threads),
+            new StrictBGPPeerRegistry(), threads, transportSettings);
     }
 
     private static OptionalCapabilities createMPCapability(final Class<? extends AddressFamily> afi, final Class<? extends SubsequentAddressFamily> safi) {
@@ -126,9 +163,9 @@ final class BGPTestTool {
     }
 
     void printCount(final String localAddress) {
-        final BGPSessionListener listener = this.listeners.get(localAddress);
+        final TestingListener listener = this.listeners.get(localAddress);
         if (listener != null) {
-            ((TestingListener) listener).printCount(localAddress);
+            listener.printCount(localAddress);
         }
     }
 }
@@ -11,9 +11,9 @@ package org.opendaylight.protocol.bgp.testtool;
 import static org.opendaylight.protocol.bgp.testtool.CommunitiesBuilder.createExtComm;
 import static org.opendaylight.protocol.util.Ipv4Util.incrementIpv4Prefix;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import org.opendaylight.protocol.bgp.rib.impl.ChannelOutputLimiter;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Prefix;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.inet.rev150305.ipv4.prefixes.DestinationIpv4Builder;
@@ -31,8 +31,12 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.mess
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.update.message.NlriBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.Attributes1;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.Attributes1Builder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.Attributes2;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.Attributes2Builder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpReachNlriBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.MpUnreachNlriBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.mp.reach.nlri.AdvertizedRoutesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.multiprotocol.rev130919.update.attributes.mp.unreach.nlri.WithdrawnRoutesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.BgpOrigin;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.Ipv4AddressFamily;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.UnicastSubsequentAddressFamily;
@@ -41,6 +45,9 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.type
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.next.hop.c.next.hop.ipv4.next.hop._case.Ipv4NextHopBuilder;
 
 final class PrefixesBuilder {
+    static final Update END_OF_RIB = new UpdateBuilder().build();
+    private static final Ipv4Prefix FIRST_PREFIX = new Ipv4Prefix("1.1.1.1/31");
+    private static final long FIRST_PATH_ID = 5;
     private static final Ipv4NextHopCase NEXT_HOP;
 
     static {
@@ -51,34 +58,74 @@ final class PrefixesBuilder {
         throw new UnsupportedOperationException();
     }
 
-    static void advertiseIpv4Prefixes(final ChannelOutputLimiter session, final int nPrefixes, final List<String> extCom, final boolean multipartSupport) {
-        Ipv4Prefix addressPrefix = new Ipv4Prefix("1.1.1.1/31");
+    /**
+     * Build the announcements of all prefixes, so that they can be replayed by all speakers without building
+     * them again.
+     *
+     * @param nPrefixes number of prefixes
+     * @param paths number of paths announced for each prefix
+     * @param attributeSets number of distinct path attribute sets the prefixes are spread over
+     * @param extCom extended communities attached to each prefix
+     * @param multipartSupport true if add-path is negotiated
+     * @return update messages, one per path
+     */
+    static List<Update> createAdvertisements(final int nPrefixes, final int paths, final int attributeSets,
+        final List<String> extCom, final boolean multipartSupport) {
+        final List<Update> updates = new ArrayList<>(nPrefixes * paths);
+        Ipv4Prefix addressPrefix = FIRST_PREFIX;
         for (int i = 0; i < nPrefixes; i++) {
-            buildAndSend(session, addressPrefix, extCom, multipartSupport);
+            for (int path = 0; path < paths; path++) {
+                updates.add(new UpdateBuilder().setNlri(new NlriBuilder().build()).setAttributes(createAttributes(extCom,
+                    multipartSupport ? new PathId(FIRST_PATH_ID + path) : null, i % attributeSets, addressPrefix)).build());
+            }
             addressPrefix = incrementIpv4Prefix(addressPrefix);
         }
+        return updates;
     }
 
-    private static void buildAndSend(final ChannelOutputLimiter session, final Ipv4Prefix addressPrefix, final List<String> extCom,
-        final boolean multipartSupport) {
-        final Update upd = new UpdateBuilder().setNlri(new NlriBuilder().build())
-            .setAttributes(createAttributes(extCom, multipartSupport, addressPrefix)).build();
-        session.write(upd);
-        session.flush();
+    /**
+     * Build the withdrawals matching {@link #createAdvertisements(int, int, int, List, boolean)}.
+     *
+     * @param nPrefixes number of prefixes
+     * @param paths number of paths announced for each prefix
+     * @param multipartSupport true if add-path is negotiated
+     * @return update messages, one per path
+     */
+    static List<Update> createWithdrawals(final int nPrefixes, final int paths, final boolean multipartSupport) {
+        final List<Update> updates = new ArrayList<>(nPrefixes * paths);
+        Ipv4Prefix addressPrefix = FIRST_PREFIX;
+        for (int i = 0; i < nPrefixes; i++) {
+            for (int path = 0; path < paths; path++) {
+                final Ipv4PrefixesBuilder prefixes = new Ipv4PrefixesBuilder().setPrefix(addressPrefix);
+                if (multipartSupport) {
+                    prefixes.setPathId(new PathId(FIRST_PATH_ID + path));
+                }
+                updates.add(new UpdateBuilder().setAttributes(new AttributesBuilder().addAugmentation(Attributes2.class,
+                    new Attributes2Builder().setMpUnreachNlri(new MpUnreachNlriBuilder().setAfi(Ipv4AddressFamily.class)
+                        .setSafi(UnicastSubsequentAddressFamily.class).setWithdrawnRoutes(new WithdrawnRoutesBuilder()
+                            .setDestinationType(new org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.inet.rev150305.update.attributes.mp.unreach.nlri.withdrawn.routes.destination.type.DestinationIpv4CaseBuilder()
+                                .setDestinationIpv4(new DestinationIpv4Builder().setIpv4Prefixes(
+                                    Collections.singletonList(prefixes.build())).build()).build()).build()).build())
+                        .build()).build()).build());
+            }
+            addressPrefix = incrementIpv4Prefix(addressPrefix);
+        }
+        return updates;
     }
 
-    private static Attributes createAttributes(final List<String> extCom, final boolean multiPathSupport, final Ipv4Prefix addressPrefix) {
+    private static Attributes createAttributes(final List<String> extCom, final PathId pathId, final long med,
+        final Ipv4Prefix addressPrefix) {
         final AttributesBuilder attBuilder = new AttributesBuilder();
         attBuilder.setOrigin(new OriginBuilder().setValue(BgpOrigin.Egp).build());
         attBuilder.setAsPath(new AsPathBuilder().setSegments(Collections.emptyList()).build());
-        attBuilder.setMultiExitDisc(new MultiExitDiscBuilder().setMed((long) 0).build());
+        attBuilder.setMultiExitDisc(new MultiExitDiscBuilder().setMed(med).build());
         attBuilder.setLocalPref(new LocalPrefBuilder().setPref(100L).build());
         attBuilder.setExtendedCommunities(createExtComm(extCom));
         attBuilder.setUnrecognizedAttributes(Collections.emptyList());
 
         final Ipv4PrefixesBuilder prefixes = new Ipv4PrefixesBuilder().setPrefix(addressPrefix);
-        if (multiPathSupport) {
-            prefixes.setPathId(new PathId(5L));
+        if (pathId != null) {
+            prefixes.setPathId(pathId);
         }
         attBuilder.addAugmentation(Attributes1.class, new Attributes1Builder().setMpReachNlri(
             new MpReachNlriBuilder().setCNextHop(NEXT_HOP).setAfi(Ipv4AddressFamily.class).setSafi(UnicastSubsequentAddressFamily.class)
@@ -10,6 +10,8 @@ package org.opendaylight.protocol.bgp.testtool;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 import org.opendaylight.protocol.bgp.rib.impl.BGPSessionImpl;
 import org.opendaylight.protocol.bgp.rib.spi.BGPSession;
@@ -17,6 +19,8 @@ import org.opendaylight.protocol.bgp.rib.spi.BGPSessionListener;
 import org.opendaylight.protocol.bgp.rib.spi.BGPTerminationReason;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.Update;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.TablesKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.Ipv4AddressFamily;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.UnicastSubsequentAddressFamily;
 import org.opendaylight.yangtools.yang.binding.Notification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,33 +30,51 @@ import org.slf4j.LoggerFactory;
  */
 final class TestingListener implements BGPSessionListener {
     private static final Logger LOG = LoggerFactory.getLogger(TestingListener.class);
-    private final int nPrefixes;
-    private final List<String> extCom;
-    private final boolean multiPathSupport;
-    private LongAdder messageCounter = new LongAdder();
+    private static final TablesKey IPV4_TABLE = new TablesKey(Ipv4AddressFamily.class, UnicastSubsequentAddressFamily.class);
+    private final List<Update> advertisements;
+    private final List<Update> withdrawals;
+    private final ScheduledExecutorService executor;
+    private final int rate;
+    private final int churn;
+    private final LongAdder messageCounter = new LongAdder();
+    private volatile UpdateSender sender;
+    private volatile long sessionUp;
+    private volatile long firstUpdate;
+    private volatile long lastUpdate;
 
-    TestingListener(final int nPrefixes, final List<String> extCom, final boolean multiPathSupport) {
-        this.nPrefixes = nPrefixes;
-        this.extCom = extCom;
-        this.multiPathSupport = multiPathSupport;
+    TestingListener(final List<Update> advertisements, final List<Update> withdrawals,
+        final ScheduledExecutorService executor, final int rate, final int churn) {
+        this.advertisements = advertisements;
+        this.withdrawals = withdrawals;
+        this.executor = executor;
+        this.rate = rate;
+        this.churn = churn;
     }
 
     @Override
     public void markUptodate(final TablesKey tablesKey) {
         LOG.debug("Table marked as up-to-date {}", tablesKey);
+        if (IPV4_TABLE.equals(tablesKey)) {
+            LOG.info("Received End-of-RIB {}ms after session up, {} update messages received.",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.sessionUp), this.messageCounter.longValue());
+        }
     }
 
     @Override
     public void onSessionUp(final BGPSession session) {
         LOG.info("Client Listener: Session Up.");
-        if (this.nPrefixes > 0) {
-            PrefixesBuilder.advertiseIpv4Prefixes(((BGPSessionImpl) session).getLimiter(), this.nPrefixes, this.extCom, this.multiPathSupport);
+        this.sessionUp = System.nanoTime();
+        if (!this.advertisements.isEmpty()) {
+            this.sender = new UpdateSender(((BGPSessionImpl) session).getLimiter(), this.executor, this.advertisements,
+                this.withdrawals, this.rate, this.churn);
+            this.sender.start();
         }
     }
 
     @Override
     public void onSessionDown(final BGPSession session, final Exception e) {
         LOG.info("Client Listener: Connection lost.");
+        stopSending();
         try {
             session.close();
         } catch (Exception ie) {
@@ -63,14 +85,20 @@ final class TestingListener implements BGPSessionListener {
     @Override
     public void onSessionTerminated(final BGPSession session, final BGPTerminationReason cause) {
         LOG.info("Client Listener: Connection lost: {}.", cause);
+        stopSending();
     }
 
     @Override
     public void onMessage(final BGPSession session, final Notification message) {
         if (message instanceof Update) {
+            final long now = System.nanoTime();
+            if (this.messageCounter.sum() == 0) {
+                this.firstUpdate = now;
+            }
+            this.lastUpdate = now;
             this.messageCounter.increment();
         }
-        LOG.debug("Message received: {}", message.toString());
+        LOG.debug("Message received: {}", message);
     }
 
     @Override
@@ -79,7 +107,26 @@ final class TestingListener implements BGPSessionListener {
         return Futures.immediateFuture(null);
     }
 
+    private void stopSending() {
+        final UpdateSender local = this.sender;
+        if (local != null) {
+            local.close();
+        }
+    }
+
+    long getSentCount() {
+        final UpdateSender local = this.sender;
+        return local == null ? 0 : local.getSentCount();
+    }
+
+    long getReceivedCount() {
+        return this.messageCounter.longValue();
+    }
+
     void printCount(final String localAddress) {
-        LOG.info("Peer {} received {} update messages.", localAddress, this.messageCounter.longValue());
+        final long received = this.messageCounter.longValue();
+        final long elapsed = this.lastUpdate - this.firstUpdate;
+        LOG.info("Peer {} sent {} and received {} update messages, received {} updates/s.", localAddress,
+            getSentCount(), received, elapsed > 0 ? received * TimeUnit.SECONDS.toNanos(1) / elapsed : received);
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.protocol.bgp.testtool;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.opendaylight.protocol.bgp.rib.impl.ChannelOutputLimiter;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.Update;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends prebuilt updates of a single speaker: the initial announcement, End-of-RIB and then the configured
+ * number of withdraw and re-announce cycles. Sending is paced by a token bucket when a target rate is set, and
+ * is suspended while the session's channel is not writable, so that the speaker never queues more than the
+ * channel's high watermark. Each run sends a bounded batch and reschedules itself, so that a shared pool of
+ * threads serves all speakers.
+ */
+final class UpdateSender implements Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(UpdateSender.class);
+    private static final int BATCH_SIZE = 1000;
+    private static final long BLOCKED_RETRY_MICROS = 100;
+
+    private final ChannelOutputLimiter limiter;
+    private final ScheduledExecutorService executor;
+    private final List<Update> advertisements;
+    private final List<Update> withdrawals;
+    private final int rate;
+    private final long total;
+    private final LongAdder sentCounter = new LongAdder();
+    private long position;
+    private double tokens;
+    private long lastRefill;
+    private long started;
+    private volatile boolean closed;
+
+    UpdateSender(final ChannelOutputLimiter limiter, final ScheduledExecutorService executor,
+        final List<Update> advertisements, final List<Update> withdrawals, final int rate, final int churn) {
+        this.limiter = requireNonNull(limiter);
+        this.executor = requireNonNull(executor);
+        this.advertisements = requireNonNull(advertisements);
+        this.withdrawals = requireNonNull(withdrawals);
+        this.rate = rate;
+        this.total = advertisements.size() + 1 + (long) churn * (withdrawals.size() + advertisements.size());
+    }
+
+    void start() {
+        this.started = System.nanoTime();
+        this.lastRefill = this.started;
+        this.executor.execute(this);
+    }
+
+    void close() {
+        this.closed = true;
+    }
+
+    long getSentCount() {
+        return this.sentCounter.longValue();
+    }
+
+    @Override
+    public void run() {
+        if (this.closed) {
+            return;
+        }
+
+        long budget = BATCH_SIZE;
+        if (this.rate > 0) {
+            final long now = System.nanoTime();
+            this.tokens = Math.min(this.rate, this.tokens + (now - this.lastRefill) * this.rate
+                / (double) TimeUnit.SECONDS.toNanos(1));
+            this.lastRefill = now;
+            budget = Math.min(budget, (long) this.tokens);
+        }
+
+        long sent = 0;
+        while (sent < budget && this.position < this.total && this.limiter.isWritable()) {
+            this.limiter.write(message(this.position++));
+            sent++;
+        }
+        if (sent > 0) {
+            this.limiter.flush();
+            this.sentCounter.add(sent);
+            this.tokens -= sent;
+        }
+
+        if (this.position == this.total) {
+            final long elapsed = Math.max(1, System.nanoTime() - this.started);
+            LOG.info("Sent {} updates in {}ms, {} updates/s", this.total, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                this.total * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        } else if (sent < budget) {
+            // channel is above its high watermark
+            this.executor.schedule(this, BLOCKED_RETRY_MICROS, TimeUnit.MICROSECONDS);
+        } else if (this.rate == 0 || this.tokens >= 1) {
+            this.executor.execute(this);
+        } else {
+            // wait for the next token
+            final long waitNanos = (long) ((1 - this.tokens) * TimeUnit.SECONDS.toNanos(1) / this.rate);
+            this.executor.schedule(this, Math.max(waitNanos, TimeUnit.MICROSECONDS.toNanos(BLOCKED_RETRY_MICROS)),
+                TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Update message(final long index) {
+        final int announced = this.advertisements.size();
+        if (index < announced) {
+            return this.advertisements.get((int) index);
+        }
+        if (index == announced) {
+            return PrefixesBuilder.END_OF_RIB;
+        }
+        final int cycle = this.withdrawals.size() + announced;
+        final int offset = (int) ((index - announced - 1) % cycle);
+        return offset < this.withdrawals.size() ? this.withdrawals.get(offset)
+            : this.advertisements.get(offset - this.withdrawals.size());
+    }
+}
@@ -9,14 +9,16 @@ package org.opendaylight.bgpcep.bgp.topology.provider;
 
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.Map.Entry;
+import java.util.Set;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
-import org.opendaylight.controller.md.sal.binding.api.ReadTransaction;
 import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.protocol.bgp.rib.RibReference;
@@ -43,22 +45,26 @@ import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.nt.l3.unicast.igp
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.nt.l3.unicast.igp.topology.rev131021.igp.node.attributes.igp.node.attributes.Prefix;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.nt.l3.unicast.igp.topology.rev131021.igp.node.attributes.igp.node.attributes.PrefixBuilder;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.nt.l3.unicast.igp.topology.rev131021.igp.node.attributes.igp.node.attributes.PrefixKey;
-import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- *
+ * Base class for topologies built from reachability information. Nodes are derived from the next hop of each route
+ * and carry the route prefixes. Prefixes of each node are tracked in memory, so that no datastore reads are needed
+ * to decide when a node should be removed. Changes to a node made while processing a single change notification
+ * are coalesced, so that its new prefixes are written with a single merge.
  */
 abstract class AbstractReachabilityTopologyBuilder<T extends Route> extends AbstractTopologyBuilder<T> {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractReachabilityTopologyBuilder.class);
     private final Map<NodeId, NodeUsage> nodes = new HashMap<>();
+    private final Map<NodeId, NodeUsage> pendingNodes = new LinkedHashMap<>();
 
     private static final class NodeUsage {
         private final InstanceIdentifier<IgpNodeAttributes> attrId;
-        private int useCount = 1;
+        private final Set<PrefixKey> prefixes = new HashSet<>();
+        private final Map<PrefixKey, Prefix> pendingPrefixes = new LinkedHashMap<>();
 
         NodeUsage(final InstanceIdentifier<IgpNodeAttributes> attrId) {
             this.attrId = requireNonNull(attrId);
@@ -94,22 +100,10 @@ abstract class AbstractReachabilityTopologyBuilder<T extends Route> extends Abst
         return getInstanceIdentifier().child(Node.class, new NodeKey(ni));
     }
 
-    private static <T extends DataObject> T read(final ReadTransaction t, final InstanceIdentifier<T> id) {
-        final Optional<T> o;
-        try {
-            o = t.read(LogicalDatastoreType.OPERATIONAL, id).get();
-        } catch (InterruptedException | ExecutionException e) {
-            LOG.warn("Failed to read {}, assuming non-existent", id, e);
-            return null;
-        }
-
-        return o.orNull();
-    }
-
-    private InstanceIdentifier<IgpNodeAttributes> ensureNodePresent(final ReadWriteTransaction trans, final NodeId ni) {
+    private NodeUsage ensureNodePresent(final ReadWriteTransaction trans, final NodeId ni) {
         final NodeUsage present = this.nodes.get(ni);
         if (present != null) {
-            return present.attrId;
+            return present;
         }
 
         final KeyedInstanceIdentifier<Node, NodeKey> nii = nodeInstanceId(ni);
@@ -119,8 +113,9 @@ abstract class AbstractReachabilityTopologyBuilder<T extends Route> extends Abst
             .addAugmentation(Node1.class, new Node1Builder().setIgpNodeAttributes(
                 new IgpNodeAttributesBuilder().setPrefix(Collections.emptyList()).build()).build()).build());
 
-        this.nodes.put(ni, new NodeUsage(ret));
-        return ret;
+        final NodeUsage usage = new NodeUsage(ret);
+        this.nodes.put(ni, usage);
+        return usage;
     }
 
     protected abstract Attributes getAttributes(final T value);
@@ -133,13 +128,14 @@ abstract class AbstractReachabilityTopologyBuilder<T extends Route> extends Abst
         if (ni == null) {
             return;
         }
-        final InstanceIdentifier<IgpNodeAttributes> nii = ensureNodePresent(trans, ni);
+        final NodeUsage present = ensureNodePresent(trans, ni);
 
         final IpPrefix prefix = getPrefix(value);
         final PrefixKey pk = new PrefixKey(prefix);
 
-        trans.put(LogicalDatastoreType.OPERATIONAL,
-                nii.child(Prefix.class, pk), new PrefixBuilder().setKey(pk).setPrefix(prefix).build());
+        present.prefixes.add(pk);
+        present.pendingPrefixes.put(pk, new PrefixBuilder().setKey(pk).setPrefix(prefix).build());
+        this.pendingNodes.put(ni, present);
     }
 
     @Override
@@ -154,36 +150,34 @@ abstract class AbstractReachabilityTopologyBuilder<T extends Route> extends Abst
             return;
         }
         final NodeUsage present = this.nodes.get(ni);
-        Preconditions.checkState(present != null, "Removing prefix from non-existent node %s", present);
+        Preconditions.checkState(present != null, "Removing prefix from non-existent node %s", ni);
 
         final PrefixKey pk = new PrefixKey(getPrefix(value));
         trans.delete(LogicalDatastoreType.OPERATIONAL, present.attrId.child(Prefix.class, pk));
+        present.pendingPrefixes.remove(pk);
+        present.prefixes.remove(pk);
+        this.pendingNodes.put(ni, present);
+    }
 
-        /*
-         * This is optimization magic: we are reading a list and we want to remove it once it
-         * hits zero. We may be in a transaction, so the read is costly, especially since we
-         * have just modified the list.
-         *
-         * Once we have performed the read, though, we can check the number of nodes, and reuse
-         * it for that number of removals. Note that since we do not track data and thus have
-         * no understanding about the difference between replace and add, we do not ever increase
-         * the life of this in createObject().
-         */
-        present.useCount--;
-        if (present.useCount == 0) {
-            final IgpNodeAttributes attrs = read(trans, present.attrId);
-            if (attrs != null) {
-                present.useCount = attrs.getPrefix().size();
-                if (present.useCount == 0) {
-                    trans.delete(LogicalDatastoreType.OPERATIONAL, nodeInstanceId(ni));
-                    this.nodes.remove(ni);
-                }
+    @Override
+    protected final void flushObjects(final ReadWriteTransaction trans) {
+        for (final Entry<NodeId, NodeUsage> entry : this.pendingNodes.entrySet()) {
+            final NodeUsage present = entry.getValue();
+            if (present.prefixes.isEmpty()) {
+                trans.delete(LogicalDatastoreType.OPERATIONAL, nodeInstanceId(entry.getKey()));
+                this.nodes.remove(entry.getKey());
+            } else if (!present.pendingPrefixes.isEmpty()) {
+                trans.merge(LogicalDatastoreType.OPERATIONAL, present.attrId, new IgpNodeAttributesBuilder()
+                    .setPrefix(new ArrayList<>(present.pendingPrefixes.values())).build());
+                present.pendingPrefixes.clear();
             }
         }
+        this.pendingNodes.clear();
     }
 
     @Override
     protected void clearTopology() {
         this.nodes.clear();
+        this.pendingNodes.clear();
     }
 }
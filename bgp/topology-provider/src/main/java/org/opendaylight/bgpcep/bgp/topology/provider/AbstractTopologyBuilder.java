@@ -139,6 +139,16 @@ public abstract class AbstractTopologyBuilder<T extends Route> implements Cluste
 
     protected abstract void clearTopology();
 
+    /**
+     * Invoked once all changes of a single notification have been processed, before the transaction
+     * is submitted. Builders which coalesce per-object updates write them out here.
+     *
+     * @param trans transaction which is about to be submitted
+     */
+    protected void flushObjects(final ReadWriteTransaction trans) {
+        // Nothing to do by default
+    }
+
     @Override
     public final InstanceIdentifier<Topology> getInstanceIdentifier() {
         return this.topology;
@@ -183,6 +193,12 @@ public abstract class AbstractTopologyBuilder<T extends Route> implements Cluste
                 break;
             }
         }
+        try {
+            flushObjects(trans);
+        } catch (final RuntimeException e) {
+            LOG.warn("Data change {} (transaction {}) was not completely flushed by listener {}", changes, trans.getIdentifier(), this, e);
+            transactionInError.set(true);
+        }
         Futures.addCallback(trans.submit(), new FutureCallback<Void>() {
             @Override
             public void onSuccess(final Void result) {
@@ -18,8 +18,10 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
@@ -173,65 +175,97 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
     private final class NodeHolder {
         private final Map<PrefixKey, Prefix> prefixes = new HashMap<>();
         private final Map<TpId, TpHolder> tps = new HashMap<>();
+        /*
+         * Children modified since the last sync, a null value marks a removed child.
+         */
+        private final Map<PrefixKey, Prefix> changedPrefixes = new HashMap<>();
+        private final Map<TpId, TerminationPoint> changedTps = new HashMap<>();
+        private final NodeKey key;
         private boolean advertized = false;
-        private IgpNodeAttributesBuilder inab;
-        private NodeBuilder nb;
+        private Node attributes;
+        /*
+         * Whether the node has been written to the backing store, and how its attributes changed since
+         * the last sync.
+         */
+        private boolean present = false;
+        private boolean mergeAttributes = false;
+        private boolean replace = false;
 
         private NodeHolder(final NodeId id) {
-            this.inab = new IgpNodeAttributesBuilder();
-            this.nb = new NodeBuilder().setKey(new NodeKey(id)).setNodeId(id);
+            this.key = new NodeKey(id);
+            this.attributes = emptyAttributes();
+        }
+
+        private Node emptyAttributes() {
+            return new NodeBuilder().setKey(this.key).setNodeId(this.key.getNodeId()).addAugmentation(Node1.class,
+                new Node1Builder().setIgpNodeAttributes(new IgpNodeAttributesBuilder().build()).build()).build();
+        }
+
+        private Node buildNode() {
+            final IgpNodeAttributes ina = this.attributes.getAugmentation(Node1.class).getIgpNodeAttributes();
+            return new NodeBuilder(this.attributes)
+                .setTerminationPoint(Lists.newArrayList(Collections2.transform(this.tps.values(), TpHolder::getTp)))
+                .addAugmentation(Node1.class, new Node1Builder().setIgpNodeAttributes(new IgpNodeAttributesBuilder(ina)
+                    .setPrefix(Lists.newArrayList(this.prefixes.values())).build()).build()).build();
         }
 
         /**
-         * Synchronized in-core state of a node into the backing store using the transaction
+         * Synchronized in-core state of a node into the backing store using the transaction. The whole
+         * node is written only when it is first created or when its attributes need to be replaced, otherwise
+         * only the termination points and prefixes modified since the last synchronization are written.
          *
          * @param trans data modification transaction which to use
          * @return True if the node has been purged, false otherwise.
          */
         private boolean syncState(final WriteTransaction trans) {
-            final InstanceIdentifier<Node> nid = getNodeInstanceIdentifier(this.nb.getKey());
-
-            /*
-             * Transaction's putOperationalData() does a merge. Force it onto a replace
-             * by removing the data. If we decide to remove the node -- we just skip the put.
-             */
-            trans.delete(LogicalDatastoreType.OPERATIONAL, nid);
+            final InstanceIdentifier<Node> nid = getNodeInstanceIdentifier(this.key);
 
             if (!this.advertized) {
                 if (this.tps.isEmpty() && this.prefixes.isEmpty()) {
-                    LOG.debug("Removing unadvertized unused node {}", this.nb.getNodeId());
+                    if (this.present) {
+                        trans.delete(LogicalDatastoreType.OPERATIONAL, nid);
+                    }
+                    LOG.debug("Removing unadvertized unused node {}", this.key.getNodeId());
                     return true;
                 }
 
-                LOG.debug("Node {} is still implied by {} TPs and {} prefixes", this.nb.getNodeId(), this.tps.size(), this.prefixes.size());
+                LOG.debug("Node {} is still implied by {} TPs and {} prefixes", this.key.getNodeId(), this.tps.size(), this.prefixes.size());
             }
 
-            // Re-generate termination points
-            this.nb.setTerminationPoint(Lists.newArrayList(Collections2.transform(this.tps.values(), TpHolder::getTp)));
-
-            // Re-generate prefixes
-            this.inab.setPrefix(Lists.newArrayList(this.prefixes.values()));
-
-            // Write the node out
-            final Node n = this.nb.addAugmentation(Node1.class, new Node1Builder().setIgpNodeAttributes(this.inab.build()).build()).build();
-            trans.put(LogicalDatastoreType.OPERATIONAL, nid, n);
-            LOG.debug("Created node {} at {}", n, nid);
-            return false;
-        }
-
-        private boolean checkForRemoval(final WriteTransaction trans) {
-            final InstanceIdentifier<Node> nid = getNodeInstanceIdentifier(this.nb.getKey());
-
-                if (!this.advertized) {
-                    if (this.tps.isEmpty() && this.prefixes.isEmpty()) {
-                        trans.delete(LogicalDatastoreType.OPERATIONAL, nid);
-                        LOG.debug("Removing unadvertized unused node {}", this.nb.getNodeId());
-                        return true;
+            if (!this.present || this.replace) {
+                final Node n = buildNode();
+                trans.put(LogicalDatastoreType.OPERATIONAL, nid, n);
+                LOG.debug("Created node {} at {}", n, nid);
+            } else {
+                if (this.mergeAttributes) {
+                    trans.merge(LogicalDatastoreType.OPERATIONAL, nid, this.attributes);
+                }
+                for (final Entry<TpId, TerminationPoint> e : this.changedTps.entrySet()) {
+                    final InstanceIdentifier<TerminationPoint> tpId = nid.child(TerminationPoint.class, new TerminationPointKey(e.getKey()));
+                    if (e.getValue() != null) {
+                        trans.put(LogicalDatastoreType.OPERATIONAL, tpId, e.getValue());
+                    } else {
+                        trans.delete(LogicalDatastoreType.OPERATIONAL, tpId);
+                    }
+                }
+                final InstanceIdentifier<IgpNodeAttributes> inaId = nid.builder().augmentation(Node1.class).child(IgpNodeAttributes.class).build();
+                for (final Entry<PrefixKey, Prefix> e : this.changedPrefixes.entrySet()) {
+                    final InstanceIdentifier<Prefix> pfxId = inaId.child(Prefix.class, e.getKey());
+                    if (e.getValue() != null) {
+                        trans.put(LogicalDatastoreType.OPERATIONAL, pfxId, e.getValue());
+                    } else {
+                        trans.delete(LogicalDatastoreType.OPERATIONAL, pfxId);
                     }
-
-                    LOG.debug("Node {} is still implied by {} TPs and {} prefixes", this.nb.getNodeId(), this.tps.size(), this.prefixes.size());
                 }
-                return false;
+                LOG.debug("Updated node {} with {} TPs and {} prefixes", nid, this.changedTps.size(), this.changedPrefixes.size());
+            }
+
+            this.present = true;
+            this.mergeAttributes = false;
+            this.replace = false;
+            this.changedTps.clear();
+            this.changedPrefixes.clear();
+            return false;
         }
 
         private synchronized void removeTp(final TpId tp, final LinkId link, final boolean isRemote) {
@@ -239,6 +273,7 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
             if (h != null) {
                 if (h.removeLink(link, isRemote)) {
                     this.tps.remove(tp);
+                    this.changedTps.put(tp, null);
                     LOG.debug("Removed TP {}", tp);
                 }
             } else {
@@ -247,39 +282,57 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
         }
 
         private void addTp(final TerminationPoint tp, final LinkId link, final boolean isRemote) {
-            final TpHolder h = this.tps.computeIfAbsent(tp.getTpId(), k -> new TpHolder(tp));
+            TpHolder h = this.tps.get(tp.getTpId());
+            if (h == null) {
+                h = new TpHolder(tp);
+                this.tps.put(tp.getTpId(), h);
+                this.changedTps.put(tp.getTpId(), tp);
+            }
             h.addLink(link, isRemote);
         }
 
         private void addPrefix(final Prefix pfx) {
             this.prefixes.put(pfx.getKey(), pfx);
+            this.changedPrefixes.put(pfx.getKey(), pfx);
         }
 
-        private void removePrefix(final PrefixCase p) {
-            this.prefixes.remove(new PrefixKey(p.getPrefixDescriptors().getIpReachabilityInformation()));
+        private void removePrefix(final PrefixKey pk) {
+            this.prefixes.remove(pk);
+            this.changedPrefixes.put(pk, null);
         }
 
         private void unadvertized() {
-            this.inab = new IgpNodeAttributesBuilder();
-            this.nb = new NodeBuilder().setKey(this.nb.getKey()).setNodeId(this.nb.getNodeId());
+            if (this.advertized) {
+                // Attributes cannot be removed by a merge, the node has to be replaced
+                this.replace = true;
+            }
+            this.attributes = emptyAttributes();
             this.advertized = false;
-            LOG.debug("Node {} is unadvertized", this.nb.getNodeId());
+            LOG.debug("Node {} is unadvertized", this.key.getNodeId());
         }
 
         private void advertized(final NodeBuilder nb, final IgpNodeAttributesBuilder inab) {
-            this.nb = requireNonNull(nb);
-            this.inab = requireNonNull(inab);
+            final Node attrs = requireNonNull(nb).addAugmentation(Node1.class,
+                new Node1Builder().setIgpNodeAttributes(requireNonNull(inab).build()).build()).build();
+            if (!this.advertized) {
+                // An unadvertized node carries no attributes, merging them in is enough
+                this.mergeAttributes = true;
+            } else if (!attrs.equals(this.attributes)) {
+                this.replace = true;
+            }
+            this.attributes = attrs;
             this.advertized = true;
             LOG.debug("Node {} is advertized", nb.getNodeId());
         }
 
         private NodeId getNodeId() {
-            return this.nb.getNodeId();
+            return this.key.getNodeId();
         }
     }
 
     private static final Logger LOG = LoggerFactory.getLogger(LinkstateTopologyBuilder.class);
     private final Map<NodeId, NodeHolder> nodes = new HashMap<>();
+    private final Map<NodeId, NodeHolder> dirtyNodes = new LinkedHashMap<>();
 
     public LinkstateTopologyBuilder(final DataBroker dataProvider, final RibReference locRibReference, final TopologyId topologyId) {
         super(dataProvider, locRibReference, topologyId, LINKSTATE_TOPOLOGY_TYPE, LinkstateAddressFamily.class, LinkstateSubsequentAddressFamily.class);
@@ -495,16 +548,11 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
         return ret;
     }
 
-    private void putNode(final WriteTransaction trans, final NodeHolder holder) {
-        if (holder.syncState(trans)) {
-            this.nodes.remove(holder.getNodeId());
-        }
-    }
-
-    private void checkNodeForRemoval(final WriteTransaction trans, final NodeHolder holder) {
-        if (holder.checkForRemoval(trans)) {
-            this.nodes.remove(holder.getNodeId());
-        }
+    /**
+     * Mark a node for synchronization once all changes in the current batch have been processed.
+     */
+    private void markDirty(final NodeHolder holder) {
+        this.dirtyNodes.put(holder.getNodeId(), holder);
     }
 
     private static void augmentProtocolId(final LinkstateRoute value, final IgpLinkAttributesBuilder ilab,
@@ -575,30 +623,14 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
         lb.setDestination(new DestinationBuilder().setDestNode(dstNode).setDestTp(dstTp.getTpId()).build());
 
         LOG.debug("Created TP {} as link source", srcTp);
-        NodeHolder snh = this.nodes.get(srcNode);
-        if (snh == null) {
-            snh = getNode(srcNode);
-            snh.addTp(srcTp, lb.getLinkId(), false);
-            putNode(trans, snh);
-        } else {
-            snh.addTp(srcTp, lb.getLinkId(), false);
-            final InstanceIdentifier<Node> nid = getNodeInstanceIdentifier(new NodeKey(snh.getNodeId()));
-            trans.put(LogicalDatastoreType.OPERATIONAL, nid.child(TerminationPoint.class, srcTp.getKey()), srcTp);
-        }
+        final NodeHolder snh = getNode(srcNode);
+        snh.addTp(srcTp, lb.getLinkId(), false);
+        markDirty(snh);
 
         LOG.debug("Created TP {} as link destination", dstTp);
-        NodeHolder dnh = this.nodes.get(dstNode);
-        if (dnh == null) {
-            dnh = getNode(dstNode);
-            dnh.addTp(dstTp, lb.getLinkId(), true);
-            putNode(trans, dnh);
-        } else {
-            dnh.addTp(dstTp, lb.getLinkId(), true);
-            final InstanceIdentifier<Node> nid = getInstanceIdentifier().child(
-                    org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node.class,
-                    new NodeKey(dnh.getNodeId()));
-            trans.put(LogicalDatastoreType.OPERATIONAL, nid.child(TerminationPoint.class, dstTp.getKey()), dstTp);
-        }
+        final NodeHolder dnh = getNode(dstNode);
+        dnh.addTp(dstTp, lb.getLinkId(), true);
+        markDirty(dnh);
 
         final InstanceIdentifier<Link> lid = buildLinkIdentifier(lb.getLinkId());
         final Link link = lb.build();
@@ -611,10 +643,8 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
             final LinkId link, final boolean isRemote) {
         final NodeHolder nh = this.nodes.get(node);
         if (nh != null) {
-            final InstanceIdentifier<Node> nid = getNodeInstanceIdentifier(new NodeKey(nh.getNodeId()));
-            trans.delete(LogicalDatastoreType.OPERATIONAL, nid.child(TerminationPoint.class, new TerminationPointKey(tp)));
             nh.removeTp(tp, link, isRemote);
-            checkNodeForRemoval(trans, nh);
+            markDirty(nh);
         } else {
             LOG.warn("Removed non-existent node {}", node);
         }
@@ -788,7 +818,7 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
         nb.setKey(new NodeKey(nb.getNodeId()));
 
         nh.advertized(nb, inab);
-        putNode(trans, nh);
+        markDirty(nh);
     }
 
     private void removeNode(final WriteTransaction trans, final UriBuilder base, final NodeCase n) {
@@ -796,7 +826,7 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
         final NodeHolder nh = this.nodes.get(id);
         if (nh != null) {
             nh.unadvertized();
-            putNode(trans, nh);
+            markDirty(nh);
         } else {
             LOG.warn("Node {} does not have a holder", id);
         }
@@ -860,17 +890,9 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
          * All set, but... the hosting node may not exist, we may need to fake it.
          */
         final NodeId node = buildNodeId(base, p.getAdvertisingNodeDescriptors());
-        NodeHolder nh = this.nodes.get(node);
-        if (nh == null) {
-            nh = getNode(node);
-            nh.addPrefix(pfx);
-            putNode(trans, nh);
-        } else {
-            nh.addPrefix(pfx);
-            final InstanceIdentifier<Node> nid = getNodeInstanceIdentifier(new NodeKey(nh.getNodeId()));
-            final InstanceIdentifier<IgpNodeAttributes> inaId = nid.builder().augmentation(Node1.class).child(IgpNodeAttributes.class).build();
-            trans.put(LogicalDatastoreType.OPERATIONAL, inaId.child(Prefix.class, pk), pfx);
-        }
+        final NodeHolder nh = getNode(node);
+        nh.addPrefix(pfx);
+        markDirty(nh);
     }
 
     private void removePrefix(final WriteTransaction trans, final UriBuilder base, final PrefixCase p) {
@@ -878,17 +900,13 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
         final NodeHolder nh = this.nodes.get(node);
         if (nh != null) {
             LOG.debug("Removed prefix {}", p);
-            final InstanceIdentifier<Node> nid = getNodeInstanceIdentifier(new NodeKey(nh.getNodeId()));
-            final InstanceIdentifier<IgpNodeAttributes> inaId = nid.builder().augmentation(Node1.class).child(IgpNodeAttributes.class).build();
             final IpPrefix ippfx = p.getPrefixDescriptors().getIpReachabilityInformation();
             if (ippfx == null) {
                 LOG.warn("IP reachability not present in prefix {}, skipping it", p);
                 return;
             }
-            final PrefixKey pk = new PrefixKey(ippfx);
-            trans.delete(LogicalDatastoreType.OPERATIONAL, inaId.child(Prefix.class, pk));
-            nh.removePrefix(p);
-            checkNodeForRemoval(trans, nh);
+            nh.removePrefix(new PrefixKey(ippfx));
+            markDirty(nh);
         } else {
             LOG.warn("Removing prefix from non-existing node {}", node);
         }
@@ -947,8 +965,19 @@ public class LinkstateTopologyBuilder extends AbstractTopologyBuilder<LinkstateR
         return tablesId.child((Class)LinkstateRoutes.class).child(LinkstateRoute.class);
     }
 
+    @Override
+    protected void flushObjects(final ReadWriteTransaction trans) {
+        for (final NodeHolder holder : this.dirtyNodes.values()) {
+            if (holder.syncState(trans)) {
+                this.nodes.remove(holder.getNodeId());
+            }
+        }
+        this.dirtyNodes.clear();
+    }
+
     @Override
     protected void clearTopology() {
         this.nodes.clear();
+        this.dirtyNodes.clear();
     }
 }
@@ -46,11 +46,13 @@ public class Ipv4ReachabilityTopologyBuilderTest extends AbstractTopologyBuilder
 
     static final long PATH_ID = 1;
     private static final String ROUTE_IP4PREFIX = "127.1.0.0/32";
+    private static final String SECOND_ROUTE_IP4PREFIX = "127.1.0.8/32";
     private static final String NEXT_HOP = "127.1.0.1";
     private static final String NEW_NEXT_HOP = "127.1.0.2";
 
     private Ipv4ReachabilityTopologyBuilder ipv4TopoBuilder;
     private InstanceIdentifier<Ipv4Route> ipv4RouteIID;
+    private InstanceIdentifier<Ipv4Route> secondIpv4RouteIID;
 
     @Before
     @Override
@@ -63,6 +65,9 @@ public class Ipv4ReachabilityTopologyBuilderTest extends AbstractTopologyBuilder
 
         this.ipv4RouteIID = path.builder().child((Class) Ipv4Routes.class)
             .child(Ipv4Route.class, new Ipv4RouteKey(new PathId(PATH_ID), new Ipv4Prefix(ROUTE_IP4PREFIX))).build();
+        this.secondIpv4RouteIID = path.builder().child((Class) Ipv4Routes.class)
+            .child(Ipv4Route.class, new Ipv4RouteKey(new PathId(PATH_ID), new Ipv4Prefix(SECOND_ROUTE_IP4PREFIX)))
+            .build();
     }
 
     @Test
@@ -106,6 +111,44 @@ public class Ipv4ReachabilityTopologyBuilderTest extends AbstractTopologyBuilder
         checkNotPresentOperational(getDataBroker(), this.ipv4TopoBuilder.getInstanceIdentifier());
     }
 
+    @Test
+    public void testNodeWithMultiplePrefixes() throws Exception {
+        final WriteTransaction wTx = getDataBroker().newWriteOnlyTransaction();
+        wTx.put(LogicalDatastoreType.OPERATIONAL, this.ipv4RouteIID, createIpv4Route(NEXT_HOP), true);
+        wTx.put(LogicalDatastoreType.OPERATIONAL, this.secondIpv4RouteIID,
+            createIpv4Route(NEXT_HOP, SECOND_ROUTE_IP4PREFIX), true);
+        wTx.submit();
+        readDataOperational(getDataBroker(), this.ipv4TopoBuilder.getInstanceIdentifier(), topology -> {
+            assertEquals(1, topology.getNode().size());
+            assertEquals(2, topology.getNode().get(0).getAugmentation(Node1.class).getIgpNodeAttributes()
+                .getPrefix().size());
+            return topology;
+        });
+
+        // node is kept while it still advertises a prefix
+        final WriteTransaction deleteTx = getDataBroker().newWriteOnlyTransaction();
+        deleteTx.delete(LogicalDatastoreType.OPERATIONAL, this.ipv4RouteIID);
+        deleteTx.submit();
+        readDataOperational(getDataBroker(), this.ipv4TopoBuilder.getInstanceIdentifier(), topology -> {
+            assertEquals(1, topology.getNode().size());
+            final Node node = topology.getNode().get(0);
+            assertEquals(1, node.getAugmentation(Node1.class).getIgpNodeAttributes().getPrefix().size());
+            assertEquals(SECOND_ROUTE_IP4PREFIX, node.getAugmentation(Node1.class).getIgpNodeAttributes()
+                .getPrefix().get(0).getPrefix().getIpv4Prefix().getValue());
+            return topology;
+        });
+
+        final WriteTransaction lastDeleteTx = getDataBroker().newWriteOnlyTransaction();
+        lastDeleteTx.delete(LogicalDatastoreType.OPERATIONAL, this.secondIpv4RouteIID);
+        lastDeleteTx.submit();
+        readDataOperational(getDataBroker(), this.ipv4TopoBuilder.getInstanceIdentifier(), topology -> {
+            assertEquals(0, topology.getNode().size());
+            return topology;
+        });
+
+        this.ipv4TopoBuilder.close();
+    }
+
     private void updateIpv4Route(final Ipv4Route data) {
         final WriteTransaction wTx = getDataBroker().newWriteOnlyTransaction();
         wTx.put(LogicalDatastoreType.OPERATIONAL, this.ipv4RouteIID, data, true);
@@ -113,12 +156,16 @@ public class Ipv4ReachabilityTopologyBuilderTest extends AbstractTopologyBuilder
     }
 
     private static Ipv4Route createIpv4Route(final String nextHop) {
+        return createIpv4Route(nextHop, ROUTE_IP4PREFIX);
+    }
+
+    private static Ipv4Route createIpv4Route(final String nextHop, final String prefix) {
         final Attributes attribute = new AttributesBuilder()
             .setOrigin(new OriginBuilder().setValue(BgpOrigin.Igp).build())
             .setCNextHop(new Ipv4NextHopCaseBuilder().setIpv4NextHop(new Ipv4NextHopBuilder()
                 .setGlobal(new Ipv4Address(nextHop)).build()).build()).build();
-        return new Ipv4RouteBuilder().setKey(new Ipv4RouteKey(new PathId(PATH_ID), new Ipv4Prefix(ROUTE_IP4PREFIX)))
-            .setPrefix(new Ipv4Prefix(ROUTE_IP4PREFIX)).setAttributes(attribute).build();
+        return new Ipv4RouteBuilder().setKey(new Ipv4RouteKey(new PathId(PATH_ID), new Ipv4Prefix(prefix)))
+            .setPrefix(new Ipv4Prefix(prefix)).setAttributes(attribute).build();
     }
 
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.bgpcep.bgp.topology.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.opendaylight.protocol.util.CheckUtil.readDataOperational;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.AsNumber;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpPrefix;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Prefix;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.Identifier;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.LinkstateAddressFamily;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.LinkstateSubsequentAddressFamily;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.ProtocolId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.TopologyIdentifier;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.object.type.LinkCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.object.type.NodeCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.object.type.PrefixCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.object.type.link._case.LinkDescriptorsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.object.type.link._case.LocalNodeDescriptorsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.object.type.link._case.RemoteNodeDescriptorsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.object.type.node._case.NodeDescriptorsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.object.type.prefix._case.AdvertisingNodeDescriptorsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.object.type.prefix._case.PrefixDescriptorsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.path.attribute.link.state.attribute.LinkAttributesCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.path.attribute.link.state.attribute.NodeAttributesCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.path.attribute.link.state.attribute.PrefixAttributesCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.path.attribute.link.state.attribute.link.attributes._case.LinkAttributesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.path.attribute.link.state.attribute.node.attributes._case.NodeAttributesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.path.attribute.link.state.attribute.prefix.attributes._case.PrefixAttributesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.routes.LinkstateRoutes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.routes.linkstate.routes.LinkstateRoute;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.routes.linkstate.routes.LinkstateRouteBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.routes.linkstate.routes.LinkstateRouteKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.routes.linkstate.routes.linkstate.route.Attributes1;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.linkstate.routes.linkstate.routes.linkstate.route.Attributes1Builder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.node.identifier.CRouterIdentifier;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.node.identifier.c.router.identifier.IsisNodeCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.linkstate.rev150210.node.identifier.c.router.identifier.isis.node._case.IsisNodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.Attributes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.AttributesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.message.rev130919.path.attributes.attributes.OriginBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.bgp.rib.rib.LocRib;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.Tables;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.rib.rev130925.rib.TablesKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.bgp.types.rev130919.BgpOrigin;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.network.concepts.rev131125.IgpMetric;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.network.concepts.rev131125.IsoSystemIdentifier;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.nt.l3.unicast.igp.topology.rev131021.Node1;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays a synthetic BGP-LS feed into the linkstate topology builder, backed by the in-memory data broker. Every
+ * node is advertised with a number of prefixes and a link to the next node, then one prefix of each node flaps.
+ * The number of nodes is set by the org.opendaylight.bgpcep.bgp.topology.benchmark.nodes property and the time
+ * taken for the topology to converge is logged. Convergence is detected by polling, so the results have a
+ * granularity of a few hundred milliseconds. It is not part of the default test run, use the benchmark profile
+ * to run it.
+ */
+public class LinkstateTopologyBuilderBenchmark extends AbstractTopologyBuilderTest {
+    private static final Logger LOG = LoggerFactory.getLogger(LinkstateTopologyBuilderBenchmark.class);
+    private static final int NODES = Integer.getInteger("org.opendaylight.bgpcep.bgp.topology.benchmark.nodes", 1000);
+    private static final int PREFIXES_PER_NODE = 10;
+    private static final int ROUTES_PER_TRANSACTION = 1000;
+    private static final AsNumber AS_NUMBER = new AsNumber(1L);
+    private static final Identifier IDENTIFIER = new Identifier(BigInteger.ONE);
+
+    private LinkstateTopologyBuilder linkstateTopoBuilder;
+    private InstanceIdentifier<LinkstateRoutes> routesIID;
+    private WriteTransaction wTx;
+    private int routesInTx;
+
+    @Before
+    @Override
+    public void setUp() {
+        super.setUp();
+        this.linkstateTopoBuilder = new LinkstateTopologyBuilder(getDataBroker(), LOC_RIB_REF, TEST_TOPOLOGY_ID);
+        this.linkstateTopoBuilder.start();
+        this.routesIID = LOC_RIB_REF.getInstanceIdentifier().builder().child(LocRib.class)
+            .child(Tables.class, new TablesKey(LinkstateAddressFamily.class, LinkstateSubsequentAddressFamily.class))
+            .child((Class) LinkstateRoutes.class).build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.linkstateTopoBuilder.close().get();
+    }
+
+    @Test
+    public void testFeedReplay() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < NODES; i++) {
+            put(createNodeRoute(i));
+            for (int p = 0; p < PREFIXES_PER_NODE; p++) {
+                put(createPrefixRoute(i, p));
+            }
+            put(createLinkRoute(i, (i + 1) % NODES));
+        }
+        submit();
+        awaitPrefixes(NODES * PREFIXES_PER_NODE);
+        readDataOperational(getDataBroker(), this.linkstateTopoBuilder.getInstanceIdentifier(), topology -> {
+            assertEquals(NODES, topology.getLink().size());
+            return topology;
+        });
+        LOG.info("Initial feed of {} nodes with {} prefixes each converged in {}ms", NODES, PREFIXES_PER_NODE,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        start = System.nanoTime();
+        for (int i = 0; i < NODES; i++) {
+            delete(createPrefixRoute(i, 0));
+        }
+        submit();
+        awaitPrefixes(NODES * (PREFIXES_PER_NODE - 1));
+        for (int i = 0; i < NODES; i++) {
+            put(createPrefixRoute(i, 0));
+        }
+        submit();
+        awaitPrefixes(NODES * PREFIXES_PER_NODE);
+        LOG.info("Prefix flap on {} nodes converged in {}ms", NODES,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void awaitPrefixes(final int expected) throws Exception {
+        readDataOperational(getDataBroker(), this.linkstateTopoBuilder.getInstanceIdentifier(), topology -> {
+            assertEquals(NODES, topology.getNode().size());
+            assertEquals(expected, countPrefixes(topology));
+            return topology;
+        });
+    }
+
+    private static int countPrefixes(final Topology topology) {
+        return topology.getNode().stream().map(node -> node.getAugmentation(Node1.class).getIgpNodeAttributes())
+            .mapToInt(attrs -> attrs.getPrefix() == null ? 0 : attrs.getPrefix().size()).sum();
+    }
+
+    private InstanceIdentifier<LinkstateRoute> routeIID(final LinkstateRoute route) {
+        return this.routesIID.child(LinkstateRoute.class, route.getKey());
+    }
+
+    private void put(final LinkstateRoute route) {
+        transaction().put(LogicalDatastoreType.OPERATIONAL, routeIID(route), route, true);
+        countRoute();
+    }
+
+    private void delete(final LinkstateRoute route) {
+        transaction().delete(LogicalDatastoreType.OPERATIONAL, routeIID(route));
+        countRoute();
+    }
+
+    private WriteTransaction transaction() {
+        if (this.wTx == null) {
+            this.wTx = getDataBroker().newWriteOnlyTransaction();
+        }
+        return this.wTx;
+    }
+
+    private void countRoute() {
+        if (++this.routesInTx == ROUTES_PER_TRANSACTION) {
+            submit();
+        }
+    }
+
+    private void submit() {
+        if (this.wTx != null) {
+            this.wTx.submit();
+            this.wTx = null;
+            this.routesInTx = 0;
+        }
+    }
+
+    private static CRouterIdentifier routerId(final int node) {
+        return new IsisNodeCaseBuilder().setIsisNode(new IsisNodeBuilder().setIsoSystemId(new IsoSystemIdentifier(
+            new byte[]{0, 0, (byte) (node >>> 24), (byte) (node >>> 16), (byte) (node >>> 8), (byte) node})).build())
+            .build();
+    }
+
+    private static LinkstateRouteBuilder createBaseBuilder(final String routeKey) {
+        final byte[] key = routeKey.getBytes(StandardCharsets.UTF_8);
+        return new LinkstateRouteBuilder().setIdentifier(IDENTIFIER).setKey(new LinkstateRouteKey(key)).setRouteKey(key)
+            .setProtocolId(ProtocolId.IsisLevel2);
+    }
+
+    private static Attributes createAttributes(final Attributes1 linkstateAttributes) {
+        return new AttributesBuilder().setOrigin(new OriginBuilder().setValue(BgpOrigin.Igp).build())
+            .addAugmentation(Attributes1.class, linkstateAttributes).build();
+    }
+
+    private static LinkstateRoute createNodeRoute(final int node) {
+        return createBaseBuilder("node-" + node)
+            .setObjectType(new NodeCaseBuilder().setNodeDescriptors(new NodeDescriptorsBuilder()
+                .setAsNumber(AS_NUMBER).setCRouterIdentifier(routerId(node)).build()).build())
+            .setAttributes(createAttributes(new Attributes1Builder().setLinkStateAttribute(new NodeAttributesCaseBuilder()
+                .setNodeAttributes(new NodeAttributesBuilder().setDynamicHostname("node" + node).build()).build())
+                .build())).build();
+    }
+
+    private static LinkstateRoute createPrefixRoute(final int node, final int prefix) {
+        final IpPrefix ipPrefix = new IpPrefix(new Ipv4Prefix("10." + (node >>> 8 & 0xff) + "." + (node & 0xff) + "."
+            + prefix + "/32"));
+        return createBaseBuilder("prefix-" + node + "-" + prefix)
+            .setObjectType(new PrefixCaseBuilder()
+                .setAdvertisingNodeDescriptors(new AdvertisingNodeDescriptorsBuilder().setAsNumber(AS_NUMBER)
+                    .setCRouterIdentifier(routerId(node)).build())
+                .setPrefixDescriptors(new PrefixDescriptorsBuilder().setIpReachabilityInformation(ipPrefix).build())
+                .build())
+            .setAttributes(createAttributes(new Attributes1Builder().setLinkStateAttribute(
+                new PrefixAttributesCaseBuilder().setPrefixAttributes(new PrefixAttributesBuilder()
+                    .setPrefixMetric(new IgpMetric(10L)).build()).build()).build())).build();
+    }
+
+    private static LinkstateRoute createLinkRoute(final int local, final int remote) {
+        return createBaseBuilder("link-" + local + "-" + remote)
+            .setObjectType(new LinkCaseBuilder()
+                .setLocalNodeDescriptors(new LocalNodeDescriptorsBuilder().setAsNumber(AS_NUMBER)
+                    .setCRouterIdentifier(routerId(local)).build())
+                .setRemoteNodeDescriptors(new RemoteNodeDescriptorsBuilder().setAsNumber(AS_NUMBER)
+                    .setCRouterIdentifier(routerId(remote)).build())
+                .setLinkDescriptors(new LinkDescriptorsBuilder().setMultiTopologyId(new TopologyIdentifier(1)).build())
+                .build())
+            .setAttributes(createAttributes(new Attributes1Builder().setLinkStateAttribute(new LinkAttributesCaseBuilder()
+                .setLinkAttributes(new LinkAttributesBuilder().setLinkName("link" + local).build()).build()).build()))
+            .build();
+    }
+}
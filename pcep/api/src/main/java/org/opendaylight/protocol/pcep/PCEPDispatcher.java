@@ -54,8 +54,23 @@ public interface PCEPDispatcher {
      * @param peerProposal information used in our Open message
      * @return instance of PCEPServer
      */
-    ChannelFuture createServer(InetSocketAddress address, KeyMapping keys, PCEPSessionListenerFactory listenerFactory,
-        PCEPPeerProposal peerProposal);
+    default ChannelFuture createServer(final InetSocketAddress address, final KeyMapping keys,
+        final PCEPSessionListenerFactory listenerFactory, final PCEPPeerProposal peerProposal) {
+        return createServer(address, keys, PCEPTransportSettings.DEFAULT, listenerFactory, peerProposal);
+    }
+
+    /**
+     * Creates server, whose accepted sessions use the specified transport settings.
+     *
+     * @param address to be bound with the server
+     * @param keys RFC2385 key mapping
+     * @param transportSettings settings of the accepted sessions' channels
+     * @param listenerFactory to create listeners for clients
+     * @param peerProposal information used in our Open message
+     * @return instance of PCEPServer
+     */
+    ChannelFuture createServer(InetSocketAddress address, KeyMapping keys, PCEPTransportSettings transportSettings,
+        PCEPSessionListenerFactory listenerFactory, PCEPPeerProposal peerProposal);
 
     PCEPSessionNegotiatorFactory<?> getPCEPSessionNegotiatorFactory();
 }
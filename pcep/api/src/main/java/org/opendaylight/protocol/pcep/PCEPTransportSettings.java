@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.protocol.pcep;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.Objects;
+
+/**
+ * Transport settings of the channels of sessions accepted by a PCEP server.
+ */
+public final class PCEPTransportSettings {
+    /**
+     * Value of the event loop index, which lets sessions be registered with any worker event loop.
+     */
+    public static final int NO_EVENT_LOOP = -1;
+
+    public static final PCEPTransportSettings DEFAULT = new PCEPTransportSettings(1, false, 0, 0, 0, 0,
+        NO_EVENT_LOOP);
+
+    private final int maxMessagesPerRead;
+    private final boolean edgeTriggered;
+    private final int receiveBufferSize;
+    private final int sendBufferSize;
+    private final int writeBufferLowWaterMark;
+    private final int writeBufferHighWaterMark;
+    private final int eventLoop;
+
+    public PCEPTransportSettings(final int maxMessagesPerRead, final boolean edgeTriggered,
+        final int receiveBufferSize, final int sendBufferSize, final int writeBufferLowWaterMark,
+        final int writeBufferHighWaterMark, final int eventLoop) {
+        Preconditions.checkArgument(maxMessagesPerRead > 0, "Invalid maximum messages per read %s",
+            maxMessagesPerRead);
+        Preconditions.checkArgument(receiveBufferSize >= 0, "Invalid receive buffer size %s", receiveBufferSize);
+        Preconditions.checkArgument(sendBufferSize >= 0, "Invalid send buffer size %s", sendBufferSize);
+        Preconditions.checkArgument(writeBufferLowWaterMark >= 0
+                && writeBufferLowWaterMark <= writeBufferHighWaterMark,
+            "Invalid write buffer water marks %s-%s", writeBufferLowWaterMark, writeBufferHighWaterMark);
+        Preconditions.checkArgument(eventLoop >= NO_EVENT_LOOP, "Invalid event loop %s", eventLoop);
+        this.maxMessagesPerRead = maxMessagesPerRead;
+        this.edgeTriggered = edgeTriggered;
+        this.receiveBufferSize = receiveBufferSize;
+        this.sendBufferSize = sendBufferSize;
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+        this.eventLoop = eventLoop;
+    }
+
+    /**
+     * Maximum number of messages read from a session's channel before other channels of the same event loop get
+     * their turn.
+     *
+     * @return number of messages
+     */
+    public int getMaxMessagesPerRead() {
+        return this.maxMessagesPerRead;
+    }
+
+    /**
+     * Whether epoll transport uses edge-triggered instead of level-triggered mode.
+     *
+     * @return true if edge-triggered mode is used
+     */
+    public boolean isEdgeTriggered() {
+        return this.edgeTriggered;
+    }
+
+    /**
+     * Socket receive buffer size.
+     *
+     * @return size in bytes, 0 if the operating system default is used
+     */
+    public int getReceiveBufferSize() {
+        return this.receiveBufferSize;
+    }
+
+    /**
+     * Socket send buffer size.
+     *
+     * @return size in bytes, 0 if the operating system default is used
+     */
+    public int getSendBufferSize() {
+        return this.sendBufferSize;
+    }
+
+    /**
+     * Amount of pending outbound data, under which a channel which stopped being writable becomes writable again.
+     *
+     * @return size in bytes
+     */
+    public int getWriteBufferLowWaterMark() {
+        return this.writeBufferLowWaterMark;
+    }
+
+    /**
+     * Amount of pending outbound data, over which a channel stops being writable.
+     *
+     * @return size in bytes, 0 if the transport default water marks are used
+     */
+    public int getWriteBufferHighWaterMark() {
+        return this.writeBufferHighWaterMark;
+    }
+
+    /**
+     * Index of the worker event loop the server's sessions are registered with. The index is taken modulo
+     * the number of worker event loops.
+     *
+     * @return event loop index, {@link #NO_EVENT_LOOP} if not pinned
+     */
+    public int getEventLoop() {
+        return this.eventLoop;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.maxMessagesPerRead, this.edgeTriggered, this.receiveBufferSize, this.sendBufferSize,
+            this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, this.eventLoop);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PCEPTransportSettings)) {
+            return false;
+        }
+        final PCEPTransportSettings other = (PCEPTransportSettings) obj;
+        return this.maxMessagesPerRead == other.maxMessagesPerRead && this.edgeTriggered == other.edgeTriggered
+            && this.receiveBufferSize == other.receiveBufferSize && this.sendBufferSize == other.sendBufferSize
+            && this.writeBufferLowWaterMark == other.writeBufferLowWaterMark
+            && this.writeBufferHighWaterMark == other.writeBufferHighWaterMark && this.eventLoop == other.eventLoop;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("maxMessagesPerRead", this.maxMessagesPerRead)
+            .add("edgeTriggered", this.edgeTriggered).add("receiveBufferSize", this.receiveBufferSize)
+            .add("sendBufferSize", this.sendBufferSize).add("writeBufferLowWaterMark", this.writeBufferLowWaterMark)
+            .add("writeBufferHighWaterMark", this.writeBufferHighWaterMark).add("eventLoop", this.eventLoop)
+            .toString();
+    }
+}
@@ -47,7 +47,9 @@ public abstract class AbstractEROWithSubobjectsParser implements ObjectParser, O
                 throw new PCEPDeserializerException("Wrong length specified. Passed: " + length + "; Expected: <= "
                         + buffer.readableBytes());
             }
-            LOG.debug("Attempt to parse subobject from bytes: {}", ByteBufUtil.hexDump(buffer));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Attempt to parse subobject from bytes: {}", ByteBufUtil.hexDump(buffer));
+            }
             final Subobject sub = this.subobjReg.parseSubobject(type, buffer.readSlice(length), loose);
             if (sub == null) {
                 LOG.warn("Unknown subobject type: {}. Ignoring subobject.", type);
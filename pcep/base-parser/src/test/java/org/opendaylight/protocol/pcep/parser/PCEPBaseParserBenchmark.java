@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.pcep.parser;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.protocol.pcep.parser.message.PCEPReplyMessageParser;
+import org.opendaylight.protocol.pcep.parser.message.PCEPRequestMessageParser;
+import org.opendaylight.protocol.pcep.spi.MessageParser;
+import org.opendaylight.protocol.pcep.spi.pojo.SimplePCEPExtensionProviderContext;
+import org.opendaylight.protocol.util.ByteArray;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.message.rev131007.Pcrep;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.message.rev131007.Pcreq;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.types.rev131005.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses captured PCReq and PCRep messages repeatedly, as exchanged by a stateless PCE and its PCCs, and measures
+ * the parsing rate and the allocation per message. The number of parsed messages is set by
+ * the org.opendaylight.protocol.pcep.parser.benchmark.messages property and the results are logged.
+ * It is not part of the default test run, use the benchmark profile to run it.
+ */
+public class PCEPBaseParserBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(PCEPBaseParserBenchmark.class);
+    private static final int MESSAGES = Integer.getInteger("org.opendaylight.protocol.pcep.parser.benchmark.messages",
+        100000);
+    private static final int COMMON_HEADER_LENGTH = 4;
+
+    private SimplePCEPExtensionProviderContext ctx;
+    private BaseParserExtensionActivator activator;
+
+    @Before
+    public void setUp() {
+        this.ctx = new SimplePCEPExtensionProviderContext();
+        this.activator = new BaseParserExtensionActivator();
+        this.activator.start(this.ctx);
+    }
+
+    @After
+    public void tearDown() {
+        this.activator.close();
+    }
+
+    @Test
+    public void testParseMessages() throws Exception {
+        final MessageParser requestParser = new PCEPRequestMessageParser(this.ctx.getObjectHandlerRegistry());
+        final MessageParser replyParser = new PCEPReplyMessageParser(this.ctx.getObjectHandlerRegistry());
+        final ByteBuf request = loadBody("src/test/resources/PCReq.3.bin");
+        final ByteBuf reply = loadBody("src/test/resources/PCRep.5.bin");
+
+        // first round warms up the parsers
+        for (int round = 0; round < 2; round++) {
+            assertTrue(run(round, "PCReq", requestParser, request) instanceof Pcreq);
+            assertTrue(run(round, "PCRep", replyParser, reply) instanceof Pcrep);
+        }
+    }
+
+    private static Message run(final int round, final String name, final MessageParser parser, final ByteBuf body)
+        throws Exception {
+        final List<Message> errors = new ArrayList<>();
+        Message parsed = null;
+        final long allocated = allocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            parsed = parser.parseMessage(body.duplicate(), errors);
+            assertNotNull(parsed);
+        }
+        final long elapsed = Math.max(1, System.nanoTime() - start);
+        final long perMessage = (allocatedBytes() - allocated) / MESSAGES;
+        assertTrue(errors.isEmpty());
+        LOG.info("Round {}: {} {} messages in {}ms, {} messages/s, allocated {}B/message", round, MESSAGES, name,
+            TimeUnit.NANOSECONDS.toMillis(elapsed), MESSAGES * TimeUnit.SECONDS.toNanos(1) / elapsed, perMessage);
+        return parsed;
+    }
+
+    /*
+     * Bytes allocated by the current thread, which does all the parsing, when the JVM is able to tell.
+     */
+    private static long allocatedBytes() {
+        final ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        if (!(mxBean instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) mxBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static ByteBuf loadBody(final String file) throws Exception {
+        final byte[] message = ByteArray.fileToBytes(file);
+        return Unpooled.wrappedBuffer(message, COMMON_HEADER_LENGTH, message.length - COMMON_HEADER_LENGTH);
+    }
+}
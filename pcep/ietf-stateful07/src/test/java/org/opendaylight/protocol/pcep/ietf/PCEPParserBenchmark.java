@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.pcep.ietf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.protocol.pcep.ietf.initiated00.CInitiated00PCInitiateMessageParser;
+import org.opendaylight.protocol.pcep.ietf.initiated00.CrabbeInitiatedActivator;
+import org.opendaylight.protocol.pcep.ietf.stateful07.Stateful07PCReportMessageParser;
+import org.opendaylight.protocol.pcep.ietf.stateful07.Stateful07PCUpdateRequestMessageParser;
+import org.opendaylight.protocol.pcep.ietf.stateful07.StatefulActivator;
+import org.opendaylight.protocol.pcep.parser.BaseParserExtensionActivator;
+import org.opendaylight.protocol.pcep.spi.MessageParser;
+import org.opendaylight.protocol.pcep.spi.pojo.SimplePCEPExtensionProviderContext;
+import org.opendaylight.protocol.util.ByteArray;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.ietf.stateful.rev131222.Pcrpt;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.types.rev131005.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses captured PCRpt, PCUpd and PCInitiate messages repeatedly, together with a PCRpt carrying many reports,
+ * as sent by a PCC synchronizing its LSPs, and measures the parsing rate and the allocation per message.
+ * The number of parsed messages is set by the org.opendaylight.protocol.pcep.ietf.benchmark.messages property
+ * and the results are logged.
+ * It is not part of the default test run, use the benchmark profile to run it.
+ */
+public class PCEPParserBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(PCEPParserBenchmark.class);
+    private static final int MESSAGES = Integer.getInteger("org.opendaylight.protocol.pcep.ietf.benchmark.messages", 100000);
+    private static final int REPORTS_PER_MESSAGE = 1000;
+    private static final int COMMON_HEADER_LENGTH = 4;
+
+    private SimplePCEPExtensionProviderContext ctx;
+    private BaseParserExtensionActivator baseActivator;
+    private StatefulActivator statefulActivator;
+    private CrabbeInitiatedActivator initiatedActivator;
+
+    @Before
+    public void setUp() {
+        this.ctx = new SimplePCEPExtensionProviderContext();
+        this.baseActivator = new BaseParserExtensionActivator();
+        this.baseActivator.start(this.ctx);
+        this.statefulActivator = new StatefulActivator();
+        this.statefulActivator.start(this.ctx);
+        this.initiatedActivator = new CrabbeInitiatedActivator();
+        this.initiatedActivator.start(this.ctx);
+    }
+
+    @After
+    public void tearDown() {
+        this.initiatedActivator.close();
+        this.statefulActivator.close();
+        this.baseActivator.close();
+    }
+
+    @Test
+    public void testParseMessages() throws Exception {
+        final Stateful07PCReportMessageParser reportParser =
+            new Stateful07PCReportMessageParser(this.ctx.getObjectHandlerRegistry());
+        final ByteBuf report = loadBody("src/test/resources/PCRpt.3.bin");
+        final ByteBuf fullReport = Unpooled.buffer(report.readableBytes() * REPORTS_PER_MESSAGE);
+        for (int i = 0; i < REPORTS_PER_MESSAGE; i++) {
+            fullReport.writeBytes(report, report.readerIndex(), report.readableBytes());
+        }
+
+        // first round warms up the parsers
+        for (int round = 0; round < 2; round++) {
+            run(round, "PCRpt", reportParser, report, MESSAGES);
+            run(round, "PCUpd", new Stateful07PCUpdateRequestMessageParser(this.ctx.getObjectHandlerRegistry()),
+                loadBody("src/test/resources/PCUpd.2.bin"), MESSAGES);
+            run(round, "PCInitiate", new CInitiated00PCInitiateMessageParser(this.ctx.getObjectHandlerRegistry()),
+                loadBody("src/test/resources/Pcinit.bin"), MESSAGES);
+            final Message parsed = run(round, "PCRpt with " + REPORTS_PER_MESSAGE + " reports", reportParser,
+                fullReport, Math.max(1, MESSAGES / REPORTS_PER_MESSAGE));
+            assertTrue(parsed instanceof Pcrpt);
+            assertEquals(REPORTS_PER_MESSAGE, ((Pcrpt) parsed).getPcrptMessage().getReports().size());
+        }
+    }
+
+    private static Message run(final int round, final String name, final MessageParser parser, final ByteBuf body,
+        final int messages) throws Exception {
+        final List<Message> errors = new ArrayList<>();
+        Message parsed = null;
+        final long allocated = allocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            parsed = parser.parseMessage(body.duplicate(), errors);
+            assertNotNull(parsed);
+        }
+        final long elapsed = Math.max(1, System.nanoTime() - start);
+        final long perMessage = (allocatedBytes() - allocated) / messages;
+        assertTrue(errors.isEmpty());
+        LOG.info("Round {}: {} {} messages in {}ms, {} messages/s, allocated {}B/message", round, messages, name,
+            TimeUnit.NANOSECONDS.toMillis(elapsed), messages * TimeUnit.SECONDS.toNanos(1) / elapsed, perMessage);
+        return parsed;
+    }
+
+    /*
+     * Bytes allocated by the current thread, which does all the parsing, when the JVM is able to tell.
+     */
+    private static long allocatedBytes() {
+        final ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        if (!(mxBean instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) mxBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static ByteBuf loadBody(final String file) throws Exception {
+        final byte[] message = ByteArray.fileToBytes(file);
+        return Unpooled.wrappedBuffer(message, COMMON_HEADER_LENGTH, message.length - COMMON_HEADER_LENGTH);
+    }
+}
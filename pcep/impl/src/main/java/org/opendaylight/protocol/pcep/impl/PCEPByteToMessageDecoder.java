@@ -42,8 +42,9 @@ public final class PCEPByteToMessageDecoder extends ByteToMessageDecoder {
             return;
         }
 
-        in.markReaderIndex();
-        LOG.trace("Received to decode: {}", ByteBufUtil.hexDump(in));
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Received to decode: {}", ByteBufUtil.hexDump(in));
+        }
 
         final List<Message> errors = new ArrayList<>();
 
@@ -52,7 +53,6 @@ public final class PCEPByteToMessageDecoder extends ByteToMessageDecoder {
         } catch (final PCEPDeserializerException e) {
             LOG.debug("Failed to decode protocol message", e);
         }
-        in.discardReadBytes();
 
         if (!errors.isEmpty()) {
             // We have a bunch of messages, send them out
@@ -14,7 +14,9 @@ import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollEventLoopGroup;
@@ -28,6 +30,8 @@ import io.netty.util.concurrent.GlobalEventExecutor;
 import io.netty.util.concurrent.Promise;
 import java.io.Closeable;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.GuardedBy;
@@ -36,6 +40,7 @@ import org.opendaylight.protocol.pcep.PCEPDispatcher;
 import org.opendaylight.protocol.pcep.PCEPPeerProposal;
 import org.opendaylight.protocol.pcep.PCEPSessionListenerFactory;
 import org.opendaylight.protocol.pcep.PCEPSessionNegotiatorFactory;
+import org.opendaylight.protocol.pcep.PCEPTransportSettings;
 import org.opendaylight.protocol.pcep.spi.MessageRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,6 +59,8 @@ public class PCEPDispatcherImpl implements PCEPDispatcher, Closeable {
     private final EventExecutor executor;
     @GuardedBy("this")
     private KeyMapping keys;
+    @GuardedBy("this")
+    private PCEPTransportSettings transportSettings = PCEPTransportSettings.DEFAULT;
 
     /**
      * Creates an instance of PCEPDispatcherImpl, gets the default selector and opens it.
@@ -66,11 +73,26 @@ public class PCEPDispatcherImpl implements PCEPDispatcher, Closeable {
     public PCEPDispatcherImpl(@Nonnull final MessageRegistry registry,
         @Nonnull final PCEPSessionNegotiatorFactory negotiatorFactory,
         @Nonnull final EventLoopGroup bossGroup, @Nonnull  final EventLoopGroup workerGroup) {
+        this(registry, negotiatorFactory, bossGroup, workerGroup, 0);
+    }
+
+    /**
+     * Creates an instance of PCEPDispatcherImpl, gets the default selector and opens it.
+     *
+     * @param registry a message registry
+     * @param negotiatorFactory a negotiation factory
+     * @param bossGroup accepts an incoming connection
+     * @param workerGroup handles the traffic of accepted connection
+     * @param workerThreads number of worker event loop threads used with epoll transport, 0 for the Netty default
+     */
+    public PCEPDispatcherImpl(@Nonnull final MessageRegistry registry,
+        @Nonnull final PCEPSessionNegotiatorFactory negotiatorFactory,
+        @Nonnull final EventLoopGroup bossGroup, @Nonnull  final EventLoopGroup workerGroup, final int workerThreads) {
         this.snf = requireNonNull(negotiatorFactory);
         this.hf = new PCEPHandlerFactory(registry);
         if (Epoll.isAvailable()) {
             this.bossGroup = new EpollEventLoopGroup();
-            this.workerGroup = new EpollEventLoopGroup();
+            this.workerGroup = new EpollEventLoopGroup(workerThreads);
         } else {
             this.bossGroup = requireNonNull(bossGroup);
             this.workerGroup = requireNonNull(workerGroup);
@@ -87,7 +109,15 @@ public class PCEPDispatcherImpl implements PCEPDispatcher, Closeable {
     @Override
     public final synchronized ChannelFuture createServer(final InetSocketAddress address, final KeyMapping keys,
         final PCEPSessionListenerFactory listenerFactory, final PCEPPeerProposal peerProposal) {
+        return createServer(address, keys, PCEPTransportSettings.DEFAULT, listenerFactory, peerProposal);
+    }
+
+    @Override
+    public final synchronized ChannelFuture createServer(final InetSocketAddress address, final KeyMapping keys,
+        final PCEPTransportSettings transportSettings, final PCEPSessionListenerFactory listenerFactory,
+        final PCEPPeerProposal peerProposal) {
         this.keys = keys;
+        this.transportSettings = requireNonNull(transportSettings);
 
         final ChannelPipelineInitializer initializer = (ch, promise) -> {
             ch.pipeline().addLast(this.hf.getDecoders());
@@ -100,6 +130,7 @@ public class PCEPDispatcherImpl implements PCEPDispatcher, Closeable {
         LOG.debug("Initiated server {} at {}.", f, address);
 
         this.keys = KeyMapping.getKeyMapping();
+        this.transportSettings = PCEPTransportSettings.DEFAULT;
         return f;
     }
 
@@ -117,7 +148,8 @@ public class PCEPDispatcherImpl implements PCEPDispatcher, Closeable {
 
         if (Epoll.isAvailable()) {
             b.channel(EpollServerSocketChannel.class);
-            b.childOption(EpollChannelOption.EPOLL_MODE, EpollMode.LEVEL_TRIGGERED);
+            b.childOption(EpollChannelOption.EPOLL_MODE,
+                this.transportSettings.isEdgeTriggered() ? EpollMode.EDGE_TRIGGERED : EpollMode.LEVEL_TRIGGERED);
         } else {
             b.channel(NioServerSocketChannel.class);
         }
@@ -129,16 +161,48 @@ public class PCEPDispatcherImpl implements PCEPDispatcher, Closeable {
             }
         }
 
-        // Make sure we are doing round-robin processing
-        b.childOption(ChannelOption.MAX_MESSAGES_PER_READ, 1);
+        // Make sure we are doing round-robin processing, unless configured otherwise
+        b.childOption(ChannelOption.MAX_MESSAGES_PER_READ, this.transportSettings.getMaxMessagesPerRead());
+        final int receiveBufferSize = this.transportSettings.getReceiveBufferSize();
+        if (receiveBufferSize > 0) {
+            // Accepted sockets inherit the receive buffer of the listening socket, which is needed for large windows
+            b.option(ChannelOption.SO_RCVBUF, receiveBufferSize);
+            b.childOption(ChannelOption.SO_RCVBUF, receiveBufferSize);
+        }
+        if (this.transportSettings.getSendBufferSize() > 0) {
+            b.childOption(ChannelOption.SO_SNDBUF, this.transportSettings.getSendBufferSize());
+        }
+        if (this.transportSettings.getWriteBufferHighWaterMark() > 0) {
+            b.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                new WriteBufferWaterMark(this.transportSettings.getWriteBufferLowWaterMark(),
+                    this.transportSettings.getWriteBufferHighWaterMark()));
+        }
 
         if (b.group() == null) {
-            b.group(this.bossGroup, this.workerGroup);
+            // Sessions of a pinned server are all registered with the same worker event loop
+            b.group(this.bossGroup, workerGroup(this.transportSettings));
         }
 
         return b;
     }
 
+    private EventLoopGroup workerGroup(final PCEPTransportSettings settings) {
+        if (settings.getEventLoop() == PCEPTransportSettings.NO_EVENT_LOOP) {
+            return this.workerGroup;
+        }
+        final List<EventLoop> eventLoops = new ArrayList<>();
+        for (final EventExecutor eventExecutor : this.workerGroup) {
+            if (eventExecutor instanceof EventLoop) {
+                eventLoops.add((EventLoop) eventExecutor);
+            }
+        }
+        if (eventLoops.isEmpty()) {
+            LOG.warn("Worker group {} does not provide event loops, sessions will not be pinned", this.workerGroup);
+            return this.workerGroup;
+        }
+        return eventLoops.get(settings.getEventLoop() % eventLoops.size());
+    }
+
     @Override
     public final void close() {
         if (Epoll.isAvailable()) {
@@ -10,14 +10,11 @@ package org.opendaylight.protocol.pcep.spi;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Optional;
-import com.google.common.primitives.UnsignedBytes;
 import io.netty.buffer.ByteBuf;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nullable;
-import org.opendaylight.protocol.util.BitArray;
-import org.opendaylight.protocol.util.ByteArray;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.iana.rev130816.EnterpriseNumber;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.message.rev131007.PcerrBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.types.rev131005.Message;
@@ -36,16 +33,24 @@ public abstract class AbstractMessageParser implements MessageParser, MessageSer
 
     private static final int COMMON_OBJECT_HEADER_LENGTH = 4;
 
-    private static final int OT_SF_LENGTH = 4;
     /*
-     * offsets of fields inside of multi-field in bits
+     * object type occupies the upper four bits of multi-field
      */
-    private static final int OT_SF_OFFSET = 0;
+    private static final int OT_SHIFT = 4;
     /*
-     * flags offsets inside multi-filed
+     * flags inside multi-field
      */
-    private static final int PROCESSED = 6;
-    private static final int IGNORED = 7;
+    private static final int PROCESSED = 0x02;
+    private static final int IGNORED = 0x01;
+    /*
+     * headers are immutable, share one instance per combination of flags
+     */
+    private static final ObjectHeader[] HEADERS = {
+        new ObjectHeaderImpl(false, false),
+        new ObjectHeaderImpl(false, true),
+        new ObjectHeaderImpl(true, false),
+        new ObjectHeaderImpl(true, true)
+    };
 
     private final ObjectRegistry registry;
 
@@ -67,7 +72,7 @@ public abstract class AbstractMessageParser implements MessageParser, MessageSer
     }
 
     private List<Object> parseObjects(final ByteBuf bytes) throws PCEPDeserializerException {
-        final List<Object> objs = new ArrayList<>();
+        final List<Object> objs = new MessageObjects();
         while (bytes.isReadable()) {
             if (bytes.readableBytes() < COMMON_OBJECT_HEADER_LENGTH) {
                 throw new PCEPDeserializerException("Too few bytes in passed array. Passed: " + bytes.readableBytes() + " Expected: >= "
@@ -75,9 +80,8 @@ public abstract class AbstractMessageParser implements MessageParser, MessageSer
             }
             final int objClass = bytes.readUnsignedByte();
 
-            final byte flagsByte = bytes.readByte();
-            final BitArray flags = BitArray.valueOf(flagsByte);
-            final int objType = UnsignedBytes.toInt(ByteArray.copyBitsRange(flagsByte, OT_SF_OFFSET, OT_SF_LENGTH));
+            final int flags = bytes.readUnsignedByte();
+            final int objType = flags >> OT_SHIFT;
             final int objLength = bytes.readUnsignedShort();
 
             if (bytes.readableBytes() < objLength - COMMON_OBJECT_HEADER_LENGTH) {
@@ -87,7 +91,7 @@ public abstract class AbstractMessageParser implements MessageParser, MessageSer
             // copy bytes for deeper parsing
             final ByteBuf bytesToPass = bytes.readSlice(objLength - COMMON_OBJECT_HEADER_LENGTH);
 
-            final ObjectHeader header = new ObjectHeaderImpl(flags.get(PROCESSED), flags.get(IGNORED));
+            final ObjectHeader header = HEADERS[flags & (PROCESSED | IGNORED)];
 
             if (VendorInformationUtil.isVendorInformationObject(objClass, objType)) {
                 final EnterpriseNumber enterpriseNumber = new EnterpriseNumber(bytesToPass.readUnsignedInt());
@@ -48,7 +48,9 @@ public abstract class AbstractObjectWithTlvsParser<T> implements ObjectParser, O
                     + ".");
             }
             final ByteBuf tlvBytes = bytes.readSlice(length);
-            LOG.trace("Parsing PCEP TLV : {}", ByteBufUtil.hexDump(tlvBytes));
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Parsing PCEP TLV : {}", ByteBufUtil.hexDump(tlvBytes));
+            }
 
             if (VendorInformationUtil.isVendorInformationTlv(type)) {
                 final EnterpriseNumber enterpriseNumber = new EnterpriseNumber(tlvBytes.readUnsignedInt());
@@ -73,7 +75,9 @@ public abstract class AbstractObjectWithTlvsParser<T> implements ObjectParser, O
         requireNonNull(tlv, "PCEP TLV is mandatory.");
         LOG.trace("Serializing PCEP TLV {}", tlv);
         this.tlvReg.serializeTlv(tlv, buffer);
-        LOG.trace("Serialized PCEP TLV : {}.", ByteBufUtil.hexDump(buffer));
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Serialized PCEP TLV : {}.", ByteBufUtil.hexDump(buffer));
+        }
     }
 
     protected void addTlv(final T builder, final Tlv tlv) {
@@ -87,7 +91,9 @@ public abstract class AbstractObjectWithTlvsParser<T> implements ObjectParser, O
             for (final VendorInformationTlv tlv : tlvs) {
                 LOG.trace("Serializing VENDOR-INFORMATION TLV {}", tlv);
                 this.viTlvReg.serializeVendorInformationTlv(tlv, buffer);
-                LOG.trace("Serialized VENDOR-INFORMATION TLV : {}.", ByteBufUtil.hexDump(buffer));
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Serialized VENDOR-INFORMATION TLV : {}.", ByteBufUtil.hexDump(buffer));
+                }
             }
         }
     }
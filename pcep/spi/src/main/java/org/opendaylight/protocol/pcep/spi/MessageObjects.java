@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.pcep.spi;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.types.rev131005.Object;
+
+/**
+ * Objects of a single message in the order they were received. Message validation consumes the objects from
+ * the head of the list, which takes constant time here, instead of shifting all the remaining objects, as
+ * an ArrayList does. Messages reporting many LSPs carry thousands of objects.
+ */
+@NotThreadSafe
+final class MessageObjects extends AbstractList<Object> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private java.lang.Object[] elements = new java.lang.Object[INITIAL_CAPACITY];
+    private int head;
+    private int tail;
+
+    @Override
+    public Object get(final int index) {
+        Preconditions.checkElementIndex(index, size());
+        return (Object) this.elements[this.head + index];
+    }
+
+    @Override
+    public int size() {
+        return this.tail - this.head;
+    }
+
+    @Override
+    public boolean add(final Object object) {
+        if (this.tail == this.elements.length) {
+            final int size = size();
+            if (this.head > size) {
+                // more than half of the array was consumed already, reuse it
+                System.arraycopy(this.elements, this.head, this.elements, 0, size);
+                Arrays.fill(this.elements, size, this.tail, null);
+            } else {
+                final java.lang.Object[] grown = new java.lang.Object[this.elements.length * 2];
+                System.arraycopy(this.elements, this.head, grown, 0, size);
+                this.elements = grown;
+            }
+            this.head = 0;
+            this.tail = size;
+        }
+        this.elements[this.tail++] = object;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public Object remove(final int index) {
+        final Object removed = get(index);
+        if (index == 0) {
+            this.elements[this.head++] = null;
+        } else {
+            final int position = this.head + index;
+            System.arraycopy(this.elements, position + 1, this.elements, position, this.tail - position - 1);
+            this.elements[--this.tail] = null;
+        }
+        this.modCount++;
+        return removed;
+    }
+}
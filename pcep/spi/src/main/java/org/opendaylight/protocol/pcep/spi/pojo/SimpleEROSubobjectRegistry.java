@@ -11,6 +11,7 @@ import com.google.common.base.Preconditions;
 
 import io.netty.buffer.ByteBuf;
 
+import org.opendaylight.protocol.concepts.AbstractRegistration;
 import org.opendaylight.protocol.concepts.HandlerRegistry;
 import org.opendaylight.protocol.pcep.spi.EROSubobjectParser;
 import org.opendaylight.protocol.pcep.spi.EROSubobjectRegistry;
@@ -23,10 +24,33 @@ import org.opendaylight.yangtools.yang.binding.DataContainer;
 
 public final class SimpleEROSubobjectRegistry implements EROSubobjectRegistry {
     private final HandlerRegistry<DataContainer, EROSubobjectParser, EROSubobjectSerializer> handlers = new HandlerRegistry<>();
+    /**
+     * Parsers of single byte subobject types, which are all the types carried by ERO, indexed by type. The array is
+     * replaced as a whole each time such a parser is registered or unregistered.
+     */
+    private volatile EROSubobjectParser[] parsers = new EROSubobjectParser[Values.UNSIGNED_BYTE_MAX_VALUE + 1];
 
-    public AutoCloseable registerSubobjectParser(final int subobjectType, final EROSubobjectParser parser) {
+    public synchronized AutoCloseable registerSubobjectParser(final int subobjectType, final EROSubobjectParser parser) {
         Preconditions.checkArgument(subobjectType >= 0 && subobjectType <= Values.UNSIGNED_SHORT_MAX_VALUE);
-        return this.handlers.registerParser(subobjectType, parser);
+        final AbstractRegistration reg = this.handlers.registerParser(subobjectType, parser);
+        updateParser(subobjectType);
+        return new AbstractRegistration() {
+            @Override
+            protected void removeRegistration() {
+                synchronized (SimpleEROSubobjectRegistry.this) {
+                    reg.close();
+                    updateParser(subobjectType);
+                }
+            }
+        };
+    }
+
+    private void updateParser(final int subobjectType) {
+        if (subobjectType < this.parsers.length) {
+            final EROSubobjectParser[] updated = this.parsers.clone();
+            updated[subobjectType] = this.handlers.getParser(subobjectType);
+            this.parsers = updated;
+        }
     }
 
     public AutoCloseable registerSubobjectSerializer(final Class<? extends SubobjectType> subobjectClass,
@@ -37,7 +61,8 @@ public final class SimpleEROSubobjectRegistry implements EROSubobjectRegistry {
     @Override
     public Subobject parseSubobject(final int type, final ByteBuf buffer, final boolean loose) throws PCEPDeserializerException {
         Preconditions.checkArgument(type >= 0 && type <= Values.UNSIGNED_SHORT_MAX_VALUE);
-        final EROSubobjectParser parser = this.handlers.getParser(type);
+        final EROSubobjectParser[] currentParsers = this.parsers;
+        final EROSubobjectParser parser = type < currentParsers.length ? currentParsers[type] : this.handlers.getParser(type);
         if (parser == null) {
             return null;
         }
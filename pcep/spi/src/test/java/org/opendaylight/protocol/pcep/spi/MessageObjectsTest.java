@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.pcep.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.types.rev131005.Object;
+
+public class MessageObjectsTest {
+
+    private static List<Object> createObjects(final int count) {
+        final List<Object> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            objects.add(new UnknownObject(PCEPErrors.UNRECOGNIZED_OBJ_CLASS));
+        }
+        return objects;
+    }
+
+    @Test
+    public void testConsumeFromHead() {
+        final List<Object> expected = createObjects(100);
+        final MessageObjects objects = new MessageObjects();
+        objects.addAll(expected);
+        assertEquals(expected, objects);
+
+        for (int i = 0; i < 60; i++) {
+            assertSame(expected.get(i), objects.remove(0));
+        }
+        assertEquals(expected.subList(60, 100), objects);
+
+        // the consumed head is reused when the list grows again
+        final List<Object> added = createObjects(100);
+        objects.addAll(added);
+        assertEquals(140, objects.size());
+        assertSame(expected.get(60), objects.get(0));
+        assertSame(added.get(99), objects.get(139));
+
+        assertSame(added.get(0), objects.remove(40));
+        assertTrue(objects.remove(added.get(1)));
+        assertEquals(138, objects.size());
+        assertSame(added.get(2), objects.get(40));
+
+        while (!objects.isEmpty()) {
+            objects.remove(0);
+        }
+        assertEquals(0, objects.size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        final MessageObjects objects = new MessageObjects();
+        objects.addAll(createObjects(1));
+        objects.remove(0);
+        objects.get(0);
+    }
+}
@@ -14,8 +14,12 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.protocol.concepts.KeyMapping;
 import org.opendaylight.protocol.pcep.PCEPCapability;
 import org.opendaylight.protocol.pcep.PCEPSessionProposalFactory;
+import org.opendaylight.protocol.pcep.PCEPTransportSettings;
 import org.opendaylight.protocol.pcep.ietf.stateful07.PCEPStatefulCapability;
 import org.opendaylight.protocol.pcep.ietf.stateful07.StatefulActivator;
 import org.opendaylight.protocol.pcep.impl.BasePCEPSessionProposalFactory;
@@ -61,6 +65,24 @@ public final class Main {
             + "\t\t <path to file> with groovy script which implements MessageGeneratorService.\n"
             + "\t\t Messages are sent in defined states defined by programmer. Purely for testing puposes! \n\n" +
 
+            "\t-th, --threads <threads>\n" + "\t\tnumber of event loop threads serving the sessions.\n\n" +
+
+            "\t-mr, --maxMessagesPerRead <messages>\n"
+            + "\t\tmaximum number of messages read from a session before other sessions are served (default 1).\n\n" +
+
+            "\t-et, --edgeTriggered\n" + "\t\tuse edge-triggered instead of level-triggered epoll.\n\n" +
+
+            "\t-rb, --receiveBuffer <bytes>\n" + "\t\tsocket receive buffer size.\n\n" +
+
+            "\t-sb, --sendBuffer <bytes>\n" + "\t\tsocket send buffer size.\n\n" +
+
+            "\t-wh, --writeBufferHigh <bytes>\n"
+            + "\t\tpending outbound data over which a session stops being writable, the low water mark is half of it.\n\n" +
+
+            "\t-el, --eventLoop <index>\n" + "\t\tindex of the event loop all sessions are pinned to.\n\n" +
+
+            "\t-ri, --reportInterval <seconds>\n" + "\t\tinterval of received message rate reports.\n\n" +
+
             "\t--help\n" + "\t\tdisplay this help and exits\n\n" +
 
             "With no parameters, this help is printed.";
@@ -87,6 +109,14 @@ public final class Main {
         boolean stateful = false;
         boolean active = false;
         boolean instant = false;
+        int threads = 0;
+        int maxMessagesPerRead = PCEPTransportSettings.DEFAULT.getMaxMessagesPerRead();
+        boolean edgeTriggered = false;
+        int receiveBuffer = 0;
+        int sendBuffer = 0;
+        int writeBufferHigh = 0;
+        int eventLoop = PCEPTransportSettings.NO_EVENT_LOOP;
+        int reportInterval = 0;
 
         int i = 0;
         while (i < args.length) {
@@ -108,6 +138,29 @@ public final class Main {
             } else if (args[i].equalsIgnoreCase("--instant")) {
                 stateful = true;
                 instant = true;
+            } else if (args[i].equalsIgnoreCase("-th") || args[i].equalsIgnoreCase("--threads")) {
+                threads = Integer.parseInt(args[i + 1]);
+                i++;
+            } else if (args[i].equalsIgnoreCase("-mr") || args[i].equalsIgnoreCase("--maxMessagesPerRead")) {
+                maxMessagesPerRead = Integer.parseInt(args[i + 1]);
+                i++;
+            } else if (args[i].equalsIgnoreCase("-et") || args[i].equalsIgnoreCase("--edgeTriggered")) {
+                edgeTriggered = true;
+            } else if (args[i].equalsIgnoreCase("-rb") || args[i].equalsIgnoreCase("--receiveBuffer")) {
+                receiveBuffer = Integer.parseInt(args[i + 1]);
+                i++;
+            } else if (args[i].equalsIgnoreCase("-sb") || args[i].equalsIgnoreCase("--sendBuffer")) {
+                sendBuffer = Integer.parseInt(args[i + 1]);
+                i++;
+            } else if (args[i].equalsIgnoreCase("-wh") || args[i].equalsIgnoreCase("--writeBufferHigh")) {
+                writeBufferHigh = Integer.parseInt(args[i + 1]);
+                i++;
+            } else if (args[i].equalsIgnoreCase("-el") || args[i].equalsIgnoreCase("--eventLoop")) {
+                eventLoop = Integer.parseInt(args[i + 1]);
+                i++;
+            } else if (args[i].equalsIgnoreCase("-ri") || args[i].equalsIgnoreCase("--reportInterval")) {
+                reportInterval = Integer.parseInt(args[i + 1]);
+                i++;
             } else {
                 LOG.warn("WARNING: Unrecognized argument: {}", args[i]);
             }
@@ -127,8 +180,27 @@ public final class Main {
         try (final StatefulActivator activator07 = new StatefulActivator()) {
             activator07.start(ServiceLoaderPCEPExtensionProviderContext.getSingletonInstance());
 
-            final PCEPDispatcherImpl dispatcher = new PCEPDispatcherImpl(ServiceLoaderPCEPExtensionProviderContext.getSingletonInstance().getMessageHandlerRegistry(), new DefaultPCEPSessionNegotiatorFactory(spf, MAX_UNKNOWN_MESSAGES), new NioEventLoopGroup(), new NioEventLoopGroup());
-            dispatcher.createServer(address, new TestingSessionListenerFactory(), null).get();
+            final PCEPDispatcherImpl dispatcher = new PCEPDispatcherImpl(ServiceLoaderPCEPExtensionProviderContext.getSingletonInstance().getMessageHandlerRegistry(), new DefaultPCEPSessionNegotiatorFactory(spf, MAX_UNKNOWN_MESSAGES), new NioEventLoopGroup(), new NioEventLoopGroup(threads), threads);
+            final PCEPTransportSettings transportSettings = new PCEPTransportSettings(maxMessagesPerRead, edgeTriggered,
+                receiveBuffer, sendBuffer, writeBufferHigh / 2, writeBufferHigh, eventLoop);
+            final TestingSessionListenerFactory listenerFactory = new TestingSessionListenerFactory();
+            dispatcher.createServer(address, KeyMapping.getKeyMapping(), transportSettings, listenerFactory, null).get();
+            if (reportInterval > 0) {
+                reportReceivedRate(listenerFactory, reportInterval);
+            }
         }
     }
+
+    private static void reportReceivedRate(final TestingSessionListenerFactory listenerFactory, final int interval) {
+        Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(new Runnable() {
+            private long received;
+
+            @Override
+            public void run() {
+                final long nowReceived = listenerFactory.getReceivedCount();
+                LOG.info("Received {} messages/s, {} in total.", (nowReceived - this.received) / interval, nowReceived);
+                this.received = nowReceived;
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
 }
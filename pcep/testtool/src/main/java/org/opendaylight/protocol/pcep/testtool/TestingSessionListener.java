@@ -9,6 +9,7 @@ package org.opendaylight.protocol.pcep.testtool;
 
 import com.google.common.collect.Lists;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import org.opendaylight.protocol.pcep.PCEPSession;
 import org.opendaylight.protocol.pcep.PCEPSessionListener;
 import org.opendaylight.protocol.pcep.PCEPTerminationReason;
@@ -20,17 +21,25 @@ public class TestingSessionListener implements PCEPSessionListener {
 
     private final List<Message> messages = Lists.newArrayList();
 
+    private final LongAdder receivedCounter;
+
     private boolean up = false;
 
     private static final Logger LOG = LoggerFactory.getLogger(TestingSessionListener.class);
 
     public TestingSessionListener() {
+        this(new LongAdder());
+    }
+
+    TestingSessionListener(final LongAdder receivedCounter) {
+        this.receivedCounter = receivedCounter;
     }
 
     @Override
     public void onMessage(final PCEPSession session, final Message message) {
         LOG.debug("Received message: {}", message);
         this.messages.add(message);
+        this.receivedCounter.increment();
     }
 
     @Override
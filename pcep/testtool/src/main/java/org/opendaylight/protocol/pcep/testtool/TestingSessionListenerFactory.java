@@ -7,12 +7,24 @@
  */
 package org.opendaylight.protocol.pcep.testtool;
 
+import java.util.concurrent.atomic.LongAdder;
 import org.opendaylight.protocol.pcep.PCEPSessionListener;
 import org.opendaylight.protocol.pcep.PCEPSessionListenerFactory;
 
 public class TestingSessionListenerFactory implements PCEPSessionListenerFactory {
+    private final LongAdder receivedCounter = new LongAdder();
+
     @Override
     public PCEPSessionListener getSessionListener() {
-        return new TestingSessionListener();
+        return new TestingSessionListener(this.receivedCounter);
+    }
+
+    /**
+     * Returns the number of messages received by all sessions created by this factory.
+     *
+     * @return number of received messages
+     */
+    public long getReceivedCount() {
+        return this.receivedCounter.sum();
     }
 }
@@ -9,12 +9,15 @@ package org.opendaylight.bgpcep.pcep.topology.provider;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.util.Timeout;
 import io.netty.util.concurrent.FutureListener;
 import java.net.InetAddress;
 import java.util.ArrayList;
@@ -24,8 +27,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.ListenerStateRuntimeMXBean;
@@ -33,10 +34,12 @@ import org.opendaylight.controller.config.yang.pcep.topology.provider.ListenerSt
 import org.opendaylight.controller.config.yang.pcep.topology.provider.PCEPTopologyProviderRuntimeRegistration;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.PeerCapabilities;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.ReplyTime;
+import org.opendaylight.controller.config.yang.pcep.topology.provider.RpcTime;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.SessionState;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.StatefulMessages;
 import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.bgpcep.pcep.topology.provider.SessionListenerState.LspRpc;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.protocol.pcep.PCEPCloseTermination;
 import org.opendaylight.protocol.pcep.PCEPSession;
@@ -81,6 +84,7 @@ public abstract class AbstractTopologySessionListener<S, L> implements TopologyS
     protected static final class MessageContext {
         private final Collection<PCEPRequest> requests = new ArrayList<>();
         private final WriteTransaction trans;
+        private int messages;
 
         private MessageContext(final WriteTransaction trans) {
             this.trans = requireNonNull(trans);
@@ -131,6 +135,14 @@ public abstract class AbstractTopologySessionListener<S, L> implements TopologyS
     private PCEPSession session;
     private SyncOptimization syncOptimization;
     private boolean triggeredResyncInProcess;
+    @GuardedBy("this")
+    private int syncBatchSize;
+    @GuardedBy("this")
+    private long syncBatchMillis;
+    @GuardedBy("this")
+    private MessageContext syncBatch;
+    @GuardedBy("this")
+    private Timeout syncBatchTimeout;
 
     private ListenerStateRuntimeRegistration registration;
     @GuardedBy("this")
@@ -139,6 +151,8 @@ public abstract class AbstractTopologySessionListener<S, L> implements TopologyS
     protected AbstractTopologySessionListener(final ServerSessionManager serverSessionManager) {
         this.serverSessionManager = requireNonNull(serverSessionManager);
         this.listenerState = new SessionListenerState();
+        this.syncBatchSize = serverSessionManager.getSyncBatchSize();
+        this.syncBatchMillis = serverSessionManager.getSyncBatchMillis();
     }
 
     @Override
@@ -230,6 +244,7 @@ public abstract class AbstractTopologySessionListener<S, L> implements TopologyS
             AbstractTopologySessionListener.this.session.close(TerminationReason.UNKNOWN);
             return;
         }
+        flushSyncBatch();
         final MessageContext ctx = new MessageContext(this.nodeState.beginTransaction());
         updatePccNode(ctx, new PathComputationClientBuilder().setStateSync(pccSyncState).build());
         if (pccSyncState != PccSyncState.Synchronized) {
@@ -263,6 +278,7 @@ public abstract class AbstractTopologySessionListener<S, L> implements TopologyS
     @GuardedBy("this")
     private synchronized void tearDown(final PCEPSession session) {
         requireNonNull(session);
+        flushSyncBatch();
         this.serverSessionManager.releaseNodeState(this.nodeState, session, isLspDbPersisted());
         this.nodeState = null;
         try {
@@ -321,15 +337,58 @@ public abstract class AbstractTopologySessionListener<S, L> implements TopologyS
             session.close(TerminationReason.UNKNOWN);
             return;
         }
-        final MessageContext ctx = new MessageContext(this.nodeState.beginTransaction());
+        final MessageContext ctx = this.syncBatch != null ? this.syncBatch
+            : new MessageContext(this.nodeState.beginTransaction());
 
         if (onMessage(ctx, message)) {
             LOG.warn("Unhandled message {} on session {}", message, session);
-            //cancel not supported, submit empty transaction
-            ctx.trans.submit();
+            if (ctx != this.syncBatch) {
+                //cancel not supported, submit empty transaction
+                ctx.trans.submit();
+            }
             return;
         }
 
+        // While the PCC synchronizes, state reports are coalesced until the end-of-sync marker or a batch bound
+        if (!this.synced && this.syncBatchSize > 1) {
+            if (this.syncBatch == null) {
+                this.syncBatch = ctx;
+                this.syncBatchTimeout = PCEPRequest.TIMER.newTimeout(t -> flushSyncBatch(), this.syncBatchMillis,
+                    TimeUnit.MILLISECONDS);
+            }
+            if (++ctx.messages < this.syncBatchSize) {
+                return;
+            }
+        }
+        if (ctx == this.syncBatch) {
+            clearSyncBatch();
+        }
+        submit(session, ctx);
+    }
+
+    private synchronized void flushSyncBatch() {
+        final MessageContext ctx = this.syncBatch;
+        if (ctx != null) {
+            clearSyncBatch();
+            LOG.debug("Committing {} synchronization messages of session {}", ctx.messages, this.session);
+            submit(this.session, ctx);
+        }
+    }
+
+    @GuardedBy("this")
+    private void clearSyncBatch() {
+        this.syncBatch = null;
+        this.syncBatchTimeout.cancel();
+        this.syncBatchTimeout = null;
+    }
+
+    @VisibleForTesting
+    synchronized void setSyncBatching(final int size, final long millis) {
+        this.syncBatchSize = size;
+        this.syncBatchMillis = millis;
+    }
+
+    private static void submit(final PCEPSession session, final MessageContext ctx) {
         Futures.addCallback(ctx.trans.submit(), new FutureCallback<Void>() {
             @Override
             public void onSuccess(final Void result) {
@@ -411,17 +470,13 @@ public abstract class AbstractTopologySessionListener<S, L> implements TopologyS
     }
 
     private void setupTimeoutHandler(final S requestId, final PCEPRequest req, final short timeout) {
-        final Timer timer = req.getTimer();
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                synchronized (AbstractTopologySessionListener.this) {
-                    AbstractTopologySessionListener.this.requests.remove(requestId);
-                }
-                req.done();
-                LOG.info("Request {} timed-out waiting for response", requestId);
+        req.scheduleTimeout(timeout, TimeUnit.SECONDS, () -> {
+            synchronized (AbstractTopologySessionListener.this) {
+                AbstractTopologySessionListener.this.requests.remove(requestId);
             }
-        }, TimeUnit.SECONDS.toMillis(timeout));
+            req.done();
+            LOG.info("Request {} timed-out waiting for response", requestId);
+        });
         LOG.trace("Set up response timeout handler for request {}", requestId);
     }
 
@@ -598,9 +653,45 @@ public abstract class AbstractTopologySessionListener<S, L> implements TopologyS
         if (this.nodeState == null) {
             return null;
         }
+        flushSyncBatch();
         return this.nodeState.readOperationalData(id);
     }
 
+    /**
+     * Looks up a reported LSP by its name. LSPs reported or recovered during this session are kept in memory, which
+     * is also authoritative once the PCC has synchronized its state. The datastore is read only for an LSP not seen
+     * before the synchronization completes.
+     *
+     * @param name LSP name
+     * @return null if the node does not exists, or the reported LSP
+     */
+    protected final synchronized ListenableFuture<Optional<ReportedLsp>> lookupReportedLsp(final String name) {
+        if (this.nodeState == null) {
+            return null;
+        }
+        final ReportedLsp lsp = this.lspData.get(name);
+        if (lsp != null || this.synced) {
+            return Futures.immediateFuture(Optional.fromNullable(lsp));
+        }
+        LOG.debug("LSP {} not known yet, reading it from the datastore", name);
+        return readOperationalData(lspIdentifier(name));
+    }
+
+    /**
+     * Records the time elapsed from the invocation of an RPC to its result being available.
+     *
+     * @param rpc invoked RPC
+     * @param stopwatch stopwatch started when the RPC was invoked
+     * @param result result of the RPC
+     * @return the result of the RPC
+     */
+    protected final ListenableFuture<OperationResult> recordRpcTime(final LspRpc rpc, final Stopwatch stopwatch,
+            final ListenableFuture<OperationResult> result) {
+        result.addListener(() -> this.listenerState.processRpcStats(rpc, stopwatch.elapsed(TimeUnit.MICROSECONDS)),
+            MoreExecutors.directExecutor());
+        return result;
+    }
+
     protected abstract Object validateReportedLsp(final Optional<ReportedLsp> rep, final LspId input);
 
     protected abstract void loadLspData(final Node node, final Map<String, ReportedLsp> lspData, final Map<L, String> lsps, final boolean incrementalSynchro);
@@ -688,6 +779,11 @@ public abstract class AbstractTopologySessionListener<S, L> implements TopologyS
         return this.listenerState.getReplyTime();
     }
 
+    @Override
+    public synchronized List<RpcTime> getRpcTime() {
+        return this.listenerState.getRpcTime();
+    }
+
     @Override
     public synchronized PeerCapabilities getPeerCapabilities() {
         return this.listenerState.getPeerCapabilities();
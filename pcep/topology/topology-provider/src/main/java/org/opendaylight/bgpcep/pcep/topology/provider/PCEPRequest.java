@@ -7,10 +7,15 @@
  */
 package org.opendaylight.bgpcep.pcep.topology.provider;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.base.Stopwatch;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
-import java.util.Timer;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.topology.pcep.rev131024.OperationResult;
@@ -24,6 +29,13 @@ final class PCEPRequest {
 
     private static final long MINIMUM_ELAPSED_TIME = 1;
 
+    /**
+     * Timer shared by response timeouts of all requests, so outstanding requests do not cost a thread each.
+     * Topology session listeners use it to bound deferred commits.
+     */
+    static final Timer TIMER = new HashedWheelTimer(
+        new DefaultThreadFactory("pcep-request-timeout", true), 100, TimeUnit.MILLISECONDS);
+
     enum State {
         UNSENT,
         UNACKED,
@@ -32,17 +44,23 @@ final class PCEPRequest {
 
     private final SettableFuture<OperationResult> future;
     private final Metadata metadata;
+    private final Timer timer;
     private volatile State state;
     @GuardedBy("this")
     private final Stopwatch stopwatch;
-    private final Timer timer;
+    @GuardedBy("this")
+    private Timeout timeout;
 
     PCEPRequest(final Metadata metadata) {
+        this(metadata, TIMER);
+    }
+
+    PCEPRequest(final Metadata metadata, final Timer timer) {
         this.future = SettableFuture.create();
         this.metadata = metadata;
+        this.timer = requireNonNull(timer);
         this.state = State.UNSENT;
         this.stopwatch = Stopwatch.createStarted();
-        this.timer = new Timer();
     }
 
     protected ListenableFuture<OperationResult> getFuture() {
@@ -57,15 +75,27 @@ final class PCEPRequest {
         return this.state;
     }
 
-    Timer getTimer() {
-        return this.timer;
+    /**
+     * Schedule a response timeout for this request. It is cancelled once the request is done.
+     *
+     * @param delay time to wait for the response
+     * @param unit unit of delay
+     * @param onTimeout invoked if the request is not done before the delay expires
+     */
+    synchronized void scheduleTimeout(final long delay, final TimeUnit unit, final Runnable onTimeout) {
+        if (this.state != State.DONE) {
+            this.timeout = this.timer.newTimeout(t -> onTimeout.run(), delay, unit);
+        }
     }
 
     synchronized void done(final OperationResult result) {
         if (this.state != State.DONE) {
             LOG.debug("Request went from {} to {}", this.state, State.DONE);
             this.state = State.DONE;
-            this.timer.cancel();
+            if (this.timeout != null) {
+                this.timeout.cancel();
+                this.timeout = null;
+            }
             this.future.set(result);
         }
     }
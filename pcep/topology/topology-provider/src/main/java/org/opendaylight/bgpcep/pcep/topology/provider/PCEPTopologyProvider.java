@@ -26,6 +26,7 @@ import org.opendaylight.controller.sal.binding.api.BindingAwareBroker.RoutedRpcR
 import org.opendaylight.controller.sal.binding.api.RpcProviderRegistry;
 import org.opendaylight.protocol.concepts.KeyMapping;
 import org.opendaylight.protocol.pcep.PCEPCapability;
+import org.opendaylight.protocol.pcep.PCEPTransportSettings;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.network.topology.rev140113.NetworkTopologyContext;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.topology.pcep.programming.rev131106.NetworkTopologyPcepProgrammingService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.topology.pcep.rev131024.NetworkTopologyPcepService;
@@ -45,6 +46,7 @@ public final class PCEPTopologyProvider extends DefaultTopologyReference {
     private final ServerSessionManager manager;
     private final InetSocketAddress address;
     private final KeyMapping keys;
+    private final PCEPTransportSettings transportSettings;
     private final InstructionScheduler scheduler;
     private final PCEPTopologyProviderDependenciesProvider dependenciesProvider;
     private RoutedRpcRegistration<NetworkTopologyPcepProgrammingService> network;
@@ -71,17 +73,20 @@ public final class PCEPTopologyProvider extends DefaultTopologyReference {
         final InstanceIdentifier<Topology> topology = InstanceIdentifier.builder(NetworkTopology.class)
             .child(Topology.class, new TopologyKey(configDependencies.getTopologyId())).build();
         final ServerSessionManager manager = new ServerSessionManager(dependenciesProvider.getDataBroker(), topology,
-            listenerFactory, configDependencies.getRpcTimeout());
+            listenerFactory, configDependencies.getRpcTimeout(), configDependencies.getSyncBatchSize(),
+            configDependencies.getSyncBatchMillis());
         final Optional<PCEPTopologyProviderRuntimeRegistrator> runtime = configDependencies.getRuntimeRootRegistrator();
         if(runtime.isPresent()){
             manager.setRuntimeRootRegistrator(runtime.get());
         }
 
         return new PCEPTopologyProvider(configDependencies.getAddress(), configDependencies.getKeys(),
-            dependenciesProvider, topology, manager,  configDependencies.getSchedulerDependency());
+            configDependencies.getTransportSettings(), dependenciesProvider, topology, manager,
+            configDependencies.getSchedulerDependency());
     }
 
     private PCEPTopologyProvider(final InetSocketAddress address, final KeyMapping keys,
+        final PCEPTransportSettings transportSettings,
         final PCEPTopologyProviderDependenciesProvider dependenciesProvider,
         final InstanceIdentifier<Topology> topology, final ServerSessionManager manager,
         final InstructionScheduler scheduler) {
@@ -90,6 +95,7 @@ public final class PCEPTopologyProvider extends DefaultTopologyReference {
         this.address = address;
         this.topology = requireNonNull(topology);
         this.keys = keys;
+        this.transportSettings = requireNonNull(transportSettings);
         this.manager = requireNonNull(manager);
         this.scheduler = scheduler;
     }
@@ -108,7 +114,7 @@ public final class PCEPTopologyProvider extends DefaultTopologyReference {
         try {
             this.manager.instantiateServiceInstance().get();
             final ChannelFuture channelFuture = this.dependenciesProvider.getPCEPDispatcher()
-                .createServer(this.address, this.keys, this.manager, this.manager);
+                .createServer(this.address, this.keys, this.transportSettings, this.manager, this.manager);
             channelFuture.get();
             this.channel = channelFuture.channel();
         } catch (final Exception e) {
@@ -8,6 +8,7 @@
 package org.opendaylight.bgpcep.pcep.topology.provider;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import static java.util.Objects.requireNonNull;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
@@ -60,6 +61,15 @@ final class ServerSessionManager implements PCEPSessionListenerFactory, Topology
     PCEPTopologyProviderRuntimeMXBean, PCEPPeerProposal {
     private static final Logger LOG = LoggerFactory.getLogger(ServerSessionManager.class);
     private static final long DEFAULT_HOLD_STATE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    /**
+     * Default maximum number of messages whose state updates are committed in a single transaction while a PCC
+     * synchronizes its LSP state. The default of 1 commits each message separately.
+     */
+    public static final int DEFAULT_SYNC_BATCH_SIZE = 1;
+    /**
+     * Default maximum time, in milliseconds, a synchronization batch is held before it is committed.
+     */
+    public static final long DEFAULT_SYNC_BATCH_MILLIS = 100;
 
     @GuardedBy("this")
     private final Map<NodeId, TopologySessionListener> nodes = new HashMap<>();
@@ -70,6 +80,8 @@ final class ServerSessionManager implements PCEPSessionListenerFactory, Topology
     private final DataBroker broker;
     private final PCEPStatefulPeerProposal peerProposal;
     private final short rpcTimeout;
+    private final int syncBatchSize;
+    private final long syncBatchMillis;
     private final AtomicReference<PCEPTopologyProviderRuntimeRegistration> runtimeRootRegistration = new AtomicReference<>();
 
     @VisibleForTesting
@@ -77,11 +89,20 @@ final class ServerSessionManager implements PCEPSessionListenerFactory, Topology
 
     public ServerSessionManager(final DataBroker broker, final InstanceIdentifier<Topology> topology,
         final TopologySessionListenerFactory listenerFactory, final short rpcTimeout) {
+        this(broker, topology, listenerFactory, rpcTimeout, DEFAULT_SYNC_BATCH_SIZE, DEFAULT_SYNC_BATCH_MILLIS);
+    }
+
+    public ServerSessionManager(final DataBroker broker, final InstanceIdentifier<Topology> topology,
+        final TopologySessionListenerFactory listenerFactory, final short rpcTimeout, final int syncBatchSize,
+        final long syncBatchMillis) {
+        Preconditions.checkArgument(syncBatchSize > 0, "Invalid synchronization batch size %s", syncBatchSize);
         this.broker = requireNonNull(broker);
         this.topology = requireNonNull(topology);
         this.listenerFactory = requireNonNull(listenerFactory);
         this.peerProposal = PCEPStatefulPeerProposal.createStatefulPeerProposal(this.broker, this.topology);
         this.rpcTimeout = rpcTimeout;
+        this.syncBatchSize = syncBatchSize;
+        this.syncBatchMillis = syncBatchMillis;
     }
 
     /**
@@ -256,4 +277,12 @@ final class ServerSessionManager implements PCEPSessionListenerFactory, Topology
     short getRpcTimeout() {
         return this.rpcTimeout;
     }
+
+    int getSyncBatchSize() {
+        return this.syncBatchSize;
+    }
+
+    long getSyncBatchMillis() {
+        return this.syncBatchMillis;
+    }
 }
\ No newline at end of file
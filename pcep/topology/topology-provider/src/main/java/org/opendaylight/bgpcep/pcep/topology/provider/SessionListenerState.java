@@ -11,6 +11,10 @@ package org.opendaylight.bgpcep.pcep.topology.provider;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Stopwatch;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.ErrorMessages;
@@ -21,6 +25,7 @@ import org.opendaylight.controller.config.yang.pcep.topology.provider.Messages;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.PeerCapabilities;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.PeerPref;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.ReplyTime;
+import org.opendaylight.controller.config.yang.pcep.topology.provider.RpcTime;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.SessionState;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.StatefulMessages;
 import org.opendaylight.protocol.pcep.PCEPSession;
@@ -30,6 +35,30 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.iet
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.pcep.types.rev131005.Message;
 
 final class SessionListenerState {
+    /**
+     * RPCs whose processing time is gauged.
+     */
+    enum LspRpc {
+        ADD_LSP("add-lsp"),
+        UPDATE_LSP("update-lsp"),
+        REMOVE_LSP("remove-lsp"),
+        ENSURE_LSP_OPERATIONAL("ensure-lsp-operational"),
+        TRIGGER_SYNC("trigger-sync");
+
+        private final String rpcName;
+
+        LspRpc(final String rpcName) {
+            this.rpcName = rpcName;
+        }
+    }
+
+    private static final class RpcTimeStats {
+        private long count;
+        private long totalTime;
+        private long minTime;
+        private long maxTime;
+    }
+
     private final LongAdder lastReceivedRptMsgTimestamp = new LongAdder();
     private final LongAdder receivedRptMsgCount = new LongAdder();
     private final LongAdder sentUpdMsgCount = new LongAdder();
@@ -43,6 +72,7 @@ final class SessionListenerState {
     private final LongAdder maxReplyTime = new LongAdder();
     private final LongAdder totalTime = new LongAdder();
     private final LongAdder reqCount = new LongAdder();
+    private final Map<LspRpc, RpcTimeStats> rpcTimes = new EnumMap<>(LspRpc.class);
 
     public SessionListenerState() {
         this.sessionUpDuration = Stopwatch.createUnstarted();
@@ -72,6 +102,18 @@ final class SessionListenerState {
         this.reqCount.increment();
     }
 
+    public synchronized void processRpcStats(final LspRpc rpc, final long durationMicros) {
+        final RpcTimeStats stats = this.rpcTimes.computeIfAbsent(rpc, key -> new RpcTimeStats());
+        if (stats.count == 0 || durationMicros < stats.minTime) {
+            stats.minTime = durationMicros;
+        }
+        if (durationMicros > stats.maxTime) {
+            stats.maxTime = durationMicros;
+        }
+        stats.totalTime += durationMicros;
+        stats.count++;
+    }
+
     public synchronized StatefulMessages getStatefulMessages() {
         final StatefulMessages msgs = new StatefulMessages();
         msgs.setLastReceivedRptMsgTimestamp(this.lastReceivedRptMsgTimestamp.longValue());
@@ -91,6 +133,7 @@ final class SessionListenerState {
         this.minReplyTime.reset();
         this.totalTime.reset();
         this.reqCount.reset();
+        this.rpcTimes.clear();
         session.resetStats();
     }
 
@@ -106,6 +149,20 @@ final class SessionListenerState {
         return time;
     }
 
+    public synchronized List<RpcTime> getRpcTime() {
+        final List<RpcTime> times = new ArrayList<>(this.rpcTimes.size());
+        this.rpcTimes.forEach((rpc, stats) -> {
+            final RpcTime time = new RpcTime();
+            time.setRpc(rpc.rpcName);
+            time.setCount(stats.count);
+            time.setAverageTime(Math.round((double) stats.totalTime / stats.count));
+            time.setMinTime(stats.minTime);
+            time.setMaxTime(stats.maxTime);
+            times.add(time);
+        });
+        return times;
+    }
+
     public PeerCapabilities getPeerCapabilities() {
         return this.capa;
     }
@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
 import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -23,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.bgpcep.pcep.topology.provider.SessionListenerState.LspRpc;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.PeerCapabilities;
 import org.opendaylight.protocol.pcep.PCEPSession;
 import org.opendaylight.protocol.pcep.spi.PCEPErrors;
@@ -142,25 +144,28 @@ class Stateful07TopologySessionListener extends AbstractTopologySessionListener<
      */
     @Override
     public synchronized ListenableFuture<OperationResult> triggerSync(final TriggerSyncArgs input) {
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final ListenableFuture<OperationResult> result;
         if (isTriggeredInitialSynchro() && !isSynchronized()) {
-            return triggerSynchronization(input);
+            result = triggerSynchronization(input);
         } else if (getSynchronized() && isTriggeredReSyncEnabled()) {
             Preconditions.checkArgument(input != null && input.getNode() != null, MISSING_XML_TAG);
             if (input.getName() == null) {
-                return triggerResyncronization(input);
+                result = triggerResyncronization(input);
             } else {
-                return triggerLspSyncronization(input);
+                result = triggerLspSyncronization(input);
             }
+        } else {
+            result = OperationResults.UNSENT.future();
         }
-        return OperationResults.UNSENT.future();
+        return recordRpcTime(LspRpc.TRIGGER_SYNC, stopwatch, result);
     }
 
     private ListenableFuture<OperationResult> triggerLspSyncronization(final TriggerSyncArgs input) {
         LOG.trace("Trigger Lsp Resynchronization {}", input);
 
         // Make sure the LSP exists
-        final InstanceIdentifier<ReportedLsp> lsp = lspIdentifier(input.getName());
-        final ListenableFuture<Optional<ReportedLsp>> f = readOperationalData(lsp);
+        final ListenableFuture<Optional<ReportedLsp>> f = lookupReportedLsp(input.getName());
         if (f == null) {
             return OperationResults.createUnsent(PCEPErrors.LSP_INTERNAL_ERROR).future();
         }
@@ -496,26 +501,27 @@ class Stateful07TopologySessionListener extends AbstractTopologySessionListener<
     public synchronized ListenableFuture<OperationResult> addLsp(final AddLspArgs input) {
         Preconditions.checkArgument(input != null && input.getName() != null && input.getNode() != null && input.getArguments() != null, MISSING_XML_TAG);
         LOG.trace("AddLspArgs {}", input);
+        final Stopwatch stopwatch = Stopwatch.createStarted();
         // Make sure there is no such LSP
-        final InstanceIdentifier<ReportedLsp> lsp = lspIdentifier(input.getName());
-        final ListenableFuture<Optional<ReportedLsp>> f = readOperationalData(lsp);
+        final ListenableFuture<Optional<ReportedLsp>> f = lookupReportedLsp(input.getName());
         if (f == null) {
             return OperationResults.createUnsent(PCEPErrors.LSP_INTERNAL_ERROR).future();
         }
-        return Futures.transformAsync(f, new AddFunction(input, lsp));
+        return recordRpcTime(LspRpc.ADD_LSP, stopwatch,
+            Futures.transformAsync(f, new AddFunction(input, lspIdentifier(input.getName()))));
     }
 
     @Override
     public synchronized ListenableFuture<OperationResult> removeLsp(final RemoveLspArgs input) {
         Preconditions.checkArgument(input != null && input.getName() != null && input.getNode() != null, MISSING_XML_TAG);
         LOG.trace("RemoveLspArgs {}", input);
+        final Stopwatch stopwatch = Stopwatch.createStarted();
         // Make sure the LSP exists, we need it for PLSP-ID
-        final InstanceIdentifier<ReportedLsp> lsp = lspIdentifier(input.getName());
-        final ListenableFuture<Optional<ReportedLsp>> f = readOperationalData(lsp);
+        final ListenableFuture<Optional<ReportedLsp>> f = lookupReportedLsp(input.getName());
         if (f == null) {
             return OperationResults.createUnsent(PCEPErrors.LSP_INTERNAL_ERROR).future();
         }
-        return Futures.transformAsync(f, rep -> {
+        return recordRpcTime(LspRpc.REMOVE_LSP, stopwatch, Futures.transformAsync(f, rep -> {
             final Lsp reportedLsp = validateReportedLsp(rep, input);
             if (reportedLsp == null) {
                 return OperationResults.createUnsent(PCEPErrors.UNKNOWN_PLSP_ID).future();
@@ -524,7 +530,7 @@ class Stateful07TopologySessionListener extends AbstractTopologySessionListener<
             final Requests rb = buildRequest(rep, reportedLsp);
             ib.setRequests(Collections.singletonList(rb));
             return sendMessage(new PcinitiateBuilder().setPcinitiateMessage(ib.build()).build(), rb.getSrp().getOperationId(), null);
-        });
+        }));
     }
 
     private Requests buildRequest(final Optional<ReportedLsp> rep, final Lsp reportedLsp) {
@@ -626,18 +632,19 @@ class Stateful07TopologySessionListener extends AbstractTopologySessionListener<
     public synchronized ListenableFuture<OperationResult> updateLsp(final UpdateLspArgs input) {
         Preconditions.checkArgument(input != null && input.getName() != null && input.getNode() != null && input.getArguments() != null, MISSING_XML_TAG);
         LOG.trace("UpdateLspArgs {}", input);
+        final Stopwatch stopwatch = Stopwatch.createStarted();
         // Make sure the LSP exists
-        final InstanceIdentifier<ReportedLsp> lsp = lspIdentifier(input.getName());
-        final ListenableFuture<Optional<ReportedLsp>> f = readOperationalData(lsp);
+        final ListenableFuture<Optional<ReportedLsp>> f = lookupReportedLsp(input.getName());
         if (f == null) {
             return OperationResults.createUnsent(PCEPErrors.LSP_INTERNAL_ERROR).future();
         }
-        return Futures.transformAsync(f, new UpdateFunction(input));
+        return recordRpcTime(LspRpc.UPDATE_LSP, stopwatch, Futures.transformAsync(f, new UpdateFunction(input)));
     }
 
     @Override
     public synchronized ListenableFuture<OperationResult> ensureLspOperational(final EnsureLspOperationalInput input) {
         Preconditions.checkArgument(input != null && input.getName() != null && input.getNode() != null && input.getArguments() != null, MISSING_XML_TAG);
+        final Stopwatch stopwatch = Stopwatch.createStarted();
         final OperationalStatus op;
         final Arguments1 aa = input.getArguments().getAugmentation(Arguments1.class);
         if (aa != null) {
@@ -647,13 +654,12 @@ class Stateful07TopologySessionListener extends AbstractTopologySessionListener<
         }
 
         // Make sure the LSP exists
-        final InstanceIdentifier<ReportedLsp> lsp = lspIdentifier(input.getName());
-        LOG.debug("Checking if LSP {} has operational state {}", lsp, op);
-        final ListenableFuture<Optional<ReportedLsp>> f = readOperationalData(lsp);
+        LOG.debug("Checking if LSP {} has operational state {}", input.getName(), op);
+        final ListenableFuture<Optional<ReportedLsp>> f = lookupReportedLsp(input.getName());
         if (f == null) {
             return OperationResults.createUnsent(PCEPErrors.LSP_INTERNAL_ERROR).future();
         }
-        return listenableFuture(f, input, op);
+        return recordRpcTime(LspRpc.ENSURE_LSP_OPERATIONAL, stopwatch, listenableFuture(f, input, op));
     }
 
     private ListenableFuture<OperationResult> listenableFuture(final ListenableFuture<Optional<ReportedLsp>> f, final EnsureLspOperationalInput input, final OperationalStatus op) {
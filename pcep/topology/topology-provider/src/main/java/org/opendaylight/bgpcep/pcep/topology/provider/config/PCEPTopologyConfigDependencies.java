@@ -11,9 +11,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Optional;
 import java.net.InetSocketAddress;
+import org.opendaylight.bgpcep.pcep.topology.provider.ServerSessionManager;
 import org.opendaylight.bgpcep.programming.spi.InstructionScheduler;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.PCEPTopologyProviderRuntimeRegistrator;
 import org.opendaylight.protocol.concepts.KeyMapping;
+import org.opendaylight.protocol.pcep.PCEPTransportSettings;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TopologyId;
 
 public final class PCEPTopologyConfigDependencies {
@@ -23,16 +25,38 @@ public final class PCEPTopologyConfigDependencies {
     private final TopologyId topologyId;
     private final Optional<PCEPTopologyProviderRuntimeRegistrator> runtime;
     private final short rpcTimeout;
+    private final int syncBatchSize;
+    private final long syncBatchMillis;
+    private final PCEPTransportSettings transportSettings;
 
     public PCEPTopologyConfigDependencies(final InetSocketAddress address, final KeyMapping keys,
         final InstructionScheduler scheduler, final TopologyId topologyId,
         final Optional<PCEPTopologyProviderRuntimeRegistrator> runtime, final short rpcTimeout) {
+        this(address, keys, scheduler, topologyId, runtime, rpcTimeout, ServerSessionManager.DEFAULT_SYNC_BATCH_SIZE,
+            ServerSessionManager.DEFAULT_SYNC_BATCH_MILLIS);
+    }
+
+    public PCEPTopologyConfigDependencies(final InetSocketAddress address, final KeyMapping keys,
+        final InstructionScheduler scheduler, final TopologyId topologyId,
+        final Optional<PCEPTopologyProviderRuntimeRegistrator> runtime, final short rpcTimeout,
+        final int syncBatchSize, final long syncBatchMillis) {
+        this(address, keys, scheduler, topologyId, runtime, rpcTimeout, syncBatchSize, syncBatchMillis,
+            PCEPTransportSettings.DEFAULT);
+    }
+
+    public PCEPTopologyConfigDependencies(final InetSocketAddress address, final KeyMapping keys,
+        final InstructionScheduler scheduler, final TopologyId topologyId,
+        final Optional<PCEPTopologyProviderRuntimeRegistrator> runtime, final short rpcTimeout,
+        final int syncBatchSize, final long syncBatchMillis, final PCEPTransportSettings transportSettings) {
         this.address = checkNotNull(address);
         this.keys = checkNotNull(keys);
         this.scheduler = checkNotNull(scheduler);
         this.topologyId = checkNotNull(topologyId);
         this.runtime = checkNotNull(runtime);
         this.rpcTimeout = rpcTimeout;
+        this.syncBatchSize = syncBatchSize;
+        this.syncBatchMillis = syncBatchMillis;
+        this.transportSettings = checkNotNull(transportSettings);
     }
 
     public TopologyId getTopologyId() {
@@ -47,6 +71,18 @@ public final class PCEPTopologyConfigDependencies {
         return this.rpcTimeout;
     }
 
+    public int getSyncBatchSize() {
+        return this.syncBatchSize;
+    }
+
+    public long getSyncBatchMillis() {
+        return this.syncBatchMillis;
+    }
+
+    public PCEPTransportSettings getTransportSettings() {
+        return this.transportSettings;
+    }
+
     public Optional<PCEPTopologyProviderRuntimeRegistrator> getRuntimeRootRegistrator() {
         return this.runtime;
     }
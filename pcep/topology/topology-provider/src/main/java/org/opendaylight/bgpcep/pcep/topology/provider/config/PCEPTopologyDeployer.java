@@ -11,9 +11,11 @@ import com.google.common.base.Optional;
 import java.net.InetSocketAddress;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.opendaylight.bgpcep.pcep.topology.provider.ServerSessionManager;
 import org.opendaylight.bgpcep.programming.spi.InstructionScheduler;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.PCEPTopologyProviderRuntimeRegistrator;
 import org.opendaylight.protocol.concepts.KeyMapping;
+import org.opendaylight.protocol.pcep.PCEPTransportSettings;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TopologyId;
 
 /**
@@ -47,8 +49,44 @@ public interface PCEPTopologyDeployer {
      * @param client List of clients password configuration
      * @param scheduler  Instruction Scheduler
      */
-    void createTopologyProvider(@Nonnull TopologyId topologyId, @Nonnull InetSocketAddress inetSocketAddress,
+    default void createTopologyProvider(@Nonnull TopologyId topologyId, @Nonnull InetSocketAddress inetSocketAddress,
         short rpcTimeout, @Nonnull KeyMapping client, @Nonnull InstructionScheduler scheduler,
+        Optional<PCEPTopologyProviderRuntimeRegistrator> runtime) {
+        createTopologyProvider(topologyId, inetSocketAddress, rpcTimeout, ServerSessionManager.DEFAULT_SYNC_BATCH_SIZE,
+            ServerSessionManager.DEFAULT_SYNC_BATCH_MILLIS, client, scheduler, runtime);
+    }
+
+    /**
+     * Creates and register topology provider instance
+     *  @param topologyId topology ID
+     * @param inetSocketAddress inetSocketAddress
+     * @param rpcTimeout rpc Timeout
+     * @param syncBatchSize maximum number of messages committed together while a PCC synchronizes
+     * @param syncBatchMillis maximum time in milliseconds a synchronization batch is held
+     * @param client List of clients password configuration
+     * @param scheduler  Instruction Scheduler
+     */
+    default void createTopologyProvider(@Nonnull TopologyId topologyId, @Nonnull InetSocketAddress inetSocketAddress,
+        short rpcTimeout, int syncBatchSize, long syncBatchMillis, @Nonnull KeyMapping client,
+        @Nonnull InstructionScheduler scheduler, Optional<PCEPTopologyProviderRuntimeRegistrator> runtime) {
+        createTopologyProvider(topologyId, inetSocketAddress, rpcTimeout, syncBatchSize, syncBatchMillis,
+            PCEPTransportSettings.DEFAULT, client, scheduler, runtime);
+    }
+
+    /**
+     * Creates and register topology provider instance
+     *  @param topologyId topology ID
+     * @param inetSocketAddress inetSocketAddress
+     * @param rpcTimeout rpc Timeout
+     * @param syncBatchSize maximum number of messages committed together while a PCC synchronizes
+     * @param syncBatchMillis maximum time in milliseconds a synchronization batch is held
+     * @param transportSettings transport settings of the accepted PCC sessions
+     * @param client List of clients password configuration
+     * @param scheduler  Instruction Scheduler
+     */
+    void createTopologyProvider(@Nonnull TopologyId topologyId, @Nonnull InetSocketAddress inetSocketAddress,
+        short rpcTimeout, int syncBatchSize, long syncBatchMillis, @Nonnull PCEPTransportSettings transportSettings,
+        @Nonnull KeyMapping client, @Nonnull InstructionScheduler scheduler,
         Optional<PCEPTopologyProviderRuntimeRegistrator> runtime);
 
     /**
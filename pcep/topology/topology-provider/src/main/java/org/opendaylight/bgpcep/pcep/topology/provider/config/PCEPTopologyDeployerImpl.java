@@ -20,6 +20,7 @@ import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.bgpcep.programming.spi.InstructionScheduler;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.PCEPTopologyProviderRuntimeRegistrator;
 import org.opendaylight.protocol.concepts.KeyMapping;
+import org.opendaylight.protocol.pcep.PCEPTransportSettings;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TopologyId;
 import org.osgi.service.blueprint.container.BlueprintContainer;
 import org.slf4j.Logger;
@@ -39,7 +40,8 @@ public class PCEPTopologyDeployerImpl implements PCEPTopologyDeployer, AutoClose
 
     @Override
     public synchronized void createTopologyProvider(final TopologyId topologyId,
-        final InetSocketAddress inetSocketAddress, final short rpcTimeout, final KeyMapping keys,
+        final InetSocketAddress inetSocketAddress, final short rpcTimeout, final int syncBatchSize,
+        final long syncBatchMillis, final PCEPTransportSettings transportSettings, final KeyMapping keys,
         final InstructionScheduler schedulerDependency,
         final Optional<PCEPTopologyProviderRuntimeRegistrator> runtime) {
         if (this.pcepTopologyServices.containsKey(topologyId)) {
@@ -50,7 +52,8 @@ public class PCEPTopologyDeployerImpl implements PCEPTopologyDeployer, AutoClose
             .getComponentInstance(PCEPTopologyProviderBean.class.getSimpleName());
         this.pcepTopologyServices.put(topologyId, pcepTopologyProviderBean);
         final PCEPTopologyConfigDependencies configDependencies = new PCEPTopologyConfigDependencies(inetSocketAddress,
-            keys, schedulerDependency, topologyId, runtime, rpcTimeout);
+            keys, schedulerDependency, topologyId, runtime, rpcTimeout, syncBatchSize, syncBatchMillis,
+            transportSettings);
         pcepTopologyProviderBean.start(configDependencies);
     }
 
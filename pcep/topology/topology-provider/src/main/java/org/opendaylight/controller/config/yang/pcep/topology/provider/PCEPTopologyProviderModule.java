@@ -34,6 +34,7 @@ import org.opendaylight.bgpcep.topology.TopologyReference;
 import org.opendaylight.controller.config.api.JmxAttributeValidationException;
 import org.opendaylight.controller.config.api.osgi.WaitingServiceTracker;
 import org.opendaylight.protocol.concepts.KeyMapping;
+import org.opendaylight.protocol.pcep.PCEPTransportSettings;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TopologyId;
 import org.osgi.framework.BundleContext;
@@ -67,6 +68,16 @@ public final class PCEPTopologyProviderModule extends
         JmxAttributeValidationException.checkNotNull(getListenPort(), IS_NOT_SET, listenPortJmxAttribute);
         JmxAttributeValidationException.checkNotNull(getStatefulPlugin(), IS_NOT_SET, statefulPluginJmxAttribute);
         JmxAttributeValidationException.checkNotNull(getRpcTimeout(), IS_NOT_SET, rpcTimeoutJmxAttribute);
+        JmxAttributeValidationException.checkNotNull(getSyncBatchSize(), IS_NOT_SET, syncBatchSizeJmxAttribute);
+        JmxAttributeValidationException.checkNotNull(getSyncBatchMillis(), IS_NOT_SET, syncBatchMillisJmxAttribute);
+        JmxAttributeValidationException.checkNotNull(getMaxMessagesPerRead(), IS_NOT_SET,
+            maxMessagesPerReadJmxAttribute);
+        JmxAttributeValidationException.checkNotNull(getEdgeTriggered(), IS_NOT_SET, edgeTriggeredJmxAttribute);
+        if (getWriteBufferLowWaterMark() != null) {
+            JmxAttributeValidationException.checkCondition(getWriteBufferHighWaterMark() != null
+                    && getWriteBufferLowWaterMark() <= getWriteBufferHighWaterMark(),
+                "must not exceed write-buffer-high-water-mark.", writeBufferLowWaterMarkJmxAttribute);
+        }
 
         final KeyMapping keys = contructKeys(getClient());
         if (!keys.isEmpty()) {
@@ -85,6 +96,16 @@ public final class PCEPTopologyProviderModule extends
         return InetAddresses.forString(a.getIpv6Address().getValue());
     }
 
+    private PCEPTransportSettings transportSettings() {
+        final int highWaterMark = getWriteBufferHighWaterMark() != null ? getWriteBufferHighWaterMark().intValue() : 0;
+        final int lowWaterMark = getWriteBufferLowWaterMark() != null ? getWriteBufferLowWaterMark().intValue()
+            : highWaterMark / 2;
+        return new PCEPTransportSettings(getMaxMessagesPerRead(), getEdgeTriggered(),
+            getReceiveBufferSize() != null ? getReceiveBufferSize().intValue() : 0,
+            getSendBufferSize() != null ? getSendBufferSize().intValue() : 0, lowWaterMark, highWaterMark,
+            getEventLoop() != null ? getEventLoop() : PCEPTransportSettings.NO_EVENT_LOOP);
+    }
+
     @Override
     public java.lang.AutoCloseable createInstance() {
         final WaitingServiceTracker<PCEPTopologyDeployer> pcepcTopologyDeployerTracker =
@@ -97,8 +118,9 @@ public final class PCEPTopologyProviderModule extends
 
         final InetSocketAddress inetSocketAddress = new InetSocketAddress(listenAddress(), getListenPort().getValue());
 
-        pcepcTopologyDeployer.createTopologyProvider(topologyID, inetSocketAddress, getRpcTimeout(), keys,
-            getSchedulerDependency(), Optional.fromNullable(getRootRuntimeBeanRegistratorWrapper()));
+        pcepcTopologyDeployer.createTopologyProvider(topologyID, inetSocketAddress, getRpcTimeout(),
+            getSyncBatchSize(), getSyncBatchMillis(), transportSettings(), keys, getSchedulerDependency(),
+            Optional.fromNullable(getRootRuntimeBeanRegistratorWrapper()));
 
         final WaitingServiceTracker<DefaultTopologyReference> defaultTopologyReferenceTracker =
             WaitingServiceTracker.create(DefaultTopologyReference.class, this.bundleContext,
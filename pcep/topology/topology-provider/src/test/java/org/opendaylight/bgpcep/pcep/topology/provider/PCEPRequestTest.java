@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.bgpcep.pcep.topology.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class PCEPRequestTest {
+    private static final int OUTSTANDING_REQUESTS = 50000;
+    private static final String TIMER_THREAD_PREFIX = "pcep-request-timeout";
+
+    private final ManualTimer timer = new ManualTimer();
+
+    @Test
+    public void testTimeout() throws Exception {
+        final PCEPRequest req = new PCEPRequest(null, this.timer);
+        req.sent();
+        req.scheduleTimeout(10, TimeUnit.MILLISECONDS, req::done);
+
+        this.timer.advance(9, TimeUnit.MILLISECONDS);
+        assertFalse(req.getFuture().isDone());
+        this.timer.advance(1, TimeUnit.MILLISECONDS);
+        assertEquals(OperationResults.NOACK, req.getFuture().get(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testOutstandingRequests() throws Exception {
+        final AtomicInteger expired = new AtomicInteger();
+        final List<PCEPRequest> requests = new ArrayList<>(OUTSTANDING_REQUESTS);
+        for (int i = 0; i < OUTSTANDING_REQUESTS; i++) {
+            final PCEPRequest req = new PCEPRequest(null, this.timer);
+            req.scheduleTimeout(200, TimeUnit.MILLISECONDS, expired::incrementAndGet);
+            requests.add(req);
+        }
+        assertEquals(OUTSTANDING_REQUESTS, this.timer.getPendingCount());
+
+        // completed requests cancel their timeouts
+        requests.forEach(req -> req.done(OperationResults.SUCCESS));
+        assertEquals(0, this.timer.getPendingCount());
+        this.timer.advance(200, TimeUnit.MILLISECONDS);
+        assertEquals(0, expired.get());
+        for (final PCEPRequest req : requests) {
+            assertTrue(req.getFuture().isDone());
+        }
+    }
+
+    @Test
+    public void testDoneBeforeScheduled() {
+        final AtomicInteger expired = new AtomicInteger();
+        final PCEPRequest req = new PCEPRequest(null, this.timer);
+        req.done(OperationResults.SUCCESS);
+        req.scheduleTimeout(200, TimeUnit.MILLISECONDS, expired::incrementAndGet);
+        assertEquals(0, this.timer.getPendingCount());
+        this.timer.advance(200, TimeUnit.MILLISECONDS);
+        assertEquals(0, expired.get());
+    }
+
+    @Test
+    public void testSharedTimerThread() throws Exception {
+        final CountDownLatch expired = new CountDownLatch(OUTSTANDING_REQUESTS);
+        final Set<String> timeoutThreads = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < OUTSTANDING_REQUESTS; i++) {
+            final PCEPRequest req = new PCEPRequest(null);
+            req.scheduleTimeout(10, TimeUnit.MILLISECONDS, () -> {
+                timeoutThreads.add(Thread.currentThread().getName());
+                expired.countDown();
+            });
+        }
+        assertTrue(expired.await(30, TimeUnit.SECONDS));
+
+        // all timeouts expire on the single thread of the shared timer
+        assertEquals(1, timeoutThreads.size());
+        assertTrue(timeoutThreads.iterator().next().startsWith(TIMER_THREAD_PREFIX));
+        assertEquals(1, Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().startsWith(TIMER_THREAD_PREFIX)).count());
+    }
+
+    /**
+     * Timer driven by the test, timeouts expire only when the time is advanced.
+     */
+    private static final class ManualTimer implements Timer {
+        private final List<ManualTimeout> timeouts = new ArrayList<>();
+        private long now;
+
+        @Override
+        public Timeout newTimeout(final TimerTask task, final long delay, final TimeUnit unit) {
+            final ManualTimeout timeout = new ManualTimeout(task, this.now + unit.toNanos(delay));
+            this.timeouts.add(timeout);
+            return timeout;
+        }
+
+        @Override
+        public Set<Timeout> stop() {
+            return Collections.emptySet();
+        }
+
+        void advance(final long time, final TimeUnit unit) throws Exception {
+            this.now += unit.toNanos(time);
+            for (final ManualTimeout timeout : new ArrayList<>(this.timeouts)) {
+                if (timeout.deadline <= this.now) {
+                    this.timeouts.remove(timeout);
+                    timeout.expire();
+                }
+            }
+        }
+
+        int getPendingCount() {
+            this.timeouts.removeIf(Timeout::isCancelled);
+            return this.timeouts.size();
+        }
+
+        private final class ManualTimeout implements Timeout {
+            private final TimerTask task;
+            private final long deadline;
+            private boolean cancelled;
+            private boolean expired;
+
+            ManualTimeout(final TimerTask task, final long deadline) {
+                this.task = task;
+                this.deadline = deadline;
+            }
+
+            void expire() throws Exception {
+                if (!this.cancelled) {
+                    this.expired = true;
+                    this.task.run(this);
+                }
+            }
+
+            @Override
+            public Timer timer() {
+                return ManualTimer.this;
+            }
+
+            @Override
+            public TimerTask task() {
+                return this.task;
+            }
+
+            @Override
+            public boolean isExpired() {
+                return this.expired;
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return this.cancelled;
+            }
+
+            @Override
+            public boolean cancel() {
+                if (this.expired || this.cancelled) {
+                    return false;
+                }
+                this.cancelled = true;
+                return true;
+            }
+        }
+    }
+}
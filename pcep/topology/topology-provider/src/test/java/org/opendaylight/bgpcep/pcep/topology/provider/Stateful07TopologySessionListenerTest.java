@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.junit.Before;
 import org.junit.Test;
+import org.opendaylight.controller.config.yang.pcep.topology.provider.RpcTime;
 import org.opendaylight.controller.config.yang.pcep.topology.provider.SessionState;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
@@ -235,6 +236,15 @@ public class Stateful07TopologySessionListenerTest extends AbstractPCEPSessionTe
         final OperationResult result = this.topologyRpcs.ensureLspOperational(ensure).get().getResult();
         //check result
         assertNull(result.getFailure());
+        // the add-lsp and update-lsp wait for the PCC's report, ensure-lsp-operational is served from memory
+        checkEquals(()-> {
+            final List<RpcTime> rpcTimes = this.listener.getRpcTime();
+            assertEquals(3, rpcTimes.size());
+            for (final RpcTime rpcTime : rpcTimes) {
+                assertEquals(1, rpcTime.getCount().intValue());
+                assertTrue(rpcTime.getMinTime() <= rpcTime.getMaxTime());
+            }
+        });
 
         // remove-lsp
         final RemoveLspInput remove = new RemoveLspInputBuilder().setName(this.TUNNEL_NAME)
@@ -272,6 +282,7 @@ public class Stateful07TopologySessionListenerTest extends AbstractPCEPSessionTe
         checkEquals(()->assertEquals(0, this.listener.getReplyTime().getAverageTime().longValue()));
         checkEquals(()->assertEquals(0, this.listener.getReplyTime().getMaxTime().longValue()));
         checkEquals(()->assertEquals(0, this.listener.getReplyTime().getMinTime().longValue()));
+        checkEquals(()->assertTrue(this.listener.getRpcTime().isEmpty()));
     }
 
     @Test
@@ -625,6 +636,41 @@ public class Stateful07TopologySessionListenerTest extends AbstractPCEPSessionTe
         checkEquals(()->assertEquals(0, this.listener.getDelegatedLspsCount().intValue()));
     }
 
+    @Test
+    public void testSyncBatching() throws Exception {
+        this.listener.setSyncBatching(100, TimeUnit.HOURS.toMillis(1));
+        this.listener.onSessionUp(this.session);
+        readDataOperational(getDataBroker(), this.pathComputationClientIId, pcc -> {
+            assertTrue(pcc.getReportedLsp().isEmpty());
+            return pcc;
+        });
+
+        final Tlvs tlvs = createLspTlvs(0L, true, this.testAddress, this.testAddress, this.testAddress,
+            Optional.absent());
+        final Pcrpt syncRpt = MsgBuilderUtil.createPcRtpMessage(new LspBuilder().setTlvs(tlvs)
+            .setPlspId(new PlspId(1L)).setSync(true).setRemove(false).setOperational(OperationalStatus.Active)
+            .build(), Optional.absent(), MsgBuilderUtil.createPath(
+                createEroWithIpPrefixes(Lists.newArrayList(this.eroIpPrefix)).getSubobject()));
+        this.listener.onMessage(this.session, syncRpt);
+        assertFalse(this.listener.getSynchronized());
+        // report is held back until the batch is committed
+        readDataOperational(getDataBroker(), this.pathComputationClientIId, pcc -> {
+            assertTrue(pcc.getReportedLsp().isEmpty());
+            return pcc;
+        });
+
+        // the end-of-sync marker commits the whole batch
+        final Pcrpt esm = MsgBuilderUtil.createPcRtpMessage(new LspBuilder().setSync(false).build(),
+            Optional.of(MsgBuilderUtil.createSrp(0L)), null);
+        this.listener.onMessage(this.session, esm);
+        assertTrue(this.listener.getSynchronized());
+        readDataOperational(getDataBroker(), this.pathComputationClientIId, pcc -> {
+            assertEquals(1, pcc.getReportedLsp().size());
+            assertEquals(this.TUNNEL_NAME, pcc.getReportedLsp().get(0).getName());
+            return pcc;
+        });
+    }
+
     @Override
     protected Open getLocalPref() {
         return new OpenBuilder(super.getLocalPref()).setTlvs(new TlvsBuilder().addAugmentation(Tlvs1.class,
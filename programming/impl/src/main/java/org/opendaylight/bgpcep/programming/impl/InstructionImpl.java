@@ -14,9 +14,11 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.util.Timeout;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.bgpcep.programming.spi.ExecutionResult;
 import org.opendaylight.bgpcep.programming.spi.Instruction;
@@ -32,15 +34,56 @@ import org.slf4j.LoggerFactory;
 final class InstructionImpl implements Instruction {
     private static final Logger LOG = LoggerFactory.getLogger(InstructionImpl.class);
     private final List<InstructionImpl> dependants = new ArrayList<>();
+    /*
+     * Status transitions made under the instruction lock, waiting to be published once it is released.
+     */
+    @GuardedBy("this")
+    private final Queue<Transition> transitions = new ArrayDeque<>();
+    private final Object publishLock = new Object();
     private final SettableFuture<Instruction> schedulingFuture;
     private final List<InstructionImpl> dependencies;
     private final QueueInstruction queue;
     private final InstructionId id;
     private SettableFuture<ExecutionResult<Details>> executionFuture;
-    private InstructionStatus status = InstructionStatus.Queued;
+    private volatile InstructionStatus status = InstructionStatus.Queued;
     private Details heldUpDetails;
     private Timeout timeout;
 
+    /**
+     * A status transition, which is published by notifying the queue and cancelling the dependants
+     * it cascades to. Publishing talks to the datastore and takes the dependants' locks, so it is done
+     * without holding the lock of the instruction which transitioned.
+     */
+    private final class Transition {
+        private final InstructionStatus status;
+        private final Details details;
+        private final List<InstructionImpl> cancelledDependants;
+
+        Transition(final InstructionStatus status, final Details details,
+                final List<InstructionImpl> cancelledDependants) {
+            this.status = status;
+            this.details = details;
+            this.cancelledDependants = cancelledDependants;
+        }
+
+        void publish() {
+            if (this.status == InstructionStatus.Cancelled) {
+                InstructionImpl.this.schedulingFuture.cancel(false);
+            }
+
+            // Send out a notification
+            InstructionImpl.this.queue.instructionUpdated(this.status, this.details);
+
+            if (!this.cancelledDependants.isEmpty()) {
+                final Details dependantDetails = new DetailsBuilder()
+                        .setUnmetDependencies(ImmutableList.of(InstructionImpl.this.id)).build();
+                for (final InstructionImpl d : this.cancelledDependants) {
+                    d.tryCancel(dependantDetails);
+                }
+            }
+        }
+    }
+
     InstructionImpl(final QueueInstruction queue, final SettableFuture<Instruction> future, final InstructionId id,
             final List<InstructionImpl> dependencies, final Timeout timeout) {
         this.schedulingFuture = requireNonNull(future);
@@ -54,32 +97,60 @@ final class InstructionImpl implements Instruction {
         return this.id;
     }
 
-    synchronized InstructionStatus getStatus() {
+    /*
+     * Status is read without locking, so that an instruction checking its dependencies never waits for
+     * a dependency, which may be cancelling its dependants at the same time.
+     */
+    InstructionStatus getStatus() {
         return this.status;
     }
 
-    private synchronized void setStatus(final InstructionStatus status, final Details details) {
+    @GuardedBy("this")
+    private void setStatus(final InstructionStatus status, final Details details) {
         // Set the status
         this.status = status;
         LOG.debug("Instruction {} transitioned to status {}", this.id, status);
 
-        // Send out a notification
-        this.queue.instructionUpdated(status, details);
-
+        final List<InstructionImpl> cancelled;
         switch (status) {
         case Cancelled:
         case Failed:
         case Unknown:
-            cancelDependants();
+            cancelled = ImmutableList.copyOf(this.dependants);
             break;
         case Executing:
         case Queued:
         case Scheduled:
         case Successful:
-            break;
         default:
+            cancelled = ImmutableList.of();
             break;
         }
+        this.transitions.add(new Transition(status, details, cancelled));
+    }
+
+    /*
+     * Must not be called with the instruction lock held. Transitions are published in the order they were
+     * made, by whichever thread gets to the publish lock first, before any thread which made one returns.
+     */
+    private void publishTransitions() {
+        synchronized (this.publishLock) {
+            drainTransitions();
+        }
+    }
+
+    @GuardedBy("publishLock")
+    private void drainTransitions() {
+        while (true) {
+            final Transition transition;
+            synchronized (this) {
+                transition = this.transitions.poll();
+            }
+            if (transition == null) {
+                return;
+            }
+            transition.publish();
+        }
     }
 
     @GuardedBy("this")
@@ -90,39 +161,42 @@ final class InstructionImpl implements Instruction {
         }
     }
 
-    public synchronized void timeout() {
-        if (this.timeout == null) {
-            return;
-        }
-        this.timeout = null;
-        switch (this.status) {
-        case Cancelled:
-        case Failed:
-        case Successful:
-            LOG.debug("Instruction {} has status {}, timeout is a no-op", this.id, this.status);
-            break;
-        case Unknown:
-            LOG.warn("Instruction {} has status {} before timeout completed", this.id, this.status);
-            break;
-        case Executing:
-            LOG.info("Instruction {} timed out while executing, transitioning into Unknown", this.id);
-            setStatus(InstructionStatus.Unknown, null);
-            cancelDependants();
-            break;
-        case Queued:
-            LOG.debug("Instruction {} timed out while Queued, cancelling it", this.id);
-            cancelInstrunction();
-            break;
-        case Scheduled:
-            LOG.debug("Instruction {} timed out while Scheduled, cancelling it", this.id);
-            cancel(this.heldUpDetails);
-            break;
-        default:
-            break;
+    public void timeout() {
+        synchronized (this) {
+            if (this.timeout == null) {
+                return;
+            }
+            this.timeout = null;
+            switch (this.status) {
+            case Cancelled:
+            case Failed:
+            case Successful:
+                LOG.debug("Instruction {} has status {}, timeout is a no-op", this.id, this.status);
+                break;
+            case Unknown:
+                LOG.warn("Instruction {} has status {} before timeout completed", this.id, this.status);
+                break;
+            case Executing:
+                LOG.info("Instruction {} timed out while executing, transitioning into Unknown", this.id);
+                setStatus(InstructionStatus.Unknown, null);
+                break;
+            case Queued:
+                LOG.debug("Instruction {} timed out while Queued, cancelling it", this.id);
+                cancelInstrunction();
+                break;
+            case Scheduled:
+                LOG.debug("Instruction {} timed out while Scheduled, cancelling it", this.id);
+                cancel(this.heldUpDetails);
+                break;
+            default:
+                break;
+            }
         }
+        publishTransitions();
     }
 
-    private synchronized void cancelInstrunction() {
+    @GuardedBy("this")
+    private void cancelInstrunction() {
         final List<InstructionId> ids = new ArrayList<>();
         for (final InstructionImpl d : this.dependencies) {
             if (d.getStatus() != InstructionStatus.Successful) {
@@ -132,46 +206,44 @@ final class InstructionImpl implements Instruction {
         cancel(new DetailsBuilder().setUnmetDependencies(ids).build());
     }
 
-    @GuardedBy("this")
-    private void cancelDependants() {
-        final Details details = new DetailsBuilder().setUnmetDependencies(ImmutableList.of(this.id)).build();
-        for (final InstructionImpl d : this.dependants) {
-            d.tryCancel(details);
-        }
-    }
-
     @GuardedBy("this")
     private void cancel(final Details details) {
         cancelTimeout();
-        this.schedulingFuture.cancel(false);
         setStatus(InstructionStatus.Cancelled, details);
     }
 
-    synchronized Class<? extends CancelFailure> tryCancel(final Details details) {
-        switch (this.status) {
-        case Cancelled:
-        case Executing:
-        case Failed:
-        case Successful:
-        case Unknown:
-            LOG.debug("Instruction {} can no longer be cancelled due to status {}", this.id, this.status);
-            return UncancellableInstruction.class;
-        case Queued:
-        case Scheduled:
-            cancel(details);
-            return null;
-        default:
-            throw new IllegalStateException("Unhandled instruction state " + this.status);
+    Class<? extends CancelFailure> tryCancel(final Details details) {
+        synchronized (this) {
+            switch (this.status) {
+            case Cancelled:
+            case Executing:
+            case Failed:
+            case Successful:
+            case Unknown:
+                LOG.debug("Instruction {} can no longer be cancelled due to status {}", this.id, this.status);
+                return UncancellableInstruction.class;
+            case Queued:
+            case Scheduled:
+                cancel(details);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled instruction state " + this.status);
+            }
         }
+        publishTransitions();
+        return null;
     }
 
     @Override
-    public synchronized boolean checkedExecutionStart() {
-        if (this.status != InstructionStatus.Scheduled) {
-            return false;
-        }
+    public boolean checkedExecutionStart() {
+        synchronized (this) {
+            if (this.status != InstructionStatus.Scheduled) {
+                return false;
+            }
 
-        setStatus(InstructionStatus.Executing, null);
+            setStatus(InstructionStatus.Executing, null);
+        }
+        publishTransitions();
         return true;
     }
 
@@ -199,6 +271,7 @@ final class InstructionImpl implements Instruction {
             setStatus(status, details);
         }
 
+        publishTransitions();
         this.executionFuture.set(result);
     }
 
@@ -215,23 +288,38 @@ final class InstructionImpl implements Instruction {
     }
 
     synchronized Iterator<InstructionImpl> getDependants() {
-        return this.dependants.iterator();
+        return ImmutableList.copyOf(this.dependants).iterator();
     }
 
-    synchronized void clean() {
-        for (final InstructionImpl dependency : this.dependencies) {
-            dependency.removeDependant(this);
+    /*
+     * Unlinks this instruction from its neighbours without holding its own lock, as a dependency and
+     * a dependant cleaning up at the same time would otherwise take each other's locks in opposite order.
+     */
+    void clean() {
+        final List<InstructionImpl> oldDependencies;
+        final List<InstructionImpl> oldDependants;
+        synchronized (this) {
+            oldDependencies = ImmutableList.copyOf(this.dependencies);
+            this.dependencies.clear();
+            oldDependants = ImmutableList.copyOf(this.dependants);
+            this.dependants.clear();
         }
-        this.dependencies.clear();
 
-        for (final InstructionImpl dependant : this.dependants) {
+        for (final InstructionImpl dependency : oldDependencies) {
+            dependency.removeDependant(this);
+        }
+        for (final InstructionImpl dependant : oldDependants) {
             dependant.removeDependency(this);
         }
-        this.dependants.clear();
 
-        this.queue.instructionRemoved();
+        // Do not let a transition still being published resurrect the removed instruction
+        synchronized (this.publishLock) {
+            drainTransitions();
+            this.queue.instructionRemoved();
+        }
     }
 
+    @GuardedBy("this")
     private Boolean checkDependencies() {
         boolean ready = true;
         final List<InstructionId> unmet = new ArrayList<>();
@@ -262,8 +350,30 @@ final class InstructionImpl implements Instruction {
         return ready;
     }
 
-    synchronized ListenableFuture<ExecutionResult<Details>> ready() {
-        Preconditions.checkState(this.status == InstructionStatus.Queued);
+    ListenableFuture<ExecutionResult<Details>> ready() {
+        final ListenableFuture<ExecutionResult<Details>> ret;
+        synchronized (this) {
+            ret = scheduleIfReady();
+        }
+        publishTransitions();
+
+        // Listeners of the scheduling future may call back into this instruction, let them do so unlocked
+        if (ret != null) {
+            this.schedulingFuture.set(this);
+        }
+        return ret;
+    }
+
+    @GuardedBy("this")
+    private ListenableFuture<ExecutionResult<Details>> scheduleIfReady() {
+        /*
+         * Dependencies completing concurrently may each attempt to schedule this instruction, only the first
+         * one to find all of them resolved gets to do that.
+         */
+        if (this.status != InstructionStatus.Queued) {
+            LOG.debug("Instruction {} is already {}, not scheduling it", this.id, this.status);
+            return null;
+        }
         Preconditions.checkState(this.executionFuture == null);
         /*
          * Check all vertices we depend on. We start off as ready for
@@ -278,7 +388,6 @@ final class InstructionImpl implements Instruction {
         LOG.debug("Instruction {} is ready for execution", this.id);
         setStatus(InstructionStatus.Scheduled, null);
         this.executionFuture = SettableFuture.create();
-        this.schedulingFuture.set(this);
         return this.executionFuture;
     }
 }
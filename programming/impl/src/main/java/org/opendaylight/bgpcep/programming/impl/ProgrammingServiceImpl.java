@@ -20,11 +20,13 @@ import io.netty.util.Timer;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.bgpcep.programming.NanotimeUtil;
 import org.opendaylight.bgpcep.programming.impl.InstructionDeployerImpl.WriteConfiguration;
 import org.opendaylight.bgpcep.programming.spi.ExecutionResult;
@@ -76,7 +78,12 @@ public final class ProgrammingServiceImpl implements AutoCloseable, ClusterSingl
     ProgrammingService {
     private static final Logger LOG = LoggerFactory.getLogger(ProgrammingServiceImpl.class);
 
-    private final Map<InstructionId, InstructionImpl> insns = new HashMap<>();
+    /*
+     * Instructions are looked up without locking, so that instructions completing, timing out and scheduling
+     * their dependants do not contend with each other. Each instruction guards its own state, submissions
+     * and cleanups are serialized on this service.
+     */
+    private final Map<InstructionId, InstructionImpl> insns = new ConcurrentHashMap<>();
     private final InstanceIdentifier<InstructionsQueue> qid;
     private final NotificationPublishService notifs;
     private final ListeningExecutorService executor;
@@ -87,6 +94,7 @@ public final class ProgrammingServiceImpl implements AutoCloseable, ClusterSingl
     private final ClusterSingletonServiceRegistration csspReg;
     private final RpcProviderRegistry rpcProviderRegistry;
     private final WriteConfiguration writeConfiguration;
+    private final InstructionWriter writer = new InstructionWriter();
     private RpcRegistration<ProgrammingService> reg;
     private ServiceRegistration<?> serviceRegistration;
 
@@ -104,24 +112,7 @@ public final class ProgrammingServiceImpl implements AutoCloseable, ClusterSingl
         public void instructionUpdated(final InstructionStatus status, final Details details) {
             if (!status.equals(this.builder.getStatus())) {
                 this.builder.setStatus(status);
-
-                final WriteTransaction t = ProgrammingServiceImpl.this.dataProvider.newWriteOnlyTransaction();
-                t.put(LogicalDatastoreType.OPERATIONAL,
-                    ProgrammingServiceImpl.this.qid.child(
-                        org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.programming
-                            .rev150720.instruction.queue.Instruction.class,
-                        new InstructionKey(this.builder.getId())), this.builder.build());
-                Futures.addCallback(t.submit(), new FutureCallback<Void>() {
-                    @Override
-                    public void onSuccess(final Void result) {
-                        LOG.debug("Instruction Queue {} updated", ProgrammingServiceImpl.this.qid);
-                    }
-
-                    @Override
-                    public void onFailure(final Throwable t) {
-                        LOG.error("Failed to update Instruction Queue {}", ProgrammingServiceImpl.this.qid, t);
-                    }
-                }, MoreExecutors.directExecutor());
+                ProgrammingServiceImpl.this.writer.update(this.builder.getKey(), this.builder.build());
             }
 
             try {
@@ -134,22 +125,79 @@ public final class ProgrammingServiceImpl implements AutoCloseable, ClusterSingl
 
         @Override
         public void instructionRemoved() {
-            final WriteTransaction t = ProgrammingServiceImpl.this.dataProvider.newWriteOnlyTransaction();
-            t.delete(LogicalDatastoreType.OPERATIONAL, ProgrammingServiceImpl.this.qid.child(
-                org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.programming.rev150720.instruction
-                    .queue.Instruction.class,
-                new InstructionKey(this.builder.getId())));
-            Futures.addCallback(t.submit(), new FutureCallback<Void>() {
-                @Override
-                public void onSuccess(final Void result) {
-                    LOG.debug("Instruction Queue {} removed", ProgrammingServiceImpl.this.qid);
+            ProgrammingServiceImpl.this.writer.update(this.builder.getKey(), null);
+        }
+    }
+
+    /**
+     * Coalesces instruction status updates into shared transactions. Updates are queued and the thread which
+     * finds no write in progress commits all queued updates in one transaction, repeating until the queue is
+     * empty. Updates queued meanwhile by concurrently progressing instructions are thus written together,
+     * while a lone update is still written immediately.
+     */
+    private final class InstructionWriter {
+        @GuardedBy("this")
+        private Map<InstructionKey, org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.programming
+            .rev150720.instruction.queue.Instruction> pending = new LinkedHashMap<>();
+        @GuardedBy("this")
+        private boolean writing;
+
+        /**
+         * Queue an instruction update.
+         *
+         * @param key instruction key
+         * @param instruction updated instruction, null if it is to be removed
+         */
+        void update(final InstructionKey key, final org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang
+            .programming.rev150720.instruction.queue.Instruction instruction) {
+            synchronized (this) {
+                this.pending.put(key, instruction);
+                if (this.writing) {
+                    return;
                 }
+                this.writing = true;
+            }
+            write();
+        }
 
-                @Override
-                public void onFailure(final Throwable t) {
-                    LOG.error("Failed to remove Instruction Queue {}", ProgrammingServiceImpl.this.qid, t);
+        private void write() {
+            while (true) {
+                final Map<InstructionKey, org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.programming
+                    .rev150720.instruction.queue.Instruction> batch;
+                synchronized (this) {
+                    if (this.pending.isEmpty()) {
+                        this.writing = false;
+                        return;
+                    }
+                    batch = this.pending;
+                    this.pending = new LinkedHashMap<>();
                 }
-            }, MoreExecutors.directExecutor());
+
+                final WriteTransaction t = ProgrammingServiceImpl.this.dataProvider.newWriteOnlyTransaction();
+                batch.forEach((key, instruction) -> {
+                    final InstanceIdentifier<org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang
+                        .programming.rev150720.instruction.queue.Instruction> iid = ProgrammingServiceImpl.this.qid
+                        .child(org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.programming
+                            .rev150720.instruction.queue.Instruction.class, key);
+                    if (instruction != null) {
+                        t.put(LogicalDatastoreType.OPERATIONAL, iid, instruction);
+                    } else {
+                        t.delete(LogicalDatastoreType.OPERATIONAL, iid);
+                    }
+                });
+                Futures.addCallback(t.submit(), new FutureCallback<Void>() {
+                    @Override
+                    public void onSuccess(final Void result) {
+                        LOG.debug("Instruction Queue {} updated with {} instructions", ProgrammingServiceImpl.this.qid,
+                            batch.size());
+                    }
+
+                    @Override
+                    public void onFailure(final Throwable t) {
+                        LOG.error("Failed to update Instruction Queue {}", ProgrammingServiceImpl.this.qid, t);
+                    }
+                }, MoreExecutors.directExecutor());
+            }
         }
     }
 
@@ -210,7 +258,7 @@ public final class ProgrammingServiceImpl implements AutoCloseable, ClusterSingl
         return this.executor.submit(() -> realCleanInstructions(input));
     }
 
-    private synchronized RpcResult<CancelInstructionOutput> realCancelInstruction(final CancelInstructionInput input) {
+    private RpcResult<CancelInstructionOutput> realCancelInstruction(final CancelInstructionInput input) {
         final InstructionImpl i = this.insns.get(input.getId());
         if (i == null) {
             LOG.debug("Instruction {} not present in the graph", input.getId());
@@ -376,7 +424,7 @@ public final class ProgrammingServiceImpl implements AutoCloseable, ClusterSingl
         return this.instructionId;
     }
 
-    private synchronized void timeoutInstruction(final InstructionId id) {
+    private void timeoutInstruction(final InstructionId id) {
         final InstructionImpl i = this.insns.get(id);
         if (i == null) {
             LOG.warn("Instruction {} timed out, but not found in the queue", id);
@@ -386,7 +434,7 @@ public final class ProgrammingServiceImpl implements AutoCloseable, ClusterSingl
         i.timeout();
     }
 
-    private synchronized void tryScheduleDependants(final InstructionImpl i) {
+    private void tryScheduleDependants(final InstructionImpl i) {
         // Walk all dependants and try to schedule them
         final Iterator<InstructionImpl> it = i.getDependants();
         while (it.hasNext()) {
@@ -394,7 +442,7 @@ public final class ProgrammingServiceImpl implements AutoCloseable, ClusterSingl
         }
     }
 
-    private synchronized void tryScheduleInstruction(final InstructionImpl i) {
+    private void tryScheduleInstruction(final InstructionImpl i) {
         final ListenableFuture<ExecutionResult<Details>> f = i.ready();
         if (f != null) {
             Futures.addCallback(f, new FutureCallback<ExecutionResult<Details>>() {
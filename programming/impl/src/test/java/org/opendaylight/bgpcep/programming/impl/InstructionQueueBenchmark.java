@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.bgpcep.programming.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.util.HashedWheelTimer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.bgpcep.programming.NanotimeUtil;
+import org.opendaylight.bgpcep.programming.spi.Instruction;
+import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.programming.rev150720.InstructionId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.programming.rev150720.InstructionStatus;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.programming.rev150720.InstructionStatusChanged;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.programming.rev150720.Nanotime;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.programming.rev150720.instruction.status.changed.DetailsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.topology.tunnel.pcep.programming.rev131030.PcepUpdateTunnelInputBuilder;
+import org.opendaylight.yangtools.yang.binding.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process throughput harness of the instruction queue, backed by the in-memory data broker. Each shape of
+ * instruction dependency graph is submitted, executed as soon as scheduled and measured for throughput, latency
+ * from submission to scheduling and to the terminal status, and allocation per instruction. The number of
+ * instructions per shape is set by the org.opendaylight.bgpcep.programming.benchmark.instructions property,
+ * and the results are logged.
+ * It is not part of the default test run, use the benchmark profile to run it.
+ */
+public class InstructionQueueBenchmark extends AbstractProgrammingTest {
+    private static final Logger LOG = LoggerFactory.getLogger(InstructionQueueBenchmark.class);
+    private static final int INSTRUCTIONS = Integer.getInteger(
+        "org.opendaylight.bgpcep.programming.benchmark.instructions", 1000);
+    private static final int THREADS = 4;
+    private static final int CHAIN_LENGTH = 10;
+    private static final int FAN_IN = 10;
+    private static final long NO_DEADLINE = TimeUnit.HOURS.toNanos(1);
+    private static final long EXPIRING_DEADLINE = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final Map<InstructionId, Long> submitted = new ConcurrentHashMap<>();
+    private final Map<InstructionId, Long> scheduled = new ConcurrentHashMap<>();
+    private final Map<InstructionId, Long> finished = new ConcurrentHashMap<>();
+    private final Map<InstructionId, InstructionStatus> outcomes = new ConcurrentHashMap<>();
+    private HashedWheelTimer timer;
+    private ListeningExecutorService executor;
+    private ProgrammingServiceImpl programmingService;
+    private volatile CountDownLatch done;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        final NotificationPublishService notifs = mock(NotificationPublishService.class);
+        doAnswer(invocation -> {
+            final InstructionStatusChanged notif = (InstructionStatusChanged) invocation.getArguments()[0];
+            onStatusChanged(notif.getId(), notif.getStatus());
+            return null;
+        }).when(notifs).putNotification(any(Notification.class));
+
+        this.timer = new HashedWheelTimer();
+        this.executor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(THREADS));
+        this.programmingService = new ProgrammingServiceImpl(getDataBroker(), notifs, this.executor,
+            this.rpcRegistry, this.cssp, this.timer, "benchmark-queue", null);
+        this.singletonService.instantiateServiceInstance();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.singletonService.closeServiceInstance();
+        this.programmingService.close();
+        this.executor.shutdownNow();
+        this.timer.stop();
+    }
+
+    private void onStatusChanged(final InstructionId id, final InstructionStatus status) {
+        final long now = System.nanoTime();
+        switch (status) {
+            case Scheduled:
+                this.scheduled.put(id, now);
+                break;
+            case Cancelled:
+            case Failed:
+            case Successful:
+            case Unknown:
+                if (this.finished.putIfAbsent(id, now) == null) {
+                    this.outcomes.put(id, status);
+                    this.done.countDown();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Test
+    public void testIndependent() throws Exception {
+        run("independent", i -> Collections.emptyList(), NO_DEADLINE, true, InstructionStatus.Successful);
+    }
+
+    @Test
+    public void testChains() throws Exception {
+        run("chains", i -> i % CHAIN_LENGTH == 0 ? Collections.emptyList()
+            : Collections.singletonList(instructionId(i - 1)), NO_DEADLINE, true, InstructionStatus.Successful);
+    }
+
+    @Test
+    public void testFanIn() throws Exception {
+        run("fan-in", i -> {
+            if (i % (FAN_IN + 1) != FAN_IN) {
+                return Collections.emptyList();
+            }
+            final List<InstructionId> deps = new ArrayList<>(FAN_IN);
+            for (int d = i - FAN_IN; d < i; d++) {
+                deps.add(instructionId(d));
+            }
+            return deps;
+        }, NO_DEADLINE, true, InstructionStatus.Successful);
+    }
+
+    @Test
+    public void testDeadlineExpiry() throws Exception {
+        run("deadline", i -> Collections.emptyList(), EXPIRING_DEADLINE, false, InstructionStatus.Cancelled);
+    }
+
+    @FunctionalInterface
+    private interface Dependencies {
+        List<InstructionId> of(int instruction);
+    }
+
+    private static InstructionId instructionId(final int instruction) {
+        return new InstructionId("insn-" + instruction);
+    }
+
+    private void run(final String shape, final Dependencies dependencies, final long deadline,
+        final boolean execute, final InstructionStatus expected) throws Exception {
+        this.done = new CountDownLatch(INSTRUCTIONS);
+        final Map<Long, Long> allocated = allocatedBytes();
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < INSTRUCTIONS; i++) {
+            final InstructionId id = instructionId(i);
+            this.submitted.put(id, System.nanoTime());
+            final ListenableFuture<Instruction> future = this.programmingService.scheduleInstruction(
+                new PcepUpdateTunnelInputBuilder().setId(id).setPreconditions(dependencies.of(i))
+                    .setDeadline(new Nanotime(NanotimeUtil.currentTime().getValue()
+                        .add(BigInteger.valueOf(deadline)))).build());
+            if (execute) {
+                Futures.addCallback(future, new FutureCallback<Instruction>() {
+                    @Override
+                    public void onSuccess(final Instruction insn) {
+                        if (insn.checkedExecutionStart()) {
+                            insn.executionCompleted(InstructionStatus.Successful, new DetailsBuilder().build());
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(final Throwable t) {
+                        LOG.debug("Instruction {} was not scheduled", id, t);
+                    }
+                }, this.executor);
+            }
+        }
+
+        assertTrue(this.done.await(1, TimeUnit.MINUTES));
+        final long elapsed = System.nanoTime() - start;
+        final long perInstruction = allocatedSince(allocated) / INSTRUCTIONS;
+
+        final long[] toScheduled = latencies(this.scheduled);
+        final long[] toFinished = latencies(this.finished);
+        assertEquals(INSTRUCTIONS, toFinished.length);
+        assertEquals(INSTRUCTIONS, this.outcomes.values().stream().filter(expected::equals).count());
+
+        LOG.info("Shape {}: {} instructions in {}ms, {} instructions/s, allocated {}B/instruction", shape,
+            INSTRUCTIONS, TimeUnit.NANOSECONDS.toMillis(elapsed), INSTRUCTIONS * TimeUnit.SECONDS.toNanos(1) / elapsed,
+            perInstruction);
+        LOG.info("Shape {}: submitted to scheduled p50 {}us p99 {}us, submitted to {} p50 {}us p99 {}us", shape,
+            percentile(toScheduled, 50), percentile(toScheduled, 99), expected, percentile(toFinished, 50),
+            percentile(toFinished, 99));
+    }
+
+    /*
+     * Bytes allocated so far by each live thread, empty when the JVM is not able to tell. Instructions progress
+     * on the executor, timer and data broker threads, so all of them are accounted for.
+     */
+    private static Map<Long, Long> allocatedBytes() {
+        final ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        final Map<Long, Long> ret = new HashMap<>();
+        if (mxBean instanceof com.sun.management.ThreadMXBean) {
+            final long[] ids = mxBean.getAllThreadIds();
+            final long[] allocated = ((com.sun.management.ThreadMXBean) mxBean).getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+                if (allocated[i] > 0) {
+                    ret.put(ids[i], allocated[i]);
+                }
+            }
+        }
+        return ret;
+    }
+
+    /*
+     * Bytes allocated since the snapshot by threads still alive, counting threads started meanwhile from zero.
+     */
+    private static long allocatedSince(final Map<Long, Long> snapshot) {
+        return allocatedBytes().entrySet().stream()
+            .mapToLong(e -> e.getValue() - snapshot.getOrDefault(e.getKey(), 0L)).sum();
+    }
+
+    private long[] latencies(final Map<InstructionId, Long> reached) {
+        return reached.entrySet().stream().mapToLong(e -> e.getValue() - this.submitted.get(e.getKey())).sorted()
+            .toArray();
+    }
+
+    private static long percentile(final long[] sorted, final int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int idx = Math.min(sorted.length - 1, sorted.length * percentile / 100);
+        return TimeUnit.NANOSECONDS.toMicros(sorted[idx]);
+    }
+}
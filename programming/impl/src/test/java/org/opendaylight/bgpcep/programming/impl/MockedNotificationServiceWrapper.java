@@ -14,7 +14,8 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.opendaylight.protocol.util.CheckUtil.checkEquals;
 
-import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.junit.Assert;
 import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService;
@@ -27,7 +28,7 @@ final class MockedNotificationServiceWrapper {
     private final List<Notification> publishedNotifications;
 
     MockedNotificationServiceWrapper() {
-        this.publishedNotifications = Lists.newArrayList();
+        this.publishedNotifications = Collections.synchronizedList(new ArrayList<>());
     }
 
     NotificationPublishService getMockedNotificationService() throws InterruptedException {
@@ -326,6 +326,35 @@ public class ProgrammingServiceImplTest extends AbstractProgrammingTest {
             InstructionStatus.Successful);
     }
 
+    @Test
+    public void testConcurrentlyCompletedDependencies() throws Exception {
+        final ListenableFuture<Instruction> future1 = this.testedProgrammingService.scheduleInstruction(
+            getMockedSubmitInstructionInput("mockedSubmit1"));
+        final ListenableFuture<Instruction> future2 = this.testedProgrammingService.scheduleInstruction(
+            getMockedSubmitInstructionInput("mockedSubmit2"));
+        final SubmitInstructionInput mockedSubmit3 = getMockedSubmitInstructionInput("mockedSubmit3",
+            "mockedSubmit1", "mockedSubmit2");
+        final ListenableFuture<Instruction> future3 = this.testedProgrammingService.scheduleInstruction(
+            mockedSubmit3);
+
+        // independent instructions complete in parallel, their dependant is scheduled once
+        final Instruction i1 = future1.get();
+        final Instruction i2 = future2.get();
+        i1.checkedExecutionStart();
+        i2.checkedExecutionStart();
+        final Thread t1 = new Thread(() -> i1.executionCompleted(InstructionStatus.Successful, getDetails()));
+        final Thread t2 = new Thread(() -> i2.executionCompleted(InstructionStatus.Successful, getDetails()));
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+
+        assertEquals(InstructionStatus.Scheduled, ((InstructionImpl) future3.get()).getStatus());
+        this.mockedNotificationServiceWrapper.assertNotificationsCount(2 /* Scheduled */ + 4 /* Executed */
+            + 1 /* Dependant scheduled */);
+        checkPresentOperational(getDataBroker(), buildInstructionIID(mockedSubmit3.getId()));
+    }
+
     private static Details getDetails() {
         return new DetailsBuilder().build();
     }
@@ -32,6 +32,23 @@ public final class Ipv4Util {
     public static final int IP4_LENGTH = 4;
     public static final int IP4_BITS_LENGTH = 32;
     private static final Ipv4Prefix EMPTY_PREFIX = new Ipv4Prefix("0.0.0.0/0");
+    private static final int PREFIX_CACHE_BITS = 16;
+
+    /**
+     * Direct-mapped cache of recently decoded prefixes, indexed by a hash of the packed address and length.
+     * Entries are immutable, hence racy updates only cost a cache miss.
+     */
+    private static final CachedPrefix[] PREFIX_CACHE = new CachedPrefix[1 << PREFIX_CACHE_BITS];
+
+    private static final class CachedPrefix {
+        private final long key;
+        private final Ipv4Prefix prefix;
+
+        CachedPrefix(final long key, final Ipv4Prefix prefix) {
+            this.key = key;
+            this.prefix = prefix;
+        }
+    }
 
     private Ipv4Util() {
         throw new UnsupportedOperationException();
@@ -121,14 +138,55 @@ public final class Ipv4Util {
      * @return Ipv4Prefix object
      */
     public static Ipv4Prefix prefixForByteBuf(final ByteBuf buf) {
-        final int prefixLength = UnsignedBytes.toInt(buf.readByte());
-        final int size = prefixLength / Byte.SIZE + ((prefixLength % Byte.SIZE == 0) ? 0 : 1);
+        final int prefixLength = buf.readUnsignedByte();
+        final int size = prefixBitsToBytes(prefixLength);
         final int readable = buf.readableBytes();
+        Preconditions.checkArgument(prefixLength <= IP4_BITS_LENGTH, "Illegal length of IP prefix: %s", prefixLength);
         Preconditions.checkArgument(size <= readable, "Illegal length of IP prefix: %s/%s", size, readable);
 
+        int address = 0;
+        for (int i = 0; i < size; i++) {
+            address = address << Byte.SIZE | buf.readUnsignedByte();
+        }
+        if (size != 0) {
+            address <<= (IP4_LENGTH - size) * Byte.SIZE;
+        }
+        return cachedPrefix(address, prefixLength);
+    }
+
+    private static Ipv4Prefix cachedPrefix(final int address, final int prefixLength) {
+        final long key = (address & 0xFFFFFFFFL) << Byte.SIZE | prefixLength;
+        final int hash = (int) (key ^ key >>> 29) * 0x9E3779B9;
+        final int slot = hash >>> (Integer.SIZE - PREFIX_CACHE_BITS);
+        final CachedPrefix cached = PREFIX_CACHE[slot];
+        if (cached != null && cached.key == key) {
+            return cached.prefix;
+        }
         final byte[] bytes = new byte[IP4_LENGTH];
-        buf.readBytes(bytes, 0, size);
-        return IetfInetUtil.INSTANCE.ipv4PrefixFor(bytes, prefixLength);
+        for (int i = 0; i < IP4_LENGTH; i++) {
+            bytes[i] = (byte) (address >>> (IP4_LENGTH - 1 - i) * Byte.SIZE);
+        }
+        final Ipv4Prefix prefix = IetfInetUtil.INSTANCE.ipv4PrefixFor(bytes, prefixLength);
+        PREFIX_CACHE[slot] = new CachedPrefix(key, prefix);
+        return prefix;
+    }
+
+    /**
+     * Creates a list of Ipv4 Prefixes from all readable bytes of given ByteBuf, without copying them into
+     * an intermediate array. Frequently seen prefixes are returned as shared instances.
+     *
+     * @param buffer containing serialized prefixes, starting at reader index
+     * @return A list of Ipv4Prefixes
+     */
+    public static List<Ipv4Prefix> prefixListForByteBuf(final ByteBuf buffer) {
+        if (!buffer.isReadable()) {
+            return Collections.emptyList();
+        }
+        final List<Ipv4Prefix> list = new ArrayList<>();
+        while (buffer.isReadable()) {
+            list.add(prefixForByteBuf(buffer));
+        }
+        return list;
     }
 
     /**
@@ -11,6 +11,7 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import com.google.common.collect.Lists;
@@ -177,6 +178,18 @@ public class IPAddressesAndPrefixesTest {
         assertTrue(prefs.isEmpty());
     }
 
+    @Test
+    public void testPrefixList4ForByteBuf() {
+        final byte[] bytes = new byte[] { 22, (byte) 172, (byte) 168, 3, 8, 12, 0, 32, (byte) 192, (byte) 168, 35, 100 };
+        List<Ipv4Prefix> prefs = Ipv4Util.prefixListForByteBuf(Unpooled.wrappedBuffer(bytes));
+        assertEquals(Lists.newArrayList(new Ipv4Prefix("172.168.3.0/22"), new Ipv4Prefix("12.0.0.0/8"),
+            new Ipv4Prefix("0.0.0.0/0"), new Ipv4Prefix("192.168.35.100/32")), prefs);
+        assertSame(prefs.get(0), Ipv4Util.prefixListForByteBuf(Unpooled.wrappedBuffer(bytes)).get(0));
+
+        prefs = Ipv4Util.prefixListForByteBuf(Unpooled.EMPTY_BUFFER);
+        assertTrue(prefs.isEmpty());
+    }
+
     @Test
     public void testFullFormOfIpv6() {
         assertEquals(new Ipv6Address("0:0:0:0:0:0:0:1"), Ipv6Util.getFullForm(new Ipv6Address("::1")));